@@ -16,34 +16,129 @@
 
 package org.springframework.boot.actuate.autoconfigure.health;
 
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnEnabledEndpoint;
 import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnExposedEndpoint;
 import org.springframework.boot.actuate.health.CompositeHealthIndicator;
 import org.springframework.boot.actuate.health.HealthAggregator;
 import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.HealthIndicatorPoller;
 import org.springframework.boot.actuate.health.HealthIndicatorRegistry;
+import org.springframework.boot.actuate.health.SnapshotHealthIndicator;
+import org.springframework.boot.actuate.metrics.health.HealthIndicatorPollerMetrics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnSingleCandidate;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 
 /**
  * Configuration for {@link HealthEndpoint}.
  *
  * @author Stephane Nicoll
+ * @author Edward Lee
  */
 @Configuration(proxyBeanMethods = false)
 @ConditionalOnSingleCandidate(HealthIndicatorRegistry.class)
 @ConditionalOnEnabledEndpoint(endpoint = HealthEndpoint.class)
 @ConditionalOnExposedEndpoint(endpoint = HealthEndpoint.class)
-class HealthEndpointConfiguration {
+class HealthEndpointConfiguration implements DisposableBean {
+
+	private ExecutorService executor;
 
 	@Bean
 	@ConditionalOnMissingBean
 	public HealthEndpoint healthEndpoint(HealthAggregator healthAggregator,
-			HealthIndicatorRegistry registry) {
-		return new HealthEndpoint(
-				new CompositeHealthIndicator(healthAggregator, registry));
+			HealthIndicatorRegistry registry, HealthEndpointProperties properties,
+			ObjectProvider<HealthIndicatorPoller> poller) {
+		HealthIndicatorPoller healthIndicatorPoller = poller.getIfAvailable();
+		if (healthIndicatorPoller != null) {
+			return new HealthEndpoint(
+					new SnapshotHealthIndicator(healthAggregator, healthIndicatorPoller));
+		}
+		return new HealthEndpoint(createHealthIndicator(healthAggregator, registry,
+				properties.getParallel()));
+	}
+
+	private HealthIndicator createHealthIndicator(HealthAggregator healthAggregator,
+			HealthIndicatorRegistry registry,
+			HealthEndpointProperties.Parallel parallel) {
+		CompositeHealthIndicator healthIndicator = new CompositeHealthIndicator(
+				healthAggregator, registry);
+		if (parallel.isEnabled()) {
+			this.executor = createExecutor(parallel.getThreads(),
+					parallel.getQueueCapacity());
+			healthIndicator.executor(this.executor);
+			if (parallel.getTimeout() != null) {
+				healthIndicator.timeoutStrategy(parallel.getTimeout().toMillis(), null);
+			}
+		}
+		return healthIndicator;
+	}
+
+	private ExecutorService createExecutor(int threads, int queueCapacity) {
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(
+				"health-indicator-");
+		threadFactory.setDaemon(true);
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60,
+				TimeUnit.SECONDS, new ArrayBlockingQueue<>(queueCapacity), threadFactory);
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
+	}
+
+	@Override
+	public void destroy() {
+		if (this.executor != null) {
+			this.executor.shutdownNow();
+		}
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	@ConditionalOnProperty(prefix = "management.endpoint.health.background", name = "enabled", havingValue = "true")
+	static class HealthIndicatorPollerConfiguration {
+
+		@Bean
+		@ConditionalOnMissingBean
+		public HealthIndicatorPoller healthIndicatorPoller(
+				HealthIndicatorRegistry registry, HealthEndpointProperties properties) {
+			HealthEndpointProperties.Background background = properties
+					.getBackground();
+			HealthIndicatorPoller poller = new HealthIndicatorPoller(registry,
+					background.getInterval());
+			poller.setThreads(background.getThreads());
+			for (Map.Entry<String, Duration> entry : background.getIntervals()
+					.entrySet()) {
+				poller.setInterval(entry.getKey(), entry.getValue());
+			}
+			return poller;
+		}
+
+		@Configuration(proxyBeanMethods = false)
+		@ConditionalOnClass(MeterBinder.class)
+		static class HealthIndicatorPollerMetricsConfiguration {
+
+			@Bean
+			@ConditionalOnMissingBean
+			public HealthIndicatorPollerMetrics healthIndicatorPollerMetrics(
+					HealthIndicatorPoller healthIndicatorPoller) {
+				return new HealthIndicatorPollerMetrics(healthIndicatorPoller);
+			}
+
+		}
+
 	}
 
 }
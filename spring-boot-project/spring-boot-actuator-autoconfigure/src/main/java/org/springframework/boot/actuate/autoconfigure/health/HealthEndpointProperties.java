@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2018 the original author or authors.
+ * Copyright 2012-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,7 +16,10 @@
 
 package org.springframework.boot.actuate.autoconfigure.health;
 
+import java.time.Duration;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Set;
 
 import org.springframework.boot.actuate.health.HealthEndpoint;
@@ -27,6 +30,7 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  * Configuration properties for {@link HealthEndpoint}.
  *
  * @author Phillip Webb
+ * @author Edward Lee
  */
 @ConfigurationProperties("management.endpoint.health")
 public class HealthEndpointProperties {
@@ -42,6 +46,10 @@ public class HealthEndpointProperties {
 	 */
 	private Set<String> roles = new HashSet<>();
 
+	private final Parallel parallel = new Parallel();
+
+	private final Background background = new Background();
+
 	public ShowDetails getShowDetails() {
 		return this.showDetails;
 	}
@@ -58,4 +66,136 @@ public class HealthEndpointProperties {
 		this.roles = roles;
 	}
 
+	public Parallel getParallel() {
+		return this.parallel;
+	}
+
+	public Background getBackground() {
+		return this.background;
+	}
+
+	/**
+	 * Concurrent evaluation of health indicators.
+	 */
+	public static class Parallel {
+
+		/**
+		 * Whether to call health indicators concurrently rather than one after the
+		 * other.
+		 */
+		private boolean enabled;
+
+		/**
+		 * Maximum number of threads used to call health indicators concurrently.
+		 */
+		private int threads = 4;
+
+		/**
+		 * Maximum number of health indicator calls waiting for a thread. Calls that
+		 * cannot be queued are reported with an unknown status.
+		 */
+		private int queueCapacity = 100;
+
+		/**
+		 * Maximum time to wait for each health indicator, from the time it is called,
+		 * before interrupting it and reporting an unknown status. If a duration suffix is
+		 * not specified, milliseconds will be used. When not set, waits for every health
+		 * indicator to reply.
+		 */
+		private Duration timeout;
+
+		public boolean isEnabled() {
+			return this.enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public int getThreads() {
+			return this.threads;
+		}
+
+		public void setThreads(int threads) {
+			this.threads = threads;
+		}
+
+		public int getQueueCapacity() {
+			return this.queueCapacity;
+		}
+
+		public void setQueueCapacity(int queueCapacity) {
+			this.queueCapacity = queueCapacity;
+		}
+
+		public Duration getTimeout() {
+			return this.timeout;
+		}
+
+		public void setTimeout(Duration timeout) {
+			this.timeout = timeout;
+		}
+
+	}
+
+	/**
+	 * Background polling of health indicators.
+	 */
+	public static class Background {
+
+		/**
+		 * Whether to poll health indicators in the background and serve the latest
+		 * snapshot rather than calling them on each request.
+		 */
+		private boolean enabled;
+
+		/**
+		 * Default interval between two checks of a health indicator.
+		 */
+		private Duration interval = Duration.ofSeconds(10);
+
+		/**
+		 * Interval between two checks of a health indicator, keyed by indicator name.
+		 */
+		private Map<String, Duration> intervals = new LinkedHashMap<>();
+
+		/**
+		 * Number of threads used to poll health indicators.
+		 */
+		private int threads = 1;
+
+		public boolean isEnabled() {
+			return this.enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public Duration getInterval() {
+			return this.interval;
+		}
+
+		public void setInterval(Duration interval) {
+			this.interval = interval;
+		}
+
+		public Map<String, Duration> getIntervals() {
+			return this.intervals;
+		}
+
+		public void setIntervals(Map<String, Duration> intervals) {
+			this.intervals = intervals;
+		}
+
+		public int getThreads() {
+			return this.threads;
+		}
+
+		public void setThreads(int threads) {
+			this.threads = threads;
+		}
+
+	}
+
 }
@@ -23,11 +23,15 @@ import org.springframework.boot.actuate.health.CompositeReactiveHealthIndicator;
 import org.springframework.boot.actuate.health.HealthAggregator;
 import org.springframework.boot.actuate.health.HealthEndpoint;
 import org.springframework.boot.actuate.health.HealthEndpointWebExtension;
+import org.springframework.boot.actuate.health.HealthIndicatorPoller;
+import org.springframework.boot.actuate.health.HealthIndicatorReactiveAdapter;
 import org.springframework.boot.actuate.health.HealthStatusHttpMapper;
 import org.springframework.boot.actuate.health.HealthWebEndpointResponseMapper;
 import org.springframework.boot.actuate.health.OrderedHealthAggregator;
 import org.springframework.boot.actuate.health.ReactiveHealthEndpointWebExtension;
+import org.springframework.boot.actuate.health.ReactiveHealthIndicator;
 import org.springframework.boot.actuate.health.ReactiveHealthIndicatorRegistry;
+import org.springframework.boot.actuate.health.SnapshotHealthIndicator;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnSingleCandidate;
@@ -41,6 +45,7 @@ import org.springframework.context.annotation.Configuration;
  * Configuration for health endpoint web extensions.
  *
  * @author Stephane Nicoll
+ * @author Edward Lee
  */
 @Configuration(proxyBeanMethods = false)
 @EnableConfigurationProperties(HealthIndicatorProperties.class)
@@ -79,12 +84,16 @@ class HealthEndpointWebExtensionConfiguration {
 		public ReactiveHealthEndpointWebExtension reactiveHealthEndpointWebExtension(
 				ObjectProvider<HealthAggregator> healthAggregator,
 				ReactiveHealthIndicatorRegistry registry,
-				HealthWebEndpointResponseMapper responseMapper) {
-			return new ReactiveHealthEndpointWebExtension(
-					new CompositeReactiveHealthIndicator(
-							healthAggregator.getIfAvailable(OrderedHealthAggregator::new),
-							registry),
-					responseMapper);
+				HealthWebEndpointResponseMapper responseMapper,
+				ObjectProvider<HealthIndicatorPoller> poller) {
+			HealthAggregator aggregator = healthAggregator
+					.getIfAvailable(OrderedHealthAggregator::new);
+			HealthIndicatorPoller healthIndicatorPoller = poller.getIfAvailable();
+			ReactiveHealthIndicator delegate = (healthIndicatorPoller != null)
+					? new HealthIndicatorReactiveAdapter(
+							new SnapshotHealthIndicator(aggregator, healthIndicatorPoller))
+					: new CompositeReactiveHealthIndicator(aggregator, registry);
+			return new ReactiveHealthEndpointWebExtension(delegate, responseMapper);
 		}
 
 	}
@@ -30,13 +30,17 @@ import org.springframework.boot.actuate.autoconfigure.health.ConditionalOnEnable
 import org.springframework.boot.actuate.autoconfigure.health.HealthIndicatorAutoConfiguration;
 import org.springframework.boot.actuate.health.HealthIndicator;
 import org.springframework.boot.actuate.jdbc.DataSourceHealthIndicator;
+import org.springframework.boot.actuate.jdbc.DataSourcePoolHealthIndicator;
+import org.springframework.boot.actuate.jdbc.DataSourcePoolValidator;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.AutoConfigureBefore;
 import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.jdbc.metadata.CompositeDataSourcePoolMetadataProvider;
 import org.springframework.boot.jdbc.metadata.DataSourcePoolMetadata;
 import org.springframework.boot.jdbc.metadata.DataSourcePoolMetadataProvider;
@@ -54,6 +58,7 @@ import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
  * @author Andy Wilkinson
  * @author Stephane Nicoll
  * @author Arthur Kalimullin
+ * @author Edward Lee
  * @since 2.0.0
  */
 @Configuration(proxyBeanMethods = false)
@@ -62,18 +67,25 @@ import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
 @ConditionalOnEnabledHealthIndicator("db")
 @AutoConfigureBefore(HealthIndicatorAutoConfiguration.class)
 @AutoConfigureAfter(DataSourceAutoConfiguration.class)
+@EnableConfigurationProperties(DataSourceHealthIndicatorProperties.class)
 public class DataSourceHealthIndicatorAutoConfiguration extends
 		CompositeHealthIndicatorConfiguration<DataSourceHealthIndicator, DataSource>
 		implements InitializingBean {
 
 	private final Collection<DataSourcePoolMetadataProvider> metadataProviders;
 
+	private final DataSourceHealthIndicatorProperties properties;
+
 	private DataSourcePoolMetadataProvider poolMetadataProvider;
 
+	private DataSourcePoolValidator poolValidator;
+
 	public DataSourceHealthIndicatorAutoConfiguration(Map<String, DataSource> dataSources,
-			ObjectProvider<DataSourcePoolMetadataProvider> metadataProviders) {
+			ObjectProvider<DataSourcePoolMetadataProvider> metadataProviders,
+			DataSourceHealthIndicatorProperties properties) {
 		this.metadataProviders = metadataProviders.orderedStream()
 				.collect(Collectors.toList());
+		this.properties = properties;
 	}
 
 	@Override
@@ -84,10 +96,20 @@ public class DataSourceHealthIndicatorAutoConfiguration extends
 
 	@Bean
 	@ConditionalOnMissingBean(name = "dbHealthIndicator")
-	public HealthIndicator dbHealthIndicator(Map<String, DataSource> dataSources) {
+	public HealthIndicator dbHealthIndicator(Map<String, DataSource> dataSources,
+			ObjectProvider<DataSourcePoolValidator> poolValidator) {
+		this.poolValidator = poolValidator.getIfAvailable();
 		return createHealthIndicator(filterDataSources(dataSources));
 	}
 
+	@Bean
+	@ConditionalOnMissingBean
+	@ConditionalOnProperty(prefix = "management.health.db.pool", name = "enabled")
+	public DataSourcePoolValidator dataSourcePoolValidator() {
+		return new DataSourcePoolValidator(
+				this.properties.getPool().getValidationInterval());
+	}
+
 	private Map<String, DataSource> filterDataSources(
 			Map<String, DataSource> candidates) {
 		if (candidates == null) {
@@ -104,13 +126,17 @@ public class DataSourceHealthIndicatorAutoConfiguration extends
 
 	@Override
 	protected DataSourceHealthIndicator createHealthIndicator(DataSource source) {
-		return new DataSourceHealthIndicator(source, getValidationQuery(source));
-	}
-
-	private String getValidationQuery(DataSource source) {
 		DataSourcePoolMetadata poolMetadata = this.poolMetadataProvider
 				.getDataSourcePoolMetadata(source);
-		return (poolMetadata != null) ? poolMetadata.getValidationQuery() : null;
+		if (this.poolValidator != null && poolMetadata != null) {
+			DataSourcePoolHealthIndicator indicator = new DataSourcePoolHealthIndicator(
+					source, poolMetadata, this.poolValidator.getInterval(),
+					this.properties.getPool().getValidationTimeout());
+			this.poolValidator.register(indicator);
+			return indicator;
+		}
+		return new DataSourceHealthIndicator(source,
+				(poolMetadata != null) ? poolMetadata.getValidationQuery() : null);
 	}
 
 }
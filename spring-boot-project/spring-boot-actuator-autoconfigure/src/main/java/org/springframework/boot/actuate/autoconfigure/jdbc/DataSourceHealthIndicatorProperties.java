@@ -0,0 +1,88 @@
+/*
+ * Copyright 2012-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.autoconfigure.jdbc;
+
+import java.time.Duration;
+
+import org.springframework.boot.actuate.jdbc.DataSourceHealthIndicator;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * External configuration properties for {@link DataSourceHealthIndicator}.
+ *
+ * @author Edward Lee
+ * @since 2.2.0
+ */
+@ConfigurationProperties(prefix = "management.health.db")
+public class DataSourceHealthIndicatorProperties {
+
+	private final Pool pool = new Pool();
+
+	public Pool getPool() {
+		return this.pool;
+	}
+
+	/**
+	 * Health of pooled data sources.
+	 */
+	public static class Pool {
+
+		/**
+		 * Whether to derive the health of pooled data sources from the state of their
+		 * pool and from connections validated in the background, rather than from a
+		 * validation query run on a connection borrowed for each health check.
+		 */
+		private boolean enabled;
+
+		/**
+		 * Interval between two validations of a connection of each pool.
+		 */
+		private Duration validationInterval = Duration.ofSeconds(30);
+
+		/**
+		 * Maximum time to wait for a connection to be validated, rounded up to the
+		 * second. Zero to wait indefinitely.
+		 */
+		private Duration validationTimeout = Duration.ofSeconds(1);
+
+		public boolean isEnabled() {
+			return this.enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public Duration getValidationInterval() {
+			return this.validationInterval;
+		}
+
+		public void setValidationInterval(Duration validationInterval) {
+			this.validationInterval = validationInterval;
+		}
+
+		public Duration getValidationTimeout() {
+			return this.validationTimeout;
+		}
+
+		public void setValidationTimeout(Duration validationTimeout) {
+			this.validationTimeout = validationTimeout;
+		}
+
+	}
+
+}
@@ -28,6 +28,8 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
 
 import static org.springframework.restdocs.mockmvc.MockMvcRestDocumentation.document;
+import static org.springframework.restdocs.request.RequestDocumentation.parameterWithName;
+import static org.springframework.restdocs.request.RequestDocumentation.requestParameters;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -35,6 +37,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * Tests for generating documentation describing the {@link PrometheusScrapeEndpoint}.
  *
  * @author Andy Wilkinson
+ * @author Edward Lee
  */
 public class PrometheusScrapeEndpointDocumentationTests
 		extends MockMvcEndpointDocumentationTests {
@@ -42,7 +45,19 @@ public class PrometheusScrapeEndpointDocumentationTests
 	@Test
 	public void prometheus() throws Exception {
 		this.mockMvc.perform(get("/actuator/prometheus")).andExpect(status().isOk())
-				.andDo(document("prometheus"));
+				.andDo(document("prometheus/all"));
+	}
+
+	@Test
+	public void filteredPrometheus() throws Exception {
+		this.mockMvc
+				.perform(get("/actuator/prometheus").param("includedNames",
+						"jvm_memory_used_bytes,jvm_memory_committed_bytes"))
+				.andExpect(status().isOk())
+				.andDo(document("prometheus/names", requestParameters(
+						parameterWithName("includedNames").description(
+								"Restricts the response to the metric families or "
+										+ "samples with the given names. Optional."))));
 	}
 
 	@Configuration(proxyBeanMethods = false)
@@ -16,21 +16,31 @@
 
 package org.springframework.boot.actuate.autoconfigure.health;
 
+import java.util.Collections;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicReference;
+
 import org.junit.Test;
 import reactor.core.publisher.Mono;
 
+import org.springframework.boot.actuate.health.CompositeHealthIndicator;
 import org.springframework.boot.actuate.health.Health;
 import org.springframework.boot.actuate.health.HealthEndpoint;
 import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.HealthIndicatorPoller;
+import org.springframework.boot.actuate.health.OrderedHealthAggregator;
 import org.springframework.boot.actuate.health.ReactiveHealthIndicator;
 import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.actuate.metrics.health.HealthIndicatorPollerMetrics;
 import org.springframework.boot.autoconfigure.AutoConfigurations;
 import org.springframework.boot.test.context.runner.ApplicationContextRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.atMost;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -41,6 +51,7 @@ import static org.mockito.Mockito.verify;
  *
  * @author Stephane Nicoll
  * @author Phillip Webb
+ * @author Edward Lee
  */
 public class HealthEndpointAutoConfigurationTests {
 
@@ -102,6 +113,91 @@ public class HealthEndpointAutoConfigurationTests {
 				});
 	}
 
+	@Test
+	public void healthEndpointParallelReportsUnknownWhenTimeoutIsExceeded() {
+		this.contextRunner
+				.withPropertyValues("management.endpoint.health.show-details=always",
+						"management.endpoint.health.parallel.enabled=true",
+						"management.endpoint.health.parallel.timeout=50ms")
+				.withUserConfiguration(HealthIndicatorConfiguration.class,
+						SlowHealthIndicatorConfiguration.class)
+				.run((context) -> {
+					Health health = context.getBean(HealthEndpoint.class).health();
+					assertThat(health.getDetails()).containsOnlyKeys("simple", "slow");
+					assertThat(((Health) health.getDetails().get("simple")).getStatus())
+							.isEqualTo(Status.UP);
+					assertThat(((Health) health.getDetails().get("slow")).getStatus())
+							.isEqualTo(Status.UNKNOWN);
+				});
+	}
+
+	@Test
+	public void healthEndpointParallelExecutorIsShutDownWhenContextIsClosed() {
+		AtomicReference<ExecutorService> executor = new AtomicReference<>();
+		this.contextRunner
+				.withPropertyValues("management.endpoint.health.parallel.enabled=true")
+				.withUserConfiguration(HealthIndicatorConfiguration.class)
+				.run((context) -> {
+					executor.set((ExecutorService) ReflectionTestUtils.getField(
+							context.getBean(HealthEndpointConfiguration.class),
+							"executor"));
+					assertThat(executor.get().isShutdown()).isFalse();
+				});
+		assertThat(executor.get().isShutdown()).isTrue();
+	}
+
+	@Test
+	public void healthEndpointBackgroundServesSnapshots() {
+		this.contextRunner
+				.withPropertyValues("management.endpoint.health.show-details=always",
+						"management.endpoint.health.background.enabled=true",
+						"management.endpoint.health.background.intervals.simple=1h")
+				.withUserConfiguration(HealthIndicatorConfiguration.class)
+				.run((context) -> {
+					assertThat(context).hasSingleBean(HealthIndicatorPoller.class);
+					assertThat(context).hasSingleBean(HealthIndicatorPollerMetrics.class);
+					HealthIndicator indicator = context.getBean("simpleHealthIndicator",
+							HealthIndicator.class);
+					HealthEndpoint endpoint = context.getBean(HealthEndpoint.class);
+					for (int i = 0; i < 5; i++) {
+						endpoint.health();
+					}
+					Health health = endpoint.health();
+					assertThat(health.getStatus()).isEqualTo(Status.UP);
+					assertThat(((Health) health.getDetails().get("simple")).getDetails())
+							.containsKey("snapshot");
+					verify(indicator, atMost(2)).health();
+				});
+	}
+
+	@Test
+	public void healthEndpointBackgroundServesSnapshotsOfComponentsAndInstances() {
+		this.contextRunner
+				.withPropertyValues("management.endpoint.health.show-details=always",
+						"management.endpoint.health.background.enabled=true")
+				.withUserConfiguration(HealthIndicatorConfiguration.class,
+						CompositeHealthIndicatorConfiguration.class)
+				.run((context) -> {
+					HealthEndpoint endpoint = context.getBean(HealthEndpoint.class);
+					Health simple = endpoint.healthForComponent("simple");
+					assertThat(simple.getStatus()).isEqualTo(Status.UP);
+					assertThat(simple.getDetails()).containsKey("snapshot");
+					Health instance = endpoint.healthForComponentInstance("composite",
+							"instance");
+					assertThat(instance.getStatus()).isEqualTo(Status.DOWN);
+					assertThat(instance.getDetails()).containsKey("snapshot");
+					assertThat(endpoint.healthForComponent("missing")).isNull();
+					assertThat(endpoint.healthForComponentInstance("composite",
+							"missing")).isNull();
+				});
+	}
+
+	@Test
+	public void healthEndpointBackgroundIsDisabledByDefault() {
+		this.contextRunner.run((context) -> assertThat(context)
+				.doesNotHaveBean(HealthIndicatorPoller.class));
+	}
+
 	@Configuration(proxyBeanMethods = false)
 	static class HealthIndicatorConfiguration {
 
@@ -114,6 +210,35 @@ public class HealthEndpointAutoConfigurationTests {
 
 	}
 
+	@Configuration(proxyBeanMethods = false)
+	static class CompositeHealthIndicatorConfiguration {
+
+		@Bean
+		public HealthIndicator compositeHealthIndicator() {
+			return new CompositeHealthIndicator(new OrderedHealthAggregator(),
+					Collections.singletonMap("instance", () -> Health.down().build()));
+		}
+
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	static class SlowHealthIndicatorConfiguration {
+
+		@Bean
+		public HealthIndicator slowHealthIndicator() {
+			return () -> {
+				try {
+					Thread.sleep(5000);
+				}
+				catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+				return Health.up().build();
+			};
+		}
+
+	}
+
 	@Configuration(proxyBeanMethods = false)
 	static class ReactiveHealthIndicatorConfiguration {
 
@@ -18,18 +18,23 @@ package org.springframework.boot.actuate.autoconfigure.health;
 
 import java.security.Principal;
 import java.time.Duration;
+import java.util.Collections;
 
 import org.junit.Test;
 import reactor.core.publisher.Mono;
 
 import org.springframework.boot.actuate.endpoint.SecurityContext;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.health.CompositeHealthIndicator;
 import org.springframework.boot.actuate.health.Health;
 import org.springframework.boot.actuate.health.HealthEndpoint;
 import org.springframework.boot.actuate.health.HealthIndicator;
 import org.springframework.boot.actuate.health.HealthWebEndpointResponseMapper;
+import org.springframework.boot.actuate.health.OrderedHealthAggregator;
 import org.springframework.boot.actuate.health.ReactiveHealthEndpointWebExtension;
 import org.springframework.boot.actuate.health.ReactiveHealthIndicator;
 import org.springframework.boot.actuate.health.ReactiveHealthIndicatorRegistry;
+import org.springframework.boot.actuate.health.Status;
 import org.springframework.boot.test.context.runner.ReactiveWebApplicationContextRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -45,6 +50,7 @@ import static org.mockito.Mockito.mock;
  * @author Andy Wilkinson
  * @author Stephane Nicoll
  * @author Phillip Webb
+ * @author Edward Lee
  */
 public class ReactiveHealthEndpointWebExtensionTests {
 
@@ -242,6 +248,47 @@ public class ReactiveHealthEndpointWebExtensionTests {
 				});
 	}
 
+	@Test
+	public void backgroundServesSnapshotsOfComponentsAndInstances() {
+		this.contextRunner
+				.withUserConfiguration(HealthIndicatorsConfiguration.class,
+						CompositeHealthIndicatorConfiguration.class)
+				.withPropertyValues("management.endpoint.health.show-details=always",
+						"management.endpoint.health.background.enabled=true")
+				.run((context) -> {
+					ReactiveHealthEndpointWebExtension extension = context
+							.getBean(ReactiveHealthEndpointWebExtension.class);
+					Health health = extension.health(null).block(Duration.ofSeconds(30))
+							.getBody();
+					assertThat(((Health) health.getDetails().get("second")).getDetails())
+							.containsKey("snapshot");
+					Health first = extension.healthForComponent(null, "first")
+							.block(Duration.ofSeconds(30)).getBody();
+					assertThat(first.getStatus()).isEqualTo(Status.UP);
+					assertThat(first.getDetails()).containsKey("snapshot");
+					Health instance = extension
+							.healthForComponentInstance(null, "composite", "instance")
+							.block(Duration.ofSeconds(30)).getBody();
+					assertThat(instance.getStatus()).isEqualTo(Status.DOWN);
+					assertThat(instance.getDetails()).containsKey("snapshot");
+					WebEndpointResponse<Health> missing = extension
+							.healthForComponentInstance(null, "composite", "missing")
+							.block(Duration.ofSeconds(30));
+					assertThat(missing).isNull();
+				});
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	static class CompositeHealthIndicatorConfiguration {
+
+		@Bean
+		public HealthIndicator compositeHealthIndicator() {
+			return new CompositeHealthIndicator(new OrderedHealthAggregator(),
+					Collections.singletonMap("instance", () -> Health.down().build()));
+		}
+
+	}
+
 	@Configuration(proxyBeanMethods = false)
 	static class HealthIndicatorsConfiguration {
 
@@ -16,6 +16,8 @@
 
 package org.springframework.boot.actuate.autoconfigure.jdbc;
 
+import java.time.Duration;
+
 import javax.sql.DataSource;
 
 import org.junit.Test;
@@ -25,6 +27,8 @@ import org.springframework.boot.actuate.health.ApplicationHealthIndicator;
 import org.springframework.boot.actuate.health.CompositeHealthIndicator;
 import org.springframework.boot.actuate.health.HealthIndicator;
 import org.springframework.boot.actuate.jdbc.DataSourceHealthIndicator;
+import org.springframework.boot.actuate.jdbc.DataSourcePoolHealthIndicator;
+import org.springframework.boot.actuate.jdbc.DataSourcePoolValidator;
 import org.springframework.boot.autoconfigure.AutoConfigurations;
 import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
 import org.springframework.boot.autoconfigure.jdbc.EmbeddedDataSourceConfiguration;
@@ -38,12 +42,16 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
 
 /**
  * Tests for {@link DataSourceHealthIndicatorAutoConfiguration}.
  *
  * @author Phillip Webb
+ * @author Edward Lee
  */
 public class DataSourceHealthIndicatorAutoConfigurationTests {
 
@@ -99,6 +107,56 @@ public class DataSourceHealthIndicatorAutoConfigurationTests {
 				});
 	}
 
+	@Test
+	public void runShouldNotCreatePoolValidator() {
+		this.contextRunner.run((context) -> assertThat(context)
+				.doesNotHaveBean(DataSourcePoolValidator.class)
+				.doesNotHaveBean(DataSourcePoolHealthIndicator.class));
+	}
+
+	@Test
+	public void runWithPoolEnabledShouldCreatePoolIndicator() {
+		this.contextRunner
+				.withUserConfiguration(DataSourceConfig.class,
+						DataSourcePoolMetadataProvidersConfiguration.class)
+				.withPropertyValues("management.health.db.pool.enabled:true")
+				.run((context) -> {
+					assertThat(context).hasSingleBean(DataSourcePoolValidator.class)
+							.hasSingleBean(DataSourcePoolHealthIndicator.class);
+					assertThat(context.getBean(DataSourcePoolValidator.class)
+							.isRunning()).isTrue();
+				});
+	}
+
+	@Test
+	public void runWithPoolEnabledAndCustomValidatorShouldUseCustomValidator() {
+		this.contextRunner
+				.withUserConfiguration(DataSourceConfig.class,
+						DataSourcePoolMetadataProvidersConfiguration.class,
+						PoolValidatorConfig.class)
+				.withPropertyValues("management.health.db.pool.enabled:true")
+				.run((context) -> {
+					assertThat(context).hasSingleBean(DataSourcePoolValidator.class)
+							.hasSingleBean(DataSourcePoolHealthIndicator.class);
+					DataSourcePoolValidator validator = context
+							.getBean(DataSourcePoolValidator.class);
+					assertThat(validator.getInterval()).isEqualTo(Duration.ofMinutes(5));
+					verify(validator).register(any(DataSourcePoolHealthIndicator.class));
+				});
+	}
+
+	@Test
+	public void runWithPoolEnabledAndNoPoolMetadataShouldUseValidationQuery() {
+		this.contextRunner.withUserConfiguration(EmbeddedDataSourceConfiguration.class)
+				.withPropertyValues("management.health.db.pool.enabled:true")
+				.run((context) -> {
+					assertThat(context).hasSingleBean(DataSourceHealthIndicator.class)
+							.doesNotHaveBean(DataSourcePoolHealthIndicator.class);
+					assertThat(context.getBean(DataSourceHealthIndicator.class)
+							.health().getDetails()).containsKey("validationQuery");
+				});
+	}
+
 	@Test
 	public void runWhenDisabledShouldNotCreateIndicator() {
 		this.contextRunner.withUserConfiguration(EmbeddedDataSourceConfiguration.class)
@@ -124,6 +182,16 @@ public class DataSourceHealthIndicatorAutoConfigurationTests {
 
 	}
 
+	@Configuration(proxyBeanMethods = false)
+	protected static class PoolValidatorConfig {
+
+		@Bean
+		public DataSourcePoolValidator customPoolValidator() {
+			return spy(new DataSourcePoolValidator(Duration.ofMinutes(5)));
+		}
+
+	}
+
 	@Configuration(proxyBeanMethods = false)
 	protected static class RoutingDatasourceConfig {
 
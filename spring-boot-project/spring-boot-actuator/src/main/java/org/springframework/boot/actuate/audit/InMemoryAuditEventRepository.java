@@ -17,37 +17,40 @@
 package org.springframework.boot.actuate.audit;
 
 import java.time.Instant;
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import org.springframework.util.Assert;
 
 /**
- * In-memory {@link AuditEventRepository} implementation.
+ * In-memory {@link AuditEventRepository} implementation. Events are appended without
+ * locking to a fixed-capacity ring buffer and are indexed by principal and by type so
+ * that {@link #find(String, Instant, String) queries} only consider candidate events.
  *
  * @author Dave Syer
  * @author Phillip Webb
  * @author Vedran Pavic
+ * @author Edward Lee
  */
 public class InMemoryAuditEventRepository implements AuditEventRepository {
 
 	private static final int DEFAULT_CAPACITY = 1000;
 
-	private final Object monitor = new Object();
-
-	/**
-	 * Circular buffer of the event with tail pointing to the last element.
-	 */
-	private AuditEvent[] events;
-
-	private volatile int tail = -1;
+	private volatile Events events;
 
 	public InMemoryAuditEventRepository() {
 		this(DEFAULT_CAPACITY);
 	}
 
 	public InMemoryAuditEventRepository(int capacity) {
-		this.events = new AuditEvent[capacity];
+		this.events = new Events(capacity);
 	}
 
 	/**
@@ -55,35 +58,21 @@ public class InMemoryAuditEventRepository implements AuditEventRepository {
 	 * @param capacity the capacity
 	 */
 	public void setCapacity(int capacity) {
-		synchronized (this.monitor) {
-			this.events = new AuditEvent[capacity];
-		}
+		this.events = new Events(capacity);
 	}
 
 	@Override
 	public void add(AuditEvent event) {
 		Assert.notNull(event, "AuditEvent must not be null");
-		synchronized (this.monitor) {
-			this.tail = (this.tail + 1) % this.events.length;
-			this.events[this.tail] = event;
-		}
+		this.events.add(event);
 	}
 
 	@Override
 	public List<AuditEvent> find(String principal, Instant after, String type) {
-		LinkedList<AuditEvent> events = new LinkedList<>();
-		synchronized (this.monitor) {
-			for (int i = 0; i < this.events.length; i++) {
-				AuditEvent event = resolveTailEvent(i);
-				if (event != null && isMatch(principal, after, type, event)) {
-					events.addFirst(event);
-				}
-			}
-		}
-		return events;
+		return this.events.find(principal, after, type);
 	}
 
-	private boolean isMatch(String principal, Instant after, String type,
+	private static boolean isMatch(String principal, Instant after, String type,
 			AuditEvent event) {
 		boolean match = true;
 		match = match && (principal == null || event.getPrincipal().equals(principal));
@@ -92,9 +81,154 @@ public class InMemoryAuditEventRepository implements AuditEventRepository {
 		return match;
 	}
 
-	private AuditEvent resolveTailEvent(int offset) {
-		int index = ((this.tail + this.events.length - offset) % this.events.length);
-		return this.events[index];
+	/**
+	 * Ring buffer of events with secondary indexes. Each {@link #add(AuditEvent)} claims
+	 * the next value of a single sequence and publishes an immutable {@link Entry} to the
+	 * slot for that sequence. The sequence is then added to the principal and type
+	 * indexes and removed from them again once the slot is overwritten. Indexes are only
+	 * locked to add the set of a key that is not present, so that events that share a
+	 * principal or type do not contend on the same lock.
+	 */
+	private static final class Events {
+
+		private final int capacity;
+
+		private final AtomicLong sequence = new AtomicLong();
+
+		private final AtomicReferenceArray<Entry> slots;
+
+		private final ConcurrentMap<String, NavigableSet<Long>> principals = new ConcurrentHashMap<>();
+
+		private final ConcurrentMap<String, NavigableSet<Long>> types = new ConcurrentHashMap<>();
+
+		Events(int capacity) {
+			this.capacity = Math.max(capacity, 0);
+			this.slots = new AtomicReferenceArray<>(this.capacity);
+		}
+
+		void add(AuditEvent event) {
+			if (this.capacity == 0) {
+				return;
+			}
+			long sequence = this.sequence.getAndIncrement();
+			int index = getIndex(sequence);
+			Entry entry = new Entry(sequence, event);
+			Entry current = this.slots.get(index);
+			while (current == null || current.sequence < sequence) {
+				if (this.slots.compareAndSet(index, current, entry)) {
+					if (current != null) {
+						removeFromIndexes(current);
+					}
+					addToIndexes(entry);
+					if (this.slots.get(index) != entry) {
+						// Overwritten before we indexed it
+						removeFromIndexes(entry);
+					}
+					return;
+				}
+				current = this.slots.get(index);
+			}
+		}
+
+		List<AuditEvent> find(String principal, Instant after, String type) {
+			List<AuditEvent> events = new ArrayList<>();
+			for (long sequence : getCandidates(principal, type)) {
+				Entry entry = this.slots.get(getIndex(sequence));
+				if (entry != null && entry.sequence == sequence
+						&& isMatch(principal, after, type, entry.event)) {
+					events.add(entry.event);
+				}
+			}
+			return events;
+		}
+
+		private Iterable<Long> getCandidates(String principal, String type) {
+			if (principal != null) {
+				return this.principals.getOrDefault(principal,
+						Collections.emptyNavigableSet());
+			}
+			if (type != null) {
+				return this.types.getOrDefault(type, Collections.emptyNavigableSet());
+			}
+			long end = this.sequence.get();
+			long start = Math.max(0, end - this.capacity);
+			List<Long> sequences = new ArrayList<>((int) (end - start));
+			for (long sequence = start; sequence < end; sequence++) {
+				sequences.add(sequence);
+			}
+			return sequences;
+		}
+
+		private void addToIndexes(Entry entry) {
+			add(this.principals, entry.event.getPrincipal(), entry.sequence);
+			add(this.types, entry.event.getType(), entry.sequence);
+		}
+
+		private void removeFromIndexes(Entry entry) {
+			remove(this.principals, entry.event.getPrincipal(), entry.sequence);
+			remove(this.types, entry.event.getType(), entry.sequence);
+		}
+
+		private void add(ConcurrentMap<String, NavigableSet<Long>> index, String key,
+				long sequence) {
+			NavigableSet<Long> sequences = index.get(key);
+			while (true) {
+				if (sequences == null) {
+					sequences = index.computeIfAbsent(key,
+							(k) -> new ConcurrentSkipListSet<>());
+				}
+				sequences.add(sequence);
+				NavigableSet<Long> current = index.get(key);
+				if (current == sequences) {
+					return;
+				}
+				// Removed as empty while we were adding to it
+				sequences = current;
+			}
+		}
+
+		private void remove(ConcurrentMap<String, NavigableSet<Long>> index, String key,
+				long sequence) {
+			NavigableSet<Long> sequences = index.get(key);
+			if (sequences == null) {
+				return;
+			}
+			sequences.remove(sequence);
+			if (sequences.isEmpty() && index.remove(key, sequences)) {
+				// Restore any sequence that was added while the set was being removed
+				for (long added : sequences) {
+					if (isRetained(added)) {
+						add(index, key, added);
+					}
+				}
+			}
+		}
+
+		private boolean isRetained(long sequence) {
+			Entry entry = this.slots.get(getIndex(sequence));
+			return entry != null && entry.sequence == sequence;
+		}
+
+		private int getIndex(long sequence) {
+			return (int) (sequence % this.capacity);
+		}
+
+	}
+
+	/**
+	 * An event published at a given sequence.
+	 */
+	private static final class Entry {
+
+		private final long sequence;
+
+		private final AuditEvent event;
+
+		Entry(long sequence, AuditEvent event) {
+			this.sequence = sequence;
+			this.event = event;
+		}
+
 	}
 
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2018 the original author or authors.
+ * Copyright 2012-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,8 +16,12 @@
 
 package org.springframework.boot.actuate.endpoint.invoker.cache;
 
+import java.security.Principal;
+import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.springframework.boot.actuate.endpoint.InvocationContext;
 import org.springframework.boot.actuate.endpoint.invoke.OperationInvoker;
@@ -26,18 +30,25 @@ import org.springframework.util.ObjectUtils;
 
 /**
  * An {@link OperationInvoker} that caches the response of an operation with a
- * configurable time to live.
+ * configurable time to live. Responses are cached per principal and per argument
+ * values, up to a maximum number of entries. Concurrent invocations with the same key
+ * share a single invocation of the target.
  *
  * @author Stephane Nicoll
+ * @author Edward Lee
  * @since 2.0.0
  */
 public class CachingOperationInvoker implements OperationInvoker {
 
+	private static final int DEFAULT_MAX_SIZE = 128;
+
 	private final OperationInvoker invoker;
 
 	private final long timeToLive;
 
-	private volatile CachedResponse cachedResponse;
+	private final int maxSize;
+
+	private final Map<CacheKey, CachedResponse> cachedResponses = new ConcurrentHashMap<>();
 
 	/**
 	 * Create a new instance with the target {@link OperationInvoker} to use to compute
@@ -46,9 +57,23 @@ public class CachingOperationInvoker implements OperationInvoker {
 	 * @param timeToLive the maximum time in milliseconds that a response can be cached
 	 */
 	CachingOperationInvoker(OperationInvoker invoker, long timeToLive) {
+		this(invoker, timeToLive, DEFAULT_MAX_SIZE);
+	}
+
+	/**
+	 * Create a new instance with the target {@link OperationInvoker} to use to compute
+	 * the response, the time to live for the cache and the maximum number of cached
+	 * responses.
+	 * @param invoker the {@link OperationInvoker} this instance wraps
+	 * @param timeToLive the maximum time in milliseconds that a response can be cached
+	 * @param maxSize the maximum number of cached responses
+	 */
+	CachingOperationInvoker(OperationInvoker invoker, long timeToLive, int maxSize) {
 		Assert.isTrue(timeToLive > 0, "TimeToLive must be strictly positive");
+		Assert.isTrue(maxSize > 0, "MaxSize must be strictly positive");
 		this.invoker = invoker;
 		this.timeToLive = timeToLive;
+		this.maxSize = maxSize;
 	}
 
 	/**
@@ -59,30 +84,69 @@ public class CachingOperationInvoker implements OperationInvoker {
 		return this.timeToLive;
 	}
 
+	/**
+	 * Return the maximum number of responses that can be cached.
+	 * @return the maximum number of cached responses
+	 */
+	public int getMaxSize() {
+		return this.maxSize;
+	}
+
 	@Override
 	public Object invoke(InvocationContext context) {
-		if (hasInput(context)) {
+		CacheKey key = CacheKey.get(context);
+		if (key == null) {
 			return this.invoker.invoke(context);
 		}
 		long accessTime = System.currentTimeMillis();
-		CachedResponse cached = this.cachedResponse;
+		CachedResponse cached = this.cachedResponses.get(key);
 		if (cached == null || cached.isStale(accessTime, this.timeToLive)) {
+			CachedResponse candidate = new CachedResponse(accessTime);
+			cached = this.cachedResponses.compute(key,
+					(k, existing) -> (existing == null
+							|| existing.isStale(accessTime, this.timeToLive))
+									? candidate : existing);
+			if (cached == candidate) {
+				return load(key, candidate, context);
+			}
+		}
+		return cached.getResponse();
+	}
+
+	private Object load(CacheKey key, CachedResponse cached, InvocationContext context) {
+		evictIfNecessary(cached.creationTime);
+		try {
 			Object response = this.invoker.invoke(context);
-			this.cachedResponse = new CachedResponse(response, accessTime);
+			cached.complete(response);
 			return response;
 		}
-		return cached.getResponse();
+		catch (RuntimeException | Error ex) {
+			this.cachedResponses.remove(key, cached);
+			cached.completeExceptionally(ex);
+			throw ex;
+		}
 	}
 
-	private boolean hasInput(InvocationContext context) {
-		if (context.getSecurityContext().getPrincipal() != null) {
-			return true;
+	private void evictIfNecessary(long accessTime) {
+		if (this.cachedResponses.size() <= this.maxSize) {
+			return;
 		}
-		Map<String, Object> arguments = context.getArguments();
-		if (!ObjectUtils.isEmpty(arguments)) {
-			return arguments.values().stream().anyMatch(Objects::nonNull);
+		this.cachedResponses.entrySet().removeIf(
+				(entry) -> entry.getValue().isStale(accessTime, this.timeToLive));
+		while (this.cachedResponses.size() > this.maxSize) {
+			Map.Entry<CacheKey, CachedResponse> eldest = null;
+			for (Map.Entry<CacheKey, CachedResponse> entry : this.cachedResponses
+					.entrySet()) {
+				if (eldest == null || entry.getValue().creationTime < eldest
+						.getValue().creationTime) {
+					eldest = entry;
+				}
+			}
+			if (eldest == null) {
+				return;
+			}
+			this.cachedResponses.remove(eldest.getKey(), eldest.getValue());
 		}
-		return false;
 	}
 
 	/**
@@ -99,18 +163,92 @@ public class CachingOperationInvoker implements OperationInvoker {
 		return invoker;
 	}
 
+	/**
+	 * The key of a cached response: the name of the principal, if any, and the non-null
+	 * argument values.
+	 */
+	static final class CacheKey {
+
+		private final String principal;
+
+		private final Map<String, Object> arguments;
+
+		private CacheKey(String principal, Map<String, Object> arguments) {
+			this.principal = principal;
+			this.arguments = arguments;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (obj == null || getClass() != obj.getClass()) {
+				return false;
+			}
+			CacheKey other = (CacheKey) obj;
+			if (!ObjectUtils.nullSafeEquals(this.principal, other.principal)
+					|| !this.arguments.keySet().equals(other.arguments.keySet())) {
+				return false;
+			}
+			for (Map.Entry<String, Object> entry : this.arguments.entrySet()) {
+				if (!ObjectUtils.nullSafeEquals(entry.getValue(),
+						other.arguments.get(entry.getKey()))) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		@Override
+		public int hashCode() {
+			int result = ObjectUtils.nullSafeHashCode(this.principal);
+			for (Map.Entry<String, Object> entry : this.arguments.entrySet()) {
+				result += entry.getKey().hashCode()
+						^ ObjectUtils.nullSafeHashCode(entry.getValue());
+			}
+			return result;
+		}
+
+		/**
+		 * Return the key to use for the given context or {@code null} if the response
+		 * should not be cached because the principal cannot be identified.
+		 * @param context the invocation context
+		 * @return the key or {@code null}
+		 */
+		static CacheKey get(InvocationContext context) {
+			Principal principal = context.getSecurityContext().getPrincipal();
+			String principalName = null;
+			if (principal != null) {
+				principalName = principal.getName();
+				if (principalName == null) {
+					return null;
+				}
+			}
+			Map<String, Object> arguments = new LinkedHashMap<>();
+			if (!ObjectUtils.isEmpty(context.getArguments())) {
+				context.getArguments().forEach((name, value) -> {
+					if (value != null) {
+						arguments.put(name, value);
+					}
+				});
+			}
+			return new CacheKey(principalName, arguments);
+		}
+
+	}
+
 	/**
 	 * A cached response that encapsulates the response itself and the time at which it
-	 * was created.
+	 * was created. The response may still be loading, in which case readers wait for it.
 	 */
 	static class CachedResponse {
 
-		private final Object response;
+		private final CompletableFuture<Object> response = new CompletableFuture<>();
 
 		private final long creationTime;
 
-		CachedResponse(Object response, long creationTime) {
-			this.response = response;
+		CachedResponse(long creationTime) {
 			this.creationTime = creationTime;
 		}
 
@@ -118,8 +256,28 @@ public class CachingOperationInvoker implements OperationInvoker {
 			return (accessTime - this.creationTime) >= timeToLive;
 		}
 
+		void complete(Object response) {
+			this.response.complete(response);
+		}
+
+		void completeExceptionally(Throwable ex) {
+			this.response.completeExceptionally(ex);
+		}
+
 		public Object getResponse() {
-			return this.response;
+			try {
+				return this.response.join();
+			}
+			catch (CompletionException ex) {
+				Throwable cause = ex.getCause();
+				if (cause instanceof RuntimeException) {
+					throw (RuntimeException) cause;
+				}
+				if (cause instanceof Error) {
+					throw (Error) cause;
+				}
+				throw ex;
+			}
 		}
 
 	}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2018 the original author or authors.
+ * Copyright 2012-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -21,7 +21,9 @@ import java.security.Principal;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.Supplier;
 
 import org.reactivestreams.Publisher;
@@ -40,9 +42,14 @@ import org.springframework.boot.actuate.endpoint.web.ExposableWebEndpoint;
 import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
 import org.springframework.boot.actuate.endpoint.web.WebOperation;
 import org.springframework.boot.actuate.endpoint.web.WebOperationRequestPredicate;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.security.access.AccessDecisionVoter;
 import org.springframework.security.access.SecurityConfig;
 import org.springframework.security.access.vote.RoleVoter;
@@ -75,6 +82,7 @@ import org.springframework.web.util.pattern.PathPatternParser;
  * @author Madhura Bhave
  * @author Phillip Webb
  * @author Brian Clozel
+ * @author Edward Lee
  * @since 2.0.0
  */
 public abstract class AbstractWebFluxEndpointHandlerMapping
@@ -274,11 +282,15 @@ public abstract class AbstractWebFluxEndpointHandlerMapping
 
 	/**
 	 * Adapter class to convert an {@link OperationInvoker} into a
-	 * {@link ReactiveWebOperation}.
+	 * {@link ReactiveWebOperation}. A {@link Resource} that is neither a file nor held in
+	 * memory is streamed to the response as it is read using Reactor's
+	 * {@link Schedulers#elastic() elastic scheduler}, as reading it may block.
 	 */
 	private static final class ReactiveWebOperationAdapter
 			implements ReactiveWebOperation {
 
+		private static final int BUFFER_SIZE = 4096;
+
 		private final OperationInvoker invoker;
 
 		private final String operationId;
@@ -328,7 +340,7 @@ public abstract class AbstractWebFluxEndpointHandlerMapping
 							arguments))
 					.flatMap((invocationContext) -> handleResult(
 							(Publisher<?>) this.invoker.invoke(invocationContext),
-							exchange.getRequest().getMethod()));
+							exchange));
 		}
 
 		private Map<String, Object> getArguments(ServerWebExchange exchange,
@@ -348,13 +360,17 @@ public abstract class AbstractWebFluxEndpointHandlerMapping
 		}
 
 		private Mono<ResponseEntity<Object>> handleResult(Publisher<?> result,
-				HttpMethod httpMethod) {
+				ServerWebExchange exchange) {
+			HttpMethod httpMethod = exchange.getRequest().getMethod();
 			return Mono.from(result).map(this::toResponseEntity)
 					.onErrorMap(InvalidEndpointRequestException.class,
 							(ex) -> new ResponseStatusException(HttpStatus.BAD_REQUEST,
 									ex.getReason()))
 					.defaultIfEmpty(new ResponseEntity<>((httpMethod != HttpMethod.GET)
-							? HttpStatus.NO_CONTENT : HttpStatus.NOT_FOUND));
+							? HttpStatus.NO_CONTENT : HttpStatus.NOT_FOUND))
+					.flatMap((responseEntity) -> isStreamed(responseEntity.getBody())
+							? writeStreamed(responseEntity, exchange).then(Mono.empty())
+							: Mono.just(responseEntity));
 		}
 
 		private ResponseEntity<Object> toResponseEntity(Object response) {
@@ -366,6 +382,39 @@ public abstract class AbstractWebFluxEndpointHandlerMapping
 					HttpStatus.valueOf(webEndpointResponse.getStatus()));
 		}
 
+		private boolean isStreamed(Object body) {
+			return body instanceof Resource && !((Resource) body).isFile()
+					&& !(body instanceof ByteArrayResource);
+		}
+
+		private Mono<Void> writeStreamed(ResponseEntity<Object> responseEntity,
+				ServerWebExchange exchange) {
+			Resource resource = (Resource) responseEntity.getBody();
+			ServerHttpResponse response = exchange.getResponse();
+			response.setStatusCode(responseEntity.getStatusCode());
+			response.getHeaders().setContentType(getContentType(exchange));
+			return response.writeWith(DataBufferUtils
+					.readInputStream(resource::getInputStream, response.bufferFactory(),
+							BUFFER_SIZE)
+					.subscribeOn(Schedulers.elastic()));
+		}
+
+		private MediaType getContentType(ServerWebExchange exchange) {
+			Set<MediaType> producibleTypes = exchange
+					.getAttribute(HandlerMapping.PRODUCIBLE_MEDIA_TYPES_ATTRIBUTE);
+			List<MediaType> acceptedTypes = exchange.getRequest().getHeaders()
+					.getAccept();
+			if (producibleTypes != null) {
+				for (MediaType producibleType : producibleTypes) {
+					if (acceptedTypes.isEmpty() || acceptedTypes.stream()
+							.anyMatch(producibleType::isCompatibleWith)) {
+						return producibleType;
+					}
+				}
+			}
+			return MediaType.APPLICATION_OCTET_STREAM;
+		}
+
 		@Override
 		public String toString() {
 			return "Actuator web endpoint '" + this.operationId + "'";
@@ -18,13 +18,26 @@ package org.springframework.boot.actuate.health;
 
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.util.Assert;
 
 /**
  * {@link HealthIndicator} that returns health indications from all registered delegates.
+ * Delegates are called sequentially unless an {@link #executor(ExecutorService) executor}
+ * is configured in which case they are called concurrently.
  *
  * @author Tyler J. Frederick
  * @author Phillip Webb
  * @author Christian Dupuis
+ * @author Edward Lee
  * @since 1.1.0
  */
 public class CompositeHealthIndicator implements HealthIndicator {
@@ -33,6 +46,12 @@ public class CompositeHealthIndicator implements HealthIndicator {
 
 	private final HealthAggregator aggregator;
 
+	private ExecutorService executor;
+
+	private Long timeout;
+
+	private Health timeoutHealth;
+
 	/**
 	 * Create a new {@link CompositeHealthIndicator} from the specified indicators.
 	 * @param healthAggregator the health aggregator
@@ -56,6 +75,44 @@ public class CompositeHealthIndicator implements HealthIndicator {
 		this.registry = registry;
 	}
 
+	/**
+	 * Specify an {@link ExecutorService} used to call the registered
+	 * {@link HealthIndicator HealthIndicators} concurrently. Indicators that cannot be
+	 * submitted to the executor are reported with an {@link Status#UNKNOWN unknown}
+	 * status.
+	 * @param executor the executor used to call the health indicators
+	 * @return this instance
+	 * @since 2.2.0
+	 */
+	public CompositeHealthIndicator executor(ExecutorService executor) {
+		Assert.notNull(executor, "Executor must not be null");
+		this.executor = executor;
+		return this;
+	}
+
+	/**
+	 * Specify an alternative timeout {@link Health} if a {@link HealthIndicator} failed
+	 * to reply after specified {@code timeout}. Only applies when an
+	 * {@link #executor(ExecutorService) executor} has been configured. Each indicator
+	 * gets its own timeout, starting when it is called or, while it waits for a thread of
+	 * the executor, when it was submitted. An indicator that times out is interrupted.
+	 * @param timeout number of milliseconds to wait for each indicator before using the
+	 * {@code timeoutHealth}
+	 * @param timeoutHealth the {@link Health} to use if an health indicator reached the
+	 * {@code timeout} or {@code null} to use an {@link Status#UNKNOWN unknown} health
+	 * with the timeout as detail
+	 * @return this instance
+	 * @since 2.2.0
+	 */
+	public CompositeHealthIndicator timeoutStrategy(long timeout, Health timeoutHealth) {
+		this.timeout = timeout;
+		this.timeoutHealth = (timeoutHealth != null) ? timeoutHealth
+				: Health.unknown()
+						.withDetail("error", "Timed out after " + timeout + "ms")
+						.build();
+		return this;
+	}
+
 	/**
 	 * Return the {@link HealthIndicatorRegistry} of this instance.
 	 * @return the registry of nested {@link HealthIndicator health indicators}
@@ -67,6 +124,9 @@ public class CompositeHealthIndicator implements HealthIndicator {
 
 	@Override
 	public Health health() {
+		if (this.executor != null) {
+			return this.aggregator.aggregate(getConcurrentHealths());
+		}
 		Map<String, Health> healths = new LinkedHashMap<>();
 		for (Map.Entry<String, HealthIndicator> entry : this.registry.getAll()
 				.entrySet()) {
@@ -75,4 +135,83 @@ public class CompositeHealthIndicator implements HealthIndicator {
 		return this.aggregator.aggregate(healths);
 	}
 
+	private Map<String, Health> getConcurrentHealths() {
+		Map<String, TimedCall> calls = new LinkedHashMap<>();
+		this.registry.getAll()
+				.forEach((name, indicator) -> calls.put(name, new TimedCall(indicator)));
+		Map<String, Future<Health>> futures = new LinkedHashMap<>();
+		calls.forEach((name, call) -> futures.put(name, submit(call)));
+		Map<String, Health> healths = new LinkedHashMap<>();
+		futures.forEach((name, future) -> healths.put(name,
+				getHealth(future, calls.get(name))));
+		return healths;
+	}
+
+	private Future<Health> submit(TimedCall call) {
+		try {
+			return this.executor.submit(call);
+		}
+		catch (RejectedExecutionException ex) {
+			return CompletableFuture
+					.completedFuture(Health.unknown().withException(ex).build());
+		}
+	}
+
+	private Health getHealth(Future<Health> future, TimedCall call) {
+		try {
+			if (this.timeout == null) {
+				return future.get();
+			}
+			long timeout = TimeUnit.MILLISECONDS.toNanos(this.timeout);
+			while (true) {
+				try {
+					return future.get(Math.max(call.getRemaining(timeout), 0),
+							TimeUnit.NANOSECONDS);
+				}
+				catch (TimeoutException ex) {
+					if (call.getRemaining(timeout) <= 0 && future.cancel(true)) {
+						return this.timeoutHealth;
+					}
+				}
+			}
+		}
+		catch (ExecutionException ex) {
+			return Health.down().withException(ex.getCause()).build();
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			return Health.down(ex).build();
+		}
+	}
+
+	/**
+	 * Call to a {@link HealthIndicator} that records when it was submitted and when it
+	 * started.
+	 */
+	private static final class TimedCall implements Callable<Health> {
+
+		private final HealthIndicator indicator;
+
+		private final long submitted = System.nanoTime();
+
+		private volatile Long started;
+
+		TimedCall(HealthIndicator indicator) {
+			this.indicator = indicator;
+		}
+
+		@Override
+		public Health call() {
+			this.started = System.nanoTime();
+			return this.indicator.health();
+		}
+
+		long getRemaining(long timeout) {
+			Long started = this.started;
+			return ((started != null) ? started : this.submitted) + timeout
+					- System.nanoTime();
+		}
+
+	}
+
 }
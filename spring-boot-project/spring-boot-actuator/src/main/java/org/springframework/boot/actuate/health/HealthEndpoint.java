@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2018 the original author or authors.
+ * Copyright 2012-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -28,6 +28,7 @@ import org.springframework.util.Assert;
  * @author Christian Dupuis
  * @author Andy Wilkinson
  * @author Stephane Nicoll
+ * @author Edward Lee
  * @since 2.0.0
  */
 @Endpoint(id = "health")
@@ -85,6 +86,10 @@ public class HealthEndpoint {
 		if (healthIndicator instanceof CompositeHealthIndicator) {
 			return ((CompositeHealthIndicator) healthIndicator).getRegistry().get(name);
 		}
+		if (healthIndicator instanceof SnapshotHealthIndicator) {
+			return ((SnapshotHealthIndicator) healthIndicator)
+					.getNestedHealthIndicator(name);
+		}
 		return null;
 	}
 
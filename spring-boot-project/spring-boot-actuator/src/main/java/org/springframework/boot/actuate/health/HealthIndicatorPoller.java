@@ -0,0 +1,276 @@
+/*
+ * Copyright 2012-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.health;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+
+/**
+ * Polls the {@link HealthIndicator HealthIndicators} of a
+ * {@link HealthIndicatorRegistry} in the background and keeps the latest
+ * {@link Snapshot} of each. Every indicator is polled on its own schedule so that
+ * callers can be served without invoking the indicators themselves.
+ *
+ * @author Edward Lee
+ * @since 2.2.0
+ * @see SnapshotHealthIndicator
+ */
+public class HealthIndicatorPoller implements SmartLifecycle {
+
+	private final HealthIndicatorRegistry registry;
+
+	private final Duration interval;
+
+	private final Map<String, Duration> intervals = new ConcurrentHashMap<>();
+
+	private final Map<String, Snapshot> snapshots = new ConcurrentHashMap<>();
+
+	private final Map<String, ScheduledFuture<?>> tasks = new ConcurrentHashMap<>();
+
+	private final Object monitor = new Object();
+
+	private int threads = 1;
+
+	private volatile ScheduledExecutorService executor;
+
+	/**
+	 * Create a new {@link HealthIndicatorPoller} instance.
+	 * @param registry the registry of {@link HealthIndicator HealthIndicators} to poll
+	 * @param interval the default interval between two checks of an indicator
+	 */
+	public HealthIndicatorPoller(HealthIndicatorRegistry registry, Duration interval) {
+		Assert.notNull(registry, "Registry must not be null");
+		Assert.isTrue(interval != null && !interval.isNegative() && !interval.isZero(),
+				"Interval must be positive");
+		this.registry = registry;
+		this.interval = interval;
+	}
+
+	/**
+	 * Set the interval to use for the indicator with the specified name, overriding the
+	 * default interval. Takes effect the next time polling is started.
+	 * @param name the name of the indicator
+	 * @param interval the interval between two checks of the indicator
+	 */
+	public void setInterval(String name, Duration interval) {
+		Assert.notNull(name, "Name must not be null");
+		Assert.isTrue(interval != null && !interval.isNegative() && !interval.isZero(),
+				"Interval must be positive");
+		this.intervals.put(name, interval);
+	}
+
+	/**
+	 * Set the number of threads used to check indicators. Takes effect the next time
+	 * polling is started.
+	 * @param threads the number of threads
+	 */
+	public void setThreads(int threads) {
+		Assert.isTrue(threads > 0, "Threads must be positive");
+		this.threads = threads;
+	}
+
+	/**
+	 * Return the {@link HealthIndicatorRegistry} of this instance.
+	 * @return the registry of polled {@link HealthIndicator health indicators}
+	 */
+	public HealthIndicatorRegistry getRegistry() {
+		return this.registry;
+	}
+
+	/**
+	 * Return the latest {@link Snapshot} of every indicator currently in the registry,
+	 * in registration order. Indicators that have not been checked yet, for instance
+	 * because they were registered after polling started, are checked immediately.
+	 * @return the snapshots keyed by indicator name
+	 */
+	public Map<String, Snapshot> getSnapshots() {
+		Map<String, Snapshot> snapshots = new LinkedHashMap<>();
+		this.registry.getAll().forEach(
+				(name, indicator) -> snapshots.put(name, getOrCheck(name, indicator)));
+		return snapshots;
+	}
+
+	/**
+	 * Return the latest {@link Snapshot} of the indicator with the specified name,
+	 * checking it immediately if it has not been checked yet.
+	 * @param name the name of the indicator
+	 * @return the snapshot or {@code null} if no such indicator is registered
+	 */
+	public Snapshot getOrCheckSnapshot(String name) {
+		HealthIndicator indicator = this.registry.get(name);
+		return (indicator != null) ? getOrCheck(name, indicator) : null;
+	}
+
+	/**
+	 * Return the latest {@link Snapshot} of the indicator with the specified name.
+	 * @param name the name of the indicator
+	 * @return the snapshot or {@code null} if the indicator has not been checked yet
+	 */
+	public Snapshot getSnapshot(String name) {
+		return this.snapshots.get(name);
+	}
+
+	/**
+	 * Return the interval between two checks of the indicator with the specified name.
+	 * @param name the name of the indicator
+	 * @return the interval
+	 */
+	public Duration getInterval(String name) {
+		return this.intervals.getOrDefault(name, this.interval);
+	}
+
+	@Override
+	public void start() {
+		synchronized (this.monitor) {
+			if (this.executor != null) {
+				return;
+			}
+			CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(
+					"health-poller-");
+			threadFactory.setDaemon(true);
+			ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(
+					this.threads, threadFactory);
+			executor.setRemoveOnCancelPolicy(true);
+			this.executor = executor;
+			this.registry.getAll().keySet().forEach(this::schedule);
+		}
+	}
+
+	@Override
+	public void stop() {
+		synchronized (this.monitor) {
+			if (this.executor == null) {
+				return;
+			}
+			this.tasks.values().forEach((task) -> task.cancel(false));
+			this.tasks.clear();
+			this.executor.shutdownNow();
+			this.executor = null;
+		}
+	}
+
+	@Override
+	public boolean isRunning() {
+		return this.executor != null;
+	}
+
+	private void schedule(String name) {
+		synchronized (this.monitor) {
+			ScheduledExecutorService executor = this.executor;
+			if (executor == null || this.tasks.containsKey(name)) {
+				return;
+			}
+			long interval = getInterval(name).toMillis();
+			this.tasks.put(name, executor.scheduleWithFixedDelay(() -> poll(name), 0,
+					interval, TimeUnit.MILLISECONDS));
+		}
+	}
+
+	private void poll(String name) {
+		HealthIndicator indicator = this.registry.get(name);
+		if (indicator != null) {
+			check(name, indicator);
+			return;
+		}
+		this.snapshots.remove(name);
+		synchronized (this.monitor) {
+			ScheduledFuture<?> task = this.tasks.remove(name);
+			if (task != null) {
+				task.cancel(false);
+			}
+		}
+	}
+
+	private Snapshot getOrCheck(String name, HealthIndicator indicator) {
+		Snapshot snapshot = this.snapshots.get(name);
+		if (snapshot == null) {
+			snapshot = check(name, indicator);
+			schedule(name);
+		}
+		return snapshot;
+	}
+
+	private Snapshot check(String name, HealthIndicator indicator) {
+		long start = System.nanoTime();
+		Health health;
+		try {
+			health = indicator.health();
+		}
+		catch (Exception ex) {
+			health = Health.down(ex).build();
+		}
+		Snapshot snapshot = new Snapshot(health, System.currentTimeMillis(),
+				Duration.ofNanos(System.nanoTime() - start));
+		this.snapshots.put(name, snapshot);
+		return snapshot;
+	}
+
+	/**
+	 * The result of a single check of a {@link HealthIndicator}.
+	 */
+	public static final class Snapshot {
+
+		private final Health health;
+
+		private final long timestamp;
+
+		private final Duration duration;
+
+		Snapshot(Health health, long timestamp, Duration duration) {
+			this.health = health;
+			this.timestamp = timestamp;
+			this.duration = duration;
+		}
+
+		/**
+		 * Return the {@link Health} reported by the indicator.
+		 * @return the health
+		 */
+		public Health getHealth() {
+			return this.health;
+		}
+
+		/**
+		 * Return the time at which the check completed, in milliseconds since the
+		 * epoch.
+		 * @return the timestamp of the check
+		 */
+		public long getTimestamp() {
+			return this.timestamp;
+		}
+
+		/**
+		 * Return how long the check took.
+		 * @return the duration of the check
+		 */
+		public Duration getDuration() {
+			return this.duration;
+		}
+
+	}
+
+}
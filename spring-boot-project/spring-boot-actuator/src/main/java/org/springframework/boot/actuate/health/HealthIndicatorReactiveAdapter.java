@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2017 the original author or authors.
+ * Copyright 2012-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -27,6 +27,7 @@ import org.springframework.util.Assert;
  * safely invoked in a reactive environment.
  *
  * @author Stephane Nicoll
+ * @author Edward Lee
  * @since 2.0.0
  */
 public class HealthIndicatorReactiveAdapter implements ReactiveHealthIndicator {
@@ -43,6 +44,10 @@ public class HealthIndicatorReactiveAdapter implements ReactiveHealthIndicator {
 		return Mono.create((sink) -> Schedulers.elastic().schedule(() -> invoke(sink)));
 	}
 
+	HealthIndicator getDelegate() {
+		return this.delegate;
+	}
+
 	private void invoke(MonoSink<Health> sink) {
 		try {
 			Health health = this.delegate.health();
@@ -28,6 +28,7 @@ import org.springframework.boot.actuate.endpoint.web.annotation.EndpointWebExten
  * Reactive {@link EndpointWebExtension} for the {@link HealthEndpoint}.
  *
  * @author Stephane Nicoll
+ * @author Edward Lee
  * @since 2.0.0
  */
 @EndpointWebExtension(endpoint = HealthEndpoint.class)
@@ -88,6 +89,16 @@ public class ReactiveHealthEndpointWebExtension {
 			return ((CompositeReactiveHealthIndicator) healthIndicator).getRegistry()
 					.get(name);
 		}
+		if (healthIndicator instanceof HealthIndicatorReactiveAdapter) {
+			HealthIndicator delegate = ((HealthIndicatorReactiveAdapter) healthIndicator)
+					.getDelegate();
+			if (delegate instanceof SnapshotHealthIndicator) {
+				HealthIndicator nested = ((SnapshotHealthIndicator) delegate)
+						.getNestedHealthIndicator(name);
+				return (nested != null) ? new HealthIndicatorReactiveAdapter(nested)
+						: null;
+			}
+		}
 		return null;
 	}
 
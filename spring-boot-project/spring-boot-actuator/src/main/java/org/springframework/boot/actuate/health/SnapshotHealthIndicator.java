@@ -0,0 +1,133 @@
+/*
+ * Copyright 2012-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.health;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.actuate.health.HealthIndicatorPoller.Snapshot;
+import org.springframework.util.Assert;
+
+/**
+ * {@link HealthIndicator} that aggregates the latest snapshots taken by a
+ * {@link HealthIndicatorPoller} rather than calling the indicators. The health of each
+ * indicator carries a {@code snapshot} detail with the {@code timestamp} of the check,
+ * its {@code age} and its {@code duration}, both in milliseconds. A snapshot that is
+ * older than three polling intervals of its indicator, for instance because polling
+ * has stopped, is reported with an {@link Status#UNKNOWN unknown} status. The snapshot
+ * of a single indicator, or of an instance of a composite indicator, is available
+ * through {@link #getNestedHealthIndicator(String)}.
+ *
+ * @author Edward Lee
+ * @since 2.2.0
+ */
+public class SnapshotHealthIndicator implements HealthIndicator {
+
+	private static final int STALE_INTERVALS = 3;
+
+	private final HealthAggregator aggregator;
+
+	private final HealthIndicatorPoller poller;
+
+	private final String component;
+
+	private final String instance;
+
+	/**
+	 * Create a new {@link SnapshotHealthIndicator} instance.
+	 * @param healthAggregator the health aggregator
+	 * @param poller the poller providing the snapshots
+	 */
+	public SnapshotHealthIndicator(HealthAggregator healthAggregator,
+			HealthIndicatorPoller poller) {
+		this(healthAggregator, poller, null, null);
+	}
+
+	private SnapshotHealthIndicator(HealthAggregator healthAggregator,
+			HealthIndicatorPoller poller, String component, String instance) {
+		Assert.notNull(healthAggregator, "HealthAggregator must not be null");
+		Assert.notNull(poller, "Poller must not be null");
+		this.aggregator = healthAggregator;
+		this.poller = poller;
+		this.component = component;
+		this.instance = instance;
+	}
+
+	/**
+	 * Return a {@link SnapshotHealthIndicator} that reports the latest snapshot of the
+	 * indicator with the specified name or, if this instance reports a single composite
+	 * indicator, of its instance with the specified name.
+	 * @param name the name of the indicator or instance
+	 * @return the nested indicator or {@code null} if no such indicator or instance
+	 * exists
+	 */
+	public SnapshotHealthIndicator getNestedHealthIndicator(String name) {
+		if (this.component == null) {
+			return (this.poller.getRegistry().get(name) != null)
+					? new SnapshotHealthIndicator(this.aggregator, this.poller, name, null)
+					: null;
+		}
+		if (this.instance == null) {
+			Snapshot snapshot = this.poller.getOrCheckSnapshot(this.component);
+			return (snapshot != null
+					&& snapshot.getHealth().getDetails().get(name) instanceof Health)
+							? new SnapshotHealthIndicator(this.aggregator, this.poller,
+									this.component, name)
+							: null;
+		}
+		return null;
+	}
+
+	@Override
+	public Health health() {
+		long now = System.currentTimeMillis();
+		if (this.component != null) {
+			Snapshot snapshot = this.poller.getOrCheckSnapshot(this.component);
+			return (snapshot != null) ? getHealth(this.component, snapshot, now) : null;
+		}
+		Map<String, Health> healths = new LinkedHashMap<>();
+		this.poller.getSnapshots().forEach(
+				(name, snapshot) -> healths.put(name, getHealth(name, snapshot, now)));
+		return this.aggregator.aggregate(healths);
+	}
+
+	private Health getHealth(String name, Snapshot snapshot, long now) {
+		long age = Math.max(now - snapshot.getTimestamp(), 0);
+		Map<String, Object> details = new LinkedHashMap<>();
+		details.put("timestamp", Instant.ofEpochMilli(snapshot.getTimestamp()).toString());
+		details.put("age", age);
+		details.put("duration", snapshot.getDuration().toMillis());
+		long staleAge = this.poller.getInterval(name).toMillis() * STALE_INTERVALS;
+		if (age > staleAge) {
+			return Health.unknown()
+					.withDetail("error", "Not checked for more than " + staleAge + "ms")
+					.withDetail("snapshot", details).build();
+		}
+		Health health = snapshot.getHealth();
+		if (this.instance != null) {
+			Object instanceHealth = health.getDetails().get(this.instance);
+			if (!(instanceHealth instanceof Health)) {
+				return null;
+			}
+			health = (Health) instanceHealth;
+		}
+		return Health.status(health.getStatus()).withDetails(health.getDetails())
+				.withDetail("snapshot", details).build();
+	}
+
+}
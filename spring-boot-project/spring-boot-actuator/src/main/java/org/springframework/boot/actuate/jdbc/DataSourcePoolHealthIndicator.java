@@ -0,0 +1,181 @@
+/*
+ * Copyright 2012-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.jdbc;
+
+import java.sql.Connection;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.jdbc.metadata.DataSourcePoolMetadata;
+import org.springframework.util.Assert;
+
+/**
+ * {@link HealthIndicator} that derives the status of a pooled {@link DataSource} from
+ * the state of its pool and from the outcome of the last validation of one of its
+ * connections. Connections are validated, using {@link Connection#isValid(int)}, only
+ * when {@link #validate()} is called, typically in the background by a
+ * {@link DataSourcePoolValidator}, so that health checks do not compete with the
+ * application for the connections of the pool. The data source is reported as down when
+ * no validation has completed for more than twice the validation interval plus the
+ * validation timeout, for instance because the pool does not hand out connections.
+ *
+ * @author Edward Lee
+ * @since 2.2.0
+ */
+public class DataSourcePoolHealthIndicator extends DataSourceHealthIndicator {
+
+	private final DataSource dataSource;
+
+	private final DataSourcePoolMetadata poolMetadata;
+
+	private final int validationTimeout;
+
+	private final Duration maxValidationAge;
+
+	private volatile Instant firstValidationStart;
+
+	private volatile Validation validation;
+
+	/**
+	 * Create a new {@link DataSourcePoolHealthIndicator} instance.
+	 * @param dataSource the data source
+	 * @param poolMetadata the metadata of the pool of the data source
+	 * @param validationInterval the interval between two validations
+	 * @param validationTimeout the maximum time to wait for a connection to be
+	 * validated, rounded up to the second, or {@link Duration#ZERO} to wait indefinitely
+	 */
+	public DataSourcePoolHealthIndicator(DataSource dataSource,
+			DataSourcePoolMetadata poolMetadata, Duration validationInterval,
+			Duration validationTimeout) {
+		super(dataSource);
+		Assert.notNull(dataSource, "DataSource must not be null");
+		Assert.notNull(poolMetadata, "PoolMetadata must not be null");
+		Assert.isTrue(validationInterval != null && !validationInterval.isNegative()
+				&& !validationInterval.isZero(), "ValidationInterval must be positive");
+		Assert.isTrue(validationTimeout != null && !validationTimeout.isNegative(),
+				"ValidationTimeout must not be negative");
+		this.dataSource = dataSource;
+		this.poolMetadata = poolMetadata;
+		this.validationTimeout = (int) Math.min(Integer.MAX_VALUE,
+				(validationTimeout.toMillis() + 999) / 1000);
+		this.maxValidationAge = validationInterval.multipliedBy(2)
+				.plusSeconds(this.validationTimeout);
+	}
+
+	/**
+	 * Borrow a connection from the pool and check that it is still valid. The outcome is
+	 * reported by subsequent health checks.
+	 */
+	public void validate() {
+		if (this.firstValidationStart == null) {
+			this.firstValidationStart = Instant.now();
+		}
+		Validation previous = this.validation;
+		String product = (previous != null) ? previous.product : null;
+		try (Connection connection = this.dataSource.getConnection()) {
+			if (product == null) {
+				product = connection.getMetaData().getDatabaseProductName();
+			}
+			boolean valid = connection.isValid(this.validationTimeout);
+			this.validation = new Validation(product, Instant.now(), valid, null);
+		}
+		catch (Exception ex) {
+			this.validation = new Validation(product, Instant.now(), false, ex);
+		}
+	}
+
+	@Override
+	protected void doHealthCheck(Health.Builder builder) throws Exception {
+		Validation validation = this.validation;
+		if (isStale(validation)) {
+			builder.down().withDetail("error", "Not validated for more than "
+					+ this.maxValidationAge.toMillis() + "ms");
+		}
+		else if (validation == null) {
+			builder.unknown();
+		}
+		else if (validation.error != null) {
+			builder.down(validation.error);
+		}
+		else if (validation.valid) {
+			builder.up();
+		}
+		else {
+			builder.down();
+		}
+		if (validation != null) {
+			if (validation.product != null) {
+				builder.withDetail("database", validation.product);
+			}
+			builder.withDetail("validated", validation.timestamp);
+		}
+		builder.withDetail("pool", getPoolDetails());
+	}
+
+	private boolean isStale(Validation validation) {
+		Instant lastValidated = (validation != null) ? validation.timestamp
+				: this.firstValidationStart;
+		return lastValidated != null
+				&& lastValidated.plus(this.maxValidationAge).isBefore(Instant.now());
+	}
+
+	private Map<String, Object> getPoolDetails() {
+		Map<String, Object> details = new LinkedHashMap<>();
+		addDetail(details, "active", this.poolMetadata.getActive());
+		addDetail(details, "idle", this.poolMetadata.getIdle());
+		addDetail(details, "pending", this.poolMetadata.getPending());
+		addDetail(details, "max", this.poolMetadata.getMax());
+		addDetail(details, "min", this.poolMetadata.getMin());
+		addDetail(details, "usage", this.poolMetadata.getUsage());
+		return details;
+	}
+
+	private void addDetail(Map<String, Object> details, String key, Object value) {
+		if (value != null) {
+			details.put(key, value);
+		}
+	}
+
+	/**
+	 * The outcome of the validation of a connection.
+	 */
+	private static final class Validation {
+
+		private final String product;
+
+		private final Instant timestamp;
+
+		private final boolean valid;
+
+		private final Exception error;
+
+		Validation(String product, Instant timestamp, boolean valid, Exception error) {
+			this.product = product;
+			this.timestamp = timestamp;
+			this.valid = valid;
+			this.error = error;
+		}
+
+	}
+
+}
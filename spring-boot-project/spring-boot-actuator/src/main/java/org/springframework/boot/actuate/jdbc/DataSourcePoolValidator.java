@@ -0,0 +1,121 @@
+/*
+ * Copyright 2012-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.jdbc;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+
+/**
+ * Periodically {@link DataSourcePoolHealthIndicator#validate() validates} a connection
+ * of each registered {@link DataSourcePoolHealthIndicator} in the background. Each
+ * indicator is validated on its own thread so that a pool that is slow to hand out
+ * connections does not delay the validation of the others.
+ *
+ * @author Edward Lee
+ * @since 2.2.0
+ */
+public class DataSourcePoolValidator implements SmartLifecycle {
+
+	private final Duration interval;
+
+	private final List<DataSourcePoolHealthIndicator> indicators = new ArrayList<>();
+
+	private final Object monitor = new Object();
+
+	private volatile ScheduledThreadPoolExecutor executor;
+
+	/**
+	 * Create a new {@link DataSourcePoolValidator} instance.
+	 * @param interval the interval between two validations of each pool
+	 */
+	public DataSourcePoolValidator(Duration interval) {
+		Assert.isTrue(interval != null && !interval.isNegative() && !interval.isZero(),
+				"Interval must be positive");
+		this.interval = interval;
+	}
+
+	/**
+	 * Return the interval between two validations of each pool.
+	 * @return the interval
+	 */
+	public Duration getInterval() {
+		return this.interval;
+	}
+
+	/**
+	 * Register the specified indicator, validating it immediately if this instance is
+	 * running.
+	 * @param indicator the indicator to validate
+	 */
+	public void register(DataSourcePoolHealthIndicator indicator) {
+		Assert.notNull(indicator, "Indicator must not be null");
+		synchronized (this.monitor) {
+			this.indicators.add(indicator);
+			ScheduledThreadPoolExecutor executor = this.executor;
+			if (executor != null) {
+				executor.setCorePoolSize(this.indicators.size());
+				schedule(executor, indicator);
+			}
+		}
+	}
+
+	@Override
+	public void start() {
+		synchronized (this.monitor) {
+			if (this.executor != null) {
+				return;
+			}
+			CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(
+					"db-health-validator-");
+			threadFactory.setDaemon(true);
+			ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(
+					Math.max(1, this.indicators.size()), threadFactory);
+			this.indicators.forEach((indicator) -> schedule(executor, indicator));
+			this.executor = executor;
+		}
+	}
+
+	@Override
+	public void stop() {
+		synchronized (this.monitor) {
+			if (this.executor == null) {
+				return;
+			}
+			this.executor.shutdownNow();
+			this.executor = null;
+		}
+	}
+
+	@Override
+	public boolean isRunning() {
+		return this.executor != null;
+	}
+
+	private void schedule(ScheduledThreadPoolExecutor executor,
+			DataSourcePoolHealthIndicator indicator) {
+		executor.scheduleWithFixedDelay(indicator::validate, 0, this.interval.toMillis(),
+				TimeUnit.MILLISECONDS);
+	}
+
+}
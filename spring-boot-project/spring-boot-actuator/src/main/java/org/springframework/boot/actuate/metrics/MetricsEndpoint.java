@@ -16,15 +16,18 @@
 
 package org.springframework.boot.actuate.metrics;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
-import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 
@@ -42,9 +45,16 @@ import org.springframework.lang.Nullable;
 
 /**
  * An {@link Endpoint} for exposing the metrics held by a {@link MeterRegistry}.
+ * <p>
+ * The meters of each registry are indexed by name, the index being kept up to date as
+ * meters are added and removed, so that the cost of each operation is proportional to
+ * the size of its result rather than to the number of meters. Micrometer offers no way
+ * to remove the listeners that keep the index up to date, so a single endpoint should
+ * be created for a given registry, typically as a singleton bean.
  *
  * @author Jon Schneider
  * @author Phillip Webb
+ * @author Edward Lee
  * @since 2.0.0
  */
 @Endpoint(id = "metrics")
@@ -52,47 +62,58 @@ public class MetricsEndpoint {
 
 	private final MeterRegistry registry;
 
+	private final Map<MeterRegistry, MeterIndex> indexes = new ConcurrentHashMap<>();
+
 	public MetricsEndpoint(MeterRegistry registry) {
 		this.registry = registry;
 	}
 
 	@ReadOperation
 	public ListNamesResponse listNames() {
-		Set<String> names = new LinkedHashSet<>();
-		collectNames(names, this.registry);
+		Set<String> names = new TreeSet<>();
+		getIndexes().forEach((index) -> names.addAll(index.getNames()));
 		return new ListNamesResponse(names);
 	}
 
-	private void collectNames(Set<String> names, MeterRegistry registry) {
-		if (registry instanceof CompositeMeterRegistry) {
-			((CompositeMeterRegistry) registry).getRegistries()
-					.forEach((member) -> collectNames(names, member));
-		}
-		else {
-			registry.getMeters().stream().map(this::getName).forEach(names::add);
-		}
-	}
-
-	private String getName(Meter meter) {
-		return meter.getId().getName();
-	}
-
 	@ReadOperation
 	public MetricResponse metric(@Selector String requiredMetricName,
 			@Nullable List<String> tag) {
 		List<Tag> tags = parseTags(tag);
-		Collection<Meter> meters = findFirstMatchingMeters(this.registry,
-				requiredMetricName, tags);
-		if (meters.isEmpty()) {
-			return null;
+		for (MeterIndex index : getIndexes()) {
+			Collection<Meter> meters = index.find(requiredMetricName, tags);
+			if (!meters.isEmpty()) {
+				Map<String, Set<String>> availableTags = tags.isEmpty()
+						? index.getAvailableTags(requiredMetricName)
+						: getAvailableTags(meters);
+				return getResponse(requiredMetricName, tags, meters, availableTags);
+			}
 		}
+		return null;
+	}
+
+	private MetricResponse getResponse(String name, List<Tag> tags,
+			Collection<Meter> meters, Map<String, Set<String>> availableTags) {
 		Map<Statistic, Double> samples = getSamples(meters);
-		Map<String, Set<String>> availableTags = getAvailableTags(meters);
 		tags.forEach((t) -> availableTags.remove(t.getKey()));
 		Meter.Id meterId = meters.iterator().next().getId();
-		return new MetricResponse(requiredMetricName, meterId.getDescription(),
-				meterId.getBaseUnit(), asList(samples, Sample::new),
-				asList(availableTags, AvailableTag::new));
+		return new MetricResponse(name, meterId.getDescription(), meterId.getBaseUnit(),
+				asList(samples, Sample::new), asList(availableTags, AvailableTag::new));
+	}
+
+	private List<MeterIndex> getIndexes() {
+		List<MeterIndex> indexes = new ArrayList<>();
+		collectIndexes(indexes, this.registry);
+		return indexes;
+	}
+
+	private void collectIndexes(List<MeterIndex> indexes, MeterRegistry registry) {
+		if (registry instanceof CompositeMeterRegistry) {
+			((CompositeMeterRegistry) registry).getRegistries()
+					.forEach((member) -> collectIndexes(indexes, member));
+		}
+		else {
+			indexes.add(this.indexes.computeIfAbsent(registry, MeterIndex::new));
+		}
 	}
 
 	private List<Tag> parseTags(List<String> tags) {
@@ -112,22 +133,6 @@ public class MetricsEndpoint {
 		return Tag.of(parts[0], parts[1]);
 	}
 
-	private Collection<Meter> findFirstMatchingMeters(MeterRegistry registry, String name,
-			Iterable<Tag> tags) {
-		if (registry instanceof CompositeMeterRegistry) {
-			return findFirstMatchingMeters((CompositeMeterRegistry) registry, name, tags);
-		}
-		return registry.find(name).tags(tags).meters();
-	}
-
-	private Collection<Meter> findFirstMatchingMeters(CompositeMeterRegistry composite,
-			String name, Iterable<Tag> tags) {
-		return composite.getRegistries().stream()
-				.map((registry) -> findFirstMatchingMeters(registry, name, tags))
-				.filter((matching) -> !matching.isEmpty()).findFirst()
-				.orElse(Collections.emptyList());
-	}
-
 	private Map<Statistic, Double> getSamples(Collection<Meter> meters) {
 		Map<Statistic, Double> samples = new LinkedHashMap<>();
 		meters.forEach((meter) -> mergeMeasurements(samples, meter));
@@ -143,24 +148,17 @@ public class MetricsEndpoint {
 		return Statistic.MAX.equals(statistic) ? Double::max : Double::sum;
 	}
 
-	private Map<String, Set<String>> getAvailableTags(Collection<Meter> meters) {
+	private static Map<String, Set<String>> getAvailableTags(Collection<Meter> meters) {
 		Map<String, Set<String>> availableTags = new HashMap<>();
 		meters.forEach((meter) -> mergeAvailableTags(availableTags, meter));
 		return availableTags;
 	}
 
-	private void mergeAvailableTags(Map<String, Set<String>> availableTags, Meter meter) {
-		meter.getId().getTags().forEach((tag) -> {
-			Set<String> value = Collections.singleton(tag.getValue());
-			availableTags.merge(tag.getKey(), value, this::merge);
-		});
-	}
-
-	private <T> Set<T> merge(Set<T> set1, Set<T> set2) {
-		Set<T> result = new HashSet<>(set1.size() + set2.size());
-		result.addAll(set1);
-		result.addAll(set2);
-		return result;
+	private static void mergeAvailableTags(Map<String, Set<String>> availableTags,
+			Meter meter) {
+		meter.getId().getTags().forEach((tag) -> availableTags
+				.computeIfAbsent(tag.getKey(), (key) -> new HashSet<>())
+				.add(tag.getValue()));
 	}
 
 	private <K, V, T> List<T> asList(Map<K, V> map, BiFunction<K, V, T> mapper) {
@@ -169,6 +167,137 @@ public class MetricsEndpoint {
 				.collect(Collectors.toList());
 	}
 
+	/**
+	 * Index of the meters of a {@link MeterRegistry} by name, updated as meters are added
+	 * and removed. The meters that already exist are added once the listeners are
+	 * registered, skipping those that have been removed in the meantime.
+	 */
+	private static final class MeterIndex {
+
+		private final Map<String, MeterGroup> groups = new ConcurrentSkipListMap<>();
+
+		private Set<Meter> removedBeforeInitialization = new HashSet<>();
+
+		MeterIndex(MeterRegistry registry) {
+			registry.config().onMeterAdded(this::add).onMeterRemoved(this::remove);
+			List<Meter> meters = registry.getMeters();
+			synchronized (this) {
+				meters.stream().filter(
+						(meter) -> !this.removedBeforeInitialization.contains(meter))
+						.forEach(this::add);
+				this.removedBeforeInitialization = null;
+			}
+		}
+
+		private synchronized void add(Meter meter) {
+			this.groups
+					.computeIfAbsent(meter.getId().getName(), (name) -> new MeterGroup())
+					.add(meter);
+		}
+
+		private synchronized void remove(Meter meter) {
+			if (this.removedBeforeInitialization != null) {
+				this.removedBeforeInitialization.add(meter);
+			}
+			String name = meter.getId().getName();
+			MeterGroup group = this.groups.get(name);
+			if (group != null && group.remove(meter)) {
+				this.groups.remove(name);
+			}
+		}
+
+		Set<String> getNames() {
+			return this.groups.keySet();
+		}
+
+		Collection<Meter> find(String name, List<Tag> tags) {
+			MeterGroup group = this.groups.get(name);
+			return (group != null) ? group.find(tags) : Collections.emptyList();
+		}
+
+		Map<String, Set<String>> getAvailableTags(String name) {
+			MeterGroup group = this.groups.get(name);
+			return (group != null) ? group.getAvailableTags() : new HashMap<>();
+		}
+
+	}
+
+	/**
+	 * The meters with a given name and a catalogue of their tags that is computed on
+	 * demand and reused until a meter is added or removed.
+	 */
+	private static final class MeterGroup {
+
+		private final Set<Meter> meters = ConcurrentHashMap.newKeySet();
+
+		private volatile int version;
+
+		private volatile TagCatalogue catalogue;
+
+		void add(Meter meter) {
+			if (this.meters.add(meter)) {
+				this.version++;
+			}
+		}
+
+		boolean remove(Meter meter) {
+			if (this.meters.remove(meter)) {
+				this.version++;
+			}
+			return this.meters.isEmpty();
+		}
+
+		Collection<Meter> find(List<Tag> tags) {
+			if (tags.isEmpty()) {
+				return new ArrayList<>(this.meters);
+			}
+			List<Meter> matching = new ArrayList<>();
+			for (Meter meter : this.meters) {
+				if (hasTags(meter, tags)) {
+					matching.add(meter);
+				}
+			}
+			return matching;
+		}
+
+		private boolean hasTags(Meter meter, List<Tag> tags) {
+			for (Tag tag : tags) {
+				if (!tag.getValue().equals(meter.getId().getTag(tag.getKey()))) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		Map<String, Set<String>> getAvailableTags() {
+			int version = this.version;
+			TagCatalogue catalogue = this.catalogue;
+			if (catalogue == null || catalogue.version != version) {
+				catalogue = new TagCatalogue(version,
+						MetricsEndpoint.getAvailableTags(this.meters));
+				this.catalogue = catalogue;
+			}
+			return new HashMap<>(catalogue.tags);
+		}
+
+	}
+
+	/**
+	 * The available tags of a {@link MeterGroup} for a given version of its meters.
+	 */
+	private static final class TagCatalogue {
+
+		private final int version;
+
+		private final Map<String, Set<String>> tags;
+
+		TagCatalogue(int version, Map<String, Set<String>> tags) {
+			this.version = version;
+			this.tags = tags;
+		}
+
+	}
+
 	/**
 	 * Response payload for a metric name listing.
 	 */
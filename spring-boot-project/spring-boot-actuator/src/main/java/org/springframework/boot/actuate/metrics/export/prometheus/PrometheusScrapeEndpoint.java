@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2018 the original author or authors.
+ * Copyright 2012-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,22 +16,41 @@
 
 package org.springframework.boot.actuate.metrics.export.prometheus;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
 import java.io.StringWriter;
 import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Set;
 
+import io.prometheus.client.Collector.MetricFamilySamples;
+import io.prometheus.client.Collector.MetricFamilySamples.Sample;
 import io.prometheus.client.CollectorRegistry;
 import io.prometheus.client.exporter.common.TextFormat;
 
 import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
 import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
 import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.util.CollectionUtils;
 
 /**
  * {@link Endpoint} that outputs metrics in a format that can be scraped by the Prometheus
  * server.
+ * <p>
+ * The metrics are streamed: each metric family is rendered in turn into a buffer that is
+ * reused for the next one, so that the whole output is never held in memory.
  *
  * @author Jon Schneider
+ * @author Edward Lee
  * @since 2.0.0
  */
 @WebEndpoint(id = "prometheus")
@@ -43,7 +62,11 @@ public class PrometheusScrapeEndpoint {
 		this.collectorRegistry = collectorRegistry;
 	}
 
-	@ReadOperation(produces = TextFormat.CONTENT_TYPE_004)
+	/**
+	 * Return all the metrics in the Prometheus text format. Unlike
+	 * {@link #scrape(Set)}, the whole output is rendered in memory.
+	 * @return the metrics
+	 */
 	public String scrape() {
 		try {
 			Writer writer = new StringWriter();
@@ -57,4 +80,158 @@ public class PrometheusScrapeEndpoint {
 		}
 	}
 
+	/**
+	 * Return the metrics in the Prometheus text format.
+	 * @param includedNames the names of the metric families or samples to include or
+	 * {@code null} to include all metrics
+	 * @return a resource that renders the metrics as it is read
+	 * @since 2.2.0
+	 */
+	@ReadOperation(produces = TextFormat.CONTENT_TYPE_004)
+	public Resource scrape(@Nullable Set<String> includedNames) {
+		return new MetricFamilySamplesResource(this.collectorRegistry, includedNames);
+	}
+
+	/**
+	 * {@link Resource} that renders the metric family samples of a
+	 * {@link CollectorRegistry} each time its content is read.
+	 */
+	private static final class MetricFamilySamplesResource extends AbstractResource {
+
+		private final CollectorRegistry collectorRegistry;
+
+		private final Set<String> includedNames;
+
+		private MetricFamilySamplesResource(CollectorRegistry collectorRegistry,
+				Set<String> includedNames) {
+			this.collectorRegistry = collectorRegistry;
+			this.includedNames = includedNames;
+		}
+
+		@Override
+		public String getDescription() {
+			return "Prometheus scrape";
+		}
+
+		@Override
+		public boolean exists() {
+			return true;
+		}
+
+		@Override
+		public long contentLength() {
+			return -1;
+		}
+
+		@Override
+		public InputStream getInputStream() {
+			return new MetricFamilySamplesInputStream(
+					this.collectorRegistry.metricFamilySamples(),
+					CollectionUtils.isEmpty(this.includedNames) ? null
+							: this.includedNames);
+		}
+
+	}
+
+	/**
+	 * {@link InputStream} that renders one metric family at a time when all the bytes of
+	 * the previous one have been read. A read renders as many families as needed to fill
+	 * the given array. Only the samples whose name, or the name of their
+	 * family, is included are rendered.
+	 */
+	private static final class MetricFamilySamplesInputStream extends InputStream {
+
+		private final Enumeration<MetricFamilySamples> samples;
+
+		private final Set<String> includedNames;
+
+		private final Buffer buffer = new Buffer();
+
+		private final Writer writer = new OutputStreamWriter(this.buffer,
+				StandardCharsets.UTF_8);
+
+		private int position;
+
+		private MetricFamilySamplesInputStream(Enumeration<MetricFamilySamples> samples,
+				Set<String> includedNames) {
+			this.samples = samples;
+			this.includedNames = includedNames;
+		}
+
+		@Override
+		public int read() throws IOException {
+			if (!fill()) {
+				return -1;
+			}
+			return this.buffer.get(this.position++);
+		}
+
+		@Override
+		public int read(byte[] bytes, int offset, int length) throws IOException {
+			if (length == 0) {
+				return 0;
+			}
+			int read = 0;
+			while (read < length && fill()) {
+				int amount = Math.min(length - read, this.buffer.size() - this.position);
+				this.buffer.copy(this.position, bytes, offset + read, amount);
+				this.position += amount;
+				read += amount;
+			}
+			return (read > 0) ? read : -1;
+		}
+
+		@Override
+		public int available() {
+			return this.buffer.size() - this.position;
+		}
+
+		private boolean fill() throws IOException {
+			while (this.position >= this.buffer.size()) {
+				if (!this.samples.hasMoreElements()) {
+					return false;
+				}
+				this.buffer.reset();
+				this.position = 0;
+				MetricFamilySamples family = filter(this.samples.nextElement());
+				if (family != null) {
+					TextFormat.write004(this.writer,
+							Collections.enumeration(Collections.singleton(family)));
+					this.writer.flush();
+				}
+			}
+			return true;
+		}
+
+		private MetricFamilySamples filter(MetricFamilySamples family) {
+			if (this.includedNames == null || this.includedNames.contains(family.name)) {
+				return family;
+			}
+			List<Sample> samples = new ArrayList<>();
+			for (Sample sample : family.samples) {
+				if (this.includedNames.contains(sample.name)) {
+					samples.add(sample);
+				}
+			}
+			return samples.isEmpty() ? null : new MetricFamilySamples(family.name,
+					family.type, family.help, samples);
+		}
+
+	}
+
+	/**
+	 * {@link ByteArrayOutputStream} that gives access to its content without copying it.
+	 */
+	private static final class Buffer extends ByteArrayOutputStream {
+
+		int get(int index) {
+			return this.buf[index] & 0xFF;
+		}
+
+		void copy(int index, byte[] bytes, int offset, int length) {
+			System.arraycopy(this.buf, index, bytes, offset, length);
+		}
+
+	}
+
 }
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2012-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.metrics.health;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import org.springframework.boot.actuate.health.HealthIndicatorPoller;
+import org.springframework.boot.actuate.health.HealthIndicatorPoller.Snapshot;
+import org.springframework.util.Assert;
+
+/**
+ * A {@link MeterBinder} that exposes how long the latest check of each indicator polled
+ * by a {@link HealthIndicatorPoller} took and how old it is.
+ *
+ * @author Edward Lee
+ * @since 2.2.0
+ */
+public class HealthIndicatorPollerMetrics implements MeterBinder {
+
+	private final HealthIndicatorPoller poller;
+
+	private final Iterable<Tag> tags;
+
+	public HealthIndicatorPollerMetrics(HealthIndicatorPoller poller) {
+		this(poller, Collections.emptyList());
+	}
+
+	public HealthIndicatorPollerMetrics(HealthIndicatorPoller poller,
+			Iterable<Tag> tags) {
+		Assert.notNull(poller, "Poller must not be null");
+		this.poller = poller;
+		this.tags = tags;
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		for (String name : this.poller.getRegistry().getAll().keySet()) {
+			Iterable<Tag> tags = Tags.concat(this.tags, "name", name);
+			bindSnapshot(registry, "health.indicator.duration",
+					"Duration of the latest check of the health indicator", tags, name,
+					(snapshot) -> snapshot.getDuration().toNanos()
+							/ (double) TimeUnit.SECONDS.toNanos(1));
+			bindSnapshot(registry, "health.indicator.age",
+					"Time elapsed since the latest check of the health indicator", tags,
+					name, (snapshot) -> (System.currentTimeMillis()
+							- snapshot.getTimestamp()) / 1000.0);
+		}
+	}
+
+	private void bindSnapshot(MeterRegistry registry, String metricName,
+			String description, Iterable<Tag> tags, String name,
+			ToDoubleFunction<Snapshot> function) {
+		Gauge.builder(metricName, this.poller, (poller) -> {
+			Snapshot snapshot = poller.getSnapshot(name);
+			return (snapshot != null) ? function.applyAsDouble(snapshot) : Double.NaN;
+		}).tags(tags).description(description).baseUnit("seconds")
+				.register(registry);
+	}
+
+}
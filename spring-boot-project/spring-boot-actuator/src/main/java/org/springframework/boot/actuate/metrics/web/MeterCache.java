@@ -0,0 +1,136 @@
+/*
+ * Copyright 2012-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.metrics.web;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import io.micrometer.core.instrument.Tag;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.util.Assert;
+
+/**
+ * Bounded cache of the meters used to record web exchanges. Meters are keyed by an
+ * object holding everything their tags are derived from, so that tags are only computed
+ * and meters only registered the first time a key is seen.
+ * <p>
+ * Once the cache is full, the meters of keys that have not been seen before are no
+ * longer cached. Keys whose overflow tag (typically {@code uri}) is derived from a
+ * template keep their tags. For other keys, such as those of requests that do not use a
+ * template, the value of the overflow tag is replaced with {@value #OVERFLOW} so that an
+ * unbounded set of values does not lead to an unbounded number of meters.
+ *
+ * @param <K> the type of the keys
+ * @param <M> the type of the cached meters
+ * @author Edward Lee
+ * @since 2.2.0
+ */
+public final class MeterCache<K, M> {
+
+	/**
+	 * The default maximum number of cached meters.
+	 */
+	public static final int DEFAULT_MAXIMUM_SIZE = 1024;
+
+	/**
+	 * The value of the overflow tag of meters that could not be cached.
+	 */
+	public static final String OVERFLOW = "OVERFLOW";
+
+	private static final Log logger = LogFactory.getLog(MeterCache.class);
+
+	private final int maximumSize;
+
+	private final String overflowTagKey;
+
+	private final Map<K, M> meters = new ConcurrentHashMap<>();
+
+	private final AtomicBoolean overflowed = new AtomicBoolean();
+
+	/**
+	 * Create a new {@link MeterCache} holding up to {@link #DEFAULT_MAXIMUM_SIZE} meters.
+	 * @param overflowTagKey the key of the tag whose value is replaced once the cache is
+	 * full
+	 */
+	public MeterCache(String overflowTagKey) {
+		this(DEFAULT_MAXIMUM_SIZE, overflowTagKey);
+	}
+
+	/**
+	 * Create a new {@link MeterCache} instance.
+	 * @param maximumSize the maximum number of cached meters
+	 * @param overflowTagKey the key of the tag whose value is replaced once the cache is
+	 * full
+	 */
+	public MeterCache(int maximumSize, String overflowTagKey) {
+		Assert.isTrue(maximumSize > 0, "MaximumSize must be positive");
+		Assert.hasText(overflowTagKey, "OverflowTagKey must not be empty");
+		this.maximumSize = maximumSize;
+		this.overflowTagKey = overflowTagKey;
+	}
+
+	/**
+	 * Return the meter for the specified key, creating it from the tags supplied the
+	 * first time the key is seen.
+	 * @param key the key, which must determine the tags
+	 * @param templated whether the value of the overflow tag is derived from a template
+	 * rather than from a value, such as the URI of a request, that is not bounded
+	 * @param tags the supplier of the tags of the meter
+	 * @param factory the function creating, or looking up, the meter with some tags
+	 * @return the meter
+	 */
+	public M get(K key, boolean templated, Supplier<Iterable<Tag>> tags,
+			Function<Iterable<Tag>, M> factory) {
+		M meter = this.meters.get(key);
+		if (meter != null) {
+			return meter;
+		}
+		if (this.meters.size() >= this.maximumSize) {
+			logOverflow();
+			return factory.apply(templated ? tags.get() : overflow(tags.get()));
+		}
+		meter = factory.apply(tags.get());
+		M existing = this.meters.putIfAbsent(key, meter);
+		return (existing != null) ? existing : meter;
+	}
+
+	private void logOverflow() {
+		if (this.overflowed.compareAndSet(false, true) && logger.isWarnEnabled()) {
+			logger.warn("Reached the maximum number of cached meters ("
+					+ this.maximumSize + "), further meters are not cached and the '"
+					+ this.overflowTagKey + "' tag of those without template is set to '"
+					+ OVERFLOW + "'");
+		}
+	}
+
+	private Iterable<Tag> overflow(Iterable<Tag> tags) {
+		List<Tag> result = new ArrayList<>();
+		for (Tag tag : tags) {
+			result.add(this.overflowTagKey.equals(tag.getKey())
+					? Tag.of(this.overflowTagKey, OVERFLOW) : tag);
+		}
+		return result;
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2018 the original author or authors.
+ * Copyright 2012-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,24 +19,34 @@ package org.springframework.boot.actuate.metrics.web.client;
 import java.io.IOException;
 import java.net.URI;
 import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.TimeUnit;
 
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
 import io.micrometer.core.instrument.Timer;
 
+import org.springframework.boot.actuate.metrics.web.MeterCache;
 import org.springframework.core.NamedThreadLocal;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpRequest;
 import org.springframework.http.client.ClientHttpRequestExecution;
 import org.springframework.http.client.ClientHttpRequestInterceptor;
 import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.util.StringUtils;
 import org.springframework.web.util.UriTemplateHandler;
 
 /**
  * {@link ClientHttpRequestInterceptor} applied via a
  * {@link MetricsRestTemplateCustomizer} to record metrics.
+ * <p>
+ * When the {@link DefaultRestTemplateExchangeTagsProvider} is used, the timers are
+ * resolved once per method, URI template (or URI when no template is used), host and
+ * status and reused for subsequent requests, using a {@link MeterCache}.
  *
  * @author Jon Schneider
  * @author Phillip Webb
+ * @author Edward Lee
  * @since 2.0.0
  */
 class MetricsClientHttpRequestInterceptor implements ClientHttpRequestInterceptor {
@@ -50,11 +60,17 @@ class MetricsClientHttpRequestInterceptor implements ClientHttpRequestIntercepto
 
 	private final String metricName;
 
+	private final boolean cacheTimers;
+
+	private final MeterCache<TimerKey, Timer> timers = new MeterCache<>("uri");
+
 	MetricsClientHttpRequestInterceptor(MeterRegistry meterRegistry,
 			RestTemplateExchangeTagsProvider tagProvider, String metricName) {
 		this.tagProvider = tagProvider;
 		this.meterRegistry = meterRegistry;
 		this.metricName = metricName;
+		this.cacheTimers = tagProvider != null && tagProvider
+				.getClass() == DefaultRestTemplateExchangeTagsProvider.class;
 	}
 
 	@Override
@@ -67,8 +83,8 @@ class MetricsClientHttpRequestInterceptor implements ClientHttpRequestIntercepto
 			return response;
 		}
 		finally {
-			getTimeBuilder(request, response).register(this.meterRegistry)
-					.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+			getTimer(request, response).record(System.nanoTime() - startTime,
+					TimeUnit.NANOSECONDS);
 			urlTemplate.remove();
 		}
 	}
@@ -91,11 +107,91 @@ class MetricsClientHttpRequestInterceptor implements ClientHttpRequestIntercepto
 		};
 	}
 
-	private Timer.Builder getTimeBuilder(HttpRequest request,
-			ClientHttpResponse response) {
-		return Timer.builder(this.metricName)
-				.tags(this.tagProvider.getTags(urlTemplate.get(), request, response))
-				.description("Timer of RestTemplate operation");
+	private Timer getTimer(HttpRequest request, ClientHttpResponse response) {
+		String template = urlTemplate.get();
+		if (!this.cacheTimers) {
+			return createTimer(this.tagProvider.getTags(template, request, response));
+		}
+		return this.timers.get(TimerKey.get(template, request, response),
+				StringUtils.hasText(template),
+				() -> this.tagProvider.getTags(template, request, response),
+				this::createTimer);
+	}
+
+	private Timer createTimer(Iterable<Tag> tags) {
+		return Timer.builder(this.metricName).tags(tags)
+				.description("Timer of RestTemplate operation")
+				.register(this.meterRegistry);
+	}
+
+	/**
+	 * Key of the timers of requests, holding all the information used by the
+	 * {@link DefaultRestTemplateExchangeTagsProvider}.
+	 */
+	private static final class TimerKey {
+
+		private static final int NO_RESPONSE = -1;
+
+		private static final int IO_ERROR = -2;
+
+		private final HttpMethod method;
+
+		private final String uri;
+
+		private final String host;
+
+		private final int status;
+
+		private TimerKey(HttpMethod method, String uri, String host, int status) {
+			this.method = method;
+			this.uri = uri;
+			this.host = host;
+			this.status = status;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (obj == null || getClass() != obj.getClass()) {
+				return false;
+			}
+			TimerKey other = (TimerKey) obj;
+			return this.status == other.status && this.method == other.method
+					&& this.uri.equals(other.uri)
+					&& Objects.equals(this.host, other.host);
+		}
+
+		@Override
+		public int hashCode() {
+			int result = this.uri.hashCode();
+			result = 31 * result + Objects.hashCode(this.method);
+			result = 31 * result + Objects.hashCode(this.host);
+			result = 31 * result + this.status;
+			return result;
+		}
+
+		static TimerKey get(String urlTemplate, HttpRequest request,
+				ClientHttpResponse response) {
+			String uri = StringUtils.hasText(urlTemplate) ? urlTemplate
+					: request.getURI().toString();
+			return new TimerKey(request.getMethod(), uri, request.getURI().getHost(),
+					getStatus(response));
+		}
+
+		private static int getStatus(ClientHttpResponse response) {
+			if (response == null) {
+				return NO_RESPONSE;
+			}
+			try {
+				return response.getRawStatusCode();
+			}
+			catch (IOException ex) {
+				return IO_ERROR;
+			}
+		}
+
 	}
 
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2018 the original author or authors.
+ * Copyright 2012-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,8 @@
 
 package org.springframework.boot.actuate.metrics.web.reactive.client;
 
+import java.io.IOException;
+import java.util.Objects;
 import java.util.concurrent.TimeUnit;
 
 import io.micrometer.core.instrument.MeterRegistry;
@@ -23,16 +25,24 @@ import io.micrometer.core.instrument.Tag;
 import io.micrometer.core.instrument.Timer;
 import reactor.core.publisher.Mono;
 
+import org.springframework.boot.actuate.metrics.web.MeterCache;
+import org.springframework.http.HttpMethod;
 import org.springframework.web.reactive.function.client.ClientRequest;
 import org.springframework.web.reactive.function.client.ClientResponse;
 import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
 import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClient;
 
 /**
  * {@link ExchangeFilterFunction} applied via a {@link MetricsWebClientCustomizer} to
  * record metrics.
+ * <p>
+ * When the {@link DefaultWebClientExchangeTagsProvider} is used, the timers are resolved
+ * once per method, URI template (or path when no template is used), host and status and
+ * reused for subsequent requests, using a {@link MeterCache}.
  *
  * @author Brian Clozel
+ * @author Edward Lee
  * @since 2.1.0
  */
 public class MetricsWebClientFilterFunction implements ExchangeFilterFunction {
@@ -46,11 +56,17 @@ public class MetricsWebClientFilterFunction implements ExchangeFilterFunction {
 
 	private final String metricName;
 
+	private final boolean cacheTimers;
+
+	private final MeterCache<TimerKey, Timer> timers = new MeterCache<>("uri");
+
 	public MetricsWebClientFilterFunction(MeterRegistry meterRegistry,
 			WebClientExchangeTagsProvider tagProvider, String metricName) {
 		this.meterRegistry = meterRegistry;
 		this.tagProvider = tagProvider;
 		this.metricName = metricName;
+		this.cacheTimers = tagProvider != null
+				&& tagProvider.getClass() == DefaultWebClientExchangeTagsProvider.class;
 	}
 
 	@Override
@@ -61,15 +77,95 @@ public class MetricsWebClientFilterFunction implements ExchangeFilterFunction {
 				Long startTime = signal.getContext().get(METRICS_WEBCLIENT_START_TIME);
 				ClientResponse clientResponse = signal.get();
 				Throwable throwable = signal.getThrowable();
-				Iterable<Tag> tags = this.tagProvider.tags(clientRequest, clientResponse,
-						throwable);
-				Timer.builder(this.metricName).tags(tags)
-						.description("Timer of WebClient operation")
-						.register(this.meterRegistry)
-						.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+				getTimer(clientRequest, clientResponse, throwable).record(
+						System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
 			}
 		}).subscriberContext((context) -> context.put(METRICS_WEBCLIENT_START_TIME,
 				System.nanoTime()));
 	}
 
+	private Timer getTimer(ClientRequest request, ClientResponse response,
+			Throwable throwable) {
+		if (!this.cacheTimers) {
+			return createTimer(this.tagProvider.tags(request, response, throwable));
+		}
+		return this.timers.get(TimerKey.get(request, response, throwable),
+				request.attribute(TimerKey.URI_TEMPLATE_ATTRIBUTE).isPresent(),
+				() -> this.tagProvider.tags(request, response, throwable),
+				this::createTimer);
+	}
+
+	private Timer createTimer(Iterable<Tag> tags) {
+		return Timer.builder(this.metricName).tags(tags)
+				.description("Timer of WebClient operation").register(this.meterRegistry);
+	}
+
+	/**
+	 * Key of the timers of exchanges, holding all the information used by the
+	 * {@link DefaultWebClientExchangeTagsProvider}.
+	 */
+	private static final class TimerKey {
+
+		private static final String URI_TEMPLATE_ATTRIBUTE = WebClient.class.getName()
+				+ ".uriTemplate";
+
+		private static final int IO_ERROR = -1;
+
+		private static final int CLIENT_ERROR = -2;
+
+		private final HttpMethod method;
+
+		private final String uri;
+
+		private final String host;
+
+		private final int status;
+
+		private TimerKey(HttpMethod method, String uri, String host, int status) {
+			this.method = method;
+			this.uri = uri;
+			this.host = host;
+			this.status = status;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (obj == null || getClass() != obj.getClass()) {
+				return false;
+			}
+			TimerKey other = (TimerKey) obj;
+			return this.status == other.status && this.method == other.method
+					&& this.uri.equals(other.uri)
+					&& Objects.equals(this.host, other.host);
+		}
+
+		@Override
+		public int hashCode() {
+			int result = this.uri.hashCode();
+			result = 31 * result + Objects.hashCode(this.method);
+			result = 31 * result + Objects.hashCode(this.host);
+			result = 31 * result + this.status;
+			return result;
+		}
+
+		static TimerKey get(ClientRequest request, ClientResponse response,
+				Throwable throwable) {
+			String uri = (String) request.attribute(URI_TEMPLATE_ATTRIBUTE)
+					.orElseGet(() -> request.url().getPath());
+			return new TimerKey(request.method(), uri, request.url().getHost(),
+					getStatus(response, throwable));
+		}
+
+		private static int getStatus(ClientResponse response, Throwable throwable) {
+			if (response != null) {
+				return response.statusCode().value();
+			}
+			return (throwable instanceof IOException) ? IO_ERROR : CLIENT_ERROR;
+		}
+
+	}
+
 }
@@ -16,25 +16,36 @@
 
 package org.springframework.boot.actuate.metrics.web.reactive.server;
 
+import java.util.Objects;
 import java.util.concurrent.TimeUnit;
 
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
 import org.reactivestreams.Publisher;
 import reactor.core.publisher.Mono;
 
+import org.springframework.boot.actuate.metrics.web.MeterCache;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.reactive.HandlerMapping;
 import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.server.WebFilter;
 import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.util.pattern.PathPattern;
 
 /**
  * Intercepts incoming HTTP requests handled by Spring WebFlux handlers.
+ * <p>
+ * When the {@link DefaultWebFluxTagsProvider} is used, the timers of requests that have
+ * been mapped to a path pattern are resolved once per pattern, method, status and
+ * exception type and reused for subsequent requests, using a {@link MeterCache}.
  *
  * @author Jon Schneider
  * @author Brian Clozel
+ * @author Edward Lee
  * @since 2.0.0
  */
 @Order(Ordered.HIGHEST_PRECEDENCE + 1)
@@ -48,12 +59,18 @@ public class MetricsWebFilter implements WebFilter {
 
 	private final boolean autoTimeRequests;
 
+	private final boolean cacheTimers;
+
+	private final MeterCache<TimerKey, Timer> timers = new MeterCache<>("uri");
+
 	public MetricsWebFilter(MeterRegistry registry, WebFluxTagsProvider tagsProvider,
 			String metricName, boolean autoTimeRequests) {
 		this.registry = registry;
 		this.tagsProvider = tagsProvider;
 		this.metricName = metricName;
 		this.autoTimeRequests = autoTimeRequests;
+		this.cacheTimers = tagsProvider != null
+				&& tagsProvider.getClass() == DefaultWebFluxTagsProvider.class;
 	}
 
 	@Override
@@ -81,15 +98,84 @@ public class MetricsWebFilter implements WebFilter {
 	}
 
 	private void success(ServerWebExchange exchange, long start) {
-		Iterable<Tag> tags = this.tagsProvider.httpRequestTags(exchange, null);
-		this.registry.timer(this.metricName, tags).record(System.nanoTime() - start,
-				TimeUnit.NANOSECONDS);
+		getTimer(exchange, null).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
 	}
 
 	private void error(ServerWebExchange exchange, long start, Throwable cause) {
-		Iterable<Tag> tags = this.tagsProvider.httpRequestTags(exchange, cause);
-		this.registry.timer(this.metricName, tags).record(System.nanoTime() - start,
-				TimeUnit.NANOSECONDS);
+		getTimer(exchange, cause).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+	}
+
+	private Timer getTimer(ServerWebExchange exchange, Throwable exception) {
+		TimerKey key = this.cacheTimers ? TimerKey.get(exchange, exception) : null;
+		if (key == null) {
+			return createTimer(this.tagsProvider.httpRequestTags(exchange, exception));
+		}
+		return this.timers.get(key, true,
+				() -> this.tagsProvider.httpRequestTags(exchange, exception),
+				this::createTimer);
+	}
+
+	private Timer createTimer(Iterable<Tag> tags) {
+		return this.registry.timer(this.metricName, tags);
+	}
+
+	/**
+	 * Key of the timers of requests that have been mapped to a path pattern, holding all
+	 * the information used by the {@link DefaultWebFluxTagsProvider}.
+	 */
+	private static final class TimerKey {
+
+		private final String pattern;
+
+		private final String method;
+
+		private final HttpStatus status;
+
+		private final Class<?> exceptionType;
+
+		private TimerKey(String pattern, String method, HttpStatus status,
+				Class<?> exceptionType) {
+			this.pattern = pattern;
+			this.method = method;
+			this.status = status;
+			this.exceptionType = exceptionType;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (obj == null || getClass() != obj.getClass()) {
+				return false;
+			}
+			TimerKey other = (TimerKey) obj;
+			return this.status == other.status && this.pattern.equals(other.pattern)
+					&& Objects.equals(this.method, other.method)
+					&& this.exceptionType == other.exceptionType;
+		}
+
+		@Override
+		public int hashCode() {
+			int result = this.pattern.hashCode();
+			result = 31 * result + Objects.hashCode(this.method);
+			result = 31 * result + Objects.hashCode(this.status);
+			result = 31 * result + Objects.hashCode(this.exceptionType);
+			return result;
+		}
+
+		static TimerKey get(ServerWebExchange exchange, Throwable exception) {
+			PathPattern pattern = exchange
+					.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+			if (pattern == null) {
+				return null;
+			}
+			return new TimerKey(pattern.getPatternString(),
+					exchange.getRequest().getMethodValue(),
+					exchange.getResponse().getStatusCode(),
+					(exception != null) ? exception.getClass() : null);
+		}
+
 	}
 
 }
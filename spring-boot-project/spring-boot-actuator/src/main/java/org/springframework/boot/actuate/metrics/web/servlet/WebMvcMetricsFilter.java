@@ -18,7 +18,9 @@ package org.springframework.boot.actuate.metrics.web.servlet;
 
 import java.io.IOException;
 import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Method;
 import java.util.Collections;
+import java.util.Objects;
 import java.util.Set;
 import java.util.function.Supplier;
 
@@ -31,9 +33,9 @@ import io.micrometer.core.annotation.Timed;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tag;
 import io.micrometer.core.instrument.Timer;
-import io.micrometer.core.instrument.Timer.Builder;
 import io.micrometer.core.instrument.Timer.Sample;
 
+import org.springframework.boot.actuate.metrics.web.MeterCache;
 import org.springframework.core.annotation.AnnotationUtils;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -45,13 +47,20 @@ import org.springframework.web.util.NestedServletException;
 /**
  * Intercepts incoming HTTP requests and records metrics about Spring MVC execution time
  * and results.
+ * <p>
+ * When the {@link DefaultWebMvcTagsProvider} is used, the timers of requests that have
+ * been mapped to a URI pattern are resolved once per handler, pattern, method, status
+ * and exception type and reused for subsequent requests, using a {@link MeterCache}.
  *
  * @author Jon Schneider
  * @author Phillip Webb
+ * @author Edward Lee
  * @since 2.0.0
  */
 public class WebMvcMetricsFilter extends OncePerRequestFilter {
 
+	private static final Timer[] NO_TIMERS = {};
+
 	private final MeterRegistry registry;
 
 	private final WebMvcTagsProvider tagsProvider;
@@ -60,6 +69,10 @@ public class WebMvcMetricsFilter extends OncePerRequestFilter {
 
 	private final boolean autoTimeRequests;
 
+	private final boolean cacheTimers;
+
+	private final MeterCache<TimersKey, Timer[]> timers = new MeterCache<>("uri");
+
 	/**
 	 * Create a new {@link WebMvcMetricsFilter} instance.
 	 * @param registry the meter registry
@@ -74,6 +87,8 @@ public class WebMvcMetricsFilter extends OncePerRequestFilter {
 		this.tagsProvider = tagsProvider;
 		this.metricName = metricName;
 		this.autoTimeRequests = autoTimeRequests;
+		this.cacheTimers = tagsProvider != null
+				&& tagsProvider.getClass() == DefaultWebMvcTagsProvider.class;
 	}
 
 	@Override
@@ -148,25 +163,118 @@ public class WebMvcMetricsFilter extends OncePerRequestFilter {
 			HttpServletRequest request, Throwable exception) {
 		Object handlerObject = request
 				.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
-		Set<Timed> annotations = getTimedAnnotations(handlerObject);
 		Timer.Sample timerSample = timingContext.getTimerSample();
-		Supplier<Iterable<Tag>> tags = () -> this.tagsProvider.getTags(request, response,
-				handlerObject, exception);
+		for (Timer timer : getTimers(request, response, handlerObject, exception)) {
+			timerSample.stop(timer);
+		}
+	}
+
+	private Timer[] getTimers(HttpServletRequest request, HttpServletResponse response,
+			Object handler, Throwable exception) {
+		TimersKey key = this.cacheTimers
+				? TimersKey.get(request, response, handler, exception) : null;
+		if (key == null) {
+			return createTimers(request, response, handler, exception);
+		}
+		return this.timers.get(key, true,
+				() -> this.tagsProvider.getTags(request, response, handler, exception),
+				(tags) -> createTimers(handler, () -> tags));
+	}
+
+	private Timer[] createTimers(HttpServletRequest request,
+			HttpServletResponse response, Object handler, Throwable exception) {
+		return createTimers(handler, () -> this.tagsProvider.getTags(request, response,
+				handler, exception));
+	}
+
+	private Timer[] createTimers(Object handler, Supplier<Iterable<Tag>> tags) {
+		Set<Timed> annotations = getTimedAnnotations(handler);
 		if (annotations.isEmpty()) {
 			if (this.autoTimeRequests) {
-				stop(timerSample, tags, Timer.builder(this.metricName));
+				return new Timer[] { Timer.builder(this.metricName).tags(tags.get())
+						.register(this.registry) };
 			}
+			return NO_TIMERS;
 		}
-		else {
-			for (Timed annotation : annotations) {
-				stop(timerSample, tags, Timer.builder(annotation, this.metricName));
-			}
+		Timer[] timers = new Timer[annotations.size()];
+		int i = 0;
+		for (Timed annotation : annotations) {
+			timers[i++] = Timer.builder(annotation, this.metricName).tags(tags.get())
+					.register(this.registry);
 		}
+		return timers;
 	}
 
-	private void stop(Timer.Sample timerSample, Supplier<Iterable<Tag>> tags,
-			Builder builder) {
-		timerSample.stop(builder.tags(tags.get()).register(this.registry));
+	/**
+	 * Key of the timers of requests that have been mapped to a URI pattern, holding all
+	 * the information used by the {@link DefaultWebMvcTagsProvider} and the handler
+	 * method whose {@link Timed} annotations are used.
+	 */
+	private static final class TimersKey {
+
+		private final Method handlerMethod;
+
+		private final Class<?> handlerType;
+
+		private final String pattern;
+
+		private final String method;
+
+		private final int status;
+
+		private final Class<?> exceptionType;
+
+		private TimersKey(Method handlerMethod, Class<?> handlerType, String pattern,
+				String method, int status, Class<?> exceptionType) {
+			this.handlerMethod = handlerMethod;
+			this.handlerType = handlerType;
+			this.pattern = pattern;
+			this.method = method;
+			this.status = status;
+			this.exceptionType = exceptionType;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (obj == null || getClass() != obj.getClass()) {
+				return false;
+			}
+			TimersKey other = (TimersKey) obj;
+			return this.status == other.status && this.pattern.equals(other.pattern)
+					&& Objects.equals(this.method, other.method)
+					&& this.exceptionType == other.exceptionType
+					&& Objects.equals(this.handlerMethod, other.handlerMethod)
+					&& this.handlerType == other.handlerType;
+		}
+
+		@Override
+		public int hashCode() {
+			int result = this.pattern.hashCode();
+			result = 31 * result + Objects.hashCode(this.method);
+			result = 31 * result + this.status;
+			result = 31 * result + Objects.hashCode(this.exceptionType);
+			result = 31 * result + Objects.hashCode(this.handlerMethod);
+			return result;
+		}
+
+		static TimersKey get(HttpServletRequest request, HttpServletResponse response,
+				Object handler, Throwable exception) {
+			String pattern = WebMvcTags.getMatchingPattern(request);
+			if (pattern == null) {
+				return null;
+			}
+			HandlerMethod handlerMethod = (handler instanceof HandlerMethod)
+					? (HandlerMethod) handler : null;
+			return new TimersKey(
+					(handlerMethod != null) ? handlerMethod.getMethod() : null,
+					(handlerMethod != null) ? handlerMethod.getBeanType() : null, pattern,
+					request.getMethod(), response.getStatus(),
+					(exception != null) ? exception.getClass() : null);
+		}
+
 	}
 
 	/**
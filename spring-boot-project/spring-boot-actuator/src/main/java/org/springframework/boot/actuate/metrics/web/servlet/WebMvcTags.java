@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2018 the original author or authors.
+ * Copyright 2012-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -140,7 +140,7 @@ public final class WebMvcTags {
 		}
 	}
 
-	private static String getMatchingPattern(HttpServletRequest request) {
+	static String getMatchingPattern(HttpServletRequest request) {
 		PathPattern dataRestPathPattern = (PathPattern) request
 				.getAttribute(DATA_REST_PATH_PATTERN_ATTRIBUTE);
 		if (dataRestPathPattern != null) {
@@ -18,64 +18,129 @@ package org.springframework.boot.actuate.trace.http;
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
- * In-memory implementation of {@link HttpTraceRepository}.
+ * In-memory implementation of {@link HttpTraceRepository}. Traces are held in a
+ * fixed-capacity ring buffer that can be written to concurrently without locking.
  *
  * @author Dave Syer
  * @author Olivier Bourgain
+ * @author Edward Lee
  * @since 2.0.0
  */
 public class InMemoryHttpTraceRepository implements HttpTraceRepository {
 
-	private int capacity = 100;
+	private volatile boolean reverse = true;
 
-	private boolean reverse = true;
-
-	private final List<HttpTrace> traces = new LinkedList<>();
+	private volatile Buffer buffer = new Buffer(100);
 
 	/**
 	 * Flag to say that the repository lists traces in reverse order.
 	 * @param reverse flag value (default true)
 	 */
 	public void setReverse(boolean reverse) {
-		synchronized (this.traces) {
-			this.reverse = reverse;
-		}
+		this.reverse = reverse;
 	}
 
 	/**
-	 * Set the capacity of the in-memory repository.
+	 * Set the capacity of the in-memory repository. The most recent traces are retained.
 	 * @param capacity the capacity
 	 */
-	public void setCapacity(int capacity) {
-		synchronized (this.traces) {
-			this.capacity = capacity;
+	public synchronized void setCapacity(int capacity) {
+		Buffer buffer = new Buffer(capacity);
+		for (HttpTrace trace : this.buffer.snapshot(false)) {
+			buffer.add(trace);
 		}
+		this.buffer = buffer;
 	}
 
 	@Override
 	public List<HttpTrace> findAll() {
-		synchronized (this.traces) {
-			return Collections.unmodifiableList(new ArrayList<>(this.traces));
-		}
+		return Collections.unmodifiableList(this.buffer.snapshot(this.reverse));
 	}
 
 	@Override
 	public void add(HttpTrace trace) {
-		synchronized (this.traces) {
-			while (this.traces.size() >= this.capacity) {
-				this.traces.remove(this.reverse ? this.capacity - 1 : 0);
+		this.buffer.add(trace);
+	}
+
+	/**
+	 * Ring buffer of traces. Each {@link #add(HttpTrace)} claims the next value of a
+	 * single sequence and publishes an immutable {@link Entry} to the slot for that
+	 * sequence. A slot is only ever replaced by an entry with a higher sequence so a
+	 * delayed writer cannot overwrite a newer trace.
+	 */
+	private static final class Buffer {
+
+		private final int capacity;
+
+		private final AtomicLong sequence = new AtomicLong();
+
+		private final AtomicReferenceArray<Entry> slots;
+
+		Buffer(int capacity) {
+			this.capacity = Math.max(capacity, 0);
+			this.slots = new AtomicReferenceArray<>(this.capacity);
+		}
+
+		void add(HttpTrace trace) {
+			if (this.capacity == 0) {
+				return;
 			}
-			if (this.reverse) {
-				this.traces.add(0, trace);
+			long sequence = this.sequence.getAndIncrement();
+			int index = (int) (sequence % this.capacity);
+			Entry entry = new Entry(sequence, trace);
+			Entry current = this.slots.get(index);
+			while (current == null || current.sequence < sequence) {
+				if (this.slots.compareAndSet(index, current, entry)) {
+					return;
+				}
+				current = this.slots.get(index);
 			}
-			else {
-				this.traces.add(trace);
+		}
+
+		/**
+		 * Return the traces that were published at the time the sequence was read.
+		 * Traces that have been claimed but not yet published, or that have since been
+		 * overwritten, are skipped.
+		 * @param reverse if the most recent trace should be first
+		 * @return the traces
+		 */
+		List<HttpTrace> snapshot(boolean reverse) {
+			long end = this.sequence.get();
+			long start = Math.max(0, end - this.capacity);
+			List<HttpTrace> traces = new ArrayList<>((int) (end - start));
+			for (long sequence = start; sequence < end; sequence++) {
+				Entry entry = this.slots.get((int) (sequence % this.capacity));
+				if (entry != null && entry.sequence == sequence) {
+					traces.add(entry.trace);
+				}
 			}
+			if (reverse) {
+				Collections.reverse(traces);
+			}
+			return traces;
 		}
+
+	}
+
+	/**
+	 * A trace published at a given sequence.
+	 */
+	private static final class Entry {
+
+		private final long sequence;
+
+		private final HttpTrace trace;
+
+		Entry(long sequence, HttpTrace trace) {
+			this.sequence = sequence;
+			this.trace = trace;
+		}
+
 	}
 
 }
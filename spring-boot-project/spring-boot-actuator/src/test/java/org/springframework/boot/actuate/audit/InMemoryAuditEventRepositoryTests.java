@@ -18,9 +18,15 @@ package org.springframework.boot.actuate.audit;
 
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.Test;
 
@@ -33,6 +39,7 @@ import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException
  * @author Dave Syer
  * @author Phillip Webb
  * @author Vedran Pavic
+ * @author Edward Lee
  */
 public class InMemoryAuditEventRepositoryTests {
 
@@ -114,4 +121,117 @@ public class InMemoryAuditEventRepositoryTests {
 		assertThat(events.get(0).getType()).isEqualTo("c");
 	}
 
+	@Test
+	public void findByType() {
+		InMemoryAuditEventRepository repository = new InMemoryAuditEventRepository();
+		repository.add(new AuditEvent("dave", "a"));
+		repository.add(new AuditEvent("phil", "b"));
+		repository.add(new AuditEvent("phil", "a"));
+		List<AuditEvent> events = repository.find(null, null, "a");
+		assertThat(events).extracting(AuditEvent::getPrincipal).containsExactly("dave",
+				"phil");
+	}
+
+	@Test
+	public void findByPrincipalWhenEvictedShouldNotFindEvents() {
+		InMemoryAuditEventRepository repository = new InMemoryAuditEventRepository(2);
+		repository.add(new AuditEvent("dave", "a"));
+		repository.add(new AuditEvent("phil", "b"));
+		repository.add(new AuditEvent("phil", "c"));
+		assertThat(repository.find("dave", null, null)).isEmpty();
+		assertThat(repository.find(null, null, "a")).isEmpty();
+		assertThat(repository.find("phil", null, null)).extracting(AuditEvent::getType)
+				.containsExactly("b", "c");
+	}
+
+	@Test
+	public void setCapacityShouldDiscardEvents() {
+		InMemoryAuditEventRepository repository = new InMemoryAuditEventRepository();
+		repository.add(new AuditEvent("dave", "a"));
+		repository.setCapacity(10);
+		assertThat(repository.find("dave", null, null)).isEmpty();
+		repository.add(new AuditEvent("dave", "b"));
+		assertThat(repository.find("dave", null, null)).hasSize(1);
+	}
+
+	@Test
+	public void zeroCapacityShouldRetainNothing() {
+		InMemoryAuditEventRepository repository = new InMemoryAuditEventRepository(0);
+		repository.add(new AuditEvent("dave", "a"));
+		assertThat(repository.find(null, null, null)).isEmpty();
+	}
+
+	@Test
+	public void concurrentAddShouldIndexRetainedEvents() throws Exception {
+		int threads = 8;
+		int eventsPerThread = 500;
+		InMemoryAuditEventRepository repository = new InMemoryAuditEventRepository(100);
+		CountDownLatch latch = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int i = 0; i < threads; i++) {
+				String principal = "user" + (i % 2);
+				futures.add(executor.submit(() -> {
+					latch.await();
+					for (int j = 0; j < eventsPerThread; j++) {
+						repository.add(new AuditEvent(principal, "login"));
+					}
+					return null;
+				}));
+			}
+			latch.countDown();
+			for (Future<?> future : futures) {
+				future.get(10, TimeUnit.SECONDS);
+			}
+		}
+		finally {
+			executor.shutdown();
+		}
+		List<AuditEvent> all = repository.find(null, null, null);
+		assertThat(all).hasSize(100);
+		assertThat(repository.find(null, null, "login")).containsExactlyElementsOf(all);
+		List<AuditEvent> byPrincipal = new ArrayList<>(
+				repository.find("user0", null, null));
+		byPrincipal.addAll(repository.find("user1", null, null));
+		assertThat(byPrincipal).containsExactlyInAnyOrderElementsOf(all);
+	}
+
+	@Test
+	public void concurrentAddWithEvictedKeysShouldIndexRetainedEvents()
+			throws Exception {
+		int threads = 8;
+		int eventsPerThread = 2000;
+		InMemoryAuditEventRepository repository = new InMemoryAuditEventRepository(4);
+		CountDownLatch latch = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int i = 0; i < threads; i++) {
+				futures.add(executor.submit(() -> {
+					latch.await();
+					for (int j = 0; j < eventsPerThread; j++) {
+						repository.add(new AuditEvent("user" + (j % 16),
+								"type" + (j % 16)));
+					}
+					return null;
+				}));
+			}
+			latch.countDown();
+			for (Future<?> future : futures) {
+				future.get(10, TimeUnit.SECONDS);
+			}
+		}
+		finally {
+			executor.shutdown();
+		}
+		List<AuditEvent> all = repository.find(null, null, null);
+		assertThat(all).hasSize(4);
+		for (AuditEvent event : all) {
+			assertThat(repository.find(event.getPrincipal(), null, null))
+					.contains(event);
+			assertThat(repository.find(null, null, event.getType())).contains(event);
+		}
+	}
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2018 the original author or authors.
+ * Copyright 2012-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -69,12 +69,13 @@ public class CachingOperationInvokerAdvisorTests {
 	}
 
 	@Test
-	public void applyWhenHasAtLeaseOneMandatoryParameterShouldNotAddAdvise() {
+	public void applyWhenHasAtLeaseOneMandatoryParameterShouldAddAdvise() {
 		OperationParameters parameters = getParameters("getWithParameters", String.class,
 				String.class);
+		given(this.timeToLive.apply(any())).willReturn(100L);
 		OperationInvoker advised = this.advisor.apply(EndpointId.of("foo"),
 				OperationType.READ, parameters, this.invoker);
-		assertThat(advised).isSameAs(this.invoker);
+		assertThat(advised).isInstanceOf(CachingOperationInvoker.class);
 	}
 
 	@Test
@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2018 the original author or authors.
+ * Copyright 2012-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -20,6 +20,12 @@ import java.security.Principal;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Test;
 
@@ -29,6 +35,8 @@ import org.springframework.boot.actuate.endpoint.invoke.OperationInvoker;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
@@ -39,6 +47,7 @@ import static org.mockito.Mockito.verifyNoMoreInteractions;
  * Tests for {@link CachingOperationInvoker}.
  *
  * @author Stephane Nicoll
+ * @author Edward Lee
  */
 public class CachingOperationInvokerTests {
 
@@ -78,23 +87,88 @@ public class CachingOperationInvokerTests {
 	}
 
 	@Test
-	public void targetAlwaysInvokedWithParameters() {
-		OperationInvoker target = mock(OperationInvoker.class);
+	public void createInstanceWithMaxSizeSetToZero() {
+		assertThatIllegalArgumentException().isThrownBy(
+				() -> new CachingOperationInvoker(mock(OperationInvoker.class), 500L, 0))
+				.withMessageContaining("MaxSize");
+	}
+
+	@Test
+	public void cacheInTtlRangeWithParameters() {
 		Map<String, Object> parameters = new HashMap<>();
 		parameters.put("test", "value");
 		parameters.put("something", null);
-		InvocationContext context = new InvocationContext(mock(SecurityContext.class),
-				parameters);
-		given(target.invoke(context)).willReturn(new Object());
+		assertCacheIsUsed(parameters);
+	}
+
+	@Test
+	public void cacheInTtlRangeWithArrayParameter() {
+		OperationInvoker target = mock(OperationInvoker.class);
+		given(target.invoke(any())).willReturn(new Object());
 		CachingOperationInvoker invoker = new CachingOperationInvoker(target, 500L);
-		invoker.invoke(context);
-		invoker.invoke(context);
-		invoker.invoke(context);
-		verify(target, times(3)).invoke(context);
+		invoker.invoke(new InvocationContext(mock(SecurityContext.class),
+				Collections.singletonMap("test", new String[] { "a", "b" })));
+		invoker.invoke(new InvocationContext(mock(SecurityContext.class),
+				Collections.singletonMap("test", new String[] { "a", "b" })));
+		verify(target, times(1)).invoke(any());
+	}
+
+	@Test
+	public void cacheInTtlRangeWithPrincipal() {
+		SecurityContext securityContext = mock(SecurityContext.class);
+		Principal principal = mock(Principal.class);
+		given(principal.getName()).willReturn("user");
+		given(securityContext.getPrincipal()).willReturn(principal);
+		OperationInvoker target = mock(OperationInvoker.class);
+		Object expected = new Object();
+		InvocationContext context = new InvocationContext(securityContext,
+				Collections.emptyMap());
+		given(target.invoke(context)).willReturn(expected);
+		CachingOperationInvoker invoker = new CachingOperationInvoker(target, 500L);
+		assertThat(invoker.invoke(context)).isSameAs(expected);
+		assertThat(invoker.invoke(context)).isSameAs(expected);
+		verify(target, times(1)).invoke(context);
+	}
+
+	@Test
+	public void targetInvokedForEachArguments() {
+		OperationInvoker target = mock(OperationInvoker.class);
+		InvocationContext first = new InvocationContext(mock(SecurityContext.class),
+				Collections.singletonMap("test", "one"));
+		InvocationContext second = new InvocationContext(mock(SecurityContext.class),
+				Collections.singletonMap("test", "two"));
+		given(target.invoke(first)).willReturn("one");
+		given(target.invoke(second)).willReturn("two");
+		CachingOperationInvoker invoker = new CachingOperationInvoker(target, 500L);
+		assertThat(invoker.invoke(first)).isEqualTo("one");
+		assertThat(invoker.invoke(second)).isEqualTo("two");
+		assertThat(invoker.invoke(first)).isEqualTo("one");
+		assertThat(invoker.invoke(second)).isEqualTo("two");
+		verify(target, times(1)).invoke(first);
+		verify(target, times(1)).invoke(second);
+	}
+
+	@Test
+	public void targetInvokedForEachPrincipal() {
+		OperationInvoker target = mock(OperationInvoker.class);
+		InvocationContext anonymous = new InvocationContext(mock(SecurityContext.class),
+				Collections.emptyMap());
+		InvocationContext authenticated = new InvocationContext(
+				securityContext("user"), Collections.emptyMap());
+		given(target.invoke(anonymous)).willReturn("anonymous");
+		given(target.invoke(authenticated)).willReturn("user");
+		CachingOperationInvoker invoker = new CachingOperationInvoker(target, 500L);
+		assertThat(invoker.invoke(anonymous)).isEqualTo("anonymous");
+		assertThat(invoker.invoke(authenticated)).isEqualTo("user");
+		assertThat(invoker.invoke(new InvocationContext(securityContext("other"),
+				Collections.emptyMap()))).isNull();
+		assertThat(invoker.invoke(anonymous)).isEqualTo("anonymous");
+		verify(target, times(1)).invoke(anonymous);
+		verify(target, times(1)).invoke(authenticated);
 	}
 
 	@Test
-	public void targetAlwaysInvokedWithPrincipal() {
+	public void targetAlwaysInvokedWithUnnamedPrincipal() {
 		OperationInvoker target = mock(OperationInvoker.class);
 		Map<String, Object> parameters = new HashMap<>();
 		SecurityContext securityContext = mock(SecurityContext.class);
@@ -108,6 +182,76 @@ public class CachingOperationInvokerTests {
 		verify(target, times(3)).invoke(context);
 	}
 
+	@Test
+	public void cacheEvictsOldestResponseWhenFull() throws InterruptedException {
+		OperationInvoker target = mock(OperationInvoker.class);
+		given(target.invoke(any())).willReturn(new Object());
+		CachingOperationInvoker invoker = new CachingOperationInvoker(target, 10000L, 2);
+		InvocationContext first = argumentContext("first");
+		invoker.invoke(first);
+		Thread.sleep(5);
+		invoker.invoke(argumentContext("second"));
+		Thread.sleep(5);
+		invoker.invoke(argumentContext("third"));
+		invoker.invoke(argumentContext("second"));
+		invoker.invoke(argumentContext("third"));
+		verify(target, times(3)).invoke(any());
+		invoker.invoke(first);
+		verify(target, times(4)).invoke(any());
+	}
+
+	@Test
+	public void failedInvocationIsNotCached() {
+		OperationInvoker target = mock(OperationInvoker.class);
+		InvocationContext context = argumentContext("test");
+		given(target.invoke(context)).willThrow(new IllegalStateException("Boom"))
+				.willReturn("test");
+		CachingOperationInvoker invoker = new CachingOperationInvoker(target, 500L);
+		assertThatIllegalStateException().isThrownBy(() -> invoker.invoke(context))
+				.withMessage("Boom");
+		assertThat(invoker.invoke(context)).isEqualTo("test");
+		assertThat(invoker.invoke(context)).isEqualTo("test");
+		verify(target, times(2)).invoke(context);
+	}
+
+	@Test
+	public void concurrentInvocationsWithSameKeyInvokeTargetOnce() throws Exception {
+		CountDownLatch invoked = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger invocations = new AtomicInteger();
+		OperationInvoker target = (context) -> {
+			invocations.incrementAndGet();
+			invoked.countDown();
+			try {
+				release.await(5, TimeUnit.SECONDS);
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+			return "test";
+		};
+		CachingOperationInvoker invoker = new CachingOperationInvoker(target, 10000L);
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			Future<Object> first = executor
+					.submit(() -> invoker.invoke(argumentContext("key")));
+			assertThat(invoked.await(5, TimeUnit.SECONDS)).isTrue();
+			Future<Object> second = executor
+					.submit(() -> invoker.invoke(argumentContext("key")));
+			Future<Object> third = executor
+					.submit(() -> invoker.invoke(argumentContext("key")));
+			Thread.sleep(50);
+			release.countDown();
+			assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("test");
+			assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo("test");
+			assertThat(third.get(5, TimeUnit.SECONDS)).isEqualTo("test");
+			assertThat(invocations.get()).isEqualTo(1);
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
 	@Test
 	public void targetInvokedWhenCacheExpires() throws InterruptedException {
 		OperationInvoker target = mock(OperationInvoker.class);
@@ -122,4 +266,17 @@ public class CachingOperationInvokerTests {
 		verify(target, times(2)).invoke(context);
 	}
 
+	private InvocationContext argumentContext(String value) {
+		return new InvocationContext(mock(SecurityContext.class),
+				Collections.singletonMap("test", value));
+	}
+
+	private SecurityContext securityContext(String name) {
+		SecurityContext securityContext = mock(SecurityContext.class);
+		Principal principal = mock(Principal.class);
+		given(principal.getName()).willReturn(name);
+		given(securityContext.getPrincipal()).willReturn(principal);
+		return securityContext;
+	}
+
 }
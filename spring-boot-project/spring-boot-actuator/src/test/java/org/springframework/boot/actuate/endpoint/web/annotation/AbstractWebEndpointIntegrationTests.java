@@ -16,6 +16,7 @@
 
 package org.springframework.boot.actuate.endpoint.web.annotation;
 
+import java.io.ByteArrayInputStream;
 import java.net.InetSocketAddress;
 import java.security.Principal;
 import java.time.Duration;
@@ -45,6 +46,7 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
 import org.springframework.core.env.MapPropertySource;
 import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.InputStreamResource;
 import org.springframework.core.io.Resource;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -59,6 +61,7 @@ import static org.mockito.Mockito.verify;
  *
  * @param <T> the type of application context used by the tests
  * @author Andy Wilkinson
+ * @author Edward Lee
  */
 public abstract class AbstractWebEndpointIntegrationTests<T extends ConfigurableApplicationContext & AnnotationConfigRegistry> {
 
@@ -419,7 +422,7 @@ public abstract class AbstractWebEndpointIntegrationTests<T extends Configurable
 				.jsonPath("message").isEqualTo(message);
 	}
 
-	private void load(Class<?> configuration,
+	protected void load(Class<?> configuration,
 			BiConsumer<ApplicationContext, WebTestClient> consumer) {
 		load((context) -> context.register(configuration), "/endpoints", consumer);
 	}
@@ -564,6 +567,17 @@ public abstract class AbstractWebEndpointIntegrationTests<T extends Configurable
 
 	}
 
+	@Configuration(proxyBeanMethods = false)
+	@Import(BaseConfiguration.class)
+	protected static class StreamedResourceEndpointConfiguration {
+
+		@Bean
+		public StreamedResourceEndpoint streamedResourceEndpoint() {
+			return new StreamedResourceEndpoint();
+		}
+
+	}
+
 	@Configuration(proxyBeanMethods = false)
 	@Import(BaseConfiguration.class)
 	static class ResourceWebEndpointResponseEndpointConfiguration {
@@ -788,6 +802,24 @@ public abstract class AbstractWebEndpointIntegrationTests<T extends Configurable
 
 	}
 
+	@Endpoint(id = "streamed")
+	protected static class StreamedResourceEndpoint {
+
+		public static final byte[] CONTENT = new byte[10000];
+
+		static {
+			for (int i = 0; i < CONTENT.length; i++) {
+				CONTENT[i] = (byte) i;
+			}
+		}
+
+		@ReadOperation
+		public Resource read() {
+			return new InputStreamResource(new ByteArrayInputStream(CONTENT));
+		}
+
+	}
+
 	@Endpoint(id = "resource")
 	static class ResourceWebEndpointResponseEndpoint {
 
@@ -17,8 +17,12 @@
 package org.springframework.boot.actuate.endpoint.web.reactive;
 
 import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Test;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import org.springframework.boot.actuate.endpoint.web.EndpointLinksResolver;
 import org.springframework.boot.actuate.endpoint.web.EndpointMapping;
@@ -34,16 +38,22 @@ import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationListener;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
 import org.springframework.core.env.Environment;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.ReactiveSecurityContextHolder;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.reactive.config.EnableWebFlux;
+import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
 import org.springframework.web.server.adapter.WebHttpHandlerBuilder;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -52,6 +62,7 @@ import static org.assertj.core.api.Assertions.assertThat;
  * Integration tests for web endpoints exposed using WebFlux.
  *
  * @author Andy Wilkinson
+ * @author Edward Lee
  * @see WebFluxEndpointHandlerMapping
  */
 public class WebFluxEndpointIntegrationTests extends
@@ -97,6 +108,21 @@ public class WebFluxEndpointIntegrationTests extends
 		});
 	}
 
+	@Test
+	public void readOperationsThatReturnAStreamedResourceWriteSeveralBuffers() {
+		load(BufferCountingStreamedResourceEndpointConfiguration.class,
+				(context, client) -> {
+					byte[] responseBody = client.get().uri("/streamed").exchange()
+							.expectStatus().isOk().expectHeader()
+							.contentType(MediaType.APPLICATION_OCTET_STREAM)
+							.returnResult(byte[].class).getResponseBodyContent();
+					assertThat(responseBody)
+							.isEqualTo(StreamedResourceEndpoint.CONTENT);
+					assertThat(context.getBean(BufferCountingWebFilter.class)
+							.getCount()).isGreaterThan(1);
+				});
+	}
+
 	@Override
 	protected int getPort(AnnotationConfigReactiveWebServerApplicationContext context) {
 		return context.getBean(ReactiveConfiguration.class).port;
@@ -140,6 +166,17 @@ public class WebFluxEndpointIntegrationTests extends
 
 	}
 
+	@Configuration(proxyBeanMethods = false)
+	@Import(StreamedResourceEndpointConfiguration.class)
+	static class BufferCountingStreamedResourceEndpointConfiguration {
+
+		@Bean
+		public BufferCountingWebFilter bufferCountingWebFilter() {
+			return new BufferCountingWebFilter();
+		}
+
+	}
+
 	@Configuration(proxyBeanMethods = false)
 	static class AuthenticatedConfiguration {
 
@@ -154,4 +191,30 @@ public class WebFluxEndpointIntegrationTests extends
 
 	}
 
+	static class BufferCountingWebFilter implements WebFilter {
+
+		private final AtomicInteger count = new AtomicInteger();
+
+		@Override
+		public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+			ServerHttpResponse response = new ServerHttpResponseDecorator(
+					exchange.getResponse()) {
+
+				@Override
+				public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+					return super.writeWith(Flux.from(body).doOnNext(
+							(buffer) -> BufferCountingWebFilter.this.count
+									.incrementAndGet()));
+				}
+
+			};
+			return chain.filter(exchange.mutate().response(response).build());
+		}
+
+		int getCount() {
+			return this.count.get();
+		}
+
+	}
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2018 the original author or authors.
+ * Copyright 2012-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,9 +18,16 @@ package org.springframework.boot.actuate.health;
 
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
@@ -35,11 +42,14 @@ import static org.mockito.BDDMockito.given;
  * @author Tyler J. Frederick
  * @author Phillip Webb
  * @author Christian Dupuis
+ * @author Edward Lee
  */
 public class CompositeHealthIndicatorTests {
 
 	private HealthAggregator healthAggregator;
 
+	private final ExecutorService executor = Executors.newCachedThreadPool();
+
 	@Mock
 	private HealthIndicator one;
 
@@ -57,6 +67,11 @@ public class CompositeHealthIndicatorTests {
 		this.healthAggregator = new OrderedHealthAggregator();
 	}
 
+	@After
+	public void shutdown() {
+		this.executor.shutdownNow();
+	}
+
 	@Test
 	public void createWithIndicators() {
 		Map<String, HealthIndicator> indicators = new HashMap<>();
@@ -90,4 +105,166 @@ public class CompositeHealthIndicatorTests {
 						+ ":{\"2\":\"2\"}}}}}}");
 	}
 
+	@Test
+	public void healthWithExecutorShouldCallIndicatorsConcurrently() {
+		CountDownLatch latch = new CountDownLatch(2);
+		HealthIndicator awaiting = () -> {
+			latch.countDown();
+			try {
+				return latch.await(10, TimeUnit.SECONDS) ? Health.up().build()
+						: Health.down().build();
+			}
+			catch (InterruptedException ex) {
+				throw new IllegalStateException(ex);
+			}
+		};
+		Map<String, HealthIndicator> indicators = new LinkedHashMap<>();
+		indicators.put("one", awaiting);
+		indicators.put("two", awaiting);
+		CompositeHealthIndicator composite = new CompositeHealthIndicator(
+				this.healthAggregator, indicators).executor(this.executor);
+		Health result = composite.health();
+		assertThat(result.getStatus()).isEqualTo(Status.UP);
+		assertThat(result.getDetails()).containsOnlyKeys("one", "two");
+	}
+
+	@Test
+	public void healthWithExecutorShouldKeepRegistrationOrder() {
+		Map<String, HealthIndicator> indicators = new LinkedHashMap<>();
+		indicators.put("two", this.two);
+		indicators.put("one", this.one);
+		CompositeHealthIndicator composite = new CompositeHealthIndicator(
+				this.healthAggregator, indicators).executor(this.executor);
+		assertThat(composite.health().getDetails().keySet()).containsExactly("two",
+				"one");
+	}
+
+	@Test
+	public void healthWithExecutorAndTimeoutShouldUseTimeoutHealth() {
+		CountDownLatch latch = new CountDownLatch(1);
+		Map<String, HealthIndicator> indicators = new LinkedHashMap<>();
+		indicators.put("one", this.one);
+		indicators.put("slow", () -> {
+			try {
+				latch.await();
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+			return Health.up().build();
+		});
+		CompositeHealthIndicator composite = new CompositeHealthIndicator(
+				this.healthAggregator, indicators).executor(this.executor)
+						.timeoutStrategy(100, Health.down().build());
+		try {
+			Health result = composite.health();
+			assertThat(result.getStatus()).isEqualTo(Status.DOWN);
+			assertThat(result.getDetails()).containsEntry("slow",
+					Health.down().build());
+			assertThat(result.getDetails()).containsEntry("one",
+					new Health.Builder().unknown().withDetail("1", "1").build());
+		}
+		finally {
+			latch.countDown();
+		}
+	}
+
+	@Test
+	public void healthWithExecutorAndTimeoutWithoutHealthShouldUseUnknown() {
+		CountDownLatch latch = new CountDownLatch(1);
+		HealthIndicator slow = () -> {
+			try {
+				latch.await();
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+			return Health.up().build();
+		};
+		CompositeHealthIndicator composite = new CompositeHealthIndicator(
+				this.healthAggregator, Collections.singletonMap("slow", slow))
+						.executor(this.executor).timeoutStrategy(50, null);
+		try {
+			Health slowHealth = (Health) composite.health().getDetails().get("slow");
+			assertThat(slowHealth.getStatus()).isEqualTo(Status.UNKNOWN);
+			assertThat(slowHealth.getDetails()).containsEntry("error",
+					"Timed out after 50ms");
+		}
+		finally {
+			latch.countDown();
+		}
+	}
+
+	@Test
+	public void healthWithExecutorAndTimeoutShouldInterruptSlowIndicator()
+			throws Exception {
+		CountDownLatch interrupted = new CountDownLatch(1);
+		HealthIndicator slow = () -> {
+			try {
+				Thread.sleep(10000);
+			}
+			catch (InterruptedException ex) {
+				interrupted.countDown();
+			}
+			return Health.up().build();
+		};
+		CompositeHealthIndicator composite = new CompositeHealthIndicator(
+				this.healthAggregator, Collections.singletonMap("slow", slow))
+						.executor(this.executor).timeoutStrategy(50, null);
+		assertThat(composite.health().getStatus()).isEqualTo(Status.UNKNOWN);
+		assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+	}
+
+	@Test
+	public void healthWithExecutorAndTimeoutShouldTimeEachIndicatorFromItsCall() {
+		HealthIndicator sleeping = () -> {
+			try {
+				Thread.sleep(150);
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+			return Health.up().build();
+		};
+		Map<String, HealthIndicator> indicators = new LinkedHashMap<>();
+		indicators.put("one", sleeping);
+		indicators.put("two", sleeping);
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			CompositeHealthIndicator composite = new CompositeHealthIndicator(
+					this.healthAggregator, indicators).executor(executor)
+							.timeoutStrategy(1000, null);
+			assertThat(composite.health().getStatus()).isEqualTo(Status.UP);
+			composite.timeoutStrategy(250, null);
+			assertThat(composite.health().getStatus()).isEqualTo(Status.UP);
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void healthWithExecutorWhenCallIsRejectedShouldBeUnknown() {
+		this.executor.shutdown();
+		CompositeHealthIndicator composite = new CompositeHealthIndicator(
+				this.healthAggregator, Collections.singletonMap("one", this.one))
+						.executor(this.executor);
+		Health oneHealth = (Health) composite.health().getDetails().get("one");
+		assertThat(oneHealth.getStatus()).isEqualTo(Status.UNKNOWN);
+		assertThat((String) oneHealth.getDetails().get("error"))
+				.startsWith(RejectedExecutionException.class.getName());
+	}
+
+	@Test
+	public void healthWithExecutorWhenIndicatorFailsShouldBeDown() {
+		given(this.one.health()).willThrow(new IllegalStateException("failed"));
+		CompositeHealthIndicator composite = new CompositeHealthIndicator(
+				this.healthAggregator, Collections.singletonMap("one", this.one))
+						.executor(this.executor);
+		Health oneHealth = (Health) composite.health().getDetails().get("one");
+		assertThat(oneHealth.getStatus()).isEqualTo(Status.DOWN);
+		assertThat(oneHealth.getDetails()).containsEntry("error",
+				IllegalStateException.class.getName() + ": failed");
+	}
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2018 the original author or authors.
+ * Copyright 2012-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,7 @@
 
 package org.springframework.boot.actuate.health;
 
+import java.time.Duration;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
@@ -32,6 +33,7 @@ import static org.assertj.core.api.Assertions.entry;
  * @author Christian Dupuis
  * @author Andy Wilkinson
  * @author Stephane Nicoll
+ * @author Edward Lee
  */
 public class HealthEndpointTests {
 
@@ -107,6 +109,48 @@ public class HealthEndpointTests {
 		assertThat(health).isNull();
 	}
 
+	@Test
+	public void statusForComponentIsExposedFromSnapshot() {
+		HealthEndpoint endpoint = new HealthEndpoint(
+				createSnapshotHealthIndicator(Collections.singletonMap("test", one)));
+		Health health = endpoint.healthForComponent("test");
+		assertThat(health).isNotNull();
+		assertThat(health.getStatus()).isEqualTo(Status.UP);
+		assertThat(health.getDetails()).containsEntry("first", "1")
+				.containsKey("snapshot");
+		assertThat(endpoint.healthForComponent("does-not-exist")).isNull();
+	}
+
+	@Test
+	public void statusForComponentInstanceIsExposedFromSnapshot() {
+		CompositeHealthIndicator compositeIndicator = new CompositeHealthIndicator(
+				new OrderedHealthAggregator(),
+				Collections.singletonMap("sub", () -> Health.down().build()));
+		HealthEndpoint endpoint = new HealthEndpoint(createSnapshotHealthIndicator(
+				Collections.singletonMap("test", compositeIndicator)));
+		Health health = endpoint.healthForComponentInstance("test", "sub");
+		assertThat(health).isNotNull();
+		assertThat(health.getStatus()).isEqualTo(Status.DOWN);
+		assertThat(health.getDetails()).containsOnlyKeys("snapshot");
+		assertThat(endpoint.healthForComponentInstance("test", "does-not-exist"))
+				.isNull();
+	}
+
+	@Test
+	public void statusForComponentInstanceThatIsNotACompositeFromSnapshotReturnNull() {
+		HealthEndpoint endpoint = new HealthEndpoint(
+				createSnapshotHealthIndicator(Collections.singletonMap("test", one)));
+		assertThat(endpoint.healthForComponentInstance("test", "first")).isNull();
+	}
+
+	private HealthIndicator createSnapshotHealthIndicator(
+			Map<String, HealthIndicator> healthIndicators) {
+		return new SnapshotHealthIndicator(new OrderedHealthAggregator(),
+				new HealthIndicatorPoller(
+						new DefaultHealthIndicatorRegistry(healthIndicators),
+						Duration.ofMinutes(1)));
+	}
+
 	private HealthIndicator createHealthIndicator(
 			Map<String, HealthIndicator> healthIndicators) {
 		return new CompositeHealthIndicator(new OrderedHealthAggregator(),
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2012-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.health;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Test;
+
+import org.springframework.boot.actuate.health.HealthIndicatorPoller.Snapshot;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Tests for {@link HealthIndicatorPoller}.
+ *
+ * @author Edward Lee
+ */
+public class HealthIndicatorPollerTests {
+
+	private final DefaultHealthIndicatorRegistry registry = new DefaultHealthIndicatorRegistry();
+
+	private final HealthIndicatorPoller poller = new HealthIndicatorPoller(this.registry,
+			Duration.ofMillis(20));
+
+	@After
+	public void stop() {
+		this.poller.stop();
+	}
+
+	@Test
+	public void createWhenIntervalIsNotPositiveShouldThrowException() {
+		assertThatIllegalArgumentException()
+				.isThrownBy(() -> new HealthIndicatorPoller(this.registry, Duration.ZERO))
+				.withMessageContaining("Interval must be positive");
+	}
+
+	@Test
+	public void getSnapshotsWhenNotStartedShouldCheckOnce() {
+		CountingHealthIndicator indicator = new CountingHealthIndicator();
+		this.registry.register("counting", indicator);
+		Snapshot first = this.poller.getSnapshots().get("counting");
+		Snapshot second = this.poller.getSnapshots().get("counting");
+		assertThat(first).isSameAs(second);
+		assertThat(first.getHealth().getStatus()).isEqualTo(Status.UP);
+		assertThat(indicator.count.get()).isEqualTo(1);
+	}
+
+	@Test
+	public void startShouldPollIndicatorsInTheBackground() throws Exception {
+		CountingHealthIndicator indicator = new CountingHealthIndicator();
+		this.registry.register("counting", indicator);
+		this.poller.start();
+		assertThat(this.poller.isRunning()).isTrue();
+		waitForCount(indicator, 3);
+		assertThat(this.poller.getSnapshot("counting")).isNotNull();
+		this.poller.stop();
+		assertThat(this.poller.isRunning()).isFalse();
+		int count = indicator.count.get();
+		Thread.sleep(100);
+		assertThat(indicator.count.get()).isLessThanOrEqualTo(count + 1);
+	}
+
+	@Test
+	public void startShouldUseIntervalOfIndicator() throws Exception {
+		CountingHealthIndicator fast = new CountingHealthIndicator();
+		CountingHealthIndicator slow = new CountingHealthIndicator();
+		this.registry.register("fast", fast);
+		this.registry.register("slow", slow);
+		this.poller.setInterval("slow", Duration.ofHours(1));
+		this.poller.start();
+		waitForCount(fast, 3);
+		assertThat(slow.count.get()).isEqualTo(1);
+	}
+
+	@Test
+	public void getSnapshotsShouldFollowRegistry() throws Exception {
+		this.registry.register("one", () -> Health.up().build());
+		this.poller.start();
+		CountingHealthIndicator indicator = new CountingHealthIndicator();
+		this.registry.register("two", indicator);
+		Map<String, Snapshot> snapshots = this.poller.getSnapshots();
+		assertThat(snapshots).containsOnlyKeys("one", "two");
+		waitForCount(indicator, 3);
+		this.registry.unregister("one");
+		assertThat(this.poller.getSnapshots()).containsOnlyKeys("two");
+	}
+
+	@Test
+	public void checkWhenIndicatorFailsShouldRecordDown() {
+		this.registry.register("failing", () -> {
+			throw new IllegalStateException("Boom");
+		});
+		Health health = this.poller.getSnapshots().get("failing").getHealth();
+		assertThat(health.getStatus()).isEqualTo(Status.DOWN);
+		assertThat(health.getDetails()).containsEntry("error",
+				IllegalStateException.class.getName() + ": Boom");
+	}
+
+	private void waitForCount(CountingHealthIndicator indicator, int count)
+			throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 5000;
+		while (indicator.count.get() < count && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+		assertThat(indicator.count.get()).isGreaterThanOrEqualTo(count);
+	}
+
+	private static class CountingHealthIndicator implements HealthIndicator {
+
+		private final AtomicInteger count = new AtomicInteger();
+
+		@Override
+		public Health health() {
+			return Health.up().withDetail("count", this.count.incrementAndGet())
+					.build();
+		}
+
+	}
+
+}
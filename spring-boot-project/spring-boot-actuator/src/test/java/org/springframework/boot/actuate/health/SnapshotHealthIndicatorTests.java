@@ -0,0 +1,126 @@
+/*
+ * Copyright 2012-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.health;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for {@link SnapshotHealthIndicator}.
+ *
+ * @author Edward Lee
+ */
+public class SnapshotHealthIndicatorTests {
+
+	private final HealthIndicator one = () -> Health.up().withDetail("1", "1").build();
+
+	private final HealthIndicator composite = new CompositeHealthIndicator(
+			new OrderedHealthAggregator(),
+			Collections.singletonMap("instance", () -> Health.down().build()));
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void healthShouldServeSnapshotsWithStaleness() {
+		HealthIndicator one = mock(HealthIndicator.class);
+		given(one.health()).willReturn(Health.up().withDetail("1", "1").build());
+		HealthIndicator two = mock(HealthIndicator.class);
+		given(two.health()).willReturn(Health.down().build());
+		DefaultHealthIndicatorRegistry registry = new DefaultHealthIndicatorRegistry();
+		registry.register("one", one);
+		registry.register("two", two);
+		SnapshotHealthIndicator indicator = new SnapshotHealthIndicator(
+				new OrderedHealthAggregator(),
+				new HealthIndicatorPoller(registry, Duration.ofMinutes(1)));
+		indicator.health();
+		Health health = indicator.health();
+		verify(one, times(1)).health();
+		verify(two, times(1)).health();
+		assertThat(health.getStatus()).isEqualTo(Status.DOWN);
+		assertThat(health.getDetails()).containsOnlyKeys("one", "two");
+		Health oneHealth = (Health) health.getDetails().get("one");
+		assertThat(oneHealth.getStatus()).isEqualTo(Status.UP);
+		assertThat(oneHealth.getDetails()).containsEntry("1", "1");
+		Map<String, Object> snapshot = (Map<String, Object>) oneHealth.getDetails()
+				.get("snapshot");
+		assertThat(snapshot).containsOnlyKeys("timestamp", "age", "duration");
+		assertThat((long) snapshot.get("age")).isGreaterThanOrEqualTo(0);
+	}
+
+	@Test
+	public void getNestedHealthIndicatorShouldServeSnapshotOfIndicator() {
+		SnapshotHealthIndicator indicator = createIndicator(Duration.ofMinutes(1));
+		Health health = indicator.getNestedHealthIndicator("one").health();
+		assertThat(health.getStatus()).isEqualTo(Status.UP);
+		assertThat(health.getDetails()).containsEntry("1", "1").containsKey("snapshot");
+		assertThat(indicator.getNestedHealthIndicator("missing")).isNull();
+	}
+
+	@Test
+	public void getNestedHealthIndicatorShouldServeSnapshotOfInstance() {
+		SnapshotHealthIndicator component = createIndicator(Duration.ofMinutes(1))
+				.getNestedHealthIndicator("composite");
+		Health health = component.getNestedHealthIndicator("instance").health();
+		assertThat(health.getStatus()).isEqualTo(Status.DOWN);
+		assertThat(health.getDetails()).containsOnlyKeys("snapshot");
+		assertThat(component.getNestedHealthIndicator("missing")).isNull();
+		assertThat(component.getNestedHealthIndicator("instance")
+				.getNestedHealthIndicator("instance")).isNull();
+	}
+
+	@Test
+	public void getNestedHealthIndicatorOfIndicatorThatIsNotACompositeShouldBeNull() {
+		SnapshotHealthIndicator component = createIndicator(Duration.ofMinutes(1))
+				.getNestedHealthIndicator("one");
+		assertThat(component.getNestedHealthIndicator("1")).isNull();
+	}
+
+	@Test
+	public void healthWhenSnapshotIsStaleShouldBeUnknown() throws Exception {
+		SnapshotHealthIndicator indicator = createIndicator(Duration.ofMillis(10));
+		assertThat(indicator.health().getStatus()).isEqualTo(Status.DOWN);
+		Thread.sleep(50);
+		Health health = indicator.health();
+		assertThat(health.getStatus()).isEqualTo(Status.UNKNOWN);
+		Health oneHealth = (Health) health.getDetails().get("one");
+		assertThat(oneHealth.getStatus()).isEqualTo(Status.UNKNOWN);
+		assertThat(oneHealth.getDetails()).containsEntry("error",
+				"Not checked for more than 30ms").containsKey("snapshot");
+		assertThat(indicator.getNestedHealthIndicator("composite")
+				.getNestedHealthIndicator("instance").health().getStatus())
+						.isEqualTo(Status.UNKNOWN);
+	}
+
+	private SnapshotHealthIndicator createIndicator(Duration interval) {
+		Map<String, HealthIndicator> indicators = new LinkedHashMap<>();
+		indicators.put("one", this.one);
+		indicators.put("composite", this.composite);
+		return new SnapshotHealthIndicator(new OrderedHealthAggregator(),
+				new HealthIndicatorPoller(new DefaultHealthIndicatorRegistry(indicators),
+						interval));
+	}
+
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright 2012-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.jdbc;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+import javax.sql.DataSource;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.jdbc.metadata.DataSourcePoolMetadata;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for {@link DataSourcePoolHealthIndicator}.
+ *
+ * @author Edward Lee
+ */
+public class DataSourcePoolHealthIndicatorTests {
+
+	private final DataSource dataSource = mock(DataSource.class);
+
+	private final Connection connection = mock(Connection.class);
+
+	private final DataSourcePoolMetadata poolMetadata = mock(
+			DataSourcePoolMetadata.class);
+
+	private final DataSourcePoolHealthIndicator indicator = new DataSourcePoolHealthIndicator(
+			this.dataSource, this.poolMetadata, Duration.ofSeconds(30),
+			Duration.ofSeconds(1));
+
+	@Before
+	public void setup() throws SQLException {
+		DatabaseMetaData metaData = mock(DatabaseMetaData.class);
+		given(metaData.getDatabaseProductName()).willReturn("HSQL Database Engine");
+		given(this.connection.getMetaData()).willReturn(metaData);
+		given(this.dataSource.getConnection()).willReturn(this.connection);
+		given(this.poolMetadata.getActive()).willReturn(3);
+		given(this.poolMetadata.getIdle()).willReturn(2);
+		given(this.poolMetadata.getPending()).willReturn(0);
+		given(this.poolMetadata.getMax()).willReturn(10);
+		given(this.poolMetadata.getMin()).willReturn(null);
+		given(this.poolMetadata.getUsage()).willReturn(0.3F);
+	}
+
+	@Test
+	public void createWhenValidationIntervalIsNotPositiveShouldThrowException() {
+		assertThatIllegalArgumentException()
+				.isThrownBy(() -> new DataSourcePoolHealthIndicator(this.dataSource,
+						this.poolMetadata, Duration.ZERO, Duration.ofSeconds(1)))
+				.withMessageContaining("ValidationInterval must be positive");
+	}
+
+	@Test
+	public void createWhenValidationTimeoutIsNegativeShouldThrowException() {
+		assertThatIllegalArgumentException()
+				.isThrownBy(() -> new DataSourcePoolHealthIndicator(this.dataSource,
+						this.poolMetadata, Duration.ofSeconds(30),
+						Duration.ofSeconds(-1)))
+				.withMessageContaining("ValidationTimeout must not be negative");
+	}
+
+	@Test
+	public void healthWhenNotValidatedShouldBeUnknown() throws SQLException {
+		Health health = this.indicator.health();
+		assertThat(health.getStatus()).isEqualTo(Status.UNKNOWN);
+		assertThat(health.getDetails()).containsOnlyKeys("pool");
+		verify(this.dataSource, times(0)).getConnection();
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void healthWhenConnectionIsValidShouldBeUpWithPoolDetails()
+			throws SQLException {
+		given(this.connection.isValid(1)).willReturn(true);
+		this.indicator.validate();
+		Health health = this.indicator.health();
+		assertThat(health.getStatus()).isEqualTo(Status.UP);
+		assertThat(health.getDetails()).containsEntry("database", "HSQL Database Engine")
+				.containsKeys("validated", "pool");
+		assertThat((Map<String, Object>) health.getDetails().get("pool")).containsOnly(
+				entry("active", 3), entry("idle", 2), entry("pending", 0),
+				entry("max", 10), entry("usage", 0.3F));
+		verify(this.connection).close();
+	}
+
+	@Test
+	public void healthWhenConnectionIsNotValidShouldBeDown() throws SQLException {
+		given(this.connection.isValid(anyInt())).willReturn(false);
+		this.indicator.validate();
+		Health health = this.indicator.health();
+		assertThat(health.getStatus()).isEqualTo(Status.DOWN);
+		assertThat(health.getDetails()).containsOnlyKeys("database", "validated",
+				"pool");
+	}
+
+	@Test
+	public void healthWhenConnectionCannotBeObtainedShouldBeDown() throws SQLException {
+		given(this.dataSource.getConnection())
+				.willThrow(new SQLException("Connection is not available"));
+		this.indicator.validate();
+		Health health = this.indicator.health();
+		assertThat(health.getStatus()).isEqualTo(Status.DOWN);
+		assertThat(health.getDetails()).containsOnlyKeys("error", "validated", "pool");
+		assertThat((String) health.getDetails().get("error"))
+				.contains("Connection is not available");
+	}
+
+	@Test
+	public void healthWhenValidationIsStaleShouldBeDown() throws Exception {
+		given(this.connection.isValid(anyInt())).willReturn(true);
+		DataSourcePoolHealthIndicator indicator = new DataSourcePoolHealthIndicator(
+				this.dataSource, this.poolMetadata, Duration.ofMillis(10), Duration.ZERO);
+		indicator.validate();
+		Thread.sleep(50);
+		Health health = indicator.health();
+		assertThat(health.getStatus()).isEqualTo(Status.DOWN);
+		assertThat(health.getDetails()).containsEntry("error",
+				"Not validated for more than 20ms");
+		assertThat(health.getDetails()).containsKeys("database", "validated", "pool");
+	}
+
+	@Test
+	public void healthWhenFirstValidationDoesNotCompleteShouldBeDown() throws Exception {
+		CountDownLatch latch = new CountDownLatch(1);
+		given(this.dataSource.getConnection()).willAnswer((invocation) -> {
+			latch.await();
+			return this.connection;
+		});
+		DataSourcePoolHealthIndicator indicator = new DataSourcePoolHealthIndicator(
+				this.dataSource, this.poolMetadata, Duration.ofMillis(10), Duration.ZERO);
+		Thread thread = new Thread(indicator::validate);
+		thread.start();
+		try {
+			Thread.sleep(50);
+			Health health = indicator.health();
+			assertThat(health.getStatus()).isEqualTo(Status.DOWN);
+			assertThat(health.getDetails()).containsOnlyKeys("error", "pool");
+		}
+		finally {
+			latch.countDown();
+			thread.join();
+		}
+	}
+
+	@Test
+	public void healthShouldNotBorrowConnections() throws SQLException {
+		given(this.connection.isValid(anyInt())).willReturn(true);
+		this.indicator.validate();
+		this.indicator.health();
+		this.indicator.health();
+		verify(this.dataSource, times(1)).getConnection();
+	}
+
+	@Test
+	public void validateShouldRoundValidationTimeoutUpToTheSecond() throws SQLException {
+		new DataSourcePoolHealthIndicator(this.dataSource, this.poolMetadata,
+				Duration.ofSeconds(30), Duration.ofMillis(1500)).validate();
+		verify(this.connection).isValid(2);
+	}
+
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2012-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.jdbc;
+
+import java.time.Duration;
+
+import org.junit.After;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+/**
+ * Tests for {@link DataSourcePoolValidator}.
+ *
+ * @author Edward Lee
+ */
+public class DataSourcePoolValidatorTests {
+
+	private final DataSourcePoolValidator validator = new DataSourcePoolValidator(
+			Duration.ofMillis(20));
+
+	@After
+	public void stop() {
+		this.validator.stop();
+	}
+
+	@Test
+	public void createWhenIntervalIsNotPositiveShouldThrowException() {
+		assertThatIllegalArgumentException()
+				.isThrownBy(() -> new DataSourcePoolValidator(Duration.ZERO))
+				.withMessageContaining("Interval must be positive");
+	}
+
+	@Test
+	public void getIntervalShouldReturnInterval() {
+		assertThat(this.validator.getInterval()).isEqualTo(Duration.ofMillis(20));
+	}
+
+	@Test
+	public void registerWhenNotStartedShouldNotValidate() throws Exception {
+		DataSourcePoolHealthIndicator indicator = mock(
+				DataSourcePoolHealthIndicator.class);
+		this.validator.register(indicator);
+		Thread.sleep(50);
+		verifyZeroInteractions(indicator);
+	}
+
+	@Test
+	public void startShouldValidateIndicatorsPeriodically() {
+		DataSourcePoolHealthIndicator first = mock(DataSourcePoolHealthIndicator.class);
+		DataSourcePoolHealthIndicator second = mock(DataSourcePoolHealthIndicator.class);
+		this.validator.register(first);
+		this.validator.register(second);
+		this.validator.start();
+		assertThat(this.validator.isRunning()).isTrue();
+		verify(first, timeout(1000).atLeast(3)).validate();
+		verify(second, timeout(1000).atLeast(3)).validate();
+		this.validator.stop();
+		assertThat(this.validator.isRunning()).isFalse();
+	}
+
+	@Test
+	public void registerWhenStartedShouldValidateImmediately() {
+		this.validator.start();
+		DataSourcePoolHealthIndicator indicator = mock(
+				DataSourcePoolHealthIndicator.class);
+		this.validator.register(indicator);
+		verify(indicator, timeout(1000).atLeast(1)).validate();
+	}
+
+	@Test
+	public void stopShouldStopValidating() throws Exception {
+		DataSourcePoolHealthIndicator indicator = mock(
+				DataSourcePoolHealthIndicator.class);
+		this.validator.register(indicator);
+		this.validator.start();
+		verify(indicator, timeout(1000)).validate();
+		this.validator.stop();
+		int count = mockingDetails(indicator).getInvocations().size();
+		Thread.sleep(100);
+		assertThat(mockingDetails(indicator).getInvocations().size())
+				.isLessThanOrEqualTo(count + 1);
+	}
+
+}
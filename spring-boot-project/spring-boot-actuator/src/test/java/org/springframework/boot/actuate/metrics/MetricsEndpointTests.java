@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2018 the original author or authors.
+ * Copyright 2012-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,10 +17,14 @@
 package org.springframework.boot.actuate.metrics;
 
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Stream;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Meter;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.MockClock;
 import io.micrometer.core.instrument.Statistic;
@@ -39,6 +43,7 @@ import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
  *
  * @author Andy Wilkinson
  * @author Jon Schneider
+ * @author Edward Lee
  */
 public class MetricsEndpointTests {
 
@@ -76,6 +81,63 @@ public class MetricsEndpointTests {
 		assertThat(endpoint.listNames().getNames()).containsOnly("counter1", "counter2");
 	}
 
+	@Test
+	public void listNamesIsSorted() {
+		this.registry.counter("com.example.foo");
+		this.registry.counter("com.example.bar");
+		this.registry.counter("com.example.baz");
+		assertThat(this.endpoint.listNames().getNames()).containsExactly(
+				"com.example.bar", "com.example.baz", "com.example.foo");
+	}
+
+	@Test
+	public void listNamesReflectsMetersAddedAndRemovedAfterFirstCall() {
+		Counter foo = this.registry.counter("com.example.foo");
+		assertThat(this.endpoint.listNames().getNames())
+				.containsExactly("com.example.foo");
+		this.registry.counter("com.example.bar");
+		this.registry.remove(foo);
+		assertThat(this.endpoint.listNames().getNames())
+				.containsExactly("com.example.bar");
+	}
+
+	@Test
+	public void listNamesExcludesMetersRemovedWhileIndexIsCreated() {
+		AtomicReference<Meter> removedMeter = new AtomicReference<>();
+		MeterRegistry registry = new SimpleMeterRegistry() {
+
+			@Override
+			public List<Meter> getMeters() {
+				List<Meter> meters = super.getMeters();
+				Meter meter = removedMeter.getAndSet(null);
+				if (meter != null) {
+					remove(meter);
+				}
+				return meters;
+			}
+
+		};
+		removedMeter.set(registry.counter("com.example.foo"));
+		registry.counter("com.example.bar");
+		MetricsEndpoint endpoint = new MetricsEndpoint(registry);
+		assertThat(endpoint.listNames().getNames()).containsExactly("com.example.bar");
+		assertThat(endpoint.metric("com.example.foo", Collections.emptyList())).isNull();
+	}
+
+	@Test
+	public void listNamesIncludesRegistriesAddedToCompositeAfterFirstCall() {
+		CompositeMeterRegistry composite = new CompositeMeterRegistry();
+		SimpleMeterRegistry reg1 = new SimpleMeterRegistry();
+		composite.add(reg1);
+		reg1.counter("counter1").increment();
+		MetricsEndpoint endpoint = new MetricsEndpoint(composite);
+		assertThat(endpoint.listNames().getNames()).containsOnly("counter1");
+		SimpleMeterRegistry reg2 = new SimpleMeterRegistry();
+		reg2.counter("counter2").increment();
+		composite.add(reg2);
+		assertThat(endpoint.listNames().getNames()).containsOnly("counter1", "counter2");
+	}
+
 	@Test
 	public void metricValuesAreTheSumOfAllTimeSeriesMatchingTags() {
 		this.registry.counter("cache", "result", "hit", "host", "1").increment(2);
@@ -138,6 +200,23 @@ public class MetricsEndpointTests {
 				.flatMap((t) -> t.getValues().stream())).containsExactly("east");
 	}
 
+	@Test
+	public void metricAvailableTagsReflectMetersAddedAndRemovedAfterFirstCall() {
+		this.registry.counter("cache", "result", "hit");
+		Counter miss = this.registry.counter("cache", "result", "miss");
+		assertThat(this.endpoint.metric("cache", null).getAvailableTags())
+				.flatExtracting(MetricsEndpoint.AvailableTag::getValues)
+				.containsOnly("hit", "miss");
+		this.registry.remove(miss);
+		this.registry.counter("cache", "result", "error");
+		assertThat(this.endpoint.metric("cache", null).getAvailableTags())
+				.flatExtracting(MetricsEndpoint.AvailableTag::getValues)
+				.containsOnly("hit", "error");
+		this.registry.remove(this.registry.get("cache").tag("result", "hit").counter());
+		this.registry.remove(this.registry.get("cache").tag("result", "error").counter());
+		assertThat(this.endpoint.metric("cache", null)).isNull();
+	}
+
 	@Test
 	public void metricWithSpaceInTagValue() {
 		this.registry.counter("counter", "key", "a space").increment(2);
@@ -17,6 +17,7 @@
 package org.springframework.boot.actuate.metrics.export.prometheus;
 
 import io.micrometer.core.instrument.Clock;
+import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.prometheus.PrometheusMeterRegistry;
 import io.prometheus.client.CollectorRegistry;
@@ -30,10 +31,13 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.reactive.server.WebTestClient;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 /**
  * Tests for {@link PrometheusScrapeEndpoint}.
  *
  * @author Jon Schneider
+ * @author Edward Lee
  */
 @RunWith(WebEndpointRunners.class)
 public class PrometheusScrapeEndpointIntegrationTests {
@@ -47,6 +51,25 @@ public class PrometheusScrapeEndpointIntegrationTests {
 				.contentType(MediaType.parseMediaType(TextFormat.CONTENT_TYPE_004));
 	}
 
+	@Test
+	public void scrapeIncludesAllMetrics() {
+		String body = client.get().uri("/actuator/prometheus").exchange()
+				.expectStatus().isOk().expectBody(String.class).returnResult()
+				.getResponseBody();
+		assertThat(body).contains("counter1_total").contains("counter2_total")
+				.contains("counter3_total");
+	}
+
+	@Test
+	public void scrapeWithIncludedNamesFiltersMetrics() {
+		String body = client.get()
+				.uri("/actuator/prometheus?includedNames=counter1_total,counter2_total")
+				.exchange().expectStatus().isOk().expectBody(String.class)
+				.returnResult().getResponseBody();
+		assertThat(body).contains("counter1_total").contains("counter2_total")
+				.doesNotContain("counter3_total");
+	}
+
 	@Configuration(proxyBeanMethods = false)
 	static class TestConfiguration {
 
@@ -63,7 +86,12 @@ public class PrometheusScrapeEndpointIntegrationTests {
 
 		@Bean
 		public MeterRegistry registry(CollectorRegistry registry) {
-			return new PrometheusMeterRegistry((k) -> null, registry, Clock.SYSTEM);
+			PrometheusMeterRegistry meterRegistry = new PrometheusMeterRegistry(
+					(k) -> null, registry, Clock.SYSTEM);
+			Counter.builder("counter1").register(meterRegistry);
+			Counter.builder("counter2").register(meterRegistry);
+			Counter.builder("counter3").register(meterRegistry);
+			return meterRegistry;
 		}
 
 	}
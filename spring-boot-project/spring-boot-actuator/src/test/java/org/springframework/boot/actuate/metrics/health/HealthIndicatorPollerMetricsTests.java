@@ -0,0 +1,58 @@
+/*
+ * Copyright 2012-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.metrics.health;
+
+import java.time.Duration;
+import java.util.Collections;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Test;
+
+import org.springframework.boot.actuate.health.DefaultHealthIndicatorRegistry;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicatorPoller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link HealthIndicatorPollerMetrics}.
+ *
+ * @author Edward Lee
+ */
+public class HealthIndicatorPollerMetricsTests {
+
+	@Test
+	public void gaugesShouldReflectLatestSnapshot() {
+		DefaultHealthIndicatorRegistry registry = new DefaultHealthIndicatorRegistry();
+		registry.register("test", () -> Health.up().build());
+		HealthIndicatorPoller poller = new HealthIndicatorPoller(registry,
+				Duration.ofMinutes(1));
+		MeterRegistry meterRegistry = new SimpleMeterRegistry();
+		new HealthIndicatorPollerMetrics(poller,
+				Collections.singleton(Tag.of("app", "test"))).bindTo(meterRegistry);
+		assertThat(meterRegistry.get("health.indicator.duration").tags("name", "test")
+				.tag("app", "test").gauge().value()).isNaN();
+		poller.getSnapshots();
+		assertThat(meterRegistry.get("health.indicator.duration").tags("name", "test")
+				.gauge().value()).isGreaterThanOrEqualTo(0);
+		assertThat(meterRegistry.get("health.indicator.age").tags("name", "test")
+				.gauge().value()).isGreaterThanOrEqualTo(0);
+	}
+
+}
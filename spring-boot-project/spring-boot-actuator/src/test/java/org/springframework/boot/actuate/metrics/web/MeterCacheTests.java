@@ -0,0 +1,93 @@
+/*
+ * Copyright 2012-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.metrics.web;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Tests for {@link MeterCache}.
+ *
+ * @author Edward Lee
+ */
+public class MeterCacheTests {
+
+	private final MeterRegistry registry = new SimpleMeterRegistry();
+
+	private final AtomicInteger created = new AtomicInteger();
+
+	@Test
+	public void createWhenMaximumSizeIsNotPositiveShouldThrowException() {
+		assertThatIllegalArgumentException().isThrownBy(() -> new MeterCache<>(0, "uri"))
+				.withMessage("MaximumSize must be positive");
+	}
+
+	@Test
+	public void getShouldCreateMeterOncePerKey() {
+		MeterCache<String, Timer> cache = new MeterCache<>("uri");
+		Timer first = get(cache, "/a");
+		Timer second = get(cache, "/a");
+		Timer other = get(cache, "/b");
+		assertThat(second).isSameAs(first);
+		assertThat(other).isNotSameAs(first);
+		assertThat(this.created).hasValue(2);
+	}
+
+	@Test
+	public void getWhenFullShouldReplaceOverflowTagOfNewKeysWithoutTemplate() {
+		MeterCache<String, Timer> cache = new MeterCache<>(1, "uri");
+		Timer cached = get(cache, "/a", false);
+		Timer overflow = get(cache, "/b", false);
+		assertThat(get(cache, "/a", false)).isSameAs(cached);
+		assertThat(get(cache, "/c", false)).isSameAs(overflow);
+		assertThat(overflow.getId().getTag("uri")).isEqualTo(MeterCache.OVERFLOW);
+		assertThat(overflow.getId().getTag("method")).isEqualTo("GET");
+		assertThat(this.created).hasValue(3);
+	}
+
+	@Test
+	public void getWhenFullShouldKeepTagsOfNewKeysWithTemplate() {
+		MeterCache<String, Timer> cache = new MeterCache<>(1, "uri");
+		Timer cached = get(cache, "/a");
+		Timer other = get(cache, "/b/{id}");
+		assertThat(get(cache, "/a")).isSameAs(cached);
+		assertThat(other.getId().getTag("uri")).isEqualTo("/b/{id}");
+		assertThat(get(cache, "/b/{id}")).isSameAs(other);
+		assertThat(this.created).hasValue(3);
+	}
+
+	private Timer get(MeterCache<String, Timer> cache, String uri) {
+		return get(cache, uri, true);
+	}
+
+	private Timer get(MeterCache<String, Timer> cache, String uri, boolean templated) {
+		return cache.get(uri, templated, () -> Tags.of("method", "GET", "uri", uri),
+				(tags) -> {
+					this.created.incrementAndGet();
+					return this.registry.timer("test", tags);
+				});
+	}
+
+}
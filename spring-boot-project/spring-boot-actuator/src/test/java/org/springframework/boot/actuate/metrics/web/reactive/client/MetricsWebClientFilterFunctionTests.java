@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2018 the original author or authors.
+ * Copyright 2012-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -45,6 +45,7 @@ import static org.mockito.Mockito.mock;
  * Tests for {@link MetricsWebClientFilterFunction}
  *
  * @author Brian Clozel
+ * @author Edward Lee
  */
 public class MetricsWebClientFilterFunctionTests {
 
@@ -92,6 +93,23 @@ public class MetricsWebClientFilterFunctionTests {
 				.timer().count()).isEqualTo(1);
 	}
 
+	@Test
+	public void filterShouldRecordTimerPerStatus() {
+		ClientRequest request = ClientRequest.create(HttpMethod.GET,
+				URI.create("http://example.com/projects/spring-boot")).build();
+		given(this.response.statusCode()).willReturn(HttpStatus.OK);
+		this.filterFunction.filter(request, this.exchange).block(Duration.ofSeconds(30));
+		this.filterFunction.filter(request, this.exchange).block(Duration.ofSeconds(30));
+		given(this.response.statusCode()).willReturn(HttpStatus.NOT_FOUND);
+		this.filterFunction.filter(request, this.exchange).block(Duration.ofSeconds(30));
+		assertThat(this.registry.get("http.client.requests")
+				.tags("uri", "/projects/spring-boot", "status", "200").timer().count())
+						.isEqualTo(2);
+		assertThat(this.registry.get("http.client.requests")
+				.tags("uri", "/projects/spring-boot", "status", "404").timer().count())
+						.isEqualTo(1);
+	}
+
 	@Test
 	public void filterWhenIoExceptionThrownShouldRecordTimer() {
 		ClientRequest request = ClientRequest.create(HttpMethod.GET,
@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2018 the original author or authors.
+ * Copyright 2012-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -36,6 +36,7 @@ import static org.assertj.core.api.Assertions.assertThat;
  * Tests for {@link MetricsWebFilter}
  *
  * @author Brian Clozel
+ * @author Edward Lee
  */
 public class MetricsWebFilterTests {
 
@@ -65,6 +66,22 @@ public class MetricsWebFilterTests {
 		assertMetricsContainsTag("status", "200");
 	}
 
+	@Test
+	public void filterRecordsTimerPerStatus() {
+		for (int status : new int[] { 200, 200, 404 }) {
+			MockServerWebExchange exchange = createExchange("/projects/spring-boot",
+					"/projects/{project}");
+			this.webFilter.filter(exchange, (serverWebExchange) -> {
+				exchange.getResponse().setStatusCodeValue(status);
+				return exchange.getResponse().setComplete();
+			}).block(Duration.ofSeconds(30));
+		}
+		assertThat(this.registry.get(REQUEST_METRICS_NAME)
+				.tags("uri", "/projects/{project}", "status", "200").timer().count())
+						.isEqualTo(2);
+		assertMetricsContainsTag("status", "404");
+	}
+
 	@Test
 	public void filterAddsTagsToRegistryForExceptions() {
 		MockServerWebExchange exchange = createExchange("/projects/spring-boot",
@@ -92,6 +92,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * Tests for {@link WebMvcMetricsFilter}.
  *
  * @author Jon Schneider
+ * @author Edward Lee
  */
 @RunWith(SpringRunner.class)
 @WebAppConfiguration
@@ -162,6 +163,20 @@ public class WebMvcMetricsFilterTests {
 				.count()).isEqualTo(1L);
 	}
 
+	@Test
+	public void timersAreReusedPerStatus() throws Exception {
+		this.mvc.perform(get("/api/c1/reused/10")).andExpect(status().isOk());
+		this.mvc.perform(get("/api/c1/reused/20")).andExpect(status().isOk());
+		this.mvc.perform(get("/api/c1/reused/oops"))
+				.andExpect(status().is4xxClientError());
+		assertThat(this.registry.get("http.server.requests")
+				.tags("uri", "/api/c1/reused/{id}", "status", "200").timer().count())
+						.isEqualTo(2L);
+		assertThat(this.registry.get("http.server.requests")
+				.tags("uri", "/api/c1/reused/{id}", "status", "400").timer().count())
+						.isEqualTo(1L);
+	}
+
 	@Test
 	public void redirectRequest() throws Exception {
 		this.mvc.perform(get("/api/redirect")
@@ -395,6 +410,12 @@ public class WebMvcMetricsFilterTests {
 			return id.toString();
 		}
 
+		@Timed
+		@GetMapping("/reused/{id}")
+		public String reused(@PathVariable Long id) {
+			return id.toString();
+		}
+
 		@Timed
 		@Timed(value = "my.long.request", extraTags = { "region",
 				"test" }, longTask = true)
@@ -16,11 +16,20 @@
 
 package org.springframework.boot.actuate.trace.http;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.Test;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
 
@@ -29,6 +38,7 @@ import static org.mockito.Mockito.mock;
  *
  * @author Dave Syer
  * @author Andy Wilkinson
+ * @author Edward Lee
  */
 public class InMemoryHttpTraceRepositoryTests {
 
@@ -59,6 +69,70 @@ public class InMemoryHttpTraceRepositoryTests {
 		assertThat(traces.get(1).getRequest().getMethod()).isEqualTo("DELETE");
 	}
 
+	@Test
+	public void reduceCapacityShouldRetainMostRecentTraces() {
+		this.repository.add(new HttpTrace(createRequest("GET")));
+		this.repository.add(new HttpTrace(createRequest("POST")));
+		this.repository.add(new HttpTrace(createRequest("DELETE")));
+		this.repository.setCapacity(2);
+		List<HttpTrace> traces = this.repository.findAll();
+		assertThat(traces).hasSize(2);
+		assertThat(traces.get(0).getRequest().getMethod()).isEqualTo("DELETE");
+		assertThat(traces.get(1).getRequest().getMethod()).isEqualTo("POST");
+	}
+
+	@Test
+	public void zeroCapacityShouldRetainNothing() {
+		this.repository.setCapacity(0);
+		this.repository.add(new HttpTrace(createRequest("GET")));
+		assertThat(this.repository.findAll()).isEmpty();
+	}
+
+	@Test
+	public void findAllShouldBeUnmodifiable() {
+		this.repository.add(new HttpTrace(createRequest("GET")));
+		List<HttpTrace> traces = this.repository.findAll();
+		assertThatExceptionOfType(UnsupportedOperationException.class)
+				.isThrownBy(traces::clear);
+	}
+
+	@Test
+	public void concurrentAddShouldRetainCapacityTraces() throws Exception {
+		int threads = 8;
+		int tracesPerThread = 1000;
+		this.repository.setCapacity(100);
+		List<HttpTrace> added = new ArrayList<>();
+		for (int i = 0; i < threads * tracesPerThread; i++) {
+			added.add(new HttpTrace(createRequest("GET")));
+		}
+		CountDownLatch latch = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int i = 0; i < threads; i++) {
+				List<HttpTrace> traces = added.subList(i * tracesPerThread,
+						(i + 1) * tracesPerThread);
+				futures.add(executor.submit(() -> {
+					latch.await();
+					traces.forEach(this.repository::add);
+					return null;
+				}));
+			}
+			latch.countDown();
+			for (Future<?> future : futures) {
+				future.get(10, TimeUnit.SECONDS);
+			}
+		}
+		finally {
+			executor.shutdown();
+		}
+		List<HttpTrace> traces = this.repository.findAll();
+		assertThat(traces).hasSize(100);
+		Set<HttpTrace> unique = new HashSet<>(traces);
+		assertThat(unique).hasSize(100);
+		assertThat(added).containsAll(unique);
+	}
+
 	private TraceableRequest createRequest(String method) {
 		TraceableRequest request = mock(TraceableRequest.class);
 		given(request.getMethod()).willReturn(method);
@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2018 the original author or authors.
+ * Copyright 2012-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,29 +17,53 @@
 package org.springframework.boot.autoconfigure;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeSet;
 
 import org.springframework.core.type.AnnotationMetadata;
 import org.springframework.core.type.classreading.MetadataReader;
 import org.springframework.core.type.classreading.MetadataReaderFactory;
 import org.springframework.util.Assert;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.StringUtils;
 
 /**
  * Sort {@link EnableAutoConfiguration auto-configuration} classes into priority order by
  * reading {@link AutoConfigureOrder}, {@link AutoConfigureBefore} and
- * {@link AutoConfigureAfter} annotations (without loading classes).
+ * {@link AutoConfigureAfter} annotations (without loading classes). If the requested
+ * classes are exactly the auto-configurations of a module whose order the
+ * {@link AutoConfigurationMetadata} contains, precomputed at build time, and the metadata
+ * it was computed from is unchanged, that order is used directly. Any other set of
+ * classes is sorted at runtime so that the result never depends on whether the order
+ * was precomputed.
  *
  * @author Phillip Webb
+ * @author Edward Lee
  */
 class AutoConfigurationSorter {
 
+	/**
+	 * Pseudo class name under which each comma-delimited precomputed order is stored in
+	 * the {@link AutoConfigurationMetadata}, keyed by the hash of the metadata it was
+	 * computed from.
+	 */
+	static final String PRECOMPUTED_ORDER = "spring-autoconfigure.order";
+
+	/**
+	 * Key of the hash of the precomputed order that contains a class.
+	 */
+	static final String PRECOMPUTED_ORDER_ID = "PrecomputedOrder";
+
 	private final MetadataReaderFactory metadataReaderFactory;
 
 	private final AutoConfigurationMetadata autoConfigurationMetadata;
@@ -52,6 +76,10 @@ class AutoConfigurationSorter {
 	}
 
 	public List<String> getInPriorityOrder(Collection<String> classNames) {
+		List<String> precomputed = getPrecomputedOrder(classNames);
+		if (precomputed != null) {
+			return precomputed;
+		}
 		AutoConfigurationClasses classes = new AutoConfigurationClasses(
 				this.metadataReaderFactory, this.autoConfigurationMetadata, classNames);
 		List<String> orderedClassNames = new ArrayList<>(classNames);
@@ -68,6 +96,62 @@ class AutoConfigurationSorter {
 		return orderedClassNames;
 	}
 
+	private List<String> getPrecomputedOrder(Collection<String> classNames) {
+		if (this.autoConfigurationMetadata == null || classNames.isEmpty()) {
+			return null;
+		}
+		String hash = null;
+		for (String className : classNames) {
+			String classHash = this.autoConfigurationMetadata.get(className,
+					PRECOMPUTED_ORDER_ID);
+			if (classHash == null || (hash != null && !hash.equals(classHash))) {
+				return null;
+			}
+			hash = classHash;
+		}
+		String order = this.autoConfigurationMetadata.get(PRECOMPUTED_ORDER, hash);
+		if (order == null) {
+			return null;
+		}
+		List<String> orderedClassNames = Arrays
+				.asList(StringUtils.commaDelimitedListToStringArray(order));
+		if (!hash.equals(getHash(orderedClassNames))) {
+			return null;
+		}
+		if (!new HashSet<>(orderedClassNames).equals(new HashSet<>(classNames))) {
+			return null;
+		}
+		return orderedClassNames;
+	}
+
+	/**
+	 * Return a hash of the metadata that influences the order of the given classes. Must
+	 * remain consistent with the hash written by the auto-configure annotation
+	 * processor.
+	 * @param classNames the class names
+	 * @return the hex encoded hash or {@code null} if any class was not processed
+	 */
+	private String getHash(Collection<String> classNames) {
+		StringBuilder content = new StringBuilder();
+		for (String className : new TreeSet<>(classNames)) {
+			if (!this.autoConfigurationMetadata.wasProcessed(className)) {
+				return null;
+			}
+			content.append(className).append('=');
+			content.append(this.autoConfigurationMetadata.getInteger(className,
+					"AutoConfigureOrder", AutoConfigureOrder.DEFAULT_ORDER));
+			content.append(';');
+			content.append(this.autoConfigurationMetadata.get(className,
+					"AutoConfigureBefore", ""));
+			content.append(';');
+			content.append(this.autoConfigurationMetadata.get(className,
+					"AutoConfigureAfter", ""));
+			content.append('\n');
+		}
+		return DigestUtils.md5DigestAsHex(
+				content.toString().getBytes(StandardCharsets.UTF_8));
+	}
+
 	private List<String> sortByAnnotation(AutoConfigurationClasses classes,
 			List<String> classNames) {
 		List<String> toSort = new ArrayList<>(classNames);
@@ -19,6 +19,7 @@ package org.springframework.boot.autoconfigure.condition;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.Map;
@@ -60,9 +61,13 @@ import org.springframework.util.StringUtils;
  * <li>Beans definitions will not be removed.</li>
  * <li>Beans will not be created in parallel.</li>
  * </ul>
+ * Bean names are indexed against every superclass and interface of their resolved type
+ * and, lazily, against each annotation that has been queried so that lookups do not need
+ * to consider every registered bean.
  *
  * @author Phillip Webb
  * @author Andy Wilkinson
+ * @author Edward Lee
  * @since 1.2.0
  */
 final class BeanTypeRegistry implements SmartInitializingSingleton {
@@ -71,6 +76,12 @@ final class BeanTypeRegistry implements SmartInitializingSingleton {
 
 	static final String FACTORY_BEAN_OBJECT_TYPE = "factoryBeanObjectType";
 
+	/**
+	 * {@link TypeExtractor} that uses the resolved bean type. Lookups using this
+	 * extractor are served from the type index.
+	 */
+	static final TypeExtractor RESOLVED_TYPE_EXTRACTOR = ResolvableType::resolve;
+
 	private static final String BEAN_NAME = BeanTypeRegistry.class.getName();
 
 	private final DefaultListableBeanFactory beanFactory;
@@ -79,6 +90,14 @@ final class BeanTypeRegistry implements SmartInitializingSingleton {
 
 	private final Map<String, RootBeanDefinition> beanDefinitions = new HashMap<>();
 
+	private final Map<Class<?>, Set<String>> namesByType = new HashMap<>();
+
+	private final Set<String> unindexedNames = new LinkedHashSet<>();
+
+	private final Map<Class<? extends Annotation>, Set<String>> namesByAnnotation = new HashMap<>();
+
+	private final Map<Class<?>, Set<Class<?>>> hierarchies = new HashMap<>();
+
 	private BeanTypeRegistry(DefaultListableBeanFactory beanFactory) {
 		this.beanFactory = beanFactory;
 	}
@@ -95,10 +114,22 @@ final class BeanTypeRegistry implements SmartInitializingSingleton {
 	 */
 	public Set<String> getNamesForType(Class<?> type, TypeExtractor typeExtractor) {
 		updateTypesIfNecessary();
-		return this.beanTypes.entrySet().stream().filter((entry) -> {
-			Class<?> beanType = extractType(entry.getValue(), typeExtractor);
-			return beanType != null && type.isAssignableFrom(beanType);
-		}).map(Map.Entry::getKey).collect(Collectors.toCollection(LinkedHashSet::new));
+		if (typeExtractor != RESOLVED_TYPE_EXTRACTOR) {
+			return this.beanTypes.entrySet().stream().filter((entry) -> {
+				Class<?> beanType = extractType(entry.getValue(), typeExtractor);
+				return beanType != null && type.isAssignableFrom(beanType);
+			}).map(Map.Entry::getKey)
+					.collect(Collectors.toCollection(LinkedHashSet::new));
+		}
+		Set<String> result = new LinkedHashSet<>(
+				this.namesByType.getOrDefault(type, Collections.emptySet()));
+		for (String name : this.unindexedNames) {
+			Class<?> beanType = extractType(this.beanTypes.get(name), typeExtractor);
+			if (beanType != null && type.isAssignableFrom(beanType)) {
+				result.add(name);
+			}
+		}
+		return result;
 	}
 
 	private Class<?> extractType(ResolvableType type, TypeExtractor extractor) {
@@ -116,11 +147,18 @@ final class BeanTypeRegistry implements SmartInitializingSingleton {
 	 */
 	public Set<String> getNamesForAnnotation(Class<? extends Annotation> annotation) {
 		updateTypesIfNecessary();
-		return this.beanTypes.entrySet().stream()
-				.filter((entry) -> entry.getValue() != null && AnnotationUtils
-						.findAnnotation(entry.getValue().resolve(), annotation) != null)
-				.map(Map.Entry::getKey)
-				.collect(Collectors.toCollection(LinkedHashSet::new));
+		Set<String> names = this.namesByAnnotation.computeIfAbsent(annotation,
+				(key) -> this.beanTypes.entrySet().stream()
+						.filter((entry) -> isAnnotated(entry.getValue(), key))
+						.map(Map.Entry::getKey)
+						.collect(Collectors.toCollection(LinkedHashSet::new)));
+		return new LinkedHashSet<>(names);
+	}
+
+	private boolean isAnnotated(ResolvableType type,
+			Class<? extends Annotation> annotation) {
+		return type != null
+				&& AnnotationUtils.findAnnotation(type.resolve(), annotation) != null;
 	}
 
 	@Override
@@ -128,6 +166,10 @@ final class BeanTypeRegistry implements SmartInitializingSingleton {
 		// We're done at this point, free up some memory
 		this.beanTypes.clear();
 		this.beanDefinitions.clear();
+		this.namesByType.clear();
+		this.unindexedNames.clear();
+		this.namesByAnnotation.clear();
+		this.hierarchies.clear();
 	}
 
 	private void updateTypesIfNecessary() {
@@ -146,7 +188,7 @@ final class BeanTypeRegistry implements SmartInitializingSingleton {
 
 	private void addBeanType(String name) {
 		if (this.beanFactory.containsSingleton(name)) {
-			this.beanTypes.put(name, getType(name, null));
+			putBeanType(name, getType(name, null));
 		}
 		else if (!this.beanFactory.isAlias(name)) {
 			addBeanTypeForNonAliasDefinition(name);
@@ -195,12 +237,12 @@ final class BeanTypeRegistry implements SmartInitializingSingleton {
 				if (this.beanFactory.isFactoryBean(factoryBeanName)) {
 					ResolvableType factoryBeanGeneric = getFactoryBeanGeneric(
 							this.beanFactory, definition, factoryMethodReturnType);
-					this.beanTypes.put(name, factoryBeanGeneric);
-					this.beanTypes.put(factoryBeanName,
+					putBeanType(name, factoryBeanGeneric);
+					putBeanType(factoryBeanName,
 							getType(factoryBeanName, factoryMethodReturnType));
 				}
 				else {
-					this.beanTypes.put(name, getType(name, factoryMethodReturnType));
+					putBeanType(name, getType(name, factoryMethodReturnType));
 				}
 			}
 			this.beanDefinitions.put(name, definition);
@@ -211,6 +253,67 @@ final class BeanTypeRegistry implements SmartInitializingSingleton {
 		}
 	}
 
+	private void putBeanType(String name, ResolvableType type) {
+		ResolvableType previous = this.beanTypes.put(name, type);
+		if (previous != null) {
+			removeFromTypeIndex(name, previous.resolve());
+		}
+		addToTypeIndex(name, (type != null) ? type.resolve() : null);
+		this.namesByAnnotation.forEach((annotation, names) -> {
+			names.remove(name);
+			if (isAnnotated(type, annotation)) {
+				names.add(name);
+			}
+		});
+	}
+
+	private void addToTypeIndex(String name, Class<?> type) {
+		if (type == null) {
+			return;
+		}
+		if (type.isArray() || type.isPrimitive()) {
+			this.unindexedNames.add(name);
+			return;
+		}
+		for (Class<?> candidate : getHierarchy(type)) {
+			this.namesByType.computeIfAbsent(candidate, (key) -> new LinkedHashSet<>())
+					.add(name);
+		}
+	}
+
+	private void removeFromTypeIndex(String name, Class<?> type) {
+		if (type == null) {
+			return;
+		}
+		if (this.unindexedNames.remove(name)) {
+			return;
+		}
+		for (Class<?> candidate : getHierarchy(type)) {
+			Set<String> names = this.namesByType.get(candidate);
+			if (names != null) {
+				names.remove(name);
+			}
+		}
+	}
+
+	private Set<Class<?>> getHierarchy(Class<?> type) {
+		return this.hierarchies.computeIfAbsent(type, (key) -> {
+			Set<Class<?>> hierarchy = new LinkedHashSet<>();
+			collectHierarchy(key, hierarchy);
+			hierarchy.add(Object.class);
+			return hierarchy;
+		});
+	}
+
+	private void collectHierarchy(Class<?> type, Set<Class<?>> hierarchy) {
+		if (type != null && hierarchy.add(type)) {
+			collectHierarchy(type.getSuperclass(), hierarchy);
+			for (Class<?> candidate : type.getInterfaces()) {
+				collectHierarchy(candidate, hierarchy);
+			}
+		}
+	}
+
 	private boolean requiresEagerInit(String factoryBeanName) {
 		return (factoryBeanName != null && this.beanFactory.isFactoryBean(factoryBeanName)
 				&& !this.beanFactory.containsSingleton(factoryBeanName));
@@ -27,28 +27,41 @@ import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.BeanFactoryAware;
 import org.springframework.boot.autoconfigure.AutoConfigurationImportFilter;
 import org.springframework.boot.autoconfigure.AutoConfigurationMetadata;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
 import org.springframework.util.ClassUtils;
 import org.springframework.util.CollectionUtils;
 
 /**
  * Abstract base class for a {@link SpringBootCondition} that also implements
- * {@link AutoConfigurationImportFilter}.
+ * {@link AutoConfigurationImportFilter}. Candidates may optionally be partitioned across
+ * several threads by setting the {@value #THREADS_PROPERTY} property.
  *
  * @author Phillip Webb
+ * @author Edward Lee
  */
 abstract class FilteringSpringBootCondition extends SpringBootCondition
-		implements AutoConfigurationImportFilter, BeanFactoryAware, BeanClassLoaderAware {
+		implements AutoConfigurationImportFilter, BeanFactoryAware, BeanClassLoaderAware,
+		EnvironmentAware {
+
+	/**
+	 * The name of the property used to configure the number of threads used to resolve
+	 * outcomes.
+	 */
+	static final String THREADS_PROPERTY = "spring.autoconfigure.filter.threads";
 
 	private BeanFactory beanFactory;
 
 	private ClassLoader beanClassLoader;
 
+	private int threads = 1;
+
 	@Override
 	public boolean[] match(String[] autoConfigurationClasses,
 			AutoConfigurationMetadata autoConfigurationMetadata) {
 		ConditionEvaluationReport report = ConditionEvaluationReport
 				.find(this.beanFactory);
-		ConditionOutcome[] outcomes = getOutcomes(autoConfigurationClasses,
+		ConditionOutcome[] outcomes = resolveOutcomes(autoConfigurationClasses,
 				autoConfigurationMetadata);
 		boolean[] match = new boolean[outcomes.length];
 		for (int i = 0; i < outcomes.length; i++) {
@@ -64,6 +77,23 @@ abstract class FilteringSpringBootCondition extends SpringBootCondition
 		return match;
 	}
 
+	private ConditionOutcome[] resolveOutcomes(String[] autoConfigurationClasses,
+			AutoConfigurationMetadata autoConfigurationMetadata) {
+		if (this.threads <= 1) {
+			return getOutcomes(autoConfigurationClasses, autoConfigurationMetadata);
+		}
+		return new PartitionedOutcomesResolver(this.threads).resolveOutcomes(
+				autoConfigurationClasses,
+				(partition) -> getOutcomes(partition, autoConfigurationMetadata));
+	}
+
+	/**
+	 * Return the outcomes for the given candidates. When partitioning is enabled this
+	 * method may be called concurrently with a subset of the candidates.
+	 * @param autoConfigurationClasses the candidates (may contain {@code null} entries)
+	 * @param autoConfigurationMetadata the auto-configuration metadata
+	 * @return the outcomes, indexed in the same way as the candidates
+	 */
 	protected abstract ConditionOutcome[] getOutcomes(String[] autoConfigurationClasses,
 			AutoConfigurationMetadata autoConfigurationMetadata);
 
@@ -85,6 +115,19 @@ abstract class FilteringSpringBootCondition extends SpringBootCondition
 		this.beanClassLoader = classLoader;
 	}
 
+	@Override
+	public void setEnvironment(Environment environment) {
+		this.threads = environment.getProperty(THREADS_PROPERTY, Integer.class, 1);
+	}
+
+	/**
+	 * Return the number of threads used to resolve outcomes.
+	 * @return the number of threads ({@code 1} when outcomes are resolved serially)
+	 */
+	protected final int getThreads() {
+		return this.threads;
+	}
+
 	protected List<String> filter(Collection<String> classNames,
 			ClassNameFilter classNameFilter, ClassLoader classLoader) {
 		if (CollectionUtils.isEmpty(classNames)) {
@@ -537,7 +537,7 @@ class OnBeanCondition extends FilteringSpringBootCondition
 
 		public TypeExtractor getTypeExtractor(ClassLoader classLoader) {
 			if (this.parameterizedContainers.isEmpty()) {
-				return ResolvableType::resolve;
+				return BeanTypeRegistry.RESOLVED_TYPE_EXTRACTOR;
 			}
 			return (type) -> {
 				Class<?> resolved = type.resolve();
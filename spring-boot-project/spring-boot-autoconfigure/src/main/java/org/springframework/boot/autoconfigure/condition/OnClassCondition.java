@@ -48,8 +48,9 @@ class OnClassCondition extends FilteringSpringBootCondition {
 			AutoConfigurationMetadata autoConfigurationMetadata) {
 		// Split the work and perform half in a background thread if more than one
 		// processor is available. Using a single additional thread seems to offer the
-		// best performance. More threads make things worse.
-		if (Runtime.getRuntime().availableProcessors() > 1) {
+		// best performance. More threads make things worse. If partitioning has been
+		// configured explicitly we're already running on a subset of the candidates.
+		if (getThreads() <= 1 && Runtime.getRuntime().availableProcessors() > 1) {
 			return resolveOutcomesThreaded(autoConfigurationClasses,
 					autoConfigurationMetadata);
 		}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2012-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.condition;
+
+import java.util.Arrays;
+import java.util.function.Function;
+
+/**
+ * Resolves {@link ConditionOutcome outcomes} for a set of auto-configuration candidates
+ * by splitting them into contiguous partitions that are evaluated concurrently. The last
+ * partition is evaluated on the calling thread. Results are merged back by candidate
+ * index so that the returned array is identical to a serial evaluation.
+ *
+ * @author Edward Lee
+ * @see FilteringSpringBootCondition
+ */
+final class PartitionedOutcomesResolver {
+
+	private final int partitions;
+
+	/**
+	 * Create a new {@link PartitionedOutcomesResolver} instance.
+	 * @param partitions the maximum number of partitions (and threads) to use
+	 */
+	PartitionedOutcomesResolver(int partitions) {
+		this.partitions = Math.max(partitions, 1);
+	}
+
+	/**
+	 * Resolve outcomes for the given candidates.
+	 * @param autoConfigurationClasses the candidates (may contain {@code null} entries)
+	 * @param resolver function used to resolve the outcomes of a single partition
+	 * @return the outcomes, indexed in the same way as the candidates
+	 */
+	ConditionOutcome[] resolveOutcomes(String[] autoConfigurationClasses,
+			Function<String[], ConditionOutcome[]> resolver) {
+		int length = autoConfigurationClasses.length;
+		int partitions = Math.min(this.partitions, length);
+		if (partitions <= 1) {
+			return resolver.apply(autoConfigurationClasses);
+		}
+		Partition[] threaded = new Partition[partitions - 1];
+		for (int i = 0; i < threaded.length; i++) {
+			threaded[i] = new Partition(autoConfigurationClasses,
+					getStart(i, partitions, length), getStart(i + 1, partitions, length),
+					resolver);
+			threaded[i].start();
+		}
+		ConditionOutcome[] outcomes = new ConditionOutcome[length];
+		int start = getStart(partitions - 1, partitions, length);
+		ConditionOutcome[] last = resolver
+				.apply(Arrays.copyOfRange(autoConfigurationClasses, start, length));
+		System.arraycopy(last, 0, outcomes, start, last.length);
+		for (Partition partition : threaded) {
+			ConditionOutcome[] resolved = partition.join();
+			System.arraycopy(resolved, 0, outcomes, partition.start, resolved.length);
+		}
+		return outcomes;
+	}
+
+	private static int getStart(int partition, int partitions, int length) {
+		return (int) ((long) partition * length / partitions);
+	}
+
+	/**
+	 * A single partition evaluated in a background thread.
+	 */
+	private static final class Partition {
+
+		private final int start;
+
+		private final Thread thread;
+
+		private volatile ConditionOutcome[] outcomes;
+
+		private volatile Throwable failure;
+
+		Partition(String[] autoConfigurationClasses, int start, int end,
+				Function<String[], ConditionOutcome[]> resolver) {
+			this.start = start;
+			String[] candidates = Arrays.copyOfRange(autoConfigurationClasses, start,
+					end);
+			this.thread = new Thread(() -> {
+				try {
+					this.outcomes = resolver.apply(candidates);
+				}
+				catch (Throwable ex) {
+					this.failure = ex;
+				}
+			}, "auto-configuration-filter-" + start);
+			this.thread.setDaemon(true);
+		}
+
+		void start() {
+			this.thread.start();
+		}
+
+		ConditionOutcome[] join() {
+			try {
+				this.thread.join();
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException(
+						"Interrupted while resolving condition outcomes", ex);
+			}
+			if (this.failure instanceof RuntimeException) {
+				throw (RuntimeException) this.failure;
+			}
+			if (this.failure instanceof Error) {
+				throw (Error) this.failure;
+			}
+			if (this.failure != null) {
+				throw new IllegalStateException(this.failure);
+			}
+			return this.outcomes;
+		}
+
+	}
+
+}
@@ -17,6 +17,7 @@
 package org.springframework.boot.autoconfigure;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -31,6 +32,7 @@ import org.springframework.core.type.classreading.CachingMetadataReaderFactory;
 import org.springframework.core.type.classreading.MetadataReader;
 import org.springframework.core.type.classreading.MetadataReaderFactory;
 import org.springframework.util.ClassUtils;
+import org.springframework.util.DigestUtils;
 import org.springframework.util.StringUtils;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -42,6 +44,7 @@ import static org.mockito.Mockito.mock;
  *
  * @author Phillip Webb
  * @author Andy Wilkinson
+ * @author Edward Lee
  */
 public class AutoConfigurationSorterTests {
 
@@ -178,6 +181,76 @@ public class AutoConfigurationSorterTests {
 				.withMessageContaining("AutoConfigure cycle detected");
 	}
 
+	@Test
+	public void usesPrecomputedOrderWhenCandidatesMatchModule() {
+		Properties properties = new Properties();
+		addPrecomputedOrder(properties, getHash(C + "=0;;\n" + D + "=0;;\n" + E
+				+ "=0;;\n"), E, D, C);
+		this.sorter = new AutoConfigurationSorter(new SkipCycleMetadataReaderFactory(),
+				AutoConfigurationMetadataLoader.loadMetadata(properties));
+		List<String> actual = this.sorter.getInPriorityOrder(Arrays.asList(C, D, E));
+		assertThat(actual).containsExactly(E, D, C);
+	}
+
+	@Test
+	public void ignoresPrecomputedOrderWhenCandidatesAreSubsetOfModule() {
+		Properties properties = new Properties();
+		addPrecomputedOrder(properties, getHash(C + "=0;;\n" + D + "=0;;\n" + E
+				+ "=0;;\n"), E, D, C);
+		this.sorter = new AutoConfigurationSorter(new SkipCycleMetadataReaderFactory(),
+				AutoConfigurationMetadataLoader.loadMetadata(properties));
+		List<String> actual = this.sorter.getInPriorityOrder(Arrays.asList(C, E));
+		assertThat(actual).containsExactly(C, E);
+	}
+
+	@Test
+	public void ignoresPrecomputedOrderWhenHashDoesNotMatch() {
+		Properties properties = new Properties();
+		addPrecomputedOrder(properties, getHash(C + "=0;;\n" + D + "=0;;\n" + E
+				+ "=1;;\n"), E, D, C);
+		this.sorter = new AutoConfigurationSorter(new SkipCycleMetadataReaderFactory(),
+				AutoConfigurationMetadataLoader.loadMetadata(properties));
+		List<String> actual = this.sorter.getInPriorityOrder(Arrays.asList(C, D, E));
+		assertThat(actual).containsExactly(C, D, E);
+	}
+
+	@Test
+	public void ignoresPrecomputedOrderWhenCandidateIsNotPrecomputed() {
+		Properties properties = new Properties();
+		addPrecomputedOrder(properties, getHash(C + "=0;;\n" + E + "=0;;\n"), E, C);
+		properties.put(A, "");
+		this.sorter = new AutoConfigurationSorter(new SkipCycleMetadataReaderFactory(),
+				AutoConfigurationMetadataLoader.loadMetadata(properties));
+		List<String> actual = this.sorter.getInPriorityOrder(Arrays.asList(A, C, E));
+		assertThat(actual).containsExactly(A, C, E);
+	}
+
+	@Test
+	public void ignoresPrecomputedOrderWhenCandidatesSpanSeveralModules() {
+		Properties properties = new Properties();
+		addPrecomputedOrder(properties, getHash(C + "=0;;\n" + E + "=0;;\n"), E, C);
+		addPrecomputedOrder(properties, getHash(D + "=0;;\n"), D);
+		this.sorter = new AutoConfigurationSorter(new SkipCycleMetadataReaderFactory(),
+				AutoConfigurationMetadataLoader.loadMetadata(properties));
+		List<String> actual = this.sorter.getInPriorityOrder(Arrays.asList(C, D, E));
+		assertThat(actual).containsExactly(C, D, E);
+	}
+
+	private void addPrecomputedOrder(Properties properties, String hash,
+			String... order) {
+		for (String className : order) {
+			properties.put(className, "");
+			properties.put(className + "." + AutoConfigurationSorter.PRECOMPUTED_ORDER_ID,
+					hash);
+		}
+		properties.put(AutoConfigurationSorter.PRECOMPUTED_ORDER + "." + hash,
+				StringUtils.arrayToCommaDelimitedString(order));
+	}
+
+	private String getHash(String content) {
+		return DigestUtils.md5DigestAsHex(content.getBytes(StandardCharsets.UTF_8));
+	}
+
 	private AutoConfigurationMetadata getAutoConfigurationMetadata(String... classNames)
 			throws Exception {
 		Properties properties = new Properties();
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2012-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.condition;
+
+import java.io.Serializable;
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.junit.Test;
+
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.boot.autoconfigure.condition.BeanTypeRegistry.TypeExtractor;
+import org.springframework.core.ResolvableType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link BeanTypeRegistry}.
+ *
+ * @author Edward Lee
+ */
+public class BeanTypeRegistryTests {
+
+	private final DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+
+	@Test
+	public void getNamesForTypeShouldMatchSuperclassesAndInterfaces() {
+		register("example", ExampleBean.class);
+		register("other", OtherBean.class);
+		BeanTypeRegistry registry = BeanTypeRegistry.get(this.beanFactory);
+		TypeExtractor extractor = BeanTypeRegistry.RESOLVED_TYPE_EXTRACTOR;
+		assertThat(registry.getNamesForType(ExampleBean.class, extractor))
+				.containsExactly("example");
+		assertThat(registry.getNamesForType(AbstractExampleBean.class, extractor))
+				.containsExactly("example");
+		assertThat(registry.getNamesForType(ExampleInterface.class, extractor))
+				.containsExactly("example");
+		assertThat(registry.getNamesForType(Serializable.class, extractor))
+				.containsExactly("example");
+		assertThat(registry.getNamesForType(Object.class, extractor))
+				.contains("example", "other");
+		assertThat(registry.getNamesForType(Runnable.class, extractor)).isEmpty();
+	}
+
+	@Test
+	public void getNamesForTypeShouldIncludeBeansRegisteredAfterFirstQuery() {
+		BeanTypeRegistry registry = BeanTypeRegistry.get(this.beanFactory);
+		TypeExtractor extractor = BeanTypeRegistry.RESOLVED_TYPE_EXTRACTOR;
+		assertThat(registry.getNamesForType(ExampleInterface.class, extractor))
+				.isEmpty();
+		register("example", ExampleBean.class);
+		assertThat(registry.getNamesForType(ExampleInterface.class, extractor))
+				.containsExactly("example");
+	}
+
+	@Test
+	public void getNamesForTypeWhenBeanTypeIsArrayShouldMatchCovariantType() {
+		this.beanFactory.registerSingleton("array", new String[0]);
+		BeanTypeRegistry registry = BeanTypeRegistry.get(this.beanFactory);
+		assertThat(registry.getNamesForType(Object[].class,
+				BeanTypeRegistry.RESOLVED_TYPE_EXTRACTOR)).containsExactly("array");
+	}
+
+	@Test
+	public void getNamesForTypeWithCustomExtractorShouldUseExtractor() {
+		register("example", ExampleBean.class);
+		BeanTypeRegistry registry = BeanTypeRegistry.get(this.beanFactory);
+		TypeExtractor extractor = (type) -> OtherBean.class;
+		assertThat(registry.getNamesForType(OtherBean.class, extractor))
+				.contains("example");
+		assertThat(registry.getNamesForType(ExampleBean.class, extractor)).isEmpty();
+	}
+
+	@Test
+	public void getNamesForAnnotationShouldIncludeBeansRegisteredAfterFirstQuery() {
+		register("example", ExampleBean.class);
+		BeanTypeRegistry registry = BeanTypeRegistry.get(this.beanFactory);
+		assertThat(registry.getNamesForAnnotation(ExampleAnnotation.class))
+				.containsExactly("example");
+		register("other", OtherBean.class);
+		register("annotated", AnnotatedBean.class);
+		assertThat(registry.getNamesForAnnotation(ExampleAnnotation.class))
+				.containsExactly("example", "annotated");
+	}
+
+	@Test
+	public void getNamesForAnnotationShouldReturnCopy() {
+		register("example", ExampleBean.class);
+		BeanTypeRegistry registry = BeanTypeRegistry.get(this.beanFactory);
+		registry.getNamesForAnnotation(ExampleAnnotation.class).clear();
+		assertThat(registry.getNamesForAnnotation(ExampleAnnotation.class))
+				.containsExactly("example");
+	}
+
+	@Test
+	public void extractorForResolvedTypeShouldResolve() {
+		assertThat(BeanTypeRegistry.RESOLVED_TYPE_EXTRACTOR
+				.getBeanType(ResolvableType.forClass(ExampleBean.class)))
+						.isEqualTo(ExampleBean.class);
+	}
+
+	private void register(String name, Class<?> type) {
+		this.beanFactory.registerBeanDefinition(name, new RootBeanDefinition(type));
+	}
+
+	@Target(ElementType.TYPE)
+	@Retention(RetentionPolicy.RUNTIME)
+	@Documented
+	@interface ExampleAnnotation {
+
+	}
+
+	interface ExampleInterface extends Serializable {
+
+	}
+
+	@ExampleAnnotation
+	abstract static class AbstractExampleBean implements ExampleInterface {
+
+	}
+
+	static class ExampleBean extends AbstractExampleBean {
+
+	}
+
+	static class OtherBean {
+
+	}
+
+	@ExampleAnnotation
+	static class AnnotatedBean {
+
+	}
+
+}
@@ -23,6 +23,7 @@ import org.springframework.beans.factory.support.DefaultListableBeanFactory;
 import org.springframework.boot.autoconfigure.AutoConfigurationImportFilter;
 import org.springframework.boot.autoconfigure.AutoConfigurationMetadata;
 import org.springframework.core.io.support.SpringFactoriesLoader;
+import org.springframework.mock.env.MockEnvironment;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.BDDMockito.given;
@@ -70,6 +71,21 @@ public class OnClassConditionAutoConfigurationImportFilterTests {
 				.containsKey("test.nomatch");
 	}
 
+	@Test
+	public void matchWhenPartitionedShouldRecordOutcomesInOrder() {
+		this.filter.setEnvironment(new MockEnvironment()
+				.withProperty(FilteringSpringBootCondition.THREADS_PROPERTY, "4"));
+		String[] autoConfigurationClasses = new String[] { "test.nomatch", "test.match",
+				null, "test.match", "test.nomatch" };
+		boolean[] result = this.filter.match(autoConfigurationClasses,
+				getAutoConfigurationMetadata());
+		assertThat(result).containsExactly(false, true, true, true, false);
+		ConditionEvaluationReport report = ConditionEvaluationReport
+				.get(this.beanFactory);
+		assertThat(report.getConditionAndOutcomesBySource()).hasSize(1)
+				.containsKey("test.nomatch");
+	}
+
 	private AutoConfigurationMetadata getAutoConfigurationMetadata() {
 		AutoConfigurationMetadata metadata = mock(AutoConfigurationMetadata.class);
 		given(metadata.wasProcessed("test.match")).willReturn(true);
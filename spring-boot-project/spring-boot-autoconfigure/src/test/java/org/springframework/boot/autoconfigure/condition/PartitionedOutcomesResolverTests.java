@@ -0,0 +1,114 @@
+/*
+ * Copyright 2012-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.condition;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+/**
+ * Tests for {@link PartitionedOutcomesResolver}.
+ *
+ * @author Edward Lee
+ */
+public class PartitionedOutcomesResolverTests {
+
+	@Test
+	public void resolveOutcomesShouldMergeInCandidateOrder() {
+		String[] candidates = new String[103];
+		for (int i = 0; i < candidates.length; i++) {
+			candidates[i] = (i % 7 != 0) ? "test" + i : null;
+		}
+		ConditionOutcome[] outcomes = new PartitionedOutcomesResolver(8)
+				.resolveOutcomes(candidates, this::noMatchEach);
+		assertThat(outcomes).hasSize(candidates.length);
+		for (int i = 0; i < candidates.length; i++) {
+			if (candidates[i] == null) {
+				assertThat(outcomes[i]).isNull();
+			}
+			else {
+				assertThat(outcomes[i].getMessage()).isEqualTo(candidates[i]);
+			}
+		}
+	}
+
+	@Test
+	public void resolveOutcomesShouldUseMultipleThreads() {
+		Set<Thread> threads = ConcurrentHashMap.newKeySet();
+		String[] candidates = { "a", "b", "c", "d" };
+		new PartitionedOutcomesResolver(4).resolveOutcomes(candidates, (partition) -> {
+			threads.add(Thread.currentThread());
+			return noMatchEach(partition);
+		});
+		assertThat(threads).hasSize(4).contains(Thread.currentThread());
+	}
+
+	@Test
+	public void resolveOutcomesWhenFewerCandidatesThanPartitionsShouldUseOnePerCandidate() {
+		Set<Integer> sizes = ConcurrentHashMap.newKeySet();
+		String[] candidates = { "a", "b" };
+		ConditionOutcome[] outcomes = new PartitionedOutcomesResolver(16)
+				.resolveOutcomes(candidates, (partition) -> {
+					sizes.add(partition.length);
+					return noMatchEach(partition);
+				});
+		assertThat(sizes).containsExactly(1);
+		assertThat(outcomes[0].getMessage()).isEqualTo("a");
+		assertThat(outcomes[1].getMessage()).isEqualTo("b");
+	}
+
+	@Test
+	public void resolveOutcomesWithSinglePartitionShouldUseCallingThread() {
+		String[] candidates = { "a", "b" };
+		Function<String[], ConditionOutcome[]> resolver = (partition) -> {
+			assertThat(partition).isSameAs(candidates);
+			return noMatchEach(partition);
+		};
+		assertThat(new PartitionedOutcomesResolver(1).resolveOutcomes(candidates,
+				resolver)).hasSize(2);
+	}
+
+	@Test
+	public void resolveOutcomesWhenPartitionFailsShouldRethrow() {
+		String[] candidates = { "a", "b", "c", "d" };
+		assertThatIllegalStateException()
+				.isThrownBy(() -> new PartitionedOutcomesResolver(4)
+						.resolveOutcomes(candidates, (partition) -> {
+							if ("a".equals(partition[0])) {
+								throw new IllegalStateException("failed");
+							}
+							return noMatchEach(partition);
+						}))
+				.withMessage("failed");
+	}
+
+	private ConditionOutcome[] noMatchEach(String[] candidates) {
+		ConditionOutcome[] outcomes = new ConditionOutcome[candidates.length];
+		for (int i = 0; i < candidates.length; i++) {
+			if (candidates[i] != null) {
+				outcomes[i] = ConditionOutcome.noMatch(candidates[i]);
+			}
+		}
+		return outcomes;
+	}
+
+}
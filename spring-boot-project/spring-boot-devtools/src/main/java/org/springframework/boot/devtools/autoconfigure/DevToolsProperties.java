@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2018 the original author or authors.
+ * Copyright 2012-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -89,6 +89,19 @@ public class DevToolsProperties {
 		 */
 		private Duration quietPeriod = Duration.ofMillis(400);
 
+		/**
+		 * Whether to use the watch service of the file system to be notified of classpath
+		 * changes rather than polling for them. Polling is still used when the watch
+		 * service is not available.
+		 */
+		private boolean useWatchService = true;
+
+		/**
+		 * Whether to skip the restart when the only changed class files are for classes
+		 * that the application has not loaded yet and that are not annotated.
+		 */
+		private boolean skipUnloadedClasses = true;
+
 		/**
 		 * Name of a specific file that, when changed, triggers the restart check. If not
 		 * specified, any classpath file change triggers the restart.
@@ -157,6 +170,22 @@ public class DevToolsProperties {
 			this.quietPeriod = quietPeriod;
 		}
 
+		public boolean isUseWatchService() {
+			return this.useWatchService;
+		}
+
+		public void setUseWatchService(boolean useWatchService) {
+			this.useWatchService = useWatchService;
+		}
+
+		public boolean isSkipUnloadedClasses() {
+			return this.skipUnloadedClasses;
+		}
+
+		public void setSkipUnloadedClasses(boolean skipUnloadedClasses) {
+			this.skipUnloadedClasses = skipUnloadedClasses;
+		}
+
 		public String getTriggerFile() {
 			return this.triggerFile;
 		}
@@ -28,13 +28,16 @@ import org.springframework.boot.devtools.autoconfigure.DevToolsProperties.Restar
 import org.springframework.boot.devtools.classpath.ClassPathChangedEvent;
 import org.springframework.boot.devtools.classpath.ClassPathFileSystemWatcher;
 import org.springframework.boot.devtools.classpath.ClassPathRestartStrategy;
+import org.springframework.boot.devtools.classpath.LoadedClassesClassPathRestartStrategy;
 import org.springframework.boot.devtools.classpath.PatternClassPathRestartStrategy;
 import org.springframework.boot.devtools.filewatch.FileSystemWatcher;
 import org.springframework.boot.devtools.filewatch.FileSystemWatcherFactory;
+import org.springframework.boot.devtools.filewatch.WatchServiceFileSystemWatcher;
 import org.springframework.boot.devtools.livereload.LiveReloadServer;
 import org.springframework.boot.devtools.restart.ConditionalOnInitializedRestarter;
 import org.springframework.boot.devtools.restart.RestartScope;
 import org.springframework.boot.devtools.restart.Restarter;
+import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationEvent;
 import org.springframework.context.ApplicationListener;
 import org.springframework.context.annotation.Bean;
@@ -124,9 +127,16 @@ public class LocalDevToolsAutoConfiguration {
 
 		@Bean
 		@ConditionalOnMissingBean
-		public ClassPathRestartStrategy classPathRestartStrategy() {
-			return new PatternClassPathRestartStrategy(
-					this.properties.getRestart().getAllExclude());
+		public ClassPathRestartStrategy classPathRestartStrategy(
+				ApplicationContext applicationContext) {
+			Restart restartProperties = this.properties.getRestart();
+			ClassPathRestartStrategy strategy = new PatternClassPathRestartStrategy(
+					restartProperties.getAllExclude());
+			if (restartProperties.isSkipUnloadedClasses()) {
+				return new LoadedClassesClassPathRestartStrategy(strategy,
+						applicationContext.getClassLoader());
+			}
+			return strategy;
 		}
 
 		@Bean
@@ -147,9 +157,12 @@ public class LocalDevToolsAutoConfiguration {
 
 		private FileSystemWatcher newFileSystemWatcher() {
 			Restart restartProperties = this.properties.getRestart();
-			FileSystemWatcher watcher = new FileSystemWatcher(true,
-					restartProperties.getPollInterval(),
-					restartProperties.getQuietPeriod());
+			FileSystemWatcher watcher = restartProperties.isUseWatchService()
+					? new WatchServiceFileSystemWatcher(true,
+							restartProperties.getPollInterval(),
+							restartProperties.getQuietPeriod())
+					: new FileSystemWatcher(true, restartProperties.getPollInterval(),
+							restartProperties.getQuietPeriod());
 			String triggerFile = restartProperties.getTriggerFile();
 			if (StringUtils.hasLength(triggerFile)) {
 				watcher.setTriggerFilter(new TriggerFileFilter(triggerFile));
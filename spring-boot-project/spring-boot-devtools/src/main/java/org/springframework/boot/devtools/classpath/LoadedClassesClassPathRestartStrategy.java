@@ -0,0 +1,101 @@
+/*
+ * Copyright 2012-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.devtools.classpath;
+
+import java.io.IOException;
+import java.util.Set;
+
+import org.springframework.boot.devtools.filewatch.ChangedFile;
+import org.springframework.boot.devtools.filewatch.ChangedFile.Type;
+import org.springframework.boot.devtools.restart.classloader.RestartClassLoader;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.type.classreading.MetadataReaderFactory;
+import org.springframework.core.type.classreading.SimpleMetadataReaderFactory;
+import org.springframework.util.Assert;
+
+/**
+ * {@link ClassPathRestartStrategy} that does not require a restart when a class file
+ * that the running application has not loaded is added or modified. The
+ * {@link RestartClassLoader} picks up the new version of such a class when it is first
+ * needed and classes that have already been loaded and depend on it have been
+ * recompiled as well if its signature changed. Annotated classes always require a
+ * restart as their metadata may have been read without loading them (for instance by
+ * component scanning or condition evaluation). All other changes are delegated to
+ * another strategy.
+ *
+ * @author Edward Lee
+ * @since 2.2.0
+ */
+public class LoadedClassesClassPathRestartStrategy implements ClassPathRestartStrategy {
+
+	private static final String CLASS_FILE_SUFFIX = ".class";
+
+	private static final String KOTLIN_METADATA = "kotlin.Metadata";
+
+	private final ClassPathRestartStrategy delegate;
+
+	private final ClassLoader classLoader;
+
+	private final MetadataReaderFactory metadataReaderFactory;
+
+	/**
+	 * Create a new {@link LoadedClassesClassPathRestartStrategy} instance.
+	 * @param delegate the strategy used for all other changes
+	 * @param classLoader the class loader of the running application, changes to class
+	 * files always require a restart if it isn't a {@link RestartClassLoader}
+	 */
+	public LoadedClassesClassPathRestartStrategy(ClassPathRestartStrategy delegate,
+			ClassLoader classLoader) {
+		Assert.notNull(delegate, "Delegate must not be null");
+		this.delegate = delegate;
+		this.classLoader = classLoader;
+		this.metadataReaderFactory = new SimpleMetadataReaderFactory(classLoader);
+	}
+
+	@Override
+	public boolean isRestartRequired(ChangedFile file) {
+		if (!this.delegate.isRestartRequired(file)) {
+			return false;
+		}
+		if (!(this.classLoader instanceof RestartClassLoader)
+				|| file.getType() == Type.DELETE
+				|| !file.getRelativeName().endsWith(CLASS_FILE_SUFFIX)) {
+			return true;
+		}
+		String relativeName = file.getRelativeName();
+		String className = relativeName
+				.substring(0, relativeName.length() - CLASS_FILE_SUFFIX.length())
+				.replace('/', '.');
+		return ((RestartClassLoader) this.classLoader).isClassLoaded(className)
+				|| isAnnotated(file);
+	}
+
+	private boolean isAnnotated(ChangedFile file) {
+		try {
+			Set<String> annotationTypes = this.metadataReaderFactory
+					.getMetadataReader(new FileSystemResource(file.getFile()))
+					.getAnnotationMetadata().getAnnotationTypes();
+			return !annotationTypes.isEmpty() && !(annotationTypes.size() == 1
+					&& annotationTypes.contains(KOTLIN_METADATA));
+		}
+		catch (IOException | RuntimeException ex) {
+			// Unreadable or incomplete class file, play it safe
+			return true;
+		}
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2018 the original author or authors.
+ * Copyright 2012-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -37,6 +37,7 @@ import org.springframework.util.Assert;
  *
  * @author Andy Clement
  * @author Phillip Webb
+ * @author Edward Lee
  * @since 1.3.0
  * @see FileChangeListener
  */
@@ -157,7 +158,7 @@ public class FileSystemWatcher {
 			if (this.watchThread == null) {
 				Map<File, FolderSnapshot> localFolders = new HashMap<>();
 				localFolders.putAll(this.folders);
-				this.watchThread = new Thread(new Watcher(this.remainingScans,
+				this.watchThread = new Thread(createWatcher(this.remainingScans,
 						new ArrayList<>(this.listeners), this.triggerFilter,
 						this.pollInterval, this.quietPeriod, localFolders));
 				this.watchThread.setName("File Watcher");
@@ -206,7 +207,27 @@ public class FileSystemWatcher {
 		}
 	}
 
-	private static final class Watcher implements Runnable {
+	/**
+	 * Create the {@link Runnable} used by the watch thread to detect changes.
+	 * @param remainingScans the number of remaining scans
+	 * @param listeners the listeners to notify
+	 * @param triggerFilter the trigger filter or {@code null}
+	 * @param pollInterval the amount of time to wait between checking for changes
+	 * @param quietPeriod the amount of time required after a change has been detected
+	 * @param folders the initial snapshots of the source folders
+	 * @return the watcher
+	 */
+	Watcher createWatcher(AtomicInteger remainingScans,
+			List<FileChangeListener> listeners, FileFilter triggerFilter,
+			long pollInterval, long quietPeriod, Map<File, FolderSnapshot> folders) {
+		return new Watcher(remainingScans, listeners, triggerFilter, pollInterval,
+				quietPeriod, folders);
+	}
+
+	/**
+	 * Detects changes by polling the source folders.
+	 */
+	static class Watcher implements Runnable {
 
 		private final AtomicInteger remainingScans;
 
@@ -220,7 +241,7 @@ public class FileSystemWatcher {
 
 		private Map<File, FolderSnapshot> folders;
 
-		private Watcher(AtomicInteger remainingScans, List<FileChangeListener> listeners,
+		Watcher(AtomicInteger remainingScans, List<FileChangeListener> listeners,
 				FileFilter triggerFilter, long pollInterval, long quietPeriod,
 				Map<File, FolderSnapshot> folders) {
 			this.remainingScans = remainingScans;
@@ -248,7 +269,7 @@ public class FileSystemWatcher {
 			}
 		}
 
-		private void scan() throws InterruptedException {
+		void scan() throws InterruptedException {
 			Thread.sleep(this.pollInterval - this.quietPeriod);
 			Map<File, FolderSnapshot> previous;
 			Map<File, FolderSnapshot> current = this.folders;
@@ -263,7 +284,7 @@ public class FileSystemWatcher {
 			}
 		}
 
-		private boolean isDifferent(Map<File, FolderSnapshot> previous,
+		final boolean isDifferent(Map<File, FolderSnapshot> previous,
 				Map<File, FolderSnapshot> current) {
 			if (!previous.keySet().equals(current.keySet())) {
 				return true;
@@ -278,7 +299,7 @@ public class FileSystemWatcher {
 			return false;
 		}
 
-		private Map<File, FolderSnapshot> getCurrentSnapshots() {
+		final Map<File, FolderSnapshot> getCurrentSnapshots() {
 			Map<File, FolderSnapshot> snapshots = new LinkedHashMap<>();
 			for (File folder : this.folders.keySet()) {
 				snapshots.put(folder, new FolderSnapshot(folder));
@@ -286,7 +307,7 @@ public class FileSystemWatcher {
 			return snapshots;
 		}
 
-		private void updateSnapshots(Collection<FolderSnapshot> snapshots) {
+		final void updateSnapshots(Collection<FolderSnapshot> snapshots) {
 			Map<File, FolderSnapshot> updated = new LinkedHashMap<>();
 			Set<ChangedFiles> changeSet = new LinkedHashSet<>();
 			for (FolderSnapshot snapshot : snapshots) {
@@ -304,6 +325,18 @@ public class FileSystemWatcher {
 			this.folders = updated;
 		}
 
+		final Map<File, FolderSnapshot> getFolders() {
+			return this.folders;
+		}
+
+		final long getPollInterval() {
+			return this.pollInterval;
+		}
+
+		final long getQuietPeriod() {
+			return this.quietPeriod;
+		}
+
 		private void fireListeners(Set<ChangedFiles> changeSet) {
 			for (FileChangeListener listener : this.listeners) {
 				listener.onChange(changeSet);
@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2018 the original author or authors.
+ * Copyright 2012-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -34,6 +34,7 @@ import org.springframework.util.Assert;
  * A snapshot of a folder at a given point in time.
  *
  * @author Phillip Webb
+ * @author Edward Lee
  */
 class FolderSnapshot {
 
@@ -60,6 +61,56 @@ class FolderSnapshot {
 		this.files = Collections.unmodifiableSet(files);
 	}
 
+	private FolderSnapshot(File folder, Set<FileSnapshot> files) {
+		this.folder = folder;
+		this.time = new Date();
+		this.files = Collections.unmodifiableSet(files);
+	}
+
+	/**
+	 * Create a new snapshot of the same folder that only takes a fresh look at the
+	 * specified paths, reusing this snapshot for all other files. A path that is a
+	 * folder is snapshotted with all its content.
+	 * @param paths the paths that may have changed
+	 * @return the updated snapshot
+	 */
+	FolderSnapshot update(Set<File> paths) {
+		Set<String> prefixes = new HashSet<>();
+		for (File path : paths) {
+			prefixes.add(path.getPath() + File.separator);
+		}
+		Set<FileSnapshot> files = new LinkedHashSet<>();
+		for (FileSnapshot file : this.files) {
+			if (!paths.contains(file.getFile())
+					&& !hasPrefix(file.getFile().getPath(), prefixes)) {
+				files.add(file);
+			}
+		}
+		for (File path : paths) {
+			if (hasPrefix(path.getPath(), prefixes)) {
+				// Already collected with its parent folder
+			}
+			else if (path.isDirectory()) {
+				collectFiles(path, files);
+			}
+			else if (path.isFile()) {
+				files.add(new FileSnapshot(path));
+			}
+		}
+		return new FolderSnapshot(this.folder, files);
+	}
+
+	private boolean hasPrefix(String path, Set<String> prefixes) {
+		int separator = path.indexOf(File.separatorChar);
+		while (separator != -1) {
+			if (prefixes.contains(path.substring(0, separator + 1))) {
+				return true;
+			}
+			separator = path.indexOf(File.separatorChar, separator + 1);
+		}
+		return false;
+	}
+
 	private void collectFiles(File source, Set<FileSnapshot> result) {
 		File[] children = source.listFiles();
 		if (children != null) {
@@ -0,0 +1,284 @@
+/*
+ * Copyright 2012-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.devtools.filewatch;
+
+import java.io.File;
+import java.io.FileFilter;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link FileSystemWatcher} that uses the {@link WatchService} of the default file
+ * system to be notified of changes, only taking a fresh snapshot of the files and
+ * folders that have changed. The quiet period is applied to the notifications: changes
+ * are reported once no notification has been received for that amount of time.
+ * <p>
+ * Falls back to polling when the watch service is not available, when it is itself
+ * implemented by polling, or when a source folder cannot be watched (for instance
+ * because it does not exist yet).
+ *
+ * @author Edward Lee
+ * @since 2.2.0
+ */
+public class WatchServiceFileSystemWatcher extends FileSystemWatcher {
+
+	private static final String POLLING_WATCH_SERVICE = "sun.nio.fs.PollingWatchService";
+
+	/**
+	 * Create a new {@link WatchServiceFileSystemWatcher} instance.
+	 */
+	public WatchServiceFileSystemWatcher() {
+		super();
+	}
+
+	/**
+	 * Create a new {@link WatchServiceFileSystemWatcher} instance.
+	 * @param daemon if a daemon thread used to monitor changes
+	 * @param pollInterval the amount of time to wait between checking for changes
+	 * @param quietPeriod the amount of time required after a change has been detected to
+	 * ensure that updates have completed
+	 */
+	public WatchServiceFileSystemWatcher(boolean daemon, Duration pollInterval,
+			Duration quietPeriod) {
+		super(daemon, pollInterval, quietPeriod);
+	}
+
+	@Override
+	Watcher createWatcher(AtomicInteger remainingScans,
+			List<FileChangeListener> listeners, FileFilter triggerFilter,
+			long pollInterval, long quietPeriod, Map<File, FolderSnapshot> folders) {
+		WatchService watchService = createWatchService();
+		if (watchService != null) {
+			WatchServiceWatcher watcher = new WatchServiceWatcher(remainingScans,
+					listeners, triggerFilter, pollInterval, quietPeriod, folders,
+					watchService);
+			if (watcher.registerSourceFolders()) {
+				return watcher;
+			}
+		}
+		return super.createWatcher(remainingScans, listeners, triggerFilter,
+				pollInterval, quietPeriod, folders);
+	}
+
+	private WatchService createWatchService() {
+		try {
+			WatchService watchService = FileSystems.getDefault().newWatchService();
+			if (POLLING_WATCH_SERVICE.equals(watchService.getClass().getName())) {
+				watchService.close();
+				return null;
+			}
+			return watchService;
+		}
+		catch (IOException | UnsupportedOperationException ex) {
+			return null;
+		}
+	}
+
+	/**
+	 * {@link Watcher} driven by the notifications of a {@link WatchService}.
+	 */
+	private static final class WatchServiceWatcher extends Watcher {
+
+		private final WatchService watchService;
+
+		private final Map<WatchKey, Path> keys = new HashMap<>();
+
+		private final Set<File> changedPaths = new LinkedHashSet<>();
+
+		private Map<File, FolderSnapshot> snapshots;
+
+		private boolean polling;
+
+		private WatchServiceWatcher(AtomicInteger remainingScans,
+				List<FileChangeListener> listeners, FileFilter triggerFilter,
+				long pollInterval, long quietPeriod, Map<File, FolderSnapshot> folders,
+				WatchService watchService) {
+			super(remainingScans, listeners, triggerFilter, pollInterval, quietPeriod,
+					folders);
+			this.watchService = watchService;
+			this.snapshots = new LinkedHashMap<>(folders);
+		}
+
+		/**
+		 * Register the source folders with the watch service. Files that changed since
+		 * the initial snapshots were taken are picked up by the first scan.
+		 * @return {@code true} if all the source folders can be watched
+		 */
+		boolean registerSourceFolders() {
+			try {
+				for (File folder : this.snapshots.keySet()) {
+					if (!folder.isDirectory()) {
+						close();
+						return false;
+					}
+					register(folder.toPath());
+					this.changedPaths.add(folder);
+				}
+				return true;
+			}
+			catch (IOException ex) {
+				close();
+				return false;
+			}
+		}
+
+		@Override
+		public void run() {
+			try {
+				super.run();
+			}
+			finally {
+				close();
+			}
+		}
+
+		@Override
+		void scan() throws InterruptedException {
+			if (this.polling) {
+				super.scan();
+				return;
+			}
+			if (this.changedPaths.isEmpty() && !awaitChanges(getPollInterval())) {
+				return;
+			}
+			while (awaitChanges(getQuietPeriod())) {
+				// Wait until no changes are received for the quiet period
+			}
+			if (this.polling) {
+				return;
+			}
+			Map<File, FolderSnapshot> current = new LinkedHashMap<>();
+			this.snapshots.forEach((folder, snapshot) -> current.put(folder,
+					snapshot.update(getChangedPaths(folder))));
+			this.changedPaths.clear();
+			this.snapshots = current;
+			if (isDifferent(getFolders(), current)) {
+				updateSnapshots(current.values());
+			}
+		}
+
+		private Set<File> getChangedPaths(File folder) {
+			String prefix = folder.getPath() + File.separator;
+			Set<File> changedPaths = new LinkedHashSet<>();
+			for (File path : this.changedPaths) {
+				if (path.getPath().startsWith(prefix) || path.equals(folder)) {
+					changedPaths.add(path);
+				}
+			}
+			return changedPaths;
+		}
+
+		private boolean awaitChanges(long timeout) throws InterruptedException {
+			if (this.polling) {
+				return false;
+			}
+			WatchKey key = this.watchService.poll(timeout, TimeUnit.MILLISECONDS);
+			if (key == null) {
+				return false;
+			}
+			do {
+				processEvents(key);
+				key = this.polling ? null : this.watchService.poll();
+			}
+			while (key != null);
+			return true;
+		}
+
+		private void processEvents(WatchKey key) {
+			Path folder = this.keys.get(key);
+			for (WatchEvent<?> event : key.pollEvents()) {
+				if (event.kind() == StandardWatchEventKinds.OVERFLOW || folder == null) {
+					fallBackToPolling();
+					return;
+				}
+				Path path = folder.resolve((Path) event.context());
+				if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE
+						&& Files.isDirectory(path)) {
+					try {
+						register(path);
+					}
+					catch (IOException ex) {
+						fallBackToPolling();
+						return;
+					}
+				}
+				if (event.kind() != StandardWatchEventKinds.ENTRY_MODIFY
+						|| !Files.isDirectory(path)) {
+					this.changedPaths.add(path.toFile());
+				}
+			}
+			if (!key.reset()) {
+				this.keys.remove(key);
+				if (this.snapshots.containsKey(folder.toFile())) {
+					// A source folder has been deleted
+					fallBackToPolling();
+				}
+			}
+		}
+
+		private void register(Path folder) throws IOException {
+			Files.walkFileTree(folder, new SimpleFileVisitor<Path>() {
+
+				@Override
+				public FileVisitResult preVisitDirectory(Path dir,
+						BasicFileAttributes attributes) throws IOException {
+					WatchKey key = dir.register(WatchServiceWatcher.this.watchService,
+							StandardWatchEventKinds.ENTRY_CREATE,
+							StandardWatchEventKinds.ENTRY_DELETE,
+							StandardWatchEventKinds.ENTRY_MODIFY);
+					WatchServiceWatcher.this.keys.put(key, dir);
+					return FileVisitResult.CONTINUE;
+				}
+
+			});
+		}
+
+		private void fallBackToPolling() {
+			this.polling = true;
+			close();
+		}
+
+		private void close() {
+			try {
+				this.watchService.close();
+			}
+			catch (IOException ex) {
+				// Ignore
+			}
+		}
+
+	}
+
+}
@@ -26,7 +26,9 @@ import java.net.URISyntaxException;
 import java.net.URL;
 import java.util.Collections;
 import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.zip.GZIPOutputStream;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -46,13 +48,17 @@ import org.springframework.http.client.ClientHttpRequest;
 import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.util.Assert;
+import org.springframework.util.DigestUtils;
 import org.springframework.util.FileCopyUtils;
 
 /**
- * Listens and pushes any classpath updates to a remote endpoint.
+ * Listens and pushes any classpath updates to a remote endpoint. Files whose content is
+ * the same as the one that was last uploaded are not sent again and the payload is
+ * compressed.
  *
  * @author Phillip Webb
  * @author Andy Wilkinson
+ * @author Edward Lee
  * @since 1.3.0
  */
 public class ClassPathChangeUploader
@@ -75,6 +81,8 @@ public class ClassPathChangeUploader
 
 	private final ClientHttpRequestFactory requestFactory;
 
+	private final Map<String, String> uploadedDigests = new HashMap<>();
+
 	public ClassPathChangeUploader(String url, ClientHttpRequestFactory requestFactory) {
 		Assert.hasLength(url, "URL must not be empty");
 		Assert.notNull(requestFactory, "RequestFactory must not be null");
@@ -90,9 +98,22 @@ public class ClassPathChangeUploader
 	@Override
 	public void onApplicationEvent(ClassPathChangedEvent event) {
 		try {
-			ClassLoaderFiles classLoaderFiles = getClassLoaderFiles(event);
+			Map<String, String> digests = new HashMap<>();
+			ClassLoaderFiles classLoaderFiles = getClassLoaderFiles(event, digests);
+			if (classLoaderFiles.size() == 0) {
+				logger.debug("Skipping upload as no class resources have changed");
+				return;
+			}
 			byte[] bytes = serialize(classLoaderFiles);
 			performUpload(classLoaderFiles, bytes);
+			digests.forEach((key, digest) -> {
+				if (digest != null) {
+					this.uploadedDigests.put(key, digest);
+				}
+				else {
+					this.uploadedDigests.remove(key);
+				}
+			});
 		}
 		catch (IOException ex) {
 			throw new IllegalStateException(ex);
@@ -108,6 +129,7 @@ public class ClassPathChangeUploader
 							.createRequest(this.uri, HttpMethod.POST);
 					HttpHeaders headers = request.getHeaders();
 					headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
+					headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
 					headers.setContentLength(bytes.length);
 					FileCopyUtils.copy(bytes, request.getBody());
 					ClientHttpResponse response = request.execute();
@@ -139,20 +161,28 @@ public class ClassPathChangeUploader
 
 	private byte[] serialize(ClassLoaderFiles classLoaderFiles) throws IOException {
 		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-		ObjectOutputStream objectOutputStream = new ObjectOutputStream(outputStream);
+		ObjectOutputStream objectOutputStream = new ObjectOutputStream(
+				new GZIPOutputStream(outputStream));
 		objectOutputStream.writeObject(classLoaderFiles);
 		objectOutputStream.close();
 		return outputStream.toByteArray();
 	}
 
-	private ClassLoaderFiles getClassLoaderFiles(ClassPathChangedEvent event)
-			throws IOException {
+	private ClassLoaderFiles getClassLoaderFiles(ClassPathChangedEvent event,
+			Map<String, String> digests) throws IOException {
 		ClassLoaderFiles files = new ClassLoaderFiles();
 		for (ChangedFiles changedFiles : event.getChangeSet()) {
 			String sourceFolder = changedFiles.getSourceFolder().getAbsolutePath();
 			for (ChangedFile changedFile : changedFiles) {
-				files.addFile(sourceFolder, changedFile.getRelativeName(),
-						asClassLoaderFile(changedFile));
+				String name = changedFile.getRelativeName();
+				ClassLoaderFile file = asClassLoaderFile(changedFile);
+				String key = sourceFolder + "!/" + name;
+				String digest = (file.getContents() != null)
+						? DigestUtils.md5DigestAsHex(file.getContents()) : null;
+				if (digest == null || !digest.equals(this.uploadedDigests.get(key))) {
+					files.addFile(sourceFolder, name, file);
+					digests.put(key, digest);
+				}
 			}
 		}
 		return files;
@@ -45,6 +45,7 @@ import org.springframework.boot.devtools.classpath.ClassPathRestartStrategy;
 import org.springframework.boot.devtools.classpath.PatternClassPathRestartStrategy;
 import org.springframework.boot.devtools.filewatch.FileSystemWatcher;
 import org.springframework.boot.devtools.filewatch.FileSystemWatcherFactory;
+import org.springframework.boot.devtools.filewatch.WatchServiceFileSystemWatcher;
 import org.springframework.boot.devtools.livereload.LiveReloadServer;
 import org.springframework.boot.devtools.restart.DefaultRestartInitializer;
 import org.springframework.boot.devtools.restart.RestartScope;
@@ -210,9 +211,12 @@ public class RemoteClientConfiguration implements InitializingBean {
 
 		private FileSystemWatcher newFileSystemWatcher() {
 			Restart restartProperties = this.properties.getRestart();
-			FileSystemWatcher watcher = new FileSystemWatcher(true,
-					restartProperties.getPollInterval(),
-					restartProperties.getQuietPeriod());
+			FileSystemWatcher watcher = restartProperties.isUseWatchService()
+					? new WatchServiceFileSystemWatcher(true,
+							restartProperties.getPollInterval(),
+							restartProperties.getQuietPeriod())
+					: new FileSystemWatcher(true, restartProperties.getPollInterval(),
+							restartProperties.getQuietPeriod());
 			String triggerFile = restartProperties.getTriggerFile();
 			if (StringUtils.hasLength(triggerFile)) {
 				watcher.setTriggerFilter(new TriggerFileFilter(triggerFile));
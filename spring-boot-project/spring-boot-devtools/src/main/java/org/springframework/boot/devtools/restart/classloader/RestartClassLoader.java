@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2018 the original author or authors.
+ * Copyright 2012-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -37,6 +37,7 @@ import org.springframework.util.Assert;
  *
  * @author Andy Clement
  * @author Phillip Webb
+ * @author Edward Lee
  * @since 1.3.0
  */
 public class RestartClassLoader extends URLClassLoader implements SmartClassLoader {
@@ -189,6 +190,18 @@ public class RestartClassLoader extends URLClassLoader implements SmartClassLoad
 		super.finalize();
 	}
 
+	/**
+	 * Return whether the class with the specified name has been loaded by this class
+	 * loader, rather than by its parent.
+	 * @param name the name of the class
+	 * @return {@code true} if the class has been loaded by this class loader
+	 * @since 2.2.0
+	 */
+	public boolean isClassLoaded(String name) {
+		Class<?> loadedClass = findLoadedClass(name);
+		return (loadedClass != null && loadedClass.getClassLoader() == this);
+	}
+
 	@Override
 	public boolean isClassReloadable(Class<?> classType) {
 		return (classType.getClassLoader() instanceof RestartClassLoader);
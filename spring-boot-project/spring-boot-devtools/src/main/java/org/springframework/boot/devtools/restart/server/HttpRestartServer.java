@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2017 the original author or authors.
+ * Copyright 2012-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,12 +17,16 @@
 package org.springframework.boot.devtools.restart.server;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.ObjectInputStream;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 import org.springframework.boot.devtools.restart.classloader.ClassLoaderFiles;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.server.ServerHttpRequest;
 import org.springframework.http.server.ServerHttpResponse;
@@ -30,9 +34,10 @@ import org.springframework.util.Assert;
 
 /**
  * A HTTP server that can be used to upload updated {@link ClassLoaderFiles} and trigger
- * restarts.
+ * restarts. Uploads may be compressed, as indicated by a {@code gzip} content encoding.
  *
  * @author Phillip Webb
+ * @author Edward Lee
  * @since 1.3.0
  * @see RestartServer
  */
@@ -72,7 +77,7 @@ public class HttpRestartServer {
 		try {
 			Assert.state(request.getHeaders().getContentLength() > 0, "No content");
 			ObjectInputStream objectInputStream = new ObjectInputStream(
-					request.getBody());
+					getBody(request));
 			ClassLoaderFiles files = (ClassLoaderFiles) objectInputStream.readObject();
 			objectInputStream.close();
 			this.server.updateAndRestart(files);
@@ -84,4 +89,13 @@ public class HttpRestartServer {
 		}
 	}
 
+	private InputStream getBody(ServerHttpRequest request) throws IOException {
+		List<String> contentEncoding = request.getHeaders()
+				.get(HttpHeaders.CONTENT_ENCODING);
+		if (contentEncoding != null && contentEncoding.contains("gzip")) {
+			return new GZIPInputStream(request.getBody());
+		}
+		return request.getBody();
+	}
+
 }
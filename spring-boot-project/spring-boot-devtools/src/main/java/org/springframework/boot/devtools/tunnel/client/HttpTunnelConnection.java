@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2018 the original author or authors.
+ * Copyright 2012-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -48,6 +48,7 @@ import org.springframework.util.Assert;
  * @author Phillip Webb
  * @author Rob Winch
  * @author Andy Wilkinson
+ * @author Edward Lee
  * @since 1.3.0
  * @see TunnelClient
  * @see org.springframework.boot.devtools.tunnel.server.HttpTunnelServer
@@ -62,6 +63,8 @@ public class HttpTunnelConnection implements TunnelConnection {
 
 	private final Executor executor;
 
+	private int longPollRequests = 1;
+
 	/**
 	 * Create a new {@link HttpTunnelConnection} instance.
 	 * @param url the URL to connect to
@@ -92,6 +95,20 @@ public class HttpTunnelConnection implements TunnelConnection {
 				: Executors.newCachedThreadPool(new TunnelThreadFactory());
 	}
 
+	/**
+	 * Set the number of requests without payload that are kept in flight to receive data
+	 * from the server. Keeping several requests in flight lets the server send that many
+	 * payloads in a single round trip, which helps on high latency links. The server
+	 * must be configured to hold at least as many connections (see
+	 * {@code HttpTunnelServer.setMaxHttpConnections}).
+	 * @param longPollRequests the number of long poll requests
+	 * @since 2.2.0
+	 */
+	public void setLongPollRequests(int longPollRequests) {
+		Assert.isTrue(longPollRequests > 0, "LongPollRequests must be a positive value");
+		this.longPollRequests = longPollRequests;
+	}
+
 	@Override
 	public TunnelChannel open(WritableByteChannel incomingChannel, Closeable closeable)
 			throws Exception {
@@ -121,7 +138,9 @@ public class HttpTunnelConnection implements TunnelConnection {
 		public TunnelChannel(WritableByteChannel incomingChannel, Closeable closeable) {
 			this.forwarder = new HttpTunnelPayloadForwarder(incomingChannel);
 			this.closeable = closeable;
-			openNewConnection(null);
+			for (int i = 0; i < HttpTunnelConnection.this.longPollRequests; i++) {
+				openNewConnection(null);
+			}
 		}
 
 		@Override
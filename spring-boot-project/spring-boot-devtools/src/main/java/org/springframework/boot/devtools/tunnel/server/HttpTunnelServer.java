@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2018 the original author or authors.
+ * Copyright 2012-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -103,6 +103,7 @@ import org.springframework.util.Assert;
  *
  * @author Phillip Webb
  * @author Andy Wilkinson
+ * @author Edward Lee
  * @since 1.3.0
  * @see org.springframework.boot.devtools.tunnel.client.HttpTunnelConnection
  */
@@ -112,6 +113,8 @@ public class HttpTunnelServer {
 
 	private static final long DEFAULT_DISCONNECT_TIMEOUT = TimeUnit.SECONDS.toMillis(30);
 
+	private static final int DEFAULT_MAX_HTTP_CONNECTIONS = 2;
+
 	private static final MediaType DISCONNECT_MEDIA_TYPE = new MediaType("application",
 			"x-disconnect");
 
@@ -123,6 +126,8 @@ public class HttpTunnelServer {
 
 	private long disconnectTimeout = DEFAULT_DISCONNECT_TIMEOUT;
 
+	private int maxHttpConnections = DEFAULT_MAX_HTTP_CONNECTIONS;
+
 	private volatile ServerThread serverThread;
 
 	/**
@@ -204,6 +209,20 @@ public class HttpTunnelServer {
 		this.disconnectTimeout = disconnectTimeout;
 	}
 
+	/**
+	 * Set the maximum number of HTTP connections that are held waiting for data from the
+	 * target server. Older connections are answered with {@code 429} when more arrive.
+	 * Allowing more connections lets clients that keep several long poll requests in
+	 * flight receive that many payloads in a single round trip.
+	 * @param maxHttpConnections the maximum number of held connections
+	 * @since 2.2.0
+	 */
+	public void setMaxHttpConnections(int maxHttpConnections) {
+		Assert.isTrue(maxHttpConnections > 0,
+				"MaxHttpConnections must be a positive value");
+		this.maxHttpConnections = maxHttpConnections;
+	}
+
 	/**
 	 * The main server thread used to transfer tunnel traffic.
 	 */
@@ -335,7 +354,8 @@ public class HttpTunnelServer {
 				httpConnection.respond(HttpStatus.GONE);
 			}
 			synchronized (this.httpConnections) {
-				while (this.httpConnections.size() > 1) {
+				while (this.httpConnections
+						.size() >= HttpTunnelServer.this.maxHttpConnections) {
 					this.httpConnections.removeFirst()
 							.respond(HttpStatus.TOO_MANY_REQUESTS);
 				}
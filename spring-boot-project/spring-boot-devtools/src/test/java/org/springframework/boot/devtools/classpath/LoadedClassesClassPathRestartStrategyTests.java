@@ -0,0 +1,147 @@
+/*
+ * Copyright 2012-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.devtools.classpath;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URL;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import org.springframework.boot.devtools.filewatch.ChangedFile;
+import org.springframework.boot.devtools.filewatch.ChangedFile.Type;
+import org.springframework.boot.devtools.restart.classloader.RestartClassLoader;
+import org.springframework.boot.devtools.restart.classloader.Sample;
+import org.springframework.util.StreamUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link LoadedClassesClassPathRestartStrategy}.
+ *
+ * @author Edward Lee
+ */
+public class LoadedClassesClassPathRestartStrategyTests {
+
+	@Rule
+	public TemporaryFolder temp = new TemporaryFolder();
+
+	private File folder;
+
+	private RestartClassLoader classLoader;
+
+	@Before
+	public void setup() throws IOException {
+		this.folder = this.temp.newFolder();
+		copyClassFile(Sample.class);
+		copyClassFile(AnnotatedSample.class);
+		this.classLoader = new RestartClassLoader(getClass().getClassLoader(),
+				new URL[] { this.folder.toURI().toURL() });
+	}
+
+	@Test
+	public void modifiedClassThatHasNotBeenLoaded() {
+		ClassPathRestartStrategy strategy = createStrategy("");
+		assertRestartRequired(strategy, Sample.class, Type.MODIFY, false);
+		assertRestartRequired(strategy, Sample.class, Type.ADD, false);
+	}
+
+	@Test
+	public void modifiedClassThatHasBeenLoaded() throws Exception {
+		ClassPathRestartStrategy strategy = createStrategy("");
+		Class<?> loaded = this.classLoader.loadClass(Sample.class.getName());
+		assertThat(loaded.getClassLoader()).isSameAs(this.classLoader);
+		assertRestartRequired(strategy, Sample.class, Type.MODIFY, true);
+	}
+
+	@Test
+	public void modifiedAnnotatedClassThatHasNotBeenLoaded() {
+		ClassPathRestartStrategy strategy = createStrategy("");
+		assertRestartRequired(strategy, AnnotatedSample.class, Type.MODIFY, true);
+		assertRestartRequired(strategy, AnnotatedSample.class, Type.ADD, true);
+	}
+
+	@Test
+	public void deletedClass() {
+		ClassPathRestartStrategy strategy = createStrategy("");
+		assertRestartRequired(strategy, Sample.class, Type.DELETE, true);
+	}
+
+	@Test
+	public void modifiedResource() {
+		ClassPathRestartStrategy strategy = createStrategy("static/**");
+		assertThat(strategy.isRestartRequired(changedFile("application.properties",
+				Type.MODIFY))).isTrue();
+		assertThat(strategy.isRestartRequired(changedFile("static/index.html",
+				Type.MODIFY))).isFalse();
+	}
+
+	@Test
+	public void excludedClass() throws Exception {
+		ClassPathRestartStrategy strategy = createStrategy("**/Sample.class");
+		this.classLoader.loadClass(Sample.class.getName());
+		assertRestartRequired(strategy, Sample.class, Type.MODIFY, false);
+	}
+
+	@Test
+	public void modifiedClassWhenNotUsingRestartClassLoader() {
+		ClassPathRestartStrategy strategy = new LoadedClassesClassPathRestartStrategy(
+				new PatternClassPathRestartStrategy(""), getClass().getClassLoader());
+		assertRestartRequired(strategy, Sample.class, Type.MODIFY, true);
+	}
+
+	private ClassPathRestartStrategy createStrategy(String pattern) {
+		return new LoadedClassesClassPathRestartStrategy(
+				new PatternClassPathRestartStrategy(pattern), this.classLoader);
+	}
+
+	private void assertRestartRequired(ClassPathRestartStrategy strategy,
+			Class<?> type, Type changeType, boolean expected) {
+		ChangedFile file = changedFile(getClassFileName(type), changeType);
+		assertThat(strategy.isRestartRequired(file)).isEqualTo(expected);
+	}
+
+	private ChangedFile changedFile(String relativeName, Type type) {
+		return new ChangedFile(this.folder, new File(this.folder, relativeName), type);
+	}
+
+	private void copyClassFile(Class<?> type) throws IOException {
+		File file = new File(this.folder, getClassFileName(type));
+		file.getParentFile().mkdirs();
+		try (OutputStream outputStream = new FileOutputStream(file)) {
+			StreamUtils.copy(type.getResourceAsStream(
+					type.getName().substring(type.getName().lastIndexOf('.') + 1)
+							+ ".class"),
+					outputStream);
+		}
+	}
+
+	private String getClassFileName(Class<?> type) {
+		return type.getName().replace('.', '/') + ".class";
+	}
+
+	@Deprecated
+	static class AnnotatedSample {
+
+	}
+
+}
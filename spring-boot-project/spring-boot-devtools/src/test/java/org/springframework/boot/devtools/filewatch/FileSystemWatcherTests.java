@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2018 the original author or authors.
+ * Copyright 2012-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -44,12 +44,13 @@ import static org.mockito.Mockito.mock;
  * Tests for {@link FileSystemWatcher}.
  *
  * @author Phillip Webb
+ * @author Edward Lee
  */
 public class FileSystemWatcherTests {
 
-	private FileSystemWatcher watcher;
+	protected FileSystemWatcher watcher;
 
-	private List<Set<ChangedFiles>> changes = Collections
+	protected List<Set<ChangedFiles>> changes = Collections
 			.synchronizedList(new ArrayList<>());
 
 	@Rule
@@ -278,12 +279,17 @@ public class FileSystemWatcherTests {
 	}
 
 	private void setupWatcher(long pollingInterval, long quietPeriod) {
-		this.watcher = new FileSystemWatcher(false, Duration.ofMillis(pollingInterval),
+		this.watcher = newFileSystemWatcher(false, Duration.ofMillis(pollingInterval),
 				Duration.ofMillis(quietPeriod));
 		this.watcher.addListener(
 				(changeSet) -> FileSystemWatcherTests.this.changes.add(changeSet));
 	}
 
+	protected FileSystemWatcher newFileSystemWatcher(boolean daemon,
+			Duration pollInterval, Duration quietPeriod) {
+		return new FileSystemWatcher(daemon, pollInterval, quietPeriod);
+	}
+
 	private File startWithNewFolder() throws IOException {
 		File folder = this.temp.newFolder();
 		this.watcher.addSourceFolder(folder);
@@ -291,18 +297,18 @@ public class FileSystemWatcherTests {
 		return folder;
 	}
 
-	private ChangedFiles getSingleChangedFiles() {
+	protected ChangedFiles getSingleChangedFiles() {
 		Set<ChangedFiles> singleChange = getSingleOnChange();
 		assertThat(singleChange.size()).isEqualTo(1);
 		return singleChange.iterator().next();
 	}
 
-	private Set<ChangedFiles> getSingleOnChange() {
+	protected Set<ChangedFiles> getSingleOnChange() {
 		assertThat(this.changes.size()).isEqualTo(1);
 		return this.changes.get(0);
 	}
 
-	private File touch(File file) throws IOException {
+	protected File touch(File file) throws IOException {
 		file.getParentFile().mkdirs();
 		FileOutputStream fileOutputStream = new FileOutputStream(file);
 		fileOutputStream.close();
@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2018 the original author or authors.
+ * Copyright 2012-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,6 +18,9 @@ package org.springframework.boot.devtools.filewatch;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 
 import org.junit.Before;
 import org.junit.Rule;
@@ -34,6 +37,7 @@ import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException
  * Tests for {@link FolderSnapshot}.
  *
  * @author Phillip Webb
+ * @author Edward Lee
  */
 public class FolderSnapshotTests {
 
@@ -139,6 +143,28 @@ public class FolderSnapshotTests {
 		assertThat(getChangedFile(changedFiles, newFile).getType()).isEqualTo(Type.ADD);
 	}
 
+	@Test
+	public void updateOnlyLooksAtTheSpecifiedPaths() throws Exception {
+		File folder1 = new File(this.folder, "folder1");
+		File file1 = new File(folder1, "file1");
+		File file2 = new File(folder1, "file2");
+		File folder2 = new File(this.folder, "folder2");
+		File newFile = new File(folder2, "newfile");
+		FileCopyUtils.copy("updatedcontent".getBytes(), file1);
+		file2.delete();
+		folder2.mkdirs();
+		newFile.createNewFile();
+		FolderSnapshot updatedSnapshot = this.initialSnapshot
+				.update(new HashSet<>(Arrays.asList(file2, folder2)));
+		ChangedFiles changedFiles = this.initialSnapshot.getChangedFiles(updatedSnapshot,
+				null);
+		assertThat(changedFiles.getFiles()).hasSize(2);
+		assertThat(getChangedFile(changedFiles, file2).getType()).isEqualTo(Type.DELETE);
+		assertThat(getChangedFile(changedFiles, newFile).getType()).isEqualTo(Type.ADD);
+		assertThat(updatedSnapshot.update(Collections.singleton(file1)))
+				.isEqualTo(new FolderSnapshot(this.folder));
+	}
+
 	private ChangedFile getChangedFile(ChangedFiles changedFiles, File file) {
 		for (ChangedFile changedFile : changedFiles) {
 			if (changedFile.getFile().equals(file)) {
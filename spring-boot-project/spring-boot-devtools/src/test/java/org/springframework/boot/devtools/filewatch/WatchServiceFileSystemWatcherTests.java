@@ -0,0 +1,56 @@
+/*
+ * Copyright 2012-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.devtools.filewatch;
+
+import java.io.File;
+import java.time.Duration;
+
+import org.junit.Test;
+
+import org.springframework.boot.devtools.filewatch.ChangedFile.Type;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link WatchServiceFileSystemWatcher}.
+ *
+ * @author Edward Lee
+ */
+public class WatchServiceFileSystemWatcherTests extends FileSystemWatcherTests {
+
+	@Override
+	protected FileSystemWatcher newFileSystemWatcher(boolean daemon,
+			Duration pollInterval, Duration quietPeriod) {
+		return new WatchServiceFileSystemWatcher(daemon, pollInterval, quietPeriod);
+	}
+
+	@Test
+	public void addFileInNewNestedFolder() throws Exception {
+		File folder = this.temp.newFolder();
+		this.watcher.addSourceFolder(folder);
+		this.watcher.start();
+		File nested = new File(folder, "a/b");
+		nested.mkdirs();
+		Thread.sleep(100);
+		File file = touch(new File(nested, "test.txt"));
+		this.watcher.stopAfter(1);
+		ChangedFiles changedFiles = getSingleChangedFiles();
+		ChangedFile expected = new ChangedFile(folder, file, Type.ADD);
+		assertThat(changedFiles.getFiles()).containsOnly(expected);
+	}
+
+}
@@ -22,9 +22,11 @@ import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.net.SocketException;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.Set;
+import java.util.zip.GZIPInputStream;
 
 import org.junit.Before;
 import org.junit.Rule;
@@ -52,6 +54,7 @@ import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException
  *
  * @author Phillip Webb
  * @author Andy Wilkinson
+ * @author Edward Lee
  */
 public class ClassPathChangeUploaderTests {
 
@@ -122,6 +125,52 @@ public class ClassPathChangeUploaderTests {
 				this.requestFactory.getExecutedRequests().get(1));
 	}
 
+	@Test
+	public void sendsCompressedClassLoaderFiles() throws Exception {
+		File sourceFolder = this.temp.newFolder();
+		ClassPathChangedEvent event = createClassPathChangedEvent(sourceFolder);
+		this.requestFactory.willRespond(HttpStatus.OK);
+		this.uploader.onApplicationEvent(event);
+		MockClientHttpRequest request = this.requestFactory.getExecutedRequests().get(0);
+		assertThat(request.getHeaders().getFirst("Content-Encoding")).isEqualTo("gzip");
+	}
+
+	@Test
+	public void doesNotSendUnchangedContentAgain() throws Exception {
+		File sourceFolder = this.temp.newFolder();
+		ClassPathChangedEvent event = createClassPathChangedEvent(sourceFolder);
+		this.requestFactory.willRespond(HttpStatus.OK);
+		this.requestFactory.willRespond(HttpStatus.OK);
+		this.uploader.onApplicationEvent(event);
+		this.uploader.onApplicationEvent(event);
+		assertThat(this.requestFactory.getExecutedRequests()).hasSize(2);
+		ClassLoaderFiles classLoaderFiles = deserialize(
+				this.requestFactory.getExecutedRequests().get(1).getBodyAsBytes());
+		SourceFolder classSourceFolder = classLoaderFiles.getSourceFolders().iterator()
+				.next();
+		Iterator<ClassLoaderFile> classFiles = classSourceFolder.getFiles().iterator();
+		assertClassFile(classFiles.next(), null, ClassLoaderFile.Kind.DELETED);
+		assertThat(classFiles.hasNext()).isFalse();
+	}
+
+	@Test
+	public void doesNotUploadWhenNoContentHasChanged() throws Exception {
+		File sourceFolder = this.temp.newFolder();
+		File file = createFile(sourceFolder, "File1");
+		Set<ChangedFiles> changeSet = new LinkedHashSet<>();
+		changeSet.add(new ChangedFiles(sourceFolder, Collections
+				.singleton(new ChangedFile(sourceFolder, file, Type.MODIFY))));
+		ClassPathChangedEvent event = new ClassPathChangedEvent(this, changeSet, false);
+		this.requestFactory.willRespond(HttpStatus.OK);
+		this.uploader.onApplicationEvent(event);
+		this.uploader.onApplicationEvent(event);
+		assertThat(this.requestFactory.getExecutedRequests()).hasSize(1);
+		FileCopyUtils.copy("changed".getBytes(), file);
+		this.requestFactory.willRespond(HttpStatus.OK);
+		this.uploader.onApplicationEvent(event);
+		assertThat(this.requestFactory.getExecutedRequests()).hasSize(2);
+	}
+
 	private void verifyUploadRequest(File sourceFolder, MockClientHttpRequest request)
 			throws IOException, ClassNotFoundException {
 		ClassLoaderFiles classLoaderFiles = deserialize(request.getBodyAsBytes());
@@ -166,7 +215,7 @@ public class ClassPathChangeUploaderTests {
 	private ClassLoaderFiles deserialize(byte[] bytes)
 			throws IOException, ClassNotFoundException {
 		ObjectInputStream objectInputStream = new ObjectInputStream(
-				new ByteArrayInputStream(bytes));
+				new GZIPInputStream(new ByteArrayInputStream(bytes)));
 		return (ClassLoaderFiles) objectInputStream.readObject();
 	}
 
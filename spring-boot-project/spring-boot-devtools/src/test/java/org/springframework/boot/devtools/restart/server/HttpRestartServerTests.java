@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2018 the original author or authors.
+ * Copyright 2012-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,6 +19,7 @@ package org.springframework.boot.devtools.restart.server;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.ObjectOutputStream;
+import java.util.zip.GZIPOutputStream;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -44,6 +45,7 @@ import static org.mockito.Mockito.verifyZeroInteractions;
  * Tests for {@link HttpRestartServer}.
  *
  * @author Phillip Webb
+ * @author Edward Lee
  */
 public class HttpRestartServerTests {
 
@@ -90,6 +92,25 @@ public class HttpRestartServerTests {
 		assertThat(response.getStatus()).isEqualTo(200);
 	}
 
+	@Test
+	public void sendCompressedClassLoaderFiles() throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		ClassLoaderFiles files = new ClassLoaderFiles();
+		files.addFile("name", new ClassLoaderFile(Kind.ADDED, new byte[0]));
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (GZIPOutputStream outputStream = new GZIPOutputStream(bytes)) {
+			outputStream.write(serialize(files));
+		}
+		request.setContent(bytes.toByteArray());
+		request.addHeader("Content-Encoding", "gzip");
+		this.server.handle(new ServletServerHttpRequest(request),
+				new ServletServerHttpResponse(response));
+		verify(this.delegate).updateAndRestart(this.filesCaptor.capture());
+		assertThat(this.filesCaptor.getValue().getFile("name")).isNotNull();
+		assertThat(response.getStatus()).isEqualTo(200);
+	}
+
 	@Test
 	public void sendNoContent() throws Exception {
 		MockHttpServletRequest request = new MockHttpServletRequest();
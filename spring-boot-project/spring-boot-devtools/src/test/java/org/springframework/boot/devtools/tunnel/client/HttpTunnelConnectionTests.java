@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2018 the original author or authors.
+ * Copyright 2012-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -34,6 +34,7 @@ import org.mockito.MockitoAnnotations;
 import org.springframework.boot.devtools.test.MockClientHttpRequestFactory;
 import org.springframework.boot.devtools.tunnel.client.HttpTunnelConnection.TunnelChannel;
 import org.springframework.boot.test.rule.OutputCapture;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -49,6 +50,7 @@ import static org.mockito.Mockito.verify;
  * @author Phillip Webb
  * @author Rob Winch
  * @author Andy Wilkinson
+ * @author Edward Lee
  */
 public class HttpTunnelConnectionTests {
 
@@ -143,6 +145,27 @@ public class HttpTunnelConnectionTests {
 		assertThat(this.requestFactory.getExecutedRequests().size()).isGreaterThan(10);
 	}
 
+	@Test
+	public void longPollRequests() throws Exception {
+		this.requestFactory.willRespond(HttpStatus.TOO_MANY_REQUESTS,
+				HttpStatus.TOO_MANY_REQUESTS, HttpStatus.TOO_MANY_REQUESTS);
+		HttpTunnelConnection connection = new HttpTunnelConnection(this.url,
+				this.requestFactory, new CurrentThreadExecutor());
+		connection.setLongPollRequests(3);
+		connection.open(this.incomingChannel, this.closeable);
+		assertThat(this.requestFactory.getExecutedRequests()).hasSize(3)
+				.allMatch((request) -> request.getMethod() == HttpMethod.GET);
+	}
+
+	@Test
+	public void longPollRequestsMustBePositive() {
+		HttpTunnelConnection connection = new HttpTunnelConnection(this.url,
+				this.requestFactory);
+		assertThatIllegalArgumentException()
+				.isThrownBy(() -> connection.setLongPollRequests(0))
+				.withMessageContaining("LongPollRequests must be a positive value");
+	}
+
 	@Test
 	public void connectFailureLogsWarning() throws Exception {
 		this.requestFactory.willRespond(new ConnectException());
@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2018 the original author or authors.
+ * Copyright 2012-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -56,6 +56,7 @@ import static org.mockito.Mockito.verify;
  * Tests for {@link HttpTunnelServer}.
  *
  * @author Phillip Webb
+ * @author Edward Lee
  */
 public class HttpTunnelServerTests {
 
@@ -211,6 +212,42 @@ public class HttpTunnelServerTests {
 		this.server.getServerThread().join();
 	}
 
+	@Test
+	public void maxHttpConnections() throws Exception {
+		this.server.setMaxHttpConnections(3);
+		MockHttpConnection h1 = new MockHttpConnection();
+		this.server.handle(h1);
+		MockHttpConnection h2 = new MockHttpConnection();
+		this.server.handle(h2);
+		MockHttpConnection h3 = new MockHttpConnection();
+		this.server.handle(h3);
+		this.serverChannel.send("hello");
+		h1.verifyReceived("hello", 1);
+		this.serverChannel.send("world");
+		h2.verifyReceived("world", 2);
+		this.serverChannel.send("!");
+		h3.verifyReceived("!", 3);
+		MockHttpConnection h4 = new MockHttpConnection();
+		this.server.handle(h4);
+		MockHttpConnection h5 = new MockHttpConnection();
+		this.server.handle(h5);
+		MockHttpConnection h6 = new MockHttpConnection();
+		this.server.handle(h6);
+		MockHttpConnection h7 = new MockHttpConnection();
+		this.server.handle(h7);
+		h4.waitForResponse();
+		assertThat(h4.getServletResponse().getStatus()).isEqualTo(429);
+		this.serverChannel.disconnect();
+		this.server.getServerThread().join();
+	}
+
+	@Test
+	public void maxHttpConnectionsMustBePositive() {
+		assertThatIllegalArgumentException()
+				.isThrownBy(() -> this.server.setMaxHttpConnections(0))
+				.withMessageContaining("MaxHttpConnections must be a positive value");
+	}
+
 	@Test
 	public void requestReceivedOutOfOrder() throws Exception {
 		MockHttpConnection h1 = new MockHttpConnection();
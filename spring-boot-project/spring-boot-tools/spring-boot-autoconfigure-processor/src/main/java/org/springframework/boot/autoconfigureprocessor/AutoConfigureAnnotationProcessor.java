@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2018 the original author or authors.
+ * Copyright 2012-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,17 +17,25 @@
 package org.springframework.boot.autoconfigureprocessor;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.stream.Stream;
 
 import javax.annotation.processing.AbstractProcessor;
@@ -45,10 +53,13 @@ import javax.tools.StandardLocation;
 
 /**
  * Annotation processor to store certain annotations from auto-configuration classes in a
- * property file.
+ * property file. The priority order of the auto-configuration classes listed in
+ * {@code META-INF/spring.factories} is also precomputed so that it can be used at runtime
+ * when the candidates are exactly those classes.
  *
  * @author Madhura Bhave
  * @author Phillip Webb
+ * @author Edward Lee
  */
 @SupportedAnnotationTypes({ "org.springframework.context.annotation.Configuration",
 		"org.springframework.boot.autoconfigure.condition.ConditionalOnClass",
@@ -63,6 +74,17 @@ public class AutoConfigureAnnotationProcessor extends AbstractProcessor {
 	protected static final String PROPERTIES_PATH = "META-INF/"
 			+ "spring-autoconfigure-metadata.properties";
 
+	protected static final String FACTORIES_PATH = "META-INF/spring.factories";
+
+	protected static final String PRECOMPUTED_ORDER = "spring-autoconfigure.order";
+
+	protected static final String PRECOMPUTED_ORDER_ID = "PrecomputedOrder";
+
+	private static final String AUTO_CONFIGURATION_KEY = "org.springframework.boot."
+			+ "autoconfigure.EnableAutoConfiguration";
+
+	private static final int DEFAULT_ORDER = 0;
+
 	private final Map<String, String> annotations;
 
 	private final Map<String, ValueExtractor> valueExtractors;
@@ -122,6 +144,7 @@ public class AutoConfigureAnnotationProcessor extends AbstractProcessor {
 		}
 		if (roundEnv.processingOver()) {
 			try {
+				addPrecomputedOrder();
 				writeProperties();
 			}
 			catch (Exception ex) {
@@ -175,7 +198,7 @@ public class AutoConfigureAnnotationProcessor extends AbstractProcessor {
 		return null;
 	}
 
-	private String toCommaDelimitedString(List<Object> list) {
+	private String toCommaDelimitedString(List<?> list) {
 		StringBuilder result = new StringBuilder();
 		for (Object item : list) {
 			result.append((result.length() != 0) ? "," : "");
@@ -192,6 +215,75 @@ public class AutoConfigureAnnotationProcessor extends AbstractProcessor {
 		return extractor.getValues(annotation);
 	}
 
+	private void addPrecomputedOrder() throws NoSuchAlgorithmException {
+		List<String> order = new PrecomputedOrder(getAutoConfigurations()).get();
+		if (order != null) {
+			String hash = getHash(order);
+			this.properties.put(PRECOMPUTED_ORDER + "." + hash,
+					toCommaDelimitedString(order));
+			for (String className : order) {
+				this.properties.put(className + "." + PRECOMPUTED_ORDER_ID, hash);
+			}
+		}
+	}
+
+	private Set<String> getAutoConfigurations() {
+		Properties factories = new Properties();
+		try {
+			FileObject file = this.processingEnv.getFiler()
+					.getResource(StandardLocation.CLASS_OUTPUT, "", FACTORIES_PATH);
+			try (InputStream inputStream = file.openInputStream()) {
+				factories.load(inputStream);
+			}
+		}
+		catch (IOException ex) {
+			return Collections.emptySet();
+		}
+		Set<String> autoConfigurations = new LinkedHashSet<>();
+		for (String className : factories.getProperty(AUTO_CONFIGURATION_KEY, "")
+				.split(",")) {
+			if (!className.trim().isEmpty()) {
+				autoConfigurations.add(className.trim());
+			}
+		}
+		return autoConfigurations;
+	}
+
+	private String getHash(Collection<String> classNames)
+			throws NoSuchAlgorithmException {
+		StringBuilder content = new StringBuilder();
+		for (String className : new TreeSet<>(classNames)) {
+			content.append(className).append('=');
+			content.append(getOrder(className)).append(';');
+			content.append(getProperty(className, "AutoConfigureBefore")).append(';');
+			content.append(getProperty(className, "AutoConfigureAfter")).append('\n');
+		}
+		byte[] digest = MessageDigest.getInstance("MD5")
+				.digest(content.toString().getBytes(StandardCharsets.UTF_8));
+		StringBuilder hash = new StringBuilder();
+		for (byte b : digest) {
+			hash.append(String.format("%02x", b));
+		}
+		return hash.toString();
+	}
+
+	private int getOrder(String className) {
+		String order = getProperty(className, "AutoConfigureOrder");
+		return (!order.isEmpty()) ? Integer.valueOf(order) : DEFAULT_ORDER;
+	}
+
+	private Set<String> getClassNames(String className, String propertyKey) {
+		String value = getProperty(className, propertyKey);
+		if (value.isEmpty()) {
+			return Collections.emptySet();
+		}
+		return new LinkedHashSet<>(Arrays.asList(value.split(",")));
+	}
+
+	private String getProperty(String className, String propertyKey) {
+		return this.properties.getProperty(className + "." + propertyKey, "");
+	}
+
 	private void writeProperties() throws IOException {
 		if (!this.properties.isEmpty()) {
 			FileObject file = this.processingEnv.getFiler()
@@ -202,6 +294,100 @@ public class AutoConfigureAnnotationProcessor extends AbstractProcessor {
 		}
 	}
 
+	/**
+	 * Computes the priority order of the auto-configuration classes of the module in the
+	 * same way as {@code AutoConfigurationSorter} would if they were all candidates:
+	 * alphabetically, then by {@code @AutoConfigureOrder} and finally respecting
+	 * {@code @AutoConfigureBefore} and {@code @AutoConfigureAfter}. Classes are kept in a
+	 * {@link HashMap} populated in the same sequence as at runtime so that classes
+	 * requesting to be before the same class are visited in the same order.
+	 */
+	private final class PrecomputedOrder {
+
+		private final Set<String> classNames;
+
+		private final Map<String, Set<String>> before = new HashMap<>();
+
+		private PrecomputedOrder(Set<String> classNames) {
+			this.classNames = classNames;
+		}
+
+		/**
+		 * Return the order or {@code null} if a class was not processed, references
+		 * configuration that is not an auto-configuration of the module or if the
+		 * classes contain a cycle.
+		 * @return the order or {@code null}
+		 */
+		List<String> get() {
+			if (this.classNames.isEmpty() || !isProcessedAndClosed()) {
+				return null;
+			}
+			add(this.classNames);
+			List<String> toSort = new ArrayList<>(new TreeSet<>(this.classNames));
+			toSort.sort((o1, o2) -> Integer.compare(getOrder(o1), getOrder(o2)));
+			Set<String> sorted = new LinkedHashSet<>();
+			Set<String> processing = new LinkedHashSet<>();
+			for (String className : toSort) {
+				if (!sort(className, sorted, processing)) {
+					return null;
+				}
+			}
+			return new ArrayList<>(sorted);
+		}
+
+		private boolean isProcessedAndClosed() {
+			for (String className : this.classNames) {
+				if (!AutoConfigureAnnotationProcessor.this.properties
+						.containsKey(className)
+						|| !this.classNames.containsAll(
+								getClassNames(className, "AutoConfigureBefore"))
+						|| !this.classNames.containsAll(
+								getClassNames(className, "AutoConfigureAfter"))) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		private void add(Collection<String> classNames) {
+			for (String className : classNames) {
+				if (!this.before.containsKey(className)) {
+					this.before.put(className,
+							getClassNames(className, "AutoConfigureBefore"));
+					add(getClassNames(className, "AutoConfigureBefore"));
+					add(getClassNames(className, "AutoConfigureAfter"));
+				}
+			}
+		}
+
+		private boolean sort(String current, Set<String> sorted, Set<String> processing) {
+			processing.add(current);
+			for (String after : getClassesRequestedAfter(current)) {
+				if (processing.contains(after)) {
+					return false;
+				}
+				if (!sorted.contains(after) && !sort(after, sorted, processing)) {
+					return false;
+				}
+			}
+			processing.remove(current);
+			sorted.add(current);
+			return true;
+		}
+
+		private Set<String> getClassesRequestedAfter(String className) {
+			Set<String> classesRequestedAfter = new LinkedHashSet<>(
+					getClassNames(className, "AutoConfigureAfter"));
+			this.before.forEach((candidate, before) -> {
+				if (before.contains(className)) {
+					classesRequestedAfter.add(candidate);
+				}
+			});
+			return classesRequestedAfter;
+		}
+
+	}
+
 	@FunctionalInterface
 	private interface ValueExtractor {
 
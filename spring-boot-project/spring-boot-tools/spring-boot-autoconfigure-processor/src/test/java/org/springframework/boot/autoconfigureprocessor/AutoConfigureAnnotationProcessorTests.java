@@ -16,10 +16,14 @@
 
 package org.springframework.boot.autoconfigureprocessor;
 
+import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Properties;
+import java.util.stream.Collectors;
 
 import org.junit.Before;
 import org.junit.Rule;
@@ -34,6 +38,7 @@ import static org.assertj.core.api.Assertions.assertThat;
  * Tests for {@link AutoConfigureAnnotationProcessor}.
  *
  * @author Madhura Bhave
+ * @author Edward Lee
  */
 public class AutoConfigureAnnotationProcessorTests {
 
@@ -127,6 +132,66 @@ public class AutoConfigureAnnotationProcessorTests {
 						"123");
 	}
 
+	@Test
+	public void autoConfigurationsShouldPrecomputeOrder() throws Exception {
+		writeFactories(TestSortedAConfiguration.class, TestSortedBConfiguration.class,
+				TestSortedCConfiguration.class);
+		Properties properties = compile(TestSortedAConfiguration.class,
+				TestSortedBConfiguration.class, TestSortedCConfiguration.class,
+				TestClassConfiguration.class);
+		String a = TestSortedAConfiguration.class.getName();
+		String b = TestSortedBConfiguration.class.getName();
+		String c = TestSortedCConfiguration.class.getName();
+		String id = "." + AutoConfigureAnnotationProcessor.PRECOMPUTED_ORDER_ID;
+		String hash = properties.getProperty(a + id);
+		assertThat(hash).isNotNull();
+		assertThat(properties).containsEntry(b + id, hash).containsEntry(c + id, hash)
+				.containsEntry(AutoConfigureAnnotationProcessor.PRECOMPUTED_ORDER + "."
+						+ hash, c + "," + b + "," + a)
+				.doesNotContainKey(TestClassConfiguration.class.getName() + id);
+	}
+
+	@Test
+	public void configurationsWithoutFactoriesShouldNotPrecomputeOrder()
+			throws Exception {
+		Properties properties = compile(TestSortedAConfiguration.class,
+				TestSortedBConfiguration.class, TestSortedCConfiguration.class);
+		assertThat(getPrecomputedOrderKeys(properties)).isEmpty();
+	}
+
+	@Test
+	public void autoConfigurationReferencingOtherClassShouldNotPrecomputeOrder()
+			throws Exception {
+		writeFactories(TestSortedAConfiguration.class, TestSortedCConfiguration.class);
+		Properties properties = compile(TestSortedAConfiguration.class,
+				TestSortedBConfiguration.class, TestSortedCConfiguration.class);
+		assertThat(getPrecomputedOrderKeys(properties)).isEmpty();
+	}
+
+	private void writeFactories(Class<?>... types) throws IOException {
+		File file = new File(this.compiler.getOutputLocation(),
+				AutoConfigureAnnotationProcessor.FACTORIES_PATH);
+		file.getParentFile().mkdirs();
+		String autoConfigurations = Arrays.stream(types).map(Class::getName)
+				.collect(Collectors.joining(","));
+		Properties factories = new Properties();
+		factories.setProperty(
+				"org.springframework.boot.autoconfigure.EnableAutoConfiguration",
+				autoConfigurations);
+		try (FileOutputStream outputStream = new FileOutputStream(file)) {
+			factories.store(outputStream, null);
+		}
+	}
+
+	private List<Object> getPrecomputedOrderKeys(Properties properties) {
+		return properties.keySet().stream()
+				.filter((key) -> key.toString()
+						.startsWith(AutoConfigureAnnotationProcessor.PRECOMPUTED_ORDER)
+						|| key.toString().endsWith(
+								AutoConfigureAnnotationProcessor.PRECOMPUTED_ORDER_ID))
+				.collect(Collectors.toList());
+	}
+
 	private Properties compile(Class<?>... types) throws IOException {
 		TestAutoConfigureAnnotationProcessor processor = new TestAutoConfigureAnnotationProcessor(
 				this.compiler.getOutputLocation());
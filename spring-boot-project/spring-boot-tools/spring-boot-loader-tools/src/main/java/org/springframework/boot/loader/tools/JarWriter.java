@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2018 the original author or authors.
+ * Copyright 2012-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -32,6 +32,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.attribute.PosixFilePermission;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Enumeration;
 import java.util.HashSet;
 import java.util.Set;
@@ -52,6 +53,7 @@ import org.apache.commons.compress.archivers.zip.UnixStat;
  *
  * @author Phillip Webb
  * @author Andy Wilkinson
+ * @author Edward Lee
  */
 public class JarWriter implements LoaderClassesWriter, AutoCloseable {
 
@@ -234,6 +236,14 @@ public class JarWriter implements LoaderClassesWriter, AutoCloseable {
 		}
 	}
 
+	/**
+	 * Return the names of the entries that have been written so far.
+	 * @return the names of the written entries
+	 */
+	Set<String> getWrittenEntries() {
+		return Collections.unmodifiableSet(this.writtenEntries);
+	}
+
 	/**
 	 * Close the writer.
 	 * @throws IOException if the file cannot be closed
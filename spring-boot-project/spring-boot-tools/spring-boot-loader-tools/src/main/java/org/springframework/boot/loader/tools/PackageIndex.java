@@ -0,0 +1,95 @@
+/*
+ * Copyright 2012-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.loader.tools;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+/**
+ * Index of the directories that contain entries in each nested location (the classes
+ * directory and every nested library) of a repackaged archive, used by the launcher to
+ * go straight to the locations that may contain a class or a resource.
+ *
+ * @author Edward Lee
+ */
+final class PackageIndex {
+
+	/**
+	 * The location of the index within the archive.
+	 */
+	static final String LOCATION = "META-INF/spring-boot-packages.idx";
+
+	private static final String VERSION = "Spring-Boot-Packages-Index-Version: 1.0";
+
+	private final Map<String, Set<String>> directories = new LinkedHashMap<>();
+
+	/**
+	 * Add an entry of the specified location to the index.
+	 * @param location the location, relative to the root of the archive
+	 * @param entryName the name of the entry, relative to the location
+	 */
+	void add(String location, String entryName) {
+		Set<String> directories = this.directories.computeIfAbsent(location,
+				(key) -> new TreeSet<>());
+		int end = entryName.endsWith("/") ? entryName.length() - 1 : entryName.length();
+		int lastSlash = entryName.lastIndexOf('/', end - 1);
+		if (lastSlash > 0) {
+			directories.add(entryName.substring(0, lastSlash + 1));
+		}
+	}
+
+	/**
+	 * Add all the entries of the specified library to the index.
+	 * @param location the location of the library, relative to the root of the archive
+	 * @param library the library file
+	 * @throws IOException if the library cannot be read
+	 */
+	void add(String location, File library) throws IOException {
+		this.directories.computeIfAbsent(location, (key) -> new TreeSet<>());
+		try (JarFile jarFile = new JarFile(library)) {
+			Enumeration<JarEntry> entries = jarFile.entries();
+			while (entries.hasMoreElements()) {
+				add(location, entries.nextElement().getName());
+			}
+		}
+	}
+
+	/**
+	 * Return the content of the index.
+	 * @return a stream of the content of the index
+	 */
+	InputStream getInputStream() {
+		StringBuilder content = new StringBuilder(VERSION).append('\n');
+		this.directories.forEach((location, directories) -> {
+			content.append('\n').append(location).append('\n');
+			directories.forEach((directory) -> content.append(directory).append('\n'));
+		});
+		return new ByteArrayInputStream(
+				content.toString().getBytes(StandardCharsets.UTF_8));
+	}
+
+}
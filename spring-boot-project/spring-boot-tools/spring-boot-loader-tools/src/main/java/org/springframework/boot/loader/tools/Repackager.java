@@ -44,6 +44,7 @@ import org.springframework.util.StringUtils;
  * @author Phillip Webb
  * @author Andy Wilkinson
  * @author Stephane Nicoll
+ * @author Edward Lee
  */
 public class Repackager {
 
@@ -246,9 +247,33 @@ public class Repackager {
 				writer.writeEntries(sourceJar, writeableLibraries);
 			}
 			writeableLibraries.write(writer);
+			writePackageIndex(writer, writeableLibraries);
 		}
 	}
 
+	private void writePackageIndex(JarWriter writer, WritableLibraries libraries)
+			throws IOException {
+		String classesLocation = getClassesLocation();
+		if (!this.layout.isExecutable() || !StringUtils.hasLength(classesLocation)) {
+			return;
+		}
+		PackageIndex index = new PackageIndex();
+		for (String entryName : writer.getWrittenEntries()) {
+			if (entryName.startsWith(classesLocation)) {
+				index.add(classesLocation,
+						entryName.substring(classesLocation.length()));
+			}
+		}
+		libraries.addTo(index);
+		writer.writeEntry(PackageIndex.LOCATION, index.getInputStream());
+	}
+
+	private String getClassesLocation() {
+		return (this.layout instanceof RepackagingLayout)
+				? ((RepackagingLayout) this.layout).getRepackagedClassesLocation()
+				: this.layout.getClassesLocation();
+	}
+
 	private void writeLoaderClasses(JarWriter writer) throws IOException {
 		if (this.layout instanceof CustomLoaderLayout) {
 			((CustomLoaderLayout) this.layout).writeLoadedClasses(writer);
@@ -307,9 +332,7 @@ public class Repackager {
 		String bootVersion = getClass().getPackage().getImplementationVersion();
 		manifest.getMainAttributes().putValue(BOOT_VERSION_ATTRIBUTE, bootVersion);
 		manifest.getMainAttributes().putValue(BOOT_CLASSES_ATTRIBUTE,
-				(this.layout instanceof RepackagingLayout)
-						? ((RepackagingLayout) this.layout).getRepackagedClassesLocation()
-						: this.layout.getClassesLocation());
+				getClassesLocation());
 		String lib = this.layout.getLibraryDestination("", LibraryScope.COMPILE);
 		if (StringUtils.hasLength(lib)) {
 			manifest.getMainAttributes().putValue(BOOT_LIB_ATTRIBUTE, lib);
@@ -462,6 +485,12 @@ public class Repackager {
 			}
 		}
 
+		private void addTo(PackageIndex index) throws IOException {
+			for (Entry<String, Library> entry : this.libraryEntryNames.entrySet()) {
+				index.add(entry.getKey(), entry.getValue().getFile());
+			}
+		}
+
 	}
 
 }
@@ -20,6 +20,8 @@ import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.attribute.PosixFilePermission;
 import java.util.ArrayList;
@@ -60,6 +62,7 @@ import static org.mockito.Mockito.mock;
  *
  * @author Phillip Webb
  * @author Andy Wilkinson
+ * @author Edward Lee
  */
 public class RepackagerTests {
 
@@ -316,6 +319,30 @@ public class RepackagerTests {
 		assertThat(entry.getComment().length()).isEqualTo(47);
 	}
 
+	@Test
+	public void packageIndex() throws Exception {
+		File library = createLibrary();
+		this.testJarFile.addClass("a/b/C.class", ClassWithMainMethod.class);
+		File file = this.testJarFile.getFile();
+		Repackager repackager = new Repackager(file);
+		repackager.repackage((callback) -> callback
+				.library(new Library(library, LibraryScope.COMPILE)));
+		assertThat(getContent(file, "META-INF/spring-boot-packages.idx")).isEqualTo(
+				"Spring-Boot-Packages-Index-Version: 1.0\n\n"
+						+ "BOOT-INF/classes/\na/\na/b/\n\nBOOT-INF/lib/"
+						+ library.getName() + "\ncom/example/library/\n");
+	}
+
+	@Test
+	public void noPackageIndexForNonExecutableLayout() throws Exception {
+		this.testJarFile.addClass("a/b/C.class", ClassWithMainMethod.class);
+		File file = this.testJarFile.getFile();
+		Repackager repackager = new Repackager(file);
+		repackager.setLayout(new Layouts.None());
+		repackager.repackage(NO_LIBRARIES);
+		assertThat(hasEntry(file, "META-INF/spring-boot-packages.idx")).isFalse();
+	}
+
 	@Test
 	public void duplicateLibraries() throws Exception {
 		TestJarFile libJar = new TestJarFile(this.temporaryFolder);
@@ -714,6 +741,14 @@ public class RepackagerTests {
 		}
 	}
 
+	private String getContent(File file, String name) throws IOException {
+		try (JarFile jarFile = new JarFile(file)) {
+			return FileCopyUtils.copyToString(new InputStreamReader(
+					jarFile.getInputStream(jarFile.getEntry(name)),
+					StandardCharsets.UTF_8));
+		}
+	}
+
 	private Manifest getManifest(File file) throws IOException {
 		try (JarFile jarFile = new JarFile(file)) {
 			return jarFile.getManifest();
@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2017 the original author or authors.
+ * Copyright 2012-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,24 +16,41 @@
 
 package org.springframework.boot.loader;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.JarURLConnection;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.net.URLConnection;
 import java.security.AccessController;
+import java.security.CodeSigner;
+import java.security.CodeSource;
+import java.security.PrivilegedActionException;
 import java.security.PrivilegedExceptionAction;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Enumeration;
+import java.util.List;
+import java.util.Map;
+import java.util.jar.Attributes;
+import java.util.jar.Attributes.Name;
+import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
+import java.util.jar.Manifest;
 
 import org.springframework.boot.loader.jar.Handler;
 
 /**
- * {@link ClassLoader} used by the {@link Launcher}.
+ * {@link ClassLoader} used by the {@link Launcher}. When created with a
+ * {@link PackageIndex} that covers all of its URLs, classes and resources are only
+ * looked up in the URLs that contain entries in the same directory.
  *
  * @author Phillip Webb
  * @author Dave Syer
  * @author Andy Wilkinson
+ * @author Edward Lee
  */
 public class LaunchedURLClassLoader extends URLClassLoader {
 
@@ -41,20 +58,52 @@ public class LaunchedURLClassLoader extends URLClassLoader {
 		ClassLoader.registerAsParallelCapable();
 	}
 
+	private volatile Map<String, List<URL>> indexedUrls;
+
 	/**
 	 * Create a new {@link LaunchedURLClassLoader} instance.
 	 * @param urls the URLs from which to load classes and resources
 	 * @param parent the parent class loader for delegation
 	 */
 	public LaunchedURLClassLoader(URL[] urls, ClassLoader parent) {
+		this(urls, parent, null);
+	}
+
+	/**
+	 * Create a new {@link LaunchedURLClassLoader} instance.
+	 * @param urls the URLs from which to load classes and resources
+	 * @param parent the parent class loader for delegation
+	 * @param packageIndex the index of the packages contained in the URLs or
+	 * {@code null}
+	 * @since 2.2.0
+	 */
+	public LaunchedURLClassLoader(URL[] urls, ClassLoader parent,
+			PackageIndex packageIndex) {
 		super(urls, parent);
+		this.indexedUrls = (packageIndex != null) ? packageIndex.resolve(urls) : null;
+	}
+
+	@Override
+	protected void addURL(URL url) {
+		this.indexedUrls = null;
+		super.addURL(url);
 	}
 
 	@Override
 	public URL findResource(String name) {
 		Handler.setUseFastConnectionExceptions(true);
 		try {
-			return super.findResource(name);
+			List<URL> urls = getIndexedUrls(name);
+			if (urls == null) {
+				return super.findResource(name);
+			}
+			for (URL url : urls) {
+				URL resource = findResource(url, name);
+				if (resource != null) {
+					return resource;
+				}
+			}
+			return null;
 		}
 		finally {
 			Handler.setUseFastConnectionExceptions(false);
@@ -65,13 +114,184 @@ public class LaunchedURLClassLoader extends URLClassLoader {
 	public Enumeration<URL> findResources(String name) throws IOException {
 		Handler.setUseFastConnectionExceptions(true);
 		try {
-			return new UseFastConnectionExceptionsEnumeration(super.findResources(name));
+			List<URL> urls = getIndexedUrls(name);
+			if (urls == null) {
+				return new UseFastConnectionExceptionsEnumeration(
+						super.findResources(name));
+			}
+			List<URL> resources = new ArrayList<>(urls.size());
+			for (URL url : urls) {
+				URL resource = findResource(url, name);
+				if (resource != null) {
+					resources.add(resource);
+				}
+			}
+			return Collections.enumeration(resources);
 		}
 		finally {
 			Handler.setUseFastConnectionExceptions(false);
 		}
 	}
 
+	private URL findResource(URL url, String name) {
+		try {
+			URL resource = new URL(url, name);
+			URLConnection connection = resource.openConnection();
+			connection.setUseCaches(false);
+			connection.getInputStream().close();
+			return resource;
+		}
+		catch (IOException ex) {
+			return null;
+		}
+	}
+
+	@Override
+	protected Class<?> findClass(String name) throws ClassNotFoundException {
+		String path = name.replace('.', '/').concat(".class");
+		List<URL> urls = getIndexedUrls(path);
+		if (urls == null) {
+			return super.findClass(name);
+		}
+		try {
+			return AccessController.doPrivileged(
+					(PrivilegedExceptionAction<Class<?>>) () -> {
+						for (URL url : urls) {
+							Class<?> type = defineClass(name, url, path);
+							if (type != null) {
+								return type;
+							}
+						}
+						throw new ClassNotFoundException(name);
+					}, AccessController.getContext());
+		}
+		catch (PrivilegedActionException ex) {
+			if (ex.getException() instanceof ClassNotFoundException) {
+				throw (ClassNotFoundException) ex.getException();
+			}
+			throw new ClassNotFoundException(name, ex.getException());
+		}
+	}
+
+	/**
+	 * Define the class with the specified name from the entry with the specified path,
+	 * signed by the signers of the entry and in a package defined from the manifest of
+	 * the URL.
+	 * @param name the name of the class
+	 * @param url the URL from which to load the class
+	 * @param path the path of the entry of the class
+	 * @return the class or {@code null} if the URL does not contain the entry
+	 */
+	private Class<?> defineClass(String name, URL url, String path) {
+		byte[] bytes;
+		CodeSigner[] signers = null;
+		Manifest manifest = null;
+		try {
+			URLConnection connection = new URL(url, path).openConnection();
+			try (InputStream inputStream = connection.getInputStream()) {
+				bytes = read(inputStream);
+			}
+			if (connection instanceof JarURLConnection) {
+				JarURLConnection jarConnection = (JarURLConnection) connection;
+				// Signers are only known once the entry has been read
+				JarEntry entry = jarConnection.getJarEntry();
+				signers = (entry != null) ? entry.getCodeSigners() : null;
+				manifest = jarConnection.getManifest();
+			}
+		}
+		catch (IOException ex) {
+			return null;
+		}
+		int lastDot = name.lastIndexOf('.');
+		if (lastDot >= 0) {
+			defineOrVerifyPackage(name.substring(0, lastDot), manifest, url);
+		}
+		return defineClass(name, bytes, 0, bytes.length, new CodeSource(url, signers));
+	}
+
+	private byte[] read(InputStream inputStream) throws IOException {
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		byte[] buffer = new byte[4096];
+		int bytesRead;
+		while ((bytesRead = inputStream.read(buffer)) != -1) {
+			outputStream.write(buffer, 0, bytesRead);
+		}
+		return outputStream.toByteArray();
+	}
+
+	private void defineOrVerifyPackage(String packageName, Manifest manifest, URL url) {
+		Package pkg = getPackage(packageName);
+		if (pkg == null) {
+			try {
+				if (manifest != null) {
+					definePackage(packageName, manifest, url);
+				}
+				else {
+					definePackage(packageName, null, null, null, null, null, null, null);
+				}
+				return;
+			}
+			catch (IllegalArgumentException ex) {
+				// Tolerate race condition due to being parallel capable
+				pkg = getPackage(packageName);
+				if (pkg == null) {
+					throw new AssertionError("Package " + packageName
+							+ " has already been defined but it could not be found");
+				}
+			}
+		}
+		if (pkg.isSealed()) {
+			if (!pkg.isSealed(url)) {
+				throw new SecurityException(
+						"sealing violation: package " + packageName + " is sealed");
+			}
+		}
+		else if (manifest != null && isSealed(packageName, manifest)) {
+			throw new SecurityException("sealing violation: can't seal package "
+					+ packageName + ": already loaded");
+		}
+	}
+
+	private boolean isSealed(String packageName, Manifest manifest) {
+		String path = packageName.replace('.', '/').concat("/");
+		Attributes attributes = manifest.getAttributes(path);
+		String sealed = (attributes != null) ? attributes.getValue(Name.SEALED) : null;
+		if (sealed == null) {
+			sealed = manifest.getMainAttributes().getValue(Name.SEALED);
+		}
+		return "true".equalsIgnoreCase(sealed);
+	}
+
+	/**
+	 * Return the URLs that may contain the entry with the specified name according to
+	 * the index.
+	 * @param name the name of the entry
+	 * @return the URLs, in class path order, or {@code null} if the index cannot be used
+	 */
+	private List<URL> getIndexedUrls(String name) {
+		Map<String, List<URL>> indexedUrls = this.indexedUrls;
+		if (indexedUrls == null || !isIndexable(name)) {
+			return null;
+		}
+		int end = name.endsWith("/") ? name.length() - 1 : name.length();
+		String directory = name.substring(0, name.lastIndexOf('/', end - 1) + 1);
+		List<URL> urls = indexedUrls.get(directory);
+		return (urls != null) ? urls : Collections.emptyList();
+	}
+
+	private boolean isIndexable(String name) {
+		if (name.startsWith("/") || name.contains("..")) {
+			return false;
+		}
+		for (int i = 0; i < name.length(); i++) {
+			char ch = name.charAt(i);
+			if (ch == '!' || ch == '%' || ch == '#' || ch == '?' || ch == ':') {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	@Override
 	protected Class<?> loadClass(String name, boolean resolve)
 			throws ClassNotFoundException {
@@ -131,7 +351,8 @@ public class LaunchedURLClassLoader extends URLClassLoader {
 			AccessController.doPrivileged((PrivilegedExceptionAction<Object>) () -> {
 				String packageEntryName = packageName.replace('.', '/') + "/";
 				String classEntryName = className.replace('.', '/') + ".class";
-				for (URL url : getURLs()) {
+				List<URL> urls = getIndexedUrls(classEntryName);
+				for (URL url : (urls != null) ? urls : Arrays.asList(getURLs())) {
 					try {
 						URLConnection connection = url.openConnection();
 						if (connection instanceof JarURLConnection) {
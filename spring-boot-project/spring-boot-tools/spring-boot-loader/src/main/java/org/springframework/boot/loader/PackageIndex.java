@@ -0,0 +1,163 @@
+/*
+ * Copyright 2012-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.loader;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.boot.loader.archive.Archive;
+
+/**
+ * Index of the directories that contain entries in each nested location (the classes
+ * directory and every nested jar) of an executable archive. The index is written by
+ * the repackaging tools and allows the {@link LaunchedURLClassLoader} to go straight to
+ * the locations that may contain a class or a resource.
+ * <p>
+ * The index is a UTF-8 text file made of sections separated by blank lines. The first
+ * section holds the version of the format, every following section starts with the
+ * location, relative to the root of the archive, followed by one line per directory
+ * (with a trailing slash) that directly contains an entry.
+ *
+ * @author Edward Lee
+ * @since 2.2.0
+ */
+public final class PackageIndex {
+
+	/**
+	 * The location of the index within the archive.
+	 */
+	public static final String LOCATION = "META-INF/spring-boot-packages.idx";
+
+	static final String VERSION = "Spring-Boot-Packages-Index-Version: 1.0";
+
+	private final Map<String, Set<String>> directories;
+
+	private PackageIndex(Map<String, Set<String>> directories) {
+		this.directories = directories;
+	}
+
+	/**
+	 * Resolve the index against the specified class path, returning the URLs that may
+	 * contain entries in each directory, in class path order. Each URL is matched to an
+	 * indexed location using the end of its path.
+	 * @param urls the URLs of the class path
+	 * @return the URLs keyed by directory (with a trailing slash, the root directory
+	 * being the empty string) or {@code null} if some URLs are not covered by the index
+	 */
+	Map<String, List<URL>> resolve(URL[] urls) {
+		Map<String, List<URL>> resolved = new HashMap<>();
+		for (URL url : urls) {
+			Set<String> directories = getDirectories(url);
+			if (directories == null) {
+				return null;
+			}
+			for (String directory : directories) {
+				resolved.computeIfAbsent(directory, (key) -> new ArrayList<>(1)).add(url);
+			}
+		}
+		return resolved;
+	}
+
+	private Set<String> getDirectories(URL url) {
+		String path = url.toString();
+		if (path.endsWith("/")) {
+			path = path.substring(0, path.length() - 1);
+		}
+		if (path.endsWith("!")) {
+			path = path.substring(0, path.length() - 1);
+		}
+		int slash = path.indexOf('/');
+		while (slash != -1) {
+			Set<String> directories = this.directories.get(path.substring(slash + 1));
+			if (directories != null) {
+				return directories;
+			}
+			slash = path.indexOf('/', slash + 1);
+		}
+		return null;
+	}
+
+	/**
+	 * Return the index of the specified archive.
+	 * @param archive the root archive
+	 * @return the index or {@code null} if the archive has no index
+	 */
+	public static PackageIndex get(Archive archive) {
+		try (InputStream inputStream = new URL(archive.getUrl(), LOCATION)
+				.openStream()) {
+			return load(inputStream);
+		}
+		catch (IOException ex) {
+			return null;
+		}
+	}
+
+	/**
+	 * Load an index from the specified stream.
+	 * @param inputStream the stream to read, which is not closed
+	 * @return the index or {@code null} if the stream does not contain a supported
+	 * index
+	 * @throws IOException if the stream cannot be read
+	 */
+	static PackageIndex load(InputStream inputStream) throws IOException {
+		BufferedReader reader = new BufferedReader(
+				new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+		if (!VERSION.equals(reader.readLine())) {
+			return null;
+		}
+		Map<String, Set<String>> directories = new LinkedHashMap<>();
+		Set<String> current = null;
+		String line;
+		while ((line = reader.readLine()) != null) {
+			if (line.isEmpty()) {
+				current = null;
+			}
+			else if (current == null) {
+				current = new LinkedHashSet<>();
+				current.add("");
+				String location = line.endsWith("/")
+						? line.substring(0, line.length() - 1) : line;
+				directories.put(location, current);
+			}
+			else {
+				addDirectory(current, line);
+			}
+		}
+		return new PackageIndex(Collections.unmodifiableMap(directories));
+	}
+
+	private static void addDirectory(Set<String> directories, String directory) {
+		int slash = directory.indexOf('/');
+		while (slash != -1) {
+			directories.add(directory.substring(0, slash + 1));
+			slash = directory.indexOf('/', slash + 1);
+		}
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2018 the original author or authors.
+ * Copyright 2012-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -22,15 +22,31 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
 
 /**
- * {@link RandomAccessData} implementation backed by a {@link RandomAccessFile}.
+ * {@link RandomAccessData} implementation backed by a file. By default, reads go through
+ * a {@link RandomAccessFile}. When the {@code loader.mmap} system property is
+ * {@code true}, the file is instead memory mapped, in chunks of at most 1GB, so that
+ * concurrent reads neither take a lock nor perform a system call. Mappings are only
+ * released once garbage collected so, until then, the file remains locked on Windows
+ * and truncating it may crash the JVM rather than fail with an {@link IOException}.
+ * Memory mapping should therefore only be enabled for files that are not modified while
+ * the application is running.
  *
  * @author Phillip Webb
  * @author Andy Wilkinson
+ * @author Edward Lee
  */
 public class RandomAccessDataFile implements RandomAccessData {
 
+	private static final String MEMORY_MAPPING_PROPERTY = "loader.mmap";
+
+	private static final int MAPPED_CHUNK_SIZE = 1 << 30;
+
 	private final FileAccess fileAccess;
 
 	private final long offset;
@@ -43,10 +59,21 @@ public class RandomAccessDataFile implements RandomAccessData {
 	 * @throws IllegalArgumentException if the file is null or does not exist
 	 */
 	public RandomAccessDataFile(File file) {
+		this(file, isMemoryMappingEnabled() ? MAPPED_CHUNK_SIZE : 0);
+	}
+
+	/**
+	 * Create a new {@link RandomAccessDataFile} backed by the specified file.
+	 * @param file the underlying file
+	 * @param mappedChunkSize the maximum size of each memory mapped chunk of the file or
+	 * {@code 0} to read the file through a {@link RandomAccessFile}
+	 * @throws IllegalArgumentException if the file is null or does not exist
+	 */
+	RandomAccessDataFile(File file, int mappedChunkSize) {
 		if (file == null) {
 			throw new IllegalArgumentException("File must not be null");
 		}
-		this.fileAccess = new FileAccess(file);
+		this.fileAccess = FileAccess.open(file, mappedChunkSize);
 		this.offset = 0L;
 		this.length = file.length();
 	}
@@ -126,6 +153,15 @@ public class RandomAccessDataFile implements RandomAccessData {
 		this.fileAccess.close();
 	}
 
+	private static boolean isMemoryMappingEnabled() {
+		try {
+			return Boolean.getBoolean(MEMORY_MAPPING_PROPERTY);
+		}
+		catch (SecurityException ex) {
+			return false;
+		}
+	}
+
 	/**
 	 * {@link InputStream} implementation for the {@link RandomAccessDataFile}.
 	 */
@@ -203,20 +239,65 @@ public class RandomAccessDataFile implements RandomAccessData {
 
 	}
 
-	private static final class FileAccess {
+	/**
+	 * Provides access to the underlying file.
+	 */
+	private abstract static class FileAccess {
 
-		private final Object monitor = new Object();
+		protected final File file;
+
+		protected FileAccess(File file) {
+			this.file = file;
+		}
+
+		protected abstract int read(byte[] bytes, long position, int offset, int length)
+				throws IOException;
+
+		protected abstract int readByte(long position) throws IOException;
 
-		private final File file;
+		protected abstract void close() throws IOException;
+
+		protected static RandomAccessFile openRandomAccessFile(File file) {
+			try {
+				return new RandomAccessFile(file, "r");
+			}
+			catch (FileNotFoundException ex) {
+				throw new IllegalArgumentException(
+						String.format("File %s must exist", file.getAbsolutePath()));
+			}
+		}
+
+		static FileAccess open(File file, int mappedChunkSize) {
+			if (mappedChunkSize > 0) {
+				try {
+					return new MappedFileAccess(file, mappedChunkSize);
+				}
+				catch (IOException ex) {
+					// Fallback to reading through a RandomAccessFile
+				}
+			}
+			return new RandomAccessFileAccess(file);
+		}
+
+	}
+
+	/**
+	 * {@link FileAccess} that reads through a single {@link RandomAccessFile} guarded by
+	 * a monitor.
+	 */
+	private static final class RandomAccessFileAccess extends FileAccess {
+
+		private final Object monitor = new Object();
 
 		private RandomAccessFile randomAccessFile;
 
-		private FileAccess(File file) {
-			this.file = file;
+		private RandomAccessFileAccess(File file) {
+			super(file);
 			openIfNecessary();
 		}
 
-		private int read(byte[] bytes, long position, int offset, int length)
+		@Override
+		protected int read(byte[] bytes, long position, int offset, int length)
 				throws IOException {
 			synchronized (this.monitor) {
 				openIfNecessary();
@@ -227,17 +308,12 @@ public class RandomAccessDataFile implements RandomAccessData {
 
 		private void openIfNecessary() {
 			if (this.randomAccessFile == null) {
-				try {
-					this.randomAccessFile = new RandomAccessFile(this.file, "r");
-				}
-				catch (FileNotFoundException ex) {
-					throw new IllegalArgumentException(String.format("File %s must exist",
-							this.file.getAbsolutePath()));
-				}
+				this.randomAccessFile = openRandomAccessFile(this.file);
 			}
 		}
 
-		private void close() throws IOException {
+		@Override
+		protected void close() throws IOException {
 			synchronized (this.monitor) {
 				if (this.randomAccessFile != null) {
 					this.randomAccessFile.close();
@@ -246,7 +322,8 @@ public class RandomAccessDataFile implements RandomAccessData {
 			}
 		}
 
-		private int readByte(long position) throws IOException {
+		@Override
+		protected int readByte(long position) throws IOException {
 			synchronized (this.monitor) {
 				openIfNecessary();
 				this.randomAccessFile.seek(position);
@@ -256,4 +333,97 @@ public class RandomAccessDataFile implements RandomAccessData {
 
 	}
 
+	/**
+	 * {@link FileAccess} that reads from {@link MappedByteBuffer MappedByteBuffers}, one
+	 * per chunk of the file. Closing drops the mappings so that they can be released
+	 * when garbage collected, with subsequent reads going through a
+	 * {@link RandomAccessFileAccess}. The mappings are not released eagerly as reads
+	 * that are still in progress would then crash the JVM.
+	 */
+	private static final class MappedFileAccess extends FileAccess {
+
+		private final int chunkSize;
+
+		private final long size;
+
+		private final Object monitor = new Object();
+
+		private volatile MappedByteBuffer[] chunks;
+
+		private RandomAccessFileAccess closedFileAccess;
+
+		private MappedFileAccess(File file, int chunkSize) throws IOException {
+			super(file);
+			this.chunkSize = chunkSize;
+			try (RandomAccessFile randomAccessFile = openRandomAccessFile(file)) {
+				FileChannel channel = randomAccessFile.getChannel();
+				this.size = channel.size();
+				int count = (int) ((this.size + chunkSize - 1) / chunkSize);
+				MappedByteBuffer[] chunks = new MappedByteBuffer[count];
+				for (int i = 0; i < count; i++) {
+					long position = (long) i * chunkSize;
+					chunks[i] = channel.map(MapMode.READ_ONLY, position,
+							Math.min(chunkSize, this.size - position));
+				}
+				this.chunks = chunks;
+			}
+		}
+
+		@Override
+		protected int read(byte[] bytes, long position, int offset, int length)
+				throws IOException {
+			MappedByteBuffer[] chunks = this.chunks;
+			if (chunks == null) {
+				return getClosedFileAccess().read(bytes, position, offset, length);
+			}
+			if (position >= this.size) {
+				return -1;
+			}
+			int remaining = (int) Math.min(length, this.size - position);
+			int read = 0;
+			while (read < remaining) {
+				ByteBuffer chunk = chunks[(int) (position / this.chunkSize)].duplicate();
+				chunk.position((int) (position % this.chunkSize));
+				int amount = Math.min(remaining - read, chunk.remaining());
+				chunk.get(bytes, offset + read, amount);
+				read += amount;
+				position += amount;
+			}
+			return read;
+		}
+
+		@Override
+		protected int readByte(long position) throws IOException {
+			MappedByteBuffer[] chunks = this.chunks;
+			if (chunks == null) {
+				return getClosedFileAccess().readByte(position);
+			}
+			if (position >= this.size) {
+				return -1;
+			}
+			return chunks[(int) (position / this.chunkSize)]
+					.get((int) (position % this.chunkSize)) & 0xFF;
+		}
+
+		private RandomAccessFileAccess getClosedFileAccess() {
+			synchronized (this.monitor) {
+				if (this.closedFileAccess == null) {
+					this.closedFileAccess = new RandomAccessFileAccess(this.file);
+				}
+				return this.closedFileAccess;
+			}
+		}
+
+		@Override
+		protected void close() throws IOException {
+			synchronized (this.monitor) {
+				this.chunks = null;
+				if (this.closedFileAccess != null) {
+					this.closedFileAccess.close();
+				}
+			}
+		}
+
+	}
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2018 the original author or authors.
+ * Copyright 2012-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -27,6 +27,7 @@ import org.springframework.boot.loader.data.RandomAccessData;
  *
  * @author Phillip Webb
  * @author Andy Wilkinson
+ * @author Edward Lee
  * @see CentralDirectoryVisitor
  */
 class CentralDirectoryParser {
@@ -49,7 +50,20 @@ class CentralDirectoryParser {
 	 */
 	public RandomAccessData parse(RandomAccessData data, boolean skipPrefixBytes)
 			throws IOException {
-		CentralDirectoryEndRecord endRecord = new CentralDirectoryEndRecord(data);
+		return parse(new CentralDirectoryEndRecord(data), data, skipPrefixBytes);
+	}
+
+	/**
+	 * Parse the source data using an end record that has already been read, triggering
+	 * {@link CentralDirectoryVisitor visitors}.
+	 * @param endRecord the end record of the source data
+	 * @param data the source data
+	 * @param skipPrefixBytes if prefix bytes should be skipped
+	 * @return the actual archive data without any prefix bytes
+	 * @throws IOException on error
+	 */
+	public RandomAccessData parse(CentralDirectoryEndRecord endRecord,
+			RandomAccessData data, boolean skipPrefixBytes) throws IOException {
 		if (skipPrefixBytes) {
 			data = getArchiveData(endRecord, data);
 		}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2018 the original author or authors.
+ * Copyright 2012-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -24,6 +24,7 @@ import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLStreamHandler;
 import java.net.URLStreamHandlerFactory;
+import java.util.Collections;
 import java.util.Enumeration;
 import java.util.Iterator;
 import java.util.function.Supplier;
@@ -42,10 +43,15 @@ import org.springframework.boot.loader.data.RandomAccessDataFile;
  * on any directory entry.</li>
  * <li>A nested {@link JarFile} can be {@link #getNestedJarFile(ZipEntry) obtained} for
  * embedded JAR files (as long as their entry is not compressed).</li>
+ * <li>The central directory of a nested {@link JarFile} is only read when one of its
+ * entries is first needed. Its bounds are checked when the nested jar is opened. If it
+ * cannot be read later on, methods that declare an {@link IOException} throw one and
+ * other methods behave as if the jar had no entries.</li>
  * </ul>
  *
  * @author Phillip Webb
  * @author Andy Wilkinson
+ * @author Edward Lee
  */
 public class JarFile extends java.util.jar.JarFile {
 
@@ -63,15 +69,21 @@ public class JarFile extends java.util.jar.JarFile {
 
 	private final String pathFromRoot;
 
-	private final RandomAccessData data;
+	private final JarEntryFilter filter;
 
 	private final JarFileType type;
 
+	private RandomAccessData data;
+
 	private URL url;
 
 	private String urlString;
 
-	private JarFileEntries entries;
+	private volatile JarFileEntries entries;
+
+	private CentralDirectoryEndRecord pendingEndRecord;
+
+	private IOException centralDirectoryFailure;
 
 	private Supplier<Manifest> manifestSupplier;
 
@@ -117,11 +129,20 @@ public class JarFile extends java.util.jar.JarFile {
 		super(rootFile.getFile());
 		this.rootFile = rootFile;
 		this.pathFromRoot = pathFromRoot;
-		CentralDirectoryParser parser = new CentralDirectoryParser();
-		this.entries = parser.addVisitor(new JarFileEntries(this, filter));
-		parser.addVisitor(centralDirectoryVisitor());
-		this.data = parser.parse(data, filter == null);
+		this.filter = filter;
 		this.type = type;
+		CentralDirectoryEndRecord endRecord = new CentralDirectoryEndRecord(data);
+		if (type == JarFileType.NESTED_JAR) {
+			// Fail fast on unsupported archives but defer reading the central
+			// directory until an entry is needed
+			endRecord.getNumberOfRecords();
+			checkCentralDirectoryBounds(endRecord, data);
+			this.data = data;
+			this.pendingEndRecord = endRecord;
+		}
+		else {
+			this.entries = parseCentralDirectory(endRecord, data);
+		}
 		this.manifestSupplier = (manifestSupplier != null) ? manifestSupplier : () -> {
 			try (InputStream inputStream = getInputStream(MANIFEST_NAME)) {
 				if (inputStream == null) {
@@ -135,6 +156,65 @@ public class JarFile extends java.util.jar.JarFile {
 		};
 	}
 
+	private void checkCentralDirectoryBounds(CentralDirectoryEndRecord endRecord,
+			RandomAccessData data) throws IOException {
+		try {
+			long startOfArchive = endRecord.getStartOfArchive(data);
+			endRecord.getCentralDirectory(data.getSubsection(startOfArchive,
+					data.getSize() - startOfArchive));
+		}
+		catch (IndexOutOfBoundsException ex) {
+			throw new IOException("Central directory of " + this + " is out of bounds",
+					ex);
+		}
+	}
+
+	private JarFileEntries getEntries() throws IOException {
+		JarFileEntries entries = this.entries;
+		if (entries == null) {
+			synchronized (this) {
+				entries = this.entries;
+				if (entries == null) {
+					if (this.centralDirectoryFailure != null) {
+						throw new IOException(
+								"Unable to read the central directory of " + this,
+								this.centralDirectoryFailure);
+					}
+					try {
+						entries = parseCentralDirectory(this.pendingEndRecord, this.data);
+					}
+					catch (IOException | IndexOutOfBoundsException ex) {
+						this.centralDirectoryFailure = (ex instanceof IOException)
+								? (IOException) ex : new IOException(ex);
+						throw new IOException(
+								"Unable to read the central directory of " + this, ex);
+					}
+					this.pendingEndRecord = null;
+					this.entries = entries;
+				}
+			}
+		}
+		return entries;
+	}
+
+	private JarFileEntries getReadableEntries() {
+		try {
+			return getEntries();
+		}
+		catch (IOException ex) {
+			return null;
+		}
+	}
+
+	private JarFileEntries parseCentralDirectory(CentralDirectoryEndRecord endRecord,
+			RandomAccessData data) throws IOException {
+		CentralDirectoryParser parser = new CentralDirectoryParser();
+		JarFileEntries entries = parser.addVisitor(new JarFileEntries(this, this.filter));
+		parser.addVisitor(centralDirectoryVisitor());
+		this.data = parser.parse(endRecord, data, this.filter == null);
+		return entries;
+	}
+
 	private CentralDirectoryVisitor centralDirectoryVisitor() {
 		return new CentralDirectoryVisitor() {
 
@@ -164,7 +244,8 @@ public class JarFile extends java.util.jar.JarFile {
 		return this.rootFile;
 	}
 
-	RandomAccessData getData() {
+	RandomAccessData getData() throws IOException {
+		getEntries();
 		return this.data;
 	}
 
@@ -185,7 +266,9 @@ public class JarFile extends java.util.jar.JarFile {
 
 	@Override
 	public Enumeration<java.util.jar.JarEntry> entries() {
-		final Iterator<JarEntry> iterator = this.entries.iterator();
+		JarFileEntries entries = getReadableEntries();
+		final Iterator<JarEntry> iterator = (entries != null) ? entries.iterator()
+				: Collections.emptyIterator();
 		return new Enumeration<java.util.jar.JarEntry>() {
 
 			@Override
@@ -202,7 +285,8 @@ public class JarFile extends java.util.jar.JarFile {
 	}
 
 	public JarEntry getJarEntry(CharSequence name) {
-		return this.entries.getEntry(name);
+		JarFileEntries entries = getReadableEntries();
+		return (entries != null) ? entries.getEntry(name) : null;
 	}
 
 	@Override
@@ -211,24 +295,25 @@ public class JarFile extends java.util.jar.JarFile {
 	}
 
 	public boolean containsEntry(String name) {
-		return this.entries.containsEntry(name);
+		JarFileEntries entries = getReadableEntries();
+		return entries != null && entries.containsEntry(name);
 	}
 
 	@Override
 	public ZipEntry getEntry(String name) {
-		return this.entries.getEntry(name);
+		return getJarEntry((CharSequence) name);
 	}
 
 	@Override
 	public synchronized InputStream getInputStream(ZipEntry entry) throws IOException {
 		if (entry instanceof JarEntry) {
-			return this.entries.getInputStream((JarEntry) entry);
+			return getEntries().getInputStream((JarEntry) entry);
 		}
 		return getInputStream((entry != null) ? entry.getName() : null);
 	}
 
 	InputStream getInputStream(String name) throws IOException {
-		return this.entries.getInputStream(name);
+		return getEntries().getInputStream(name);
 	}
 
 	/**
@@ -275,7 +360,7 @@ public class JarFile extends java.util.jar.JarFile {
 		return new JarFile(this.rootFile,
 				this.pathFromRoot + "!/"
 						+ entry.getName().substring(0, name.length() - 1),
-				this.data, filter, JarFileType.NESTED_DIRECTORY, this.manifestSupplier);
+				getData(), filter, JarFileType.NESTED_DIRECTORY, this.manifestSupplier);
 	}
 
 	private JarFile createJarFileFromFileEntry(JarEntry entry) throws IOException {
@@ -285,14 +370,15 @@ public class JarFile extends java.util.jar.JarFile {
 					+ "jar files must be stored without compression. Please check the "
 					+ "mechanism used to create your executable jar file");
 		}
-		RandomAccessData entryData = this.entries.getEntryData(entry.getName());
+		RandomAccessData entryData = getEntries().getEntryData(entry.getName());
 		return new JarFile(this.rootFile, this.pathFromRoot + "!/" + entry.getName(),
 				entryData, JarFileType.NESTED_JAR);
 	}
 
 	@Override
 	public int size() {
-		return this.entries.getSize();
+		JarFileEntries entries = getReadableEntries();
+		return (entries != null) ? entries.getSize() : 0;
 	}
 
 	@Override
@@ -369,7 +455,10 @@ public class JarFile extends java.util.jar.JarFile {
 	}
 
 	public void clearCache() {
-		this.entries.clearCache();
+		JarFileEntries entries = this.entries;
+		if (entries != null) {
+			entries.clearCache();
+		}
 	}
 
 	protected String getPathFromRoot() {
@@ -19,11 +19,9 @@ package org.springframework.boot.loader.jar;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.Iterator;
-import java.util.LinkedHashMap;
-import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.jar.Attributes;
 import java.util.jar.Attributes.Name;
 import java.util.jar.Manifest;
@@ -41,9 +39,14 @@ import org.springframework.boot.loader.data.RandomAccessData;
  * <p>
  * A typical Spring Boot application will have somewhere in the region of 10,500 entries
  * which should consume about 122K.
+ * <p>
+ * Recently used entries are kept in a small direct-mapped cache indexed by entry
+ * position so that lookups do not need to take a lock. Entries of signed jars are never
+ * evicted since they hold certificates.
  *
  * @author Phillip Webb
  * @author Andy Wilkinson
+ * @author Edward Lee
  */
 class JarFileEntries implements CentralDirectoryVisitor, Iterable<JarEntry> {
 
@@ -74,7 +77,10 @@ class JarFileEntries implements CentralDirectoryVisitor, Iterable<JarEntry> {
 
 	private static final char NO_SUFFIX = 0;
 
-	protected static final int ENTRY_CACHE_SIZE = 25;
+	/**
+	 * Number of slots in the entry cache. Must be a power of two.
+	 */
+	protected static final int ENTRY_CACHE_SIZE = 32;
 
 	private final JarFile jarFile;
 
@@ -92,19 +98,10 @@ class JarFileEntries implements CentralDirectoryVisitor, Iterable<JarEntry> {
 
 	private Boolean multiReleaseJar;
 
-	private final Map<Integer, FileHeader> entriesCache = Collections
-			.synchronizedMap(new LinkedHashMap<Integer, FileHeader>(16, 0.75f, true) {
+	private final AtomicReferenceArray<CachedEntry> entriesCache = new AtomicReferenceArray<>(
+			ENTRY_CACHE_SIZE);
 
-				@Override
-				protected boolean removeEldestEntry(
-						Map.Entry<Integer, FileHeader> eldest) {
-					if (JarFileEntries.this.jarFile.isSigned()) {
-						return false;
-					}
-					return size() >= ENTRY_CACHE_SIZE;
-				}
-
-			});
+	private volatile AtomicReferenceArray<FileHeader> signedEntriesCache;
 
 	JarFileEntries(JarFile jarFile, JarEntryFilter filter) {
 		this.jarFile = jarFile;
@@ -147,6 +144,9 @@ class JarFileEntries implements CentralDirectoryVisitor, Iterable<JarEntry> {
 		for (int i = 0; i < this.size; i++) {
 			this.positions[positions[i]] = i;
 		}
+		if (this.jarFile.isSigned()) {
+			this.signedEntriesCache = new AtomicReferenceArray<>(this.size);
+		}
 	}
 
 	int getSize() {
@@ -317,7 +317,7 @@ class JarFileEntries implements CentralDirectoryVisitor, Iterable<JarEntry> {
 	private <T extends FileHeader> T getEntry(int index, Class<T> type,
 			boolean cacheEntry, AsciiBytes nameAlias) {
 		try {
-			FileHeader cached = this.entriesCache.get(index);
+			FileHeader cached = getCachedEntry(index);
 			FileHeader entry = (cached != null) ? cached
 					: CentralDirectoryFileHeader.fromRandomAccessData(
 							this.centralDirectoryData,
@@ -328,7 +328,7 @@ class JarFileEntries implements CentralDirectoryVisitor, Iterable<JarEntry> {
 						nameAlias);
 			}
 			if (cacheEntry && cached != entry) {
-				this.entriesCache.put(index, entry);
+				cacheEntry(index, entry);
 			}
 			return (T) entry;
 		}
@@ -337,6 +337,26 @@ class JarFileEntries implements CentralDirectoryVisitor, Iterable<JarEntry> {
 		}
 	}
 
+	private FileHeader getCachedEntry(int index) {
+		AtomicReferenceArray<FileHeader> signedEntriesCache = this.signedEntriesCache;
+		if (signedEntriesCache != null) {
+			return signedEntriesCache.get(index);
+		}
+		CachedEntry cached = this.entriesCache.get(index & (ENTRY_CACHE_SIZE - 1));
+		return (cached != null && cached.index == index) ? cached.entry : null;
+	}
+
+	private void cacheEntry(int index, FileHeader entry) {
+		AtomicReferenceArray<FileHeader> signedEntriesCache = this.signedEntriesCache;
+		if (signedEntriesCache != null) {
+			signedEntriesCache.set(index, entry);
+		}
+		else {
+			this.entriesCache.set(index & (ENTRY_CACHE_SIZE - 1),
+					new CachedEntry(index, entry));
+		}
+	}
+
 	private int getFirstIndex(int hashCode) {
 		int index = Arrays.binarySearch(this.hashCodes, 0, this.size, hashCode);
 		if (index < 0) {
@@ -349,13 +369,34 @@ class JarFileEntries implements CentralDirectoryVisitor, Iterable<JarEntry> {
 	}
 
 	public void clearCache() {
-		this.entriesCache.clear();
+		for (int i = 0; i < ENTRY_CACHE_SIZE; i++) {
+			this.entriesCache.set(i, null);
+		}
+		if (this.signedEntriesCache != null) {
+			this.signedEntriesCache = new AtomicReferenceArray<>(this.size);
+		}
 	}
 
 	private AsciiBytes applyFilter(AsciiBytes name) {
 		return (this.filter != null) ? this.filter.apply(name) : name;
 	}
 
+	/**
+	 * An entry held in a slot of the entry cache along with its position.
+	 */
+	private static final class CachedEntry {
+
+		private final int index;
+
+		private final FileHeader entry;
+
+		CachedEntry(int index, FileHeader entry) {
+			this.index = index;
+			this.entry = entry;
+		}
+
+	}
+
 	/**
 	 * Iterator for contained entries.
 	 */
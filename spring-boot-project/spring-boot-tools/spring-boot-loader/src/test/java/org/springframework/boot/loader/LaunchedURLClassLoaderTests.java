@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2017 the original author or authors.
+ * Copyright 2012-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,16 +16,29 @@
 
 package org.springframework.boot.loader;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
+import java.io.FileOutputStream;
+import java.io.InputStream;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+import java.util.zip.CRC32;
 
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
 
 import org.springframework.boot.loader.jar.JarFile;
+import org.springframework.util.StreamUtils;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 
 /**
  * Tests for {@link LaunchedURLClassLoader}.
@@ -33,6 +46,7 @@ import static org.assertj.core.api.Assertions.assertThat;
  * @author Dave Syer
  * @author Phillip Webb
  * @author Andy Wilkinson
+ * @author Edward Lee
  */
 @SuppressWarnings("resource")
 public class LaunchedURLClassLoaderTests {
@@ -105,4 +119,132 @@ public class LaunchedURLClassLoaderTests {
 		}
 	}
 
+	@Test
+	public void resolveResourcesWithPackageIndex() throws Exception {
+		File file = this.temporaryFolder.newFile();
+		TestJarCreator.createTestJar(file);
+		JarFile jarFile = new JarFile(file);
+		URL nested = getNestedUrl(jarFile, "nested.jar");
+		URL anotherNested = getNestedUrl(jarFile, "another-nested.jar");
+		PackageIndex index = loadIndex(
+				"nested.jar\nMETA-INF/\n\nanother-nested.jar\n");
+		LaunchedURLClassLoader loader = new LaunchedURLClassLoader(
+				new URL[] { nested, anotherNested }, null, index);
+		assertThat(Collections.list(loader.getResources("3.dat"))).containsExactly(
+				new URL(nested, "3.dat"), new URL(anotherNested, "3.dat"));
+		assertThat(Collections.list(loader.getResources("META-INF/MANIFEST.MF")))
+				.containsExactly(new URL(nested, "META-INF/MANIFEST.MF"));
+		assertThat(loader.getResource("d/9.dat")).isNull();
+		assertThat(loader.getResource("missing.dat")).isNull();
+	}
+
+	@Test
+	public void resolveResourceWithPackageIndexThatDoesNotCoverAllUrls()
+			throws Exception {
+		File file = this.temporaryFolder.newFile();
+		TestJarCreator.createTestJar(file);
+		JarFile jarFile = new JarFile(file);
+		URL url = jarFile.getUrl();
+		LaunchedURLClassLoader loader = new LaunchedURLClassLoader(new URL[] { url },
+				null, loadIndex("nested.jar\n"));
+		assertThat(loader.getResource("d/9.dat")).isNotNull();
+	}
+
+	@Test
+	public void loadClassWithPackageIndex() throws Exception {
+		String name = "org/springframework/boot/loader/jar/Bytes.class";
+		File file = this.temporaryFolder.newFile();
+		try (JarOutputStream output = new JarOutputStream(new FileOutputStream(file));
+				InputStream input = getClass().getClassLoader()
+						.getResourceAsStream(name)) {
+			output.putNextEntry(new JarEntry(name));
+			StreamUtils.copy(input, output);
+			output.closeEntry();
+		}
+		JarFile jarFile = new JarFile(file);
+		URL url = jarFile.getUrl();
+		PackageIndex index = loadIndex(
+				file.getName() + "\norg/springframework/boot/loader/jar/\n");
+		LaunchedURLClassLoader loader = new LaunchedURLClassLoader(new URL[] { url },
+				null, index);
+		Class<?> type = loader.loadClass("org.springframework.boot.loader.jar.Bytes");
+		assertThat(type.getClassLoader()).isSameAs(loader);
+		assertThat(type.getPackage()).isNotNull();
+		assertThat(type.getProtectionDomain().getCodeSource().getLocation())
+				.isEqualTo(url);
+		assertThatExceptionOfType(ClassNotFoundException.class).isThrownBy(
+				() -> loader.loadClass("org.springframework.boot.loader.jar.Missing"));
+	}
+
+	@Test
+	public void loadClassWithPackageIndexShouldDefinePackageFromManifest()
+			throws Exception {
+		String name = "org/springframework/boot/loader/jar/Bytes.class";
+		Manifest manifest = new Manifest();
+		manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+		manifest.getMainAttributes().put(Attributes.Name.IMPLEMENTATION_TITLE, "test");
+		manifest.getMainAttributes().put(Attributes.Name.SEALED, "true");
+		File file = this.temporaryFolder.newFile();
+		try (JarOutputStream output = new JarOutputStream(new FileOutputStream(file),
+				manifest);
+				InputStream input = getClass().getClassLoader()
+						.getResourceAsStream(name)) {
+			output.putNextEntry(new JarEntry(name));
+			StreamUtils.copy(input, output);
+			output.closeEntry();
+		}
+		URL url = new JarFile(file).getUrl();
+		PackageIndex index = loadIndex(
+				file.getName() + "\norg/springframework/boot/loader/jar/\n");
+		LaunchedURLClassLoader loader = new LaunchedURLClassLoader(new URL[] { url },
+				null, index);
+		Package pkg = loader.loadClass("org.springframework.boot.loader.jar.Bytes")
+				.getPackage();
+		assertThat(pkg.getImplementationTitle()).isEqualTo("test");
+		assertThat(pkg.isSealed(url)).isTrue();
+	}
+
+	@Test
+	public void loadClassWithPackageIndexFromSignedNestedJar() throws Exception {
+		File signedJarFile = null;
+		String classpath = System.getProperty("java.class.path");
+		for (String entry : classpath.split(System.getProperty("path.separator"))) {
+			if (entry.contains("bcprov")) {
+				signedJarFile = new File(entry);
+			}
+		}
+		assertThat(signedJarFile).isNotNull();
+		byte[] signedJarData = Files.readAllBytes(signedJarFile.toPath());
+		File file = this.temporaryFolder.newFile();
+		try (JarOutputStream output = new JarOutputStream(new FileOutputStream(file))) {
+			JarEntry entry = new JarEntry("signed.jar");
+			entry.setMethod(JarEntry.STORED);
+			entry.setSize(signedJarData.length);
+			CRC32 crc32 = new CRC32();
+			crc32.update(signedJarData);
+			entry.setCrc(crc32.getValue());
+			output.putNextEntry(entry);
+			output.write(signedJarData);
+			output.closeEntry();
+		}
+		URL nested = getNestedUrl(new JarFile(file), "signed.jar");
+		PackageIndex index = loadIndex("signed.jar\norg/bouncycastle/util/\n");
+		LaunchedURLClassLoader loader = new LaunchedURLClassLoader(
+				new URL[] { nested }, null, index);
+		Class<?> type = loader.loadClass("org.bouncycastle.util.Arrays");
+		assertThat(type.getClassLoader()).isSameAs(loader);
+		assertThat(type.getProtectionDomain().getCodeSource().getCodeSigners())
+				.isNotEmpty();
+	}
+
+	private URL getNestedUrl(JarFile jarFile, String name) throws Exception {
+		return jarFile.getNestedJarFile(jarFile.getEntry(name)).getUrl();
+	}
+
+	private PackageIndex loadIndex(String sections) throws Exception {
+		String index = PackageIndex.VERSION + "\n\n" + sections;
+		return PackageIndex.load(
+				new ByteArrayInputStream(index.getBytes(StandardCharsets.UTF_8)));
+	}
+
 }
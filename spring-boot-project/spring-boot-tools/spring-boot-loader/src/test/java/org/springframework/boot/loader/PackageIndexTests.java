@@ -0,0 +1,83 @@
+/*
+ * Copyright 2012-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.loader;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link PackageIndex}.
+ *
+ * @author Edward Lee
+ */
+public class PackageIndexTests {
+
+	private static final String INDEX = PackageIndex.VERSION + "\n\n"
+			+ "BOOT-INF/classes/\ncom/example/web/\n\n"
+			+ "BOOT-INF/lib/foo.jar\ncom/foo/\nMETA-INF/\n";
+
+	@Test
+	public void resolveReturnsUrlsOfEachDirectoryInClassPathOrder() throws Exception {
+		URL classes = new URL("jar:file:/app.jar!/BOOT-INF/classes!/");
+		URL foo = new URL("jar:file:/app.jar!/BOOT-INF/lib/foo.jar!/");
+		Map<String, List<URL>> resolved = load(INDEX)
+				.resolve(new URL[] { classes, foo });
+		assertThat(resolved.get("com/example/web/")).containsExactly(classes);
+		assertThat(resolved.get("com/example/")).containsExactly(classes);
+		assertThat(resolved.get("com/foo/")).containsExactly(foo);
+		assertThat(resolved.get("META-INF/")).containsExactly(foo);
+		assertThat(resolved.get("com/")).containsExactly(classes, foo);
+		assertThat(resolved.get("")).containsExactly(classes, foo);
+		assertThat(resolved.get("org/")).isNull();
+	}
+
+	@Test
+	public void resolveMatchesUrlsOfExplodedArchive() throws Exception {
+		URL classes = new URL("file:/app/BOOT-INF/classes/");
+		URL foo = new URL("jar:file:/app/BOOT-INF/lib/foo.jar!/");
+		Map<String, List<URL>> resolved = load(INDEX)
+				.resolve(new URL[] { foo, classes });
+		assertThat(resolved.get("com/")).containsExactly(foo, classes);
+	}
+
+	@Test
+	public void resolveWhenUrlIsNotIndexedReturnsNull() throws Exception {
+		URL classes = new URL("jar:file:/app.jar!/BOOT-INF/classes!/");
+		URL bar = new URL("jar:file:/app.jar!/BOOT-INF/lib/bar.jar!/");
+		assertThat(load(INDEX).resolve(new URL[] { classes, bar })).isNull();
+	}
+
+	@Test
+	public void loadWhenVersionIsNotSupportedReturnsNull() throws Exception {
+		assertThat(load("Spring-Boot-Packages-Index-Version: 2.0\n\nfoo.jar\n"))
+				.isNull();
+	}
+
+	private PackageIndex load(String index) throws IOException {
+		return PackageIndex.load(
+				new ByteArrayInputStream(index.getBytes(StandardCharsets.UTF_8)));
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2018 the original author or authors.
+ * Copyright 2012-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -33,6 +33,8 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
 
+import org.springframework.test.util.ReflectionTestUtils;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
@@ -43,6 +45,7 @@ import static org.assertj.core.api.Assertions.assertThatNullPointerException;
  *
  * @author Phillip Webb
  * @author Andy Wilkinson
+ * @author Edward Lee
  */
 public class RandomAccessDataFileTests {
 
@@ -306,4 +309,97 @@ public class RandomAccessDataFileTests {
 		}
 	}
 
+	@Test
+	public void readWithChunkedMappingShouldReadAcrossChunks() throws Exception {
+		RandomAccessDataFile file = new RandomAccessDataFile(this.tempFile, 10);
+		try {
+			assertThat(file.read()).isEqualTo(BYTES);
+			assertThat(file.read(5, 20)).isEqualTo(Arrays.copyOfRange(BYTES, 5, 25));
+			RandomAccessData subsection = file.getSubsection(18, 40);
+			InputStream inputStream = subsection.getInputStream();
+			assertThat(inputStream.read()).isEqualTo(18);
+			assertThat(inputStream.skip(1)).isEqualTo(1);
+			byte[] b = new byte[100];
+			assertThat(inputStream.read(b)).isEqualTo(38);
+			assertThat(Arrays.copyOf(b, 38)).isEqualTo(Arrays.copyOfRange(BYTES, 20, 58));
+			assertThat(inputStream.read()).isEqualTo(-1);
+		}
+		finally {
+			file.close();
+		}
+	}
+
+	@Test
+	public void readWithMappingWhenClosedShouldReopen() throws Exception {
+		RandomAccessDataFile file = new RandomAccessDataFile(this.tempFile, 10);
+		try {
+			InputStream inputStream = file.getInputStream();
+			assertThat(inputStream.read()).isEqualTo(0);
+			file.close();
+			assertThat(inputStream.read()).isEqualTo(1);
+			assertThat(file.read(5, 20)).isEqualTo(Arrays.copyOfRange(BYTES, 5, 25));
+			file.close();
+			assertThat(file.read()).isEqualTo(BYTES);
+		}
+		finally {
+			file.close();
+		}
+	}
+
+	@Test
+	public void readWithoutMappingShouldRead() throws Exception {
+		RandomAccessDataFile file = new RandomAccessDataFile(this.tempFile, 0);
+		try {
+			assertThat(file.read()).isEqualTo(BYTES);
+			assertThat(file.read(250, 6)).isEqualTo(Arrays.copyOfRange(BYTES, 250, 256));
+			file.close();
+			assertThat(file.getInputStream().read()).isEqualTo(0);
+		}
+		finally {
+			file.close();
+		}
+	}
+
+	@Test
+	public void fileAccessWhenMemoryMappingPropertyIsNotSetShouldNotMap()
+			throws Exception {
+		System.clearProperty("loader.mmap");
+		RandomAccessDataFile file = new RandomAccessDataFile(this.tempFile);
+		try {
+			assertThat(ReflectionTestUtils.getField(file, "fileAccess").getClass()
+					.getSimpleName()).isEqualTo("RandomAccessFileAccess");
+		}
+		finally {
+			file.close();
+		}
+	}
+
+	@Test
+	public void fileAccessWhenMemoryMappingPropertyIsTrueShouldMap() throws Exception {
+		System.setProperty("loader.mmap", "true");
+		RandomAccessDataFile file = new RandomAccessDataFile(this.tempFile);
+		try {
+			assertThat(ReflectionTestUtils.getField(file, "fileAccess").getClass()
+					.getSimpleName()).isEqualTo("MappedFileAccess");
+		}
+		finally {
+			System.clearProperty("loader.mmap");
+			file.close();
+		}
+	}
+
+	@Test
+	public void readEmptyFile() throws Exception {
+		File empty = this.temporaryFolder.newFile();
+		RandomAccessDataFile file = new RandomAccessDataFile(empty);
+		try {
+			assertThat(file.getSize()).isEqualTo(0);
+			assertThat(file.read()).isEmpty();
+			assertThat(file.getInputStream().read()).isEqualTo(-1);
+		}
+		finally {
+			file.close();
+		}
+	}
+
 }
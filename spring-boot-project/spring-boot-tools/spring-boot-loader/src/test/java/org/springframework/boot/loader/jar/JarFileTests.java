@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2018 the original author or authors.
+ * Copyright 2012-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,19 +16,30 @@
 
 package org.springframework.boot.loader.jar;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.FilePermission;
+import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Enumeration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.jar.JarEntry;
 import java.util.jar.JarInputStream;
+import java.util.jar.JarOutputStream;
 import java.util.jar.Manifest;
+import java.util.zip.CRC32;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 
@@ -39,6 +50,7 @@ import org.junit.rules.TemporaryFolder;
 
 import org.springframework.boot.loader.TestJarCreator;
 import org.springframework.boot.loader.data.RandomAccessDataFile;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.util.FileCopyUtils;
 import org.springframework.util.StreamUtils;
 
@@ -54,6 +66,7 @@ import static org.mockito.Mockito.verify;
  * @author Phillip Webb
  * @author Martin Lau
  * @author Andy Wilkinson
+ * @author Edward Lee
  */
 public class JarFileTests {
 
@@ -101,6 +114,47 @@ public class JarFileTests {
 		urlClassLoader.close();
 	}
 
+	@Test
+	public void getEntryFromMultipleThreadsWithMoreEntriesThanCacheSize()
+			throws Exception {
+		File file = this.temporaryFolder.newFile();
+		int size = JarFileEntries.ENTRY_CACHE_SIZE * 8;
+		try (JarOutputStream output = new JarOutputStream(new FileOutputStream(file))) {
+			for (int i = 0; i < size; i++) {
+				output.putNextEntry(new JarEntry("entry-" + i + ".dat"));
+				output.write(i);
+				output.closeEntry();
+			}
+		}
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try (JarFile jarFile = new JarFile(file)) {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int thread = 0; thread < 4; thread++) {
+				int offset = thread;
+				futures.add(executor.submit(() -> {
+					for (int iteration = 0; iteration < 50; iteration++) {
+						for (int i = 0; i < size; i++) {
+							int index = (i + offset * 7) % size;
+							String name = "entry-" + index + ".dat";
+							assertThat(jarFile.getEntry(name).getName()).isEqualTo(name);
+						}
+					}
+					ZipEntry entry = jarFile.getEntry("entry-" + offset + ".dat");
+					try (InputStream inputStream = jarFile.getInputStream(entry)) {
+						assertThat(inputStream.read()).isEqualTo(offset);
+					}
+					return null;
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get(30, TimeUnit.SECONDS);
+			}
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
 	@Test
 	public void createFromFile() throws Exception {
 		JarFile jarFile = new JarFile(this.rootJarFile);
@@ -250,6 +304,69 @@ public class JarFileTests {
 		assertThat(stream.read()).isEqualTo(-1);
 	}
 
+	@Test
+	public void nestedJarFileReadsCentralDirectoryWhenFirstNeeded() throws Exception {
+		JarFile nestedJarFile = this.jarFile
+				.getNestedJarFile(this.jarFile.getEntry("nested.jar"));
+		assertThat(ReflectionTestUtils.getField(nestedJarFile, "entries")).isNull();
+		assertThat(nestedJarFile.getUrl().toString())
+				.isEqualTo("jar:" + this.rootJarFile.toURI() + "!/nested.jar!/");
+		assertThat(ReflectionTestUtils.getField(nestedJarFile, "entries")).isNull();
+		assertThat(nestedJarFile.getEntry("3.dat")).isNotNull();
+		assertThat(ReflectionTestUtils.getField(nestedJarFile, "entries")).isNotNull();
+		nestedJarFile.close();
+	}
+
+	@Test
+	public void getNestedJarFileWhenEntryIsNotAJarThrowsException() throws Exception {
+		assertThatIOException().isThrownBy(
+				() -> this.jarFile.getNestedJarFile(this.jarFile.getEntry("1.dat")))
+				.withMessageContaining("Unable to open nested jar file '1.dat'");
+	}
+
+	@Test
+	public void getNestedJarFileWhenCentralDirectoryIsTruncatedThrowsException()
+			throws Exception {
+		byte[] nestedJar = createNestedJar();
+		int endRecordOffset = nestedJar.length - 22;
+		int centralDirectoryOffset = readInt(nestedJar, endRecordOffset + 16);
+		int centralDirectorySize = readInt(nestedJar, endRecordOffset + 12);
+		byte[] truncated = new byte[nestedJar.length - centralDirectorySize / 2];
+		System.arraycopy(nestedJar, 0, truncated, 0,
+				centralDirectoryOffset + centralDirectorySize / 2);
+		System.arraycopy(nestedJar, endRecordOffset, truncated, truncated.length - 22,
+				22);
+		try (JarFile jarFile = new JarFile(createJarWithNestedJar(truncated))) {
+			assertThatIOException()
+					.isThrownBy(() -> jarFile
+							.getNestedJarFile(jarFile.getEntry("nested.jar")))
+					.withMessageContaining("Unable to open nested jar file");
+		}
+	}
+
+	@Test
+	public void nestedJarFileWhenCentralDirectoryIsCorruptHasNoEntries()
+			throws Exception {
+		byte[] nestedJar = createNestedJar();
+		int centralDirectoryOffset = readInt(nestedJar, nestedJar.length - 22 + 16);
+		// Make the name of the first entry run past the end of the central directory
+		nestedJar[centralDirectoryOffset + 28] = (byte) 0xFF;
+		nestedJar[centralDirectoryOffset + 29] = (byte) 0xFF;
+		try (JarFile jarFile = new JarFile(createJarWithNestedJar(nestedJar))) {
+			JarFile nestedJarFile = jarFile
+					.getNestedJarFile(jarFile.getEntry("nested.jar"));
+			assertThat(nestedJarFile.getEntry("1.dat")).isNull();
+			assertThat(nestedJarFile.getJarEntry("1.dat")).isNull();
+			assertThat(nestedJarFile.containsEntry("1.dat")).isFalse();
+			assertThat(nestedJarFile.entries().hasMoreElements()).isFalse();
+			assertThat(nestedJarFile.size()).isEqualTo(0);
+			assertThatIOException()
+					.isThrownBy(() -> nestedJarFile.getInputStream("1.dat"))
+					.withMessageContaining("Unable to read the central directory");
+			nestedJarFile.close();
+		}
+	}
+
 	@Test
 	public void getNestedJarFile() throws Exception {
 		JarFile nestedJarFile = this.jarFile
@@ -523,4 +640,37 @@ public class JarFileTests {
 		}
 	}
 
+	private byte[] createNestedJar() throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (JarOutputStream output = new JarOutputStream(bytes)) {
+			for (String name : Arrays.asList("1.dat", "2.dat")) {
+				output.putNextEntry(new JarEntry(name));
+				output.write(name.getBytes());
+				output.closeEntry();
+			}
+		}
+		return bytes.toByteArray();
+	}
+
+	private File createJarWithNestedJar(byte[] nestedJar) throws IOException {
+		File file = this.temporaryFolder.newFile();
+		try (JarOutputStream output = new JarOutputStream(new FileOutputStream(file))) {
+			JarEntry entry = new JarEntry("nested.jar");
+			entry.setMethod(ZipEntry.STORED);
+			entry.setSize(nestedJar.length);
+			CRC32 crc32 = new CRC32();
+			crc32.update(nestedJar);
+			entry.setCrc(crc32.getValue());
+			output.putNextEntry(entry);
+			output.write(nestedJar);
+			output.closeEntry();
+		}
+		return file;
+	}
+
+	private int readInt(byte[] bytes, int offset) {
+		return (bytes[offset] & 0xFF) | (bytes[offset + 1] & 0xFF) << 8
+				| (bytes[offset + 2] & 0xFF) << 16 | (bytes[offset + 3] & 0xFF) << 24;
+	}
+
 }
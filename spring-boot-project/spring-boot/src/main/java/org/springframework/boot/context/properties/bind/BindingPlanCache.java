@@ -0,0 +1,92 @@
+/*
+ * Copyright 2012-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.context.properties.bind;
+
+import java.util.Map;
+import java.util.function.Function;
+
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.ConcurrentReferenceHashMap.ReferenceType;
+
+/**
+ * Bounded cache of binding plans used by {@link BeanBinder} implementations so that a
+ * bindable type is only introspected once. Entries are softly referenced: a cached plan
+ * keeps its type, and therefore the class loader of that type, reachable until the
+ * garbage collector clears it under memory pressure or the cache is
+ * {@link #clear() cleared}. The number of entries is capped so that binding many distinct
+ * types (for example generated classes) cannot grow the cache indefinitely. A
+ * {@code null} plan (used to indicate that a type cannot be bound) is cached like any
+ * other value.
+ *
+ * @param <K> the key type
+ * @param <V> the plan type
+ * @author Edward Lee
+ */
+final class BindingPlanCache<K, V> {
+
+	private static final int DEFAULT_MAX_SIZE = 512;
+
+	private static final Object NONE = new Object();
+
+	private final Map<K, Object> plans = new ConcurrentReferenceHashMap<>(16,
+			ReferenceType.SOFT);
+
+	private final int maxSize;
+
+	BindingPlanCache() {
+		this(DEFAULT_MAX_SIZE);
+	}
+
+	BindingPlanCache(int maxSize) {
+		this.maxSize = maxSize;
+	}
+
+	/**
+	 * Return the plan for the given key, creating and caching it if necessary.
+	 * @param key the key of the plan
+	 * @param factory the factory used to create the plan if it is not cached
+	 * @return the plan or {@code null}
+	 */
+	@SuppressWarnings("unchecked")
+	public V get(K key, Function<K, V> factory) {
+		Object plan = this.plans.get(key);
+		if (plan == null) {
+			plan = factory.apply(key);
+			plan = (plan != null) ? plan : NONE;
+			if (this.plans.size() < this.maxSize) {
+				this.plans.put(key, plan);
+			}
+		}
+		return (plan != NONE) ? (V) plan : null;
+	}
+
+	/**
+	 * Return the number of cached plans.
+	 * @return the number of plans
+	 */
+	int size() {
+		return this.plans.size();
+	}
+
+	/**
+	 * Remove all cached plans.
+	 */
+	public void clear() {
+		this.plans.clear();
+	}
+
+}
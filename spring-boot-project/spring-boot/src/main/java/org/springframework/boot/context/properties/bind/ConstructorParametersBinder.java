@@ -94,6 +94,8 @@ class ConstructorParametersBinder implements BeanBinder {
 
 	private static final class Bean {
 
+		private static final BindingPlanCache<Class<?>, Bean> CACHE = new BindingPlanCache<>();
+
 		private final Constructor<?> constructor;
 
 		private final Map<String, ConstructorParameter> parameters;
@@ -109,6 +111,10 @@ class ConstructorParametersBinder implements BeanBinder {
 				return null;
 			}
 			Class<?> type = bindable.getType().resolve(Object.class);
+			return CACHE.get(type, Bean::create);
+		}
+
+		private static Bean create(Class<?> type) {
 			if (type.isEnum() || Modifier.isAbstract(type.getModifiers())) {
 				return null;
 			}
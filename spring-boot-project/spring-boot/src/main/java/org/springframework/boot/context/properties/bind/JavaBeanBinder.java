@@ -33,6 +33,8 @@ import org.springframework.boot.context.properties.source.ConfigurationPropertyS
 import org.springframework.boot.context.properties.source.ConfigurationPropertyState;
 import org.springframework.core.MethodParameter;
 import org.springframework.core.ResolvableType;
+import org.springframework.util.ObjectUtils;
+import org.springframework.util.ReflectionUtils;
 
 /**
  * {@link BeanBinder} for mutable Java Beans.
@@ -100,7 +102,7 @@ class JavaBeanBinder implements BeanBinder {
 	 */
 	private static class Bean<T> {
 
-		private static Bean<?> cached;
+		private static final BindingPlanCache<BeanKey, Bean<?>> CACHE = new BindingPlanCache<>();
 
 		private final Class<?> type;
 
@@ -112,6 +114,7 @@ class JavaBeanBinder implements BeanBinder {
 			this.resolvableType = resolvableType;
 			this.type = type;
 			putProperties(type);
+			this.properties.values().forEach(BeanProperty::resolve);
 		}
 
 		private void putProperties(Class<?> type) {
@@ -199,12 +202,8 @@ class JavaBeanBinder implements BeanBinder {
 			if (instance == null && !isInstantiable(type)) {
 				return null;
 			}
-			Bean<?> bean = Bean.cached;
-			if (bean == null || !type.equals(bean.getType())) {
-				bean = new Bean<>(bindable.getType(), type);
-				cached = bean;
-			}
-			return (Bean<T>) bean;
+			return (Bean<T>) CACHE.get(new BeanKey(bindable.getType(), type),
+					(key) -> new Bean<>(key.resolvableType, key.type));
 		}
 
 		private static boolean isInstantiable(Class<?> type) {
@@ -222,6 +221,41 @@ class JavaBeanBinder implements BeanBinder {
 
 	}
 
+	/**
+	 * Cache key for a {@link Bean}.
+	 */
+	private static final class BeanKey {
+
+		private final ResolvableType resolvableType;
+
+		private final Class<?> type;
+
+		BeanKey(ResolvableType resolvableType, Class<?> type) {
+			this.resolvableType = resolvableType;
+			this.type = type;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (obj == null || getClass() != obj.getClass()) {
+				return false;
+			}
+			BeanKey other = (BeanKey) obj;
+			return this.type.equals(other.type)
+					&& ObjectUtils.nullSafeEquals(this.resolvableType,
+							other.resolvableType);
+		}
+
+		@Override
+		public int hashCode() {
+			return this.type.hashCode();
+		}
+
+	}
+
 	private static class BeanSupplier<T> implements Supplier<T> {
 
 		private final Supplier<T> factory;
@@ -257,6 +291,10 @@ class JavaBeanBinder implements BeanBinder {
 
 		private Field field;
 
+		private ResolvableType type;
+
+		private Annotation[] annotations;
+
 		BeanProperty(String name, ResolvableType declaringClassType) {
 			this.name = BeanPropertyName.toDashedForm(name);
 			this.declaringClassType = declaringClassType;
@@ -284,7 +322,20 @@ class JavaBeanBinder implements BeanBinder {
 			return this.name;
 		}
 
+		/**
+		 * Resolve and cache the details of the property once all members have been
+		 * added so that they are not recalculated for each bind.
+		 */
+		void resolve() {
+			this.type = resolveType();
+			this.annotations = resolveAnnotations();
+		}
+
 		public ResolvableType getType() {
+			return this.type;
+		}
+
+		private ResolvableType resolveType() {
 			if (this.setter != null) {
 				MethodParameter methodParameter = new MethodParameter(this.setter, 0);
 				return ResolvableType.forMethodParameter(methodParameter,
@@ -296,6 +347,10 @@ class JavaBeanBinder implements BeanBinder {
 		}
 
 		public Annotation[] getAnnotations() {
+			return this.annotations;
+		}
+
+		private Annotation[] resolveAnnotations() {
 			try {
 				return (this.field != null) ? this.field.getDeclaredAnnotations() : null;
 			}
@@ -310,7 +365,7 @@ class JavaBeanBinder implements BeanBinder {
 			}
 			return () -> {
 				try {
-					this.getter.setAccessible(true);
+					ReflectionUtils.makeAccessible(this.getter);
 					return this.getter.invoke(instance.get());
 				}
 				catch (Exception ex) {
@@ -326,7 +381,7 @@ class JavaBeanBinder implements BeanBinder {
 
 		public void setValue(Supplier<?> instance, Object value) {
 			try {
-				this.setter.setAccessible(true);
+				ReflectionUtils.makeAccessible(this.setter);
 				this.setter.invoke(instance.get(), value);
 			}
 			catch (Exception ex) {
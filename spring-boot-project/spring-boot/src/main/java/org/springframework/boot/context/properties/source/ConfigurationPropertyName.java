@@ -60,12 +60,14 @@ public final class ConfigurationPropertyName
 	public static final ConfigurationPropertyName EMPTY = new ConfigurationPropertyName(
 			Elements.EMPTY);
 
-	private Elements elements;
+	private final Elements elements;
 
 	private final CharSequence[] uniformElements;
 
 	private String string;
 
+	private int hashCode;
+
 	private ConfigurationPropertyName(Elements elements) {
 		this.elements = elements;
 		this.uniformElements = new CharSequence[elements.getSize()];
@@ -253,44 +255,78 @@ public final class ConfigurationPropertyName
 	private int compare(ConfigurationPropertyName n1, ConfigurationPropertyName n2) {
 		int l1 = n1.getNumberOfElements();
 		int l2 = n2.getNumberOfElements();
-		int i1 = 0;
-		int i2 = 0;
-		while (i1 < l1 || i2 < l2) {
-			try {
-				ElementType type1 = (i1 < l1) ? n1.elements.getType(i1) : null;
-				ElementType type2 = (i2 < l2) ? n2.elements.getType(i2) : null;
-				String e1 = (i1 < l1) ? n1.getElement(i1++, Form.UNIFORM) : null;
-				String e2 = (i2 < l2) ? n2.getElement(i2++, Form.UNIFORM) : null;
-				int result = compare(e1, type1, e2, type2);
-				if (result != 0) {
-					return result;
-				}
+		for (int i = 0; i < l1 || i < l2; i++) {
+			if (i >= l1) {
+				return -1;
+			}
+			if (i >= l2) {
+				return 1;
 			}
-			catch (ArrayIndexOutOfBoundsException ex) {
-				throw new RuntimeException(ex);
+			int result = compare(n1, n2, i);
+			if (result != 0) {
+				return result;
 			}
 		}
 		return 0;
 	}
 
-	private int compare(String e1, ElementType type1, String e2, ElementType type2) {
-		if (e1 == null) {
-			return -1;
-		}
-		if (e2 == null) {
-			return 1;
-		}
+	private int compare(ConfigurationPropertyName n1, ConfigurationPropertyName n2,
+			int i) {
+		ElementType type1 = n1.elements.getType(i);
+		ElementType type2 = n2.elements.getType(i);
 		int result = Boolean.compare(type2.isIndexed(), type1.isIndexed());
 		if (result != 0) {
 			return result;
 		}
 		if (type1 == ElementType.NUMERICALLY_INDEXED
 				&& type2 == ElementType.NUMERICALLY_INDEXED) {
-			long v1 = Long.parseLong(e1);
-			long v2 = Long.parseLong(e2);
+			long v1 = Long.parseLong(n1.getElement(i, Form.UNIFORM));
+			long v2 = Long.parseLong(n2.getElement(i, Form.UNIFORM));
 			return Long.compare(v1, v2);
 		}
-		return e1.compareTo(e2);
+		return compareUniform(n1.elements, n2.elements, i, type1.isIndexed());
+	}
+
+	/**
+	 * Compare the {@link Form#UNIFORM uniform} form of two elements one char at a time
+	 * so that no intermediate strings need to be created.
+	 * @param e1 the first elements
+	 * @param e2 the second elements
+	 * @param i the element index
+	 * @param indexed if the elements are indexed
+	 * @return the comparison result
+	 */
+	private int compareUniform(Elements e1, Elements e2, int i, boolean indexed) {
+		int l1 = e1.getLength(i);
+		int l2 = e2.getLength(i);
+		int i1 = 0;
+		int i2 = 0;
+		while (true) {
+			while (i1 < l1 && !isUniformChar(e1.charAt(i, i1), indexed)) {
+				i1++;
+			}
+			while (i2 < l2 && !isUniformChar(e2.charAt(i, i2), indexed)) {
+				i2++;
+			}
+			if (i1 >= l1 || i2 >= l2) {
+				return Boolean.compare(i1 < l1, i2 < l2);
+			}
+			char ch1 = e1.charAt(i, i1);
+			char ch2 = e2.charAt(i, i2);
+			if (!indexed) {
+				ch1 = Character.toLowerCase(ch1);
+				ch2 = Character.toLowerCase(ch2);
+			}
+			if (ch1 != ch2) {
+				return ch1 - ch2;
+			}
+			i1++;
+			i2++;
+		}
+	}
+
+	private boolean isUniformChar(char ch, boolean indexed) {
+		return indexed || ElementsParser.isAlphaNumeric(Character.toLowerCase(ch));
 	}
 
 	@Override
@@ -305,6 +341,10 @@ public final class ConfigurationPropertyName
 		if (getNumberOfElements() != other.getNumberOfElements()) {
 			return false;
 		}
+		if (this.hashCode != 0 && other.hashCode != 0
+				&& this.hashCode != other.hashCode) {
+			return false;
+		}
 		if (this.elements.canShortcutWithSource(ElementType.UNIFORM)
 				&& other.elements.canShortcutWithSource(ElementType.UNIFORM)) {
 			return toString().equals(other.toString());
@@ -357,7 +397,32 @@ public final class ConfigurationPropertyName
 
 	@Override
 	public int hashCode() {
-		return 0;
+		int hashCode = this.hashCode;
+		Elements elements = this.elements;
+		if (hashCode == 0 && elements.getSize() != 0) {
+			for (int elementIndex = 0; elementIndex < elements.getSize(); elementIndex++) {
+				hashCode = 31 * hashCode + elementHashCode(elements, elementIndex);
+			}
+			this.hashCode = hashCode;
+		}
+		return hashCode;
+	}
+
+	private int elementHashCode(Elements elements, int elementIndex) {
+		int hashCode = 0;
+		boolean indexed = elements.getType(elementIndex).isIndexed();
+		int length = elements.getLength(elementIndex);
+		for (int i = 0; i < length; i++) {
+			char ch = elements.charAt(elementIndex, i);
+			if (!indexed) {
+				ch = Character.toLowerCase(ch);
+				if (!ElementsParser.isAlphaNumeric(ch)) {
+					continue;
+				}
+			}
+			hashCode = 31 * hashCode + ch;
+		}
+		return hashCode;
 	}
 
 	@Override
@@ -421,8 +486,15 @@ public final class ConfigurationPropertyName
 	 * {@code returnNullIfInvalid} is {@code false}
 	 */
 	static ConfigurationPropertyName of(CharSequence name, boolean returnNullIfInvalid) {
+		ConfigurationPropertyName cached = NameCache.get(name);
+		if (cached != null) {
+			return cached;
+		}
 		Elements elements = elementsOf(name, returnNullIfInvalid);
-		return (elements != null) ? new ConfigurationPropertyName(elements) : null;
+		if (elements == null) {
+			return null;
+		}
+		return NameCache.put(name, new ConfigurationPropertyName(elements));
 	}
 
 	private static Elements probablySingleElementOf(CharSequence name) {
@@ -511,6 +583,60 @@ public final class ConfigurationPropertyName
 		return new ConfigurationPropertyName(elements);
 	}
 
+	/**
+	 * Bounded cache used to share {@link ConfigurationPropertyName} instances that are
+	 * created from the same {@link String}. The cache is a fixed size array indexed by
+	 * hash code so it never grows and needs no locking. Colliding names simply replace
+	 * each other.
+	 */
+	private static final class NameCache {
+
+		private static final int SIZE = 1024;
+
+		private static final Entry[] ENTRIES = new Entry[SIZE];
+
+		private NameCache() {
+		}
+
+		static ConfigurationPropertyName get(CharSequence source) {
+			if (!(source instanceof String)) {
+				return null;
+			}
+			Entry entry = ENTRIES[indexOf((String) source)];
+			return (entry != null && entry.source.equals(source)) ? entry.name : null;
+		}
+
+		static ConfigurationPropertyName put(CharSequence source,
+				ConfigurationPropertyName name) {
+			if (source instanceof String) {
+				ENTRIES[indexOf((String) source)] = new Entry((String) source, name);
+			}
+			return name;
+		}
+
+		private static int indexOf(String source) {
+			int hash = source.hashCode();
+			return (hash ^ (hash >>> 16)) & (SIZE - 1);
+		}
+
+		/**
+		 * An immutable cache entry.
+		 */
+		private static final class Entry {
+
+			private final String source;
+
+			private final ConfigurationPropertyName name;
+
+			Entry(String source, ConfigurationPropertyName name) {
+				this.source = source;
+				this.name = name;
+			}
+
+		}
+
+	}
+
 	/**
 	 * The various forms that a non-indexed element value can take.
 	 */
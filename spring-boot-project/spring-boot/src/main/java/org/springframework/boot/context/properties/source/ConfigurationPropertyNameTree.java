@@ -0,0 +1,141 @@
+/*
+ * Copyright 2012-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.context.properties.source;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.source.ConfigurationPropertyName.Form;
+
+/**
+ * Prefix tree of {@link ConfigurationPropertyName names} keyed on the
+ * {@link Form#UNIFORM uniform} form of each element. Allows descendant queries to be
+ * answered by walking the elements of the requested name rather than by scanning
+ * every name. Instances are immutable once built.
+ *
+ * @author Edward Lee
+ * @see SpringIterableConfigurationPropertySource
+ */
+final class ConfigurationPropertyNameTree {
+
+	private final Node root = new Node();
+
+	/**
+	 * Create a new {@link ConfigurationPropertyNameTree} containing the given names.
+	 * @param names the names to add
+	 */
+	ConfigurationPropertyNameTree(Iterable<ConfigurationPropertyName> names) {
+		for (ConfigurationPropertyName name : names) {
+			add(name);
+		}
+	}
+
+	private void add(ConfigurationPropertyName name) {
+		Node node = this.root;
+		int size = name.getNumberOfElements();
+		for (int i = 0; i < size; i++) {
+			node = node.getOrAddChild(name.getElement(i, Form.UNIFORM));
+		}
+		node.addName(name);
+	}
+
+	/**
+	 * Returns {@code true} if the tree contains at least one name that is a descendant
+	 * of the given name.
+	 * @param name the ancestor name
+	 * @return if a descendant is contained
+	 * @see ConfigurationPropertyName#isAncestorOf(ConfigurationPropertyName)
+	 */
+	public boolean containsDescendantOf(ConfigurationPropertyName name) {
+		Node node = find(name);
+		return (node != null && node.hasChildren());
+	}
+
+	/**
+	 * Return all added names that are descendants of the given name.
+	 * @param name the ancestor name
+	 * @return the descendant names (never {@code null})
+	 */
+	public List<ConfigurationPropertyName> getDescendants(ConfigurationPropertyName name) {
+		Node node = find(name);
+		if (node == null || !node.hasChildren()) {
+			return Collections.emptyList();
+		}
+		List<ConfigurationPropertyName> descendants = new ArrayList<>();
+		for (Node child : node.children.values()) {
+			child.collectNames(descendants);
+		}
+		return descendants;
+	}
+
+	private Node find(ConfigurationPropertyName name) {
+		Node node = this.root;
+		int size = name.getNumberOfElements();
+		for (int i = 0; i < size && node != null; i++) {
+			node = node.getChild(name.getElement(i, Form.UNIFORM));
+		}
+		return node;
+	}
+
+	/**
+	 * A single node in the tree.
+	 */
+	private static class Node {
+
+		private Map<String, Node> children;
+
+		private List<ConfigurationPropertyName> names;
+
+		Node getOrAddChild(String element) {
+			if (this.children == null) {
+				this.children = new LinkedHashMap<>(4);
+			}
+			return this.children.computeIfAbsent(element, (key) -> new Node());
+		}
+
+		Node getChild(String element) {
+			return (this.children != null) ? this.children.get(element) : null;
+		}
+
+		boolean hasChildren() {
+			return this.children != null;
+		}
+
+		void addName(ConfigurationPropertyName name) {
+			if (this.names == null) {
+				this.names = new ArrayList<>(1);
+			}
+			this.names.add(name);
+		}
+
+		void collectNames(List<ConfigurationPropertyName> result) {
+			if (this.names != null) {
+				result.addAll(this.names);
+			}
+			if (this.children != null) {
+				for (Node child : this.children.values()) {
+					child.collectNames(result);
+				}
+			}
+		}
+
+	}
+
+}
@@ -48,6 +48,12 @@ class FilteredIterableConfigurationPropertiesSource
 	@Override
 	public ConfigurationPropertyState containsDescendantOf(
 			ConfigurationPropertyName name) {
+		if (getSource() instanceof SpringIterableConfigurationPropertySource) {
+			ConfigurationPropertyNameTree tree = ((SpringIterableConfigurationPropertySource) getSource())
+					.getConfigurationPropertyNameTree();
+			return ConfigurationPropertyState.search(tree.getDescendants(name),
+					getFilter());
+		}
 		return ConfigurationPropertyState.search(this, name::isAncestorOf);
 	}
 
@@ -18,9 +18,11 @@ package org.springframework.boot.context.properties.source;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Stream;
 
@@ -44,6 +46,8 @@ import org.springframework.util.ObjectUtils;
 class SpringIterableConfigurationPropertySource extends SpringConfigurationPropertySource
 		implements IterableConfigurationPropertySource {
 
+	private static final PropertyMapping[] NO_MAPPINGS = {};
+
 	private volatile Object cacheKey;
 
 	private volatile Cache cache;
@@ -72,7 +76,7 @@ class SpringIterableConfigurationPropertySource extends SpringConfigurationPrope
 		ConfigurationProperty configurationProperty = super.getConfigurationProperty(
 				name);
 		if (configurationProperty == null) {
-			configurationProperty = find(getPropertyMappings(getCache()), name);
+			configurationProperty = find(getPropertyMappings(getCache(), name), name);
 		}
 		return configurationProperty;
 	}
@@ -90,11 +94,33 @@ class SpringIterableConfigurationPropertySource extends SpringConfigurationPrope
 	@Override
 	public ConfigurationPropertyState containsDescendantOf(
 			ConfigurationPropertyName name) {
-		return ConfigurationPropertyState.search(this, name::isAncestorOf);
+		return getConfigurationPropertyNameTree().containsDescendantOf(name)
+				? ConfigurationPropertyState.PRESENT : ConfigurationPropertyState.ABSENT;
 	}
 
-	private List<ConfigurationPropertyName> getConfigurationPropertyNames() {
+	/**
+	 * Return a {@link ConfigurationPropertyNameTree} of the names in this source. The
+	 * tree is cached until the underlying property source changes.
+	 * @return the name tree
+	 */
+	ConfigurationPropertyNameTree getConfigurationPropertyNameTree() {
 		Cache cache = getCache();
+		ConfigurationPropertyNameTree tree = (cache != null) ? cache.getTree() : null;
+		if (tree != null) {
+			return tree;
+		}
+		tree = new ConfigurationPropertyNameTree(getConfigurationPropertyNames(cache));
+		if (cache != null) {
+			cache.setTree(tree);
+		}
+		return tree;
+	}
+
+	private List<ConfigurationPropertyName> getConfigurationPropertyNames() {
+		return getConfigurationPropertyNames(getCache());
+	}
+
+	private List<ConfigurationPropertyName> getConfigurationPropertyNames(Cache cache) {
 		List<ConfigurationPropertyName> names = (cache != null) ? cache.getNames() : null;
 		if (names != null) {
 			return names;
@@ -111,6 +137,40 @@ class SpringIterableConfigurationPropertySource extends SpringConfigurationPrope
 		return names;
 	}
 
+	private PropertyMapping[] getPropertyMappings(Cache cache,
+			ConfigurationPropertyName name) {
+		Map<ConfigurationPropertyName, PropertyMapping[]> index = (cache != null)
+				? cache.getIndex() : null;
+		if (index == null) {
+			index = buildIndex(getPropertyMappings(cache));
+			if (cache != null) {
+				cache.setIndex(index);
+			}
+		}
+		PropertyMapping[] mappings = index.get(name);
+		return (mappings != null) ? mappings : NO_MAPPINGS;
+	}
+
+	private Map<ConfigurationPropertyName, PropertyMapping[]> buildIndex(
+			PropertyMapping[] mappings) {
+		Map<ConfigurationPropertyName, PropertyMapping[]> index = new HashMap<>(
+				(int) (mappings.length / 0.75f) + 1);
+		for (PropertyMapping mapping : mappings) {
+			index.merge(mapping.getConfigurationPropertyName(),
+					new PropertyMapping[] { mapping }, this::append);
+		}
+		return index;
+	}
+
+	private PropertyMapping[] append(PropertyMapping[] existing,
+			PropertyMapping[] additional) {
+		PropertyMapping[] merged = new PropertyMapping[existing.length
+				+ additional.length];
+		System.arraycopy(existing, 0, merged, 0, existing.length);
+		System.arraycopy(additional, 0, merged, existing.length, additional.length);
+		return merged;
+	}
+
 	private PropertyMapping[] getPropertyMappings(Cache cache) {
 		PropertyMapping[] result = (cache != null) ? cache.getMappings() : null;
 		if (result != null) {
@@ -151,6 +211,10 @@ class SpringIterableConfigurationPropertySource extends SpringConfigurationPrope
 
 		private PropertyMapping[] mappings;
 
+		private Map<ConfigurationPropertyName, PropertyMapping[]> index;
+
+		private ConfigurationPropertyNameTree tree;
+
 		public List<ConfigurationPropertyName> getNames() {
 			return this.names;
 		}
@@ -167,6 +231,22 @@ class SpringIterableConfigurationPropertySource extends SpringConfigurationPrope
 			this.mappings = mappings;
 		}
 
+		public Map<ConfigurationPropertyName, PropertyMapping[]> getIndex() {
+			return this.index;
+		}
+
+		public void setIndex(Map<ConfigurationPropertyName, PropertyMapping[]> index) {
+			this.index = index;
+		}
+
+		public ConfigurationPropertyNameTree getTree() {
+			return this.tree;
+		}
+
+		public void setTree(ConfigurationPropertyNameTree tree) {
+			this.tree = tree;
+		}
+
 	}
 
 	private static final class CacheKey {
@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2017 the original author or authors.
+ * Copyright 2012-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -24,6 +24,7 @@ import org.apache.commons.dbcp2.BasicDataSource;
  * {@link DataSourcePoolMetadata} for an Apache Commons DBCP2 {@link DataSource}.
  *
  * @author Stephane Nicoll
+ * @author Edward Lee
  * @since 2.0.0
  */
 public class CommonsDbcp2DataSourcePoolMetadata
@@ -38,6 +39,11 @@ public class CommonsDbcp2DataSourcePoolMetadata
 		return getDataSource().getNumActive();
 	}
 
+	@Override
+	public Integer getIdle() {
+		return getDataSource().getNumIdle();
+	}
+
 	@Override
 	public Integer getMax() {
 		return getDataSource().getMaxTotal();
@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2017 the original author or authors.
+ * Copyright 2012-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -23,6 +23,7 @@ import javax.sql.DataSource;
  * {@link DataSource} implementations.
  *
  * @author Stephane Nicoll
+ * @author Edward Lee
  * @since 2.0.0
  */
 public interface DataSourcePoolMetadata {
@@ -49,6 +50,26 @@ public interface DataSourcePoolMetadata {
 	 */
 	Integer getActive();
 
+	/**
+	 * Return the current number of idle connections in the pool or {@code null} if that
+	 * information is not available.
+	 * @return the number of idle connections or {@code null}
+	 * @since 2.2.0
+	 */
+	default Integer getIdle() {
+		return null;
+	}
+
+	/**
+	 * Return the current number of threads waiting for a connection to be available in
+	 * the pool or {@code null} if that information is not available.
+	 * @return the number of pending connection requests or {@code null}
+	 * @since 2.2.0
+	 */
+	default Integer getPending() {
+		return null;
+	}
+
 	/**
 	 * Return the maximum number of active connections that can be allocated at the same
 	 * time or {@code -1} if there is no limit. Can also return {@code null} if that
@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2017 the original author or authors.
+ * Copyright 2012-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -27,6 +27,7 @@ import org.springframework.beans.DirectFieldAccessor;
  * {@link DataSourcePoolMetadata} for a Hikari {@link DataSource}.
  *
  * @author Stephane Nicoll
+ * @author Edward Lee
  * @since 2.0.0
  */
 public class HikariDataSourcePoolMetadata
@@ -46,6 +47,26 @@ public class HikariDataSourcePoolMetadata
 		}
 	}
 
+	@Override
+	public Integer getIdle() {
+		try {
+			return getHikariPool().getIdleConnections();
+		}
+		catch (Exception ex) {
+			return null;
+		}
+	}
+
+	@Override
+	public Integer getPending() {
+		try {
+			return getHikariPool().getThreadsAwaitingConnection();
+		}
+		catch (Exception ex) {
+			return null;
+		}
+	}
+
 	private HikariPool getHikariPool() {
 		return (HikariPool) new DirectFieldAccessor(getDataSource())
 				.getPropertyValue("pool");
@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2018 the original author or authors.
+ * Copyright 2012-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -23,6 +23,7 @@ import org.apache.tomcat.jdbc.pool.DataSource;
  * {@link DataSourcePoolMetadata} for a Tomcat DataSource.
  *
  * @author Stephane Nicoll
+ * @author Edward Lee
  * @since 2.0.0
  */
 public class TomcatDataSourcePoolMetadata
@@ -38,6 +39,18 @@ public class TomcatDataSourcePoolMetadata
 		return (pool != null) ? pool.getActive() : 0;
 	}
 
+	@Override
+	public Integer getIdle() {
+		ConnectionPool pool = getDataSource().getPool();
+		return (pool != null) ? pool.getIdle() : 0;
+	}
+
+	@Override
+	public Integer getPending() {
+		ConnectionPool pool = getDataSource().getPool();
+		return (pool != null) ? pool.getWaitCount() : 0;
+	}
+
 	@Override
 	public Integer getMax() {
 		return getDataSource().getMaxActive();
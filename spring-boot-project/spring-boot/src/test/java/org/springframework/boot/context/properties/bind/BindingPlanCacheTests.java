@@ -0,0 +1,79 @@
+/*
+ * Copyright 2012-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.context.properties.bind;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link BindingPlanCache}.
+ *
+ * @author Edward Lee
+ */
+public class BindingPlanCacheTests {
+
+	private final AtomicInteger created = new AtomicInteger();
+
+	@Test
+	public void getShouldCreatePlanOnce() {
+		BindingPlanCache<String, String> cache = new BindingPlanCache<>();
+		assertThat(cache.get("foo", this::create)).isEqualTo("FOO");
+		assertThat(cache.get("foo", this::create)).isEqualTo("FOO");
+		assertThat(this.created).hasValue(1);
+	}
+
+	@Test
+	public void getWhenPlanIsNullShouldCacheNull() {
+		BindingPlanCache<String, String> cache = new BindingPlanCache<>();
+		assertThat(cache.get("foo", this::createNull)).isNull();
+		assertThat(cache.get("foo", this::create)).isNull();
+		assertThat(this.created).hasValue(1);
+	}
+
+	@Test
+	public void getWhenFullShouldNotCache() {
+		BindingPlanCache<String, String> cache = new BindingPlanCache<>(1);
+		cache.get("foo", this::create);
+		assertThat(cache.get("bar", this::create)).isEqualTo("BAR");
+		assertThat(cache.get("bar", this::create)).isEqualTo("BAR");
+		assertThat(cache.size()).isEqualTo(1);
+		assertThat(this.created).hasValue(3);
+	}
+
+	@Test
+	public void clearShouldRemovePlans() {
+		BindingPlanCache<String, String> cache = new BindingPlanCache<>();
+		cache.get("foo", this::create);
+		cache.clear();
+		cache.get("foo", this::create);
+		assertThat(this.created).hasValue(2);
+	}
+
+	private String create(String key) {
+		this.created.incrementAndGet();
+		return key.toUpperCase();
+	}
+
+	private String createNull(String key) {
+		this.created.incrementAndGet();
+		return null;
+	}
+
+}
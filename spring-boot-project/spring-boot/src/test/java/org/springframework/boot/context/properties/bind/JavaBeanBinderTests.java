@@ -33,6 +33,7 @@ import org.springframework.boot.context.properties.source.ConfigurationPropertyN
 import org.springframework.boot.context.properties.source.ConfigurationPropertySource;
 import org.springframework.boot.context.properties.source.MockConfigurationPropertySource;
 import org.springframework.boot.convert.Delimiter;
+import org.springframework.core.ResolvableType;
 import org.springframework.format.annotation.DateTimeFormat;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -494,6 +495,37 @@ public class JavaBeanBinderTests {
 		assertThat(bean.getCounter()).isEqualTo(42);
 	}
 
+	@Test
+	public void bindToGenericClassShouldResolvePlanPerGenericType() {
+		MockConfigurationPropertySource source = new MockConfigurationPropertySource();
+		source.put("foo.value", "42");
+		this.sources.add(source);
+		ExampleGenericBean<String> stringBean = this.binder
+				.bind("foo", Bindable.<ExampleGenericBean<String>>of(ResolvableType
+						.forClassWithGenerics(ExampleGenericBean.class, String.class)))
+				.get();
+		ExampleGenericBean<Integer> integerBean = this.binder
+				.bind("foo", Bindable.<ExampleGenericBean<Integer>>of(ResolvableType
+						.forClassWithGenerics(ExampleGenericBean.class, Integer.class)))
+				.get();
+		assertThat((Object) stringBean.getValue()).isEqualTo("42");
+		assertThat((Object) integerBean.getValue()).isEqualTo(42);
+	}
+
+	@Test
+	public void bindToClassMultipleTimesShouldBindEachTime() {
+		MockConfigurationPropertySource source = new MockConfigurationPropertySource();
+		source.put("foo.int-value", "12");
+		this.sources.add(source);
+		ExampleValueBean first = this.binder
+				.bind("foo", Bindable.of(ExampleValueBean.class)).get();
+		source.put("foo.int-value", "34");
+		ExampleValueBean second = this.binder
+				.bind("foo", Bindable.of(ExampleValueBean.class)).get();
+		assertThat(first.getIntValue()).isEqualTo(12);
+		assertThat(second.getIntValue()).isEqualTo(34);
+	}
+
 	public static class ExampleValueBean {
 
 		private int intValue;
@@ -914,4 +946,18 @@ public class JavaBeanBinderTests {
 
 	}
 
+	public static class ExampleGenericBean<T> {
+
+		private T value;
+
+		public T getValue() {
+			return this.value;
+		}
+
+		public void setValue(T value) {
+			this.value = value;
+		}
+
+	}
+
 }
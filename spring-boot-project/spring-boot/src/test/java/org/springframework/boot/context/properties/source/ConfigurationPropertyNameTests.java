@@ -545,6 +545,42 @@ public class ConfigurationPropertyNameTests {
 		assertThat(name.compareTo(other)).isLessThan(0);
 	}
 
+	@Test
+	public void compareShouldUseUniformForm() {
+		ConfigurationPropertyName name = ConfigurationPropertyName.of("foo.b-ar");
+		ConfigurationPropertyName adapted = ConfigurationPropertyName.adapt("FOO.BAR",
+				'.');
+		ConfigurationPropertyName longer = ConfigurationPropertyName.adapt("foo.Ba_r_z",
+				'.');
+		assertThat(name.compareTo(adapted)).isZero();
+		assertThat(adapted.compareTo(name)).isZero();
+		assertThat(name.compareTo(longer)).isLessThan(0);
+		assertThat(longer.compareTo(adapted)).isGreaterThan(0);
+	}
+
+	@Test
+	public void compareWhenIndexedShouldBeCaseSensitive() {
+		ConfigurationPropertyName upper = ConfigurationPropertyName.of("foo[BAR]");
+		ConfigurationPropertyName lower = ConfigurationPropertyName.of("foo[bar]");
+		assertThat(upper.compareTo(lower)).isLessThan(0);
+		assertThat(lower.compareTo(upper)).isGreaterThan(0);
+	}
+
+	@Test
+	public void ofWhenSameStringShouldReturnSameInstance() {
+		String source = "foo.bar-baz";
+		ConfigurationPropertyName name = ConfigurationPropertyName.of(source);
+		assertThat(ConfigurationPropertyName.of(new String(source))).isSameAs(name);
+	}
+
+	@Test
+	public void ofWhenStringBuilderShouldNotReturnSameInstance() {
+		StringBuilder source = new StringBuilder("foo.bar-baz");
+		ConfigurationPropertyName name = ConfigurationPropertyName.of(source);
+		assertThat(ConfigurationPropertyName.of(source)).isNotSameAs(name)
+				.isEqualTo(name);
+	}
+
 	@Test
 	public void toStringShouldBeLowerCaseDashed() {
 		ConfigurationPropertyName name = ConfigurationPropertyName.adapt("fOO.b_-a-r",
@@ -595,6 +631,26 @@ public class ConfigurationPropertyNameTests {
 		assertThat((Object) n14).isNotEqualTo(n15);
 	}
 
+	@Test
+	public void hashCodeWhenEqualAdaptedNamesShouldBeEqual() {
+		ConfigurationPropertyName n1 = ConfigurationPropertyName.of("foo.bar-baz[0]");
+		ConfigurationPropertyName n2 = ConfigurationPropertyName.adapt("FOO_BARBAZ_0",
+				'_');
+		ConfigurationPropertyName n3 = ConfigurationPropertyName.of("foo")
+				.append("barbaz").append("[0]");
+		assertThat((Object) n1).isEqualTo(n2).isEqualTo(n3);
+		assertThat(n1.hashCode()).isEqualTo(n2.hashCode()).isEqualTo(n3.hashCode());
+	}
+
+	@Test
+	public void hashCodeWhenNotEqualShouldDiffer() {
+		ConfigurationPropertyName n1 = ConfigurationPropertyName.of("foo.bar");
+		ConfigurationPropertyName n2 = ConfigurationPropertyName.of("foo.baz");
+		ConfigurationPropertyName n3 = ConfigurationPropertyName.of("foo[BAR]");
+		assertThat(n1.hashCode()).isNotEqualTo(n2.hashCode());
+		assertThat(n1.hashCode()).isNotEqualTo(n3.hashCode());
+	}
+
 	@Test
 	public void equalsWhenStartsWith() {
 		// gh-14665
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2012-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.context.properties.source;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ConfigurationPropertyNameTree}.
+ *
+ * @author Edward Lee
+ */
+public class ConfigurationPropertyNameTreeTests {
+
+	@Test
+	public void containsDescendantOfWhenHasDescendantShouldReturnTrue() {
+		ConfigurationPropertyNameTree tree = createTree("foo.bar.baz", "faf");
+		assertThat(tree.containsDescendantOf(name(""))).isTrue();
+		assertThat(tree.containsDescendantOf(name("foo"))).isTrue();
+		assertThat(tree.containsDescendantOf(name("foo.bar"))).isTrue();
+	}
+
+	@Test
+	public void containsDescendantOfWhenNoDescendantShouldReturnFalse() {
+		ConfigurationPropertyNameTree tree = createTree("foo.bar.baz", "faf");
+		assertThat(tree.containsDescendantOf(name("foo.bar.baz"))).isFalse();
+		assertThat(tree.containsDescendantOf(name("faf"))).isFalse();
+		assertThat(tree.containsDescendantOf(name("fof"))).isFalse();
+		assertThat(tree.containsDescendantOf(name("foo.baz"))).isFalse();
+	}
+
+	@Test
+	public void containsDescendantOfShouldUseUniformElements() {
+		ConfigurationPropertyNameTree tree = createTree("foo-bar[baz].bin");
+		assertThat(tree.containsDescendantOf(name("foobar"))).isTrue();
+		assertThat(tree.containsDescendantOf(name("foo-bar.baz"))).isTrue();
+		assertThat(tree.containsDescendantOf(
+				ConfigurationPropertyName.adapt("FOO_BAR", '.'))).isTrue();
+		assertThat(tree.containsDescendantOf(name("foo-bar[BAZ]"))).isFalse();
+	}
+
+	@Test
+	public void getDescendantsShouldReturnAddedNames() {
+		ConfigurationPropertyNameTree tree = createTree("foo.bar.baz", "foo.bar",
+				"foo[0]", "faf");
+		assertThat(tree.getDescendants(name("foo"))).extracting(Object::toString)
+				.containsExactly("foo.bar", "foo.bar.baz", "foo[0]");
+		assertThat(tree.getDescendants(name("foo.bar"))).extracting(Object::toString)
+				.containsExactly("foo.bar.baz");
+		assertThat(tree.getDescendants(name("faf"))).isEmpty();
+	}
+
+	private ConfigurationPropertyNameTree createTree(String... names) {
+		return new ConfigurationPropertyNameTree(Arrays.stream(names)
+				.map(ConfigurationPropertyName::of).collect(Collectors.toList()));
+	}
+
+	private ConfigurationPropertyName name(String name) {
+		return ConfigurationPropertyName.of(name);
+	}
+
+}
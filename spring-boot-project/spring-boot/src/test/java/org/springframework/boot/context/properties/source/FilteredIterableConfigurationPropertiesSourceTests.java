@@ -16,8 +16,13 @@
 
 package org.springframework.boot.context.properties.source;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 import org.junit.Test;
 
+import org.springframework.core.env.MapPropertySource;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 /**
@@ -57,6 +62,23 @@ public class FilteredIterableConfigurationPropertiesSourceTests
 				.isEqualTo(ConfigurationPropertyState.ABSENT);
 	}
 
+	@Test
+	public void containsDescendantOfWhenSpringIterableSourceShouldUseContents() {
+		Map<String, Object> map = new LinkedHashMap<>();
+		map.put("foo.bar.baz", "1");
+		map.put("foo.bar[0]", "1");
+		map.put("faf.bar[0]", "1");
+		SpringIterableConfigurationPropertySource source = new SpringIterableConfigurationPropertySource(
+				new MapPropertySource("test", map), DefaultPropertyMapper.INSTANCE);
+		IterableConfigurationPropertySource filtered = source.filter(this::noBrackets);
+		assertThat(filtered.containsDescendantOf(ConfigurationPropertyName.of("foo")))
+				.isEqualTo(ConfigurationPropertyState.PRESENT);
+		assertThat(filtered.containsDescendantOf(ConfigurationPropertyName.of("faf")))
+				.isEqualTo(ConfigurationPropertyState.ABSENT);
+		assertThat(filtered.containsDescendantOf(ConfigurationPropertyName.of("fof")))
+				.isEqualTo(ConfigurationPropertyState.ABSENT);
+	}
+
 	private boolean noBrackets(ConfigurationPropertyName name) {
 		return !name.toString().contains("[");
 	}
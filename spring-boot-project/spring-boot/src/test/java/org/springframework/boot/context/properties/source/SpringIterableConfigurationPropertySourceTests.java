@@ -108,6 +108,24 @@ public class SpringIterableConfigurationPropertySourceTests {
 		assertThat(adapter.getConfigurationProperty(name).getValue()).isEqualTo("value2");
 	}
 
+	@Test
+	public void getValueWhenMultipleMappingsShouldUseFirstPresent() {
+		Map<String, Object> source = new LinkedHashMap<>();
+		source.put("key1", null);
+		source.put("key2", "value2");
+		source.put("key3", "value3");
+		EnumerablePropertySource<?> propertySource = new MapPropertySource("test",
+				source);
+		TestPropertyMapper mapper = new TestPropertyMapper();
+		mapper.addFromPropertySource("key1", "my.key");
+		mapper.addFromPropertySource("key2", "my.k-e-y");
+		mapper.addFromPropertySource("key3", "my.key");
+		SpringIterableConfigurationPropertySource adapter = new SpringIterableConfigurationPropertySource(
+				propertySource, mapper);
+		ConfigurationPropertyName name = ConfigurationPropertyName.of("my.key");
+		assertThat(adapter.getConfigurationProperty(name).getValue()).isEqualTo("value2");
+	}
+
 	@Test
 	public void getValueOrigin() {
 		Map<String, Object> source = new LinkedHashMap<>();
@@ -169,6 +187,23 @@ public class SpringIterableConfigurationPropertySourceTests {
 		assertThat(adapter.stream().count()).isEqualTo(3);
 	}
 
+	@Test
+	public void propertySourceKeyDataChangeInvalidatesIndex() {
+		Map<String, Object> map = new LinkedHashMap<>();
+		map.put("key1", "value1");
+		EnumerablePropertySource<?> source = new MapPropertySource("test", map);
+		TestPropertyMapper mapper = new TestPropertyMapper();
+		mapper.addFromPropertySource("key1", "my.key1");
+		mapper.addFromPropertySource("key2", "my.key2");
+		SpringIterableConfigurationPropertySource adapter = new SpringIterableConfigurationPropertySource(
+				source, mapper);
+		ConfigurationPropertyName name = ConfigurationPropertyName.of("my.key2");
+		assertThat(adapter.getConfigurationProperty(name)).isNull();
+		map.put("key2", "value2");
+		assertThat(adapter.getConfigurationProperty(name).getValue())
+				.isEqualTo("value2");
+	}
+
 	/**
 	 * Test {@link PropertySource} that's also an {@link OriginLookup}.
 	 */
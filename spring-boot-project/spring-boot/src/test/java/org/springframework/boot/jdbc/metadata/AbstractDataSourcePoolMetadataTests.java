@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2018 the original author or authors.
+ * Copyright 2012-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -29,6 +29,7 @@ import static org.assertj.core.api.Assertions.assertThat;
  *
  * @param <D> the data source pool metadata type
  * @author Stephane Nicoll
+ * @author Edward Lee
  */
 public abstract class AbstractDataSourcePoolMetadataTests<D extends AbstractDataSourcePoolMetadata<?>> {
 
@@ -83,6 +84,14 @@ public abstract class AbstractDataSourcePoolMetadataTests<D extends AbstractData
 		});
 	}
 
+	@Test
+	public void getIdleAfterConnectionReleased() {
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(
+				getDataSourceMetadata().getDataSource());
+		jdbcTemplate.execute((ConnectionCallback<Void>) (connection) -> null);
+		assertThat(getDataSourceMetadata().getIdle()).isGreaterThanOrEqualTo(1);
+	}
+
 	@Test
 	public abstract void getValidationQuery();
 
@@ -0,0 +1,195 @@
+/*
+ * Copyright 2012-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.benchmark.actuate.metrics.web;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Mono;
+
+import org.springframework.boot.actuate.metrics.web.client.DefaultRestTemplateExchangeTagsProvider;
+import org.springframework.boot.actuate.metrics.web.client.MetricsRestTemplateCustomizer;
+import org.springframework.boot.actuate.metrics.web.reactive.client.DefaultWebClientExchangeTagsProvider;
+import org.springframework.boot.actuate.metrics.web.reactive.client.MetricsWebClientFilterFunction;
+import org.springframework.boot.actuate.metrics.web.reactive.server.DefaultWebFluxTagsProvider;
+import org.springframework.boot.actuate.metrics.web.reactive.server.MetricsWebFilter;
+import org.springframework.boot.actuate.metrics.web.servlet.DefaultWebMvcTagsProvider;
+import org.springframework.boot.actuate.metrics.web.servlet.WebMvcMetricsFilter;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+/**
+ * Benchmarks for the per-exchange overhead of the web metrics: Spring MVC and WebFlux
+ * server requests, {@link RestTemplate} and {@link WebClient} exchanges. Each exchange
+ * is either not instrumented, instrumented with tags providers that extend the default
+ * ones (so that tags are computed for every exchange) or instrumented with the default
+ * tags providers (so that meters are cached).
+ *
+ * @author Edward Lee
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WebExchangeMetricsBenchmark {
+
+	private static final String URI_TEMPLATE_ATTRIBUTE = WebClient.class.getName()
+			+ ".uriTemplate";
+
+	@Param({ "disabled", "customTags", "defaultTags" })
+	private String metrics;
+
+	private FilterChain servletChain;
+
+	private WebMvcMetricsFilter webMvcFilter;
+
+	private PathPattern pathPattern;
+
+	private WebFilterChain webFilterChain;
+
+	private MetricsWebFilter webFilter;
+
+	private RestTemplate restTemplate;
+
+	private ClientRequest clientRequest;
+
+	private ExchangeFunction exchangeFunction;
+
+	private MetricsWebClientFilterFunction webClientFilter;
+
+	@Setup
+	public void setup() {
+		MeterRegistry registry = new SimpleMeterRegistry();
+		boolean custom = "customTags".equals(this.metrics);
+		this.servletChain = (request, response) -> ((MockHttpServletResponse) response)
+				.setStatus(HttpStatus.OK.value());
+		this.webMvcFilter = new WebMvcMetricsFilter(registry,
+				custom ? new DefaultWebMvcTagsProvider() {
+				} : new DefaultWebMvcTagsProvider(), "http.server.requests", true);
+		this.pathPattern = new PathPatternParser().parse("/projects/{project}");
+		this.webFilterChain = (exchange) -> {
+			exchange.getResponse().setStatusCode(HttpStatus.OK);
+			return exchange.getResponse().setComplete();
+		};
+		this.webFilter = new MetricsWebFilter(registry,
+				custom ? new DefaultWebFluxTagsProvider() {
+				} : new DefaultWebFluxTagsProvider(), "http.server.requests", true);
+		this.restTemplate = new RestTemplate((uri, method) -> {
+			MockClientHttpRequest request = new MockClientHttpRequest(method, uri);
+			request.setResponse(new MockClientHttpResponse(new byte[0], HttpStatus.OK));
+			return request;
+		});
+		if (!"disabled".equals(this.metrics)) {
+			new MetricsRestTemplateCustomizer(registry,
+					custom ? new DefaultRestTemplateExchangeTagsProvider() {
+					} : new DefaultRestTemplateExchangeTagsProvider(),
+					"http.client.requests").customize(this.restTemplate);
+		}
+		this.clientRequest = ClientRequest
+				.create(HttpMethod.GET,
+						URI.create("http://localhost/projects/spring-boot"))
+				.attribute(URI_TEMPLATE_ATTRIBUTE, "/projects/{project}").build();
+		ClientResponse clientResponse = ClientResponse.create(HttpStatus.OK).build();
+		this.exchangeFunction = (request) -> Mono.just(clientResponse);
+		this.webClientFilter = new MetricsWebClientFilterFunction(registry,
+				custom ? new DefaultWebClientExchangeTagsProvider() {
+				} : new DefaultWebClientExchangeTagsProvider(), "http.client.requests");
+	}
+
+	@Benchmark
+	public MockHttpServletResponse webMvcRequest() throws IOException, ServletException {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET",
+				"/projects/spring-boot");
+		request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE,
+				"/projects/{project}");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		if ("disabled".equals(this.metrics)) {
+			this.servletChain.doFilter(request, response);
+		}
+		else {
+			this.webMvcFilter.doFilter(request, response, this.servletChain);
+		}
+		return response;
+	}
+
+	@Benchmark
+	public MockServerWebExchange webFluxRequest() {
+		MockServerWebExchange exchange = MockServerWebExchange
+				.from(MockServerHttpRequest.get("/projects/spring-boot"));
+		exchange.getAttributes().put(
+				org.springframework.web.reactive.HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE,
+				this.pathPattern);
+		if ("disabled".equals(this.metrics)) {
+			this.webFilterChain.filter(exchange).block();
+		}
+		else {
+			this.webFilter.filter(exchange, this.webFilterChain).block();
+		}
+		return exchange;
+	}
+
+	@Benchmark
+	public Integer restTemplateExchange() {
+		return this.restTemplate.execute("http://localhost/projects/{project}",
+				HttpMethod.GET, null, (response) -> response.getRawStatusCode(),
+				"spring-boot");
+	}
+
+	@Benchmark
+	public ClientResponse webClientExchange() {
+		if ("disabled".equals(this.metrics)) {
+			return this.exchangeFunction.exchange(this.clientRequest).block();
+		}
+		return this.webClientFilter.filter(this.clientRequest, this.exchangeFunction)
+				.block();
+	}
+
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2012-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.benchmark.actuate.trace.http;
+
+import java.net.URI;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.boot.actuate.trace.http.HttpTrace;
+import org.springframework.boot.actuate.trace.http.HttpTraceRepository;
+import org.springframework.boot.actuate.trace.http.InMemoryHttpTraceRepository;
+
+/**
+ * Benchmarks for {@link InMemoryHttpTraceRepository} under concurrent writers, compared
+ * with a repository guarded by a single lock around a {@link LinkedList}.
+ *
+ * @author Edward Lee
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InMemoryHttpTraceRepositoryBenchmark {
+
+	@Param({ "ringBuffer", "synchronizedLinkedList" })
+	private String repositoryType;
+
+	@Param({ "100", "1000" })
+	private int capacity;
+
+	private HttpTraceRepository repository;
+
+	private HttpTrace trace;
+
+	@Setup
+	public void setup() {
+		this.repository = createRepository();
+		this.trace = new HttpTrace(
+				new HttpTrace.Request("GET", URI.create("http://localhost/example"),
+						Collections.emptyMap(), "127.0.0.1"),
+				new HttpTrace.Response(200, Collections.emptyMap()), Instant.now(),
+				null, null, 10L);
+		for (int i = 0; i < this.capacity; i++) {
+			this.repository.add(this.trace);
+		}
+	}
+
+	private HttpTraceRepository createRepository() {
+		if ("ringBuffer".equals(this.repositoryType)) {
+			InMemoryHttpTraceRepository repository = new InMemoryHttpTraceRepository();
+			repository.setCapacity(this.capacity);
+			return repository;
+		}
+		return new SynchronizedLinkedListHttpTraceRepository(this.capacity);
+	}
+
+	@Benchmark
+	@Threads(8)
+	public void add() {
+		this.repository.add(this.trace);
+	}
+
+	@Benchmark
+	@Group("addAndFindAll")
+	@GroupThreads(7)
+	public void addWhileReading() {
+		this.repository.add(this.trace);
+	}
+
+	@Benchmark
+	@Group("addAndFindAll")
+	@GroupThreads(1)
+	public List<HttpTrace> findAllWhileWriting() {
+		return this.repository.findAll();
+	}
+
+	/**
+	 * Repository that adds and removes traces from a {@link LinkedList} while holding a
+	 * single lock, used as a baseline.
+	 */
+	private static class SynchronizedLinkedListHttpTraceRepository
+			implements HttpTraceRepository {
+
+		private final int capacity;
+
+		private final List<HttpTrace> traces = new LinkedList<>();
+
+		SynchronizedLinkedListHttpTraceRepository(int capacity) {
+			this.capacity = capacity;
+		}
+
+		@Override
+		public List<HttpTrace> findAll() {
+			synchronized (this.traces) {
+				return Collections.unmodifiableList(new ArrayList<>(this.traces));
+			}
+		}
+
+		@Override
+		public void add(HttpTrace trace) {
+			synchronized (this.traces) {
+				while (this.traces.size() >= this.capacity) {
+					this.traces.remove(this.capacity - 1);
+				}
+				this.traces.add(0, trace);
+			}
+		}
+
+	}
+
+}
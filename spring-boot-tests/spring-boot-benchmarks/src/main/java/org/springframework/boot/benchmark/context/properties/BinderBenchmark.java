@@ -0,0 +1,109 @@
+/*
+ * Copyright 2012-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.benchmark.context.properties;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.boot.autoconfigure.amqp.RabbitProperties;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.core.env.MutablePropertySources;
+
+/**
+ * Benchmarks for binding representative {@code @ConfigurationProperties} classes with
+ * the {@link Binder}. The {@code warm} benchmarks reuse the adapted property sources
+ * (and therefore their caches) across invocations whereas the {@code cold} benchmarks
+ * adapt the property sources again for each invocation, as happens when an application
+ * starts.
+ *
+ * @author Edward Lee
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BinderBenchmark {
+
+	@Param({ "100", "1000", "10000", "50000" })
+	private int size;
+
+	private MutablePropertySources propertySources;
+
+	private Binder binder;
+
+	@Setup
+	public void setup() {
+		this.propertySources = SyntheticPropertySources.create(this.size);
+		this.binder = createBinder();
+	}
+
+	@Benchmark
+	public ServerProperties warmServerProperties() {
+		return bind(this.binder, "server", ServerProperties.class);
+	}
+
+	@Benchmark
+	public KafkaProperties warmKafkaProperties() {
+		return bind(this.binder, "spring.kafka", KafkaProperties.class);
+	}
+
+	@Benchmark
+	public RabbitProperties warmRabbitProperties() {
+		return bind(this.binder, "spring.rabbitmq", RabbitProperties.class);
+	}
+
+	@Benchmark
+	public ServerProperties coldServerProperties() {
+		return bind(createBinder(), "server", ServerProperties.class);
+	}
+
+	@Benchmark
+	public KafkaProperties coldKafkaProperties() {
+		return bind(createBinder(), "spring.kafka", KafkaProperties.class);
+	}
+
+	@Benchmark
+	public RabbitProperties coldRabbitProperties() {
+		return bind(createBinder(), "spring.rabbitmq", RabbitProperties.class);
+	}
+
+	private Binder createBinder() {
+		return new Binder(ConfigurationPropertySources.from(this.propertySources));
+	}
+
+	private <T> T bind(Binder binder, String prefix, Class<T> type) {
+		return binder.bind(prefix, Bindable.of(type)).orElse(null);
+	}
+
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2012-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.benchmark.context.properties;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.springframework.boot.context.properties.source.ConfigurationPropertyName;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.context.properties.source.IterableConfigurationPropertySource;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+/**
+ * Benchmarks for {@link ConfigurationPropertyName} parsing and comparison and for
+ * adapting system environment variables with the system environment property mapper.
+ *
+ * @author Edward Lee
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConfigurationPropertyNameBenchmark {
+
+	private static final String NAME = "spring.kafka.consumer.auto-offset-reset";
+
+	private static final String INDEXED_NAME = "server.tomcat.additional-tld-skip-patterns[3]";
+
+	@Param({ "100", "1000", "10000", "50000" })
+	private int size;
+
+	private PropertySource<?> environment;
+
+	private ConfigurationPropertyName name;
+
+	private ConfigurationPropertyName equalName;
+
+	private ConfigurationPropertyName adaptedName;
+
+	@Setup
+	public void setup() {
+		this.environment = SyntheticPropertySources.create(this.size)
+				.get(StandardEnvironment.SYSTEM_ENVIRONMENT_PROPERTY_SOURCE_NAME);
+		this.name = ConfigurationPropertyName.of(NAME);
+		this.equalName = ConfigurationPropertyName.of(NAME);
+		this.adaptedName = ConfigurationPropertyName.of("spring.kafka.consumer")
+				.append("autooffsetreset");
+	}
+
+	@Benchmark
+	public ConfigurationPropertyName of() {
+		return ConfigurationPropertyName.of(NAME);
+	}
+
+	@Benchmark
+	public ConfigurationPropertyName ofIndexed() {
+		return ConfigurationPropertyName.of(INDEXED_NAME);
+	}
+
+	@Benchmark
+	public boolean equalsUniform() {
+		return this.name.equals(this.equalName);
+	}
+
+	@Benchmark
+	public boolean equalsAdapted() {
+		return this.name.equals(this.adaptedName);
+	}
+
+	@Benchmark
+	public int hashCodeOfNewName() {
+		return ConfigurationPropertyName.of(NAME).hashCode();
+	}
+
+	@Benchmark
+	public void adaptSystemEnvironment(Blackhole blackhole) {
+		IterableConfigurationPropertySource source = (IterableConfigurationPropertySource) ConfigurationPropertySources
+				.from(this.environment).iterator().next();
+		for (ConfigurationPropertyName name : source) {
+			blackhole.consume(name);
+		}
+	}
+
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2012-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.benchmark.context.properties;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.boot.context.properties.source.ConfigurationProperty;
+import org.springframework.boot.context.properties.source.ConfigurationPropertyName;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.context.properties.source.ConfigurationPropertyState;
+import org.springframework.boot.context.properties.source.IterableConfigurationPropertySource;
+import org.springframework.core.env.MutablePropertySources;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+/**
+ * Benchmarks for name lookups and descendant queries against the adapted system
+ * environment and application properties. {@code getPresent} is resolved by the direct
+ * mapping of the name whereas {@code getRelaxed} and {@code getMissing} fall back to the
+ * index of the names of the source. Each {@code linearScan} benchmark answers the same
+ * question by walking every name in the source, which is how these queries were answered
+ * before the sources were indexed.
+ *
+ * @author Edward Lee
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConfigurationPropertySourceBenchmark {
+
+	private static final ConfigurationPropertyName PRESENT_NAME = ConfigurationPropertyName
+			.of("server.port");
+
+	private static final ConfigurationPropertyName RELAXED_NAME = ConfigurationPropertyName
+			.of("server.tomcat.accept-count");
+
+	private static final ConfigurationPropertyName MISSING_NAME = ConfigurationPropertyName
+			.of("server.servlet.missing");
+
+	private static final ConfigurationPropertyName PRESENT_PREFIX = ConfigurationPropertyName
+			.of("spring.rabbitmq");
+
+	private static final ConfigurationPropertyName MISSING_PREFIX = ConfigurationPropertyName
+			.of("spring.datasource");
+
+	@Param({ "100", "1000", "10000", "50000" })
+	private int size;
+
+	private IterableConfigurationPropertySource source;
+
+	private IterableConfigurationPropertySource applicationSource;
+
+	@Setup
+	public void setup() {
+		MutablePropertySources sources = SyntheticPropertySources.create(this.size);
+		this.source = adapt(sources
+				.get(StandardEnvironment.SYSTEM_ENVIRONMENT_PROPERTY_SOURCE_NAME));
+		this.applicationSource = adapt(sources.get(SyntheticPropertySources.APPLICATION));
+	}
+
+	private IterableConfigurationPropertySource adapt(PropertySource<?> propertySource) {
+		return (IterableConfigurationPropertySource) ConfigurationPropertySources
+				.from(propertySource).iterator().next();
+	}
+
+	@Benchmark
+	public ConfigurationProperty getPresent() {
+		return this.source.getConfigurationProperty(PRESENT_NAME);
+	}
+
+	@Benchmark
+	public ConfigurationProperty getRelaxed() {
+		return this.applicationSource.getConfigurationProperty(RELAXED_NAME);
+	}
+
+	@Benchmark
+	public ConfigurationProperty getMissing() {
+		return this.source.getConfigurationProperty(MISSING_NAME);
+	}
+
+	@Benchmark
+	public ConfigurationProperty linearScanGetRelaxed() {
+		return linearScan(this.applicationSource, RELAXED_NAME);
+	}
+
+	@Benchmark
+	public ConfigurationProperty linearScanGetMissing() {
+		return linearScan(this.source, MISSING_NAME);
+	}
+
+	@Benchmark
+	public ConfigurationPropertyState containsDescendantOfPresent() {
+		return this.source.containsDescendantOf(PRESENT_PREFIX);
+	}
+
+	@Benchmark
+	public ConfigurationPropertyState containsDescendantOfMissing() {
+		return this.source.containsDescendantOf(MISSING_PREFIX);
+	}
+
+	@Benchmark
+	public boolean linearScanContainsDescendantOfPresent() {
+		return this.source.stream().anyMatch(PRESENT_PREFIX::isAncestorOf);
+	}
+
+	@Benchmark
+	public boolean linearScanContainsDescendantOfMissing() {
+		return this.source.stream().anyMatch(MISSING_PREFIX::isAncestorOf);
+	}
+
+	private ConfigurationProperty linearScan(IterableConfigurationPropertySource source,
+			ConfigurationPropertyName name) {
+		for (ConfigurationPropertyName candidate : source) {
+			if (candidate.equals(name)) {
+				return source.getConfigurationProperty(candidate);
+			}
+		}
+		return null;
+	}
+
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2012-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.benchmark.context.properties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.MutablePropertySources;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.env.SystemEnvironmentPropertySource;
+
+/**
+ * Builds synthetic {@link MutablePropertySources} that resemble a typical application
+ * environment. Half of the entries are system environment variables and half are
+ * application properties. Both sets are padded with unrelated entries to reach the
+ * requested size and also contain the properties that the benchmarks bind, one of which
+ * uses the camel case form so that it is only resolved through relaxed names.
+ *
+ * @author Edward Lee
+ */
+public final class SyntheticPropertySources {
+
+	/**
+	 * The name of the property source holding the application properties.
+	 */
+	public static final String APPLICATION = "applicationConfig: [classpath:/application.properties]";
+
+	private SyntheticPropertySources() {
+	}
+
+	/**
+	 * Create property sources containing approximately {@code size} entries.
+	 * @param size the total number of entries
+	 * @return the property sources
+	 */
+	public static MutablePropertySources create(int size) {
+		MutablePropertySources sources = new MutablePropertySources();
+		sources.addLast(new SystemEnvironmentPropertySource(
+				StandardEnvironment.SYSTEM_ENVIRONMENT_PROPERTY_SOURCE_NAME,
+				createEnvironmentVariables(size / 2)));
+		sources.addLast(new MapPropertySource(APPLICATION,
+				createApplicationProperties(size - (size / 2))));
+		return sources;
+	}
+
+	private static Map<String, Object> createEnvironmentVariables(int size) {
+		Map<String, Object> map = new LinkedHashMap<>();
+		map.put("SERVER_PORT", "8080");
+		map.put("SERVER_SERVLET_CONTEXT_PATH", "/app");
+		map.put("SPRING_KAFKA_BOOTSTRAP_SERVERS", "kafka-1:9092,kafka-2:9092");
+		map.put("SPRING_RABBITMQ_HOST", "rabbit");
+		for (int i = map.size(); i < size; i++) {
+			map.put("APP_SERVICE" + i + "_ENDPOINT_URL", "http://service-" + i);
+		}
+		return map;
+	}
+
+	private static Map<String, Object> createApplicationProperties(int size) {
+		Map<String, Object> map = new LinkedHashMap<>();
+		map.put("server.compression.enabled", "true");
+		map.put("server.tomcat.max-threads", "400");
+		map.put("server.tomcat.accesslog.enabled", "true");
+		map.put("server.tomcat.acceptCount", "200");
+		map.put("spring.kafka.consumer.group-id", "benchmark");
+		map.put("spring.kafka.consumer.auto-offset-reset", "earliest");
+		map.put("spring.kafka.producer.retries", "3");
+		map.put("spring.kafka.properties.max.poll.records", "100");
+		map.put("spring.kafka.listener.concurrency", "4");
+		map.put("spring.rabbitmq.port", "5673");
+		map.put("spring.rabbitmq.listener.simple.prefetch", "20");
+		map.put("spring.rabbitmq.template.retry.enabled", "true");
+		for (int i = map.size(); i < size; i++) {
+			int group = i % 50;
+			map.put("app.group" + group + ".service" + i + ".timeout", i + "ms");
+		}
+		return map;
+	}
+
+}
@@ -0,0 +1,248 @@
+/*
+ * Copyright 2012-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.benchmark.loader;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.springframework.boot.loader.LaunchedURLClassLoader;
+import org.springframework.boot.loader.jar.JarFile;
+
+/**
+ * Benchmarks for loading classes and looking up entries from a jar nested in an
+ * executable jar using several threads. The nested jar contains the classes of the
+ * loader itself, which only depend on the JDK, padded with resources so that its
+ * central directory has a realistic size.
+ *
+ * @author Edward Lee
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExecutableJarClassLoadingBenchmark {
+
+	private static final String CLASSES_PREFIX = "org/springframework/boot/loader/";
+
+	private static final int RESOURCES = 10000;
+
+	@Param({ "1", "4" })
+	private int loaderThreads;
+
+	private File directory;
+
+	private JarFile rootJarFile;
+
+	private JarFile nestedJarFile;
+
+	private URL nestedJarUrl;
+
+	private List<String> classNames;
+
+	private List<String> entryNames;
+
+	private ExecutorService executor;
+
+	@Setup
+	public void setup() throws IOException {
+		JarFile.registerUrlProtocolHandler();
+		this.directory = File.createTempFile("benchmark", "");
+		this.directory.delete();
+		this.directory.mkdirs();
+		Map<String, byte[]> classes = readLoaderClasses();
+		this.classNames = new ArrayList<>();
+		for (String name : classes.keySet()) {
+			String className = name.substring(0, name.length() - ".class".length());
+			this.classNames.add(className.replace('/', '.'));
+		}
+		this.entryNames = new ArrayList<>(classes.keySet());
+		byte[] nestedJar = createNestedJar(classes);
+		File executableJar = new File(this.directory, "executable.jar");
+		try (JarOutputStream output = new JarOutputStream(
+				new FileOutputStream(executableJar))) {
+			JarEntry entry = new JarEntry("BOOT-INF/lib/nested.jar");
+			entry.setMethod(ZipEntry.STORED);
+			entry.setSize(nestedJar.length);
+			CRC32 crc = new CRC32();
+			crc.update(nestedJar);
+			entry.setCrc(crc.getValue());
+			output.putNextEntry(entry);
+			output.write(nestedJar);
+			output.closeEntry();
+		}
+		this.rootJarFile = new JarFile(executableJar);
+		this.nestedJarFile = this.rootJarFile.getNestedJarFile(
+				this.rootJarFile.getEntry("BOOT-INF/lib/nested.jar"));
+		this.nestedJarUrl = this.nestedJarFile.getUrl();
+		this.executor = Executors.newFixedThreadPool(this.loaderThreads);
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		this.executor.shutdownNow();
+		this.nestedJarFile.close();
+		this.rootJarFile.close();
+		for (File file : this.directory.listFiles()) {
+			file.delete();
+		}
+		this.directory.delete();
+	}
+
+	@Benchmark
+	public void loadClasses(Blackhole blackhole) throws Exception {
+		try (LaunchedURLClassLoader classLoader = new LaunchedURLClassLoader(
+				new URL[] { this.nestedJarUrl }, null)) {
+			List<Future<?>> futures = new ArrayList<>(this.loaderThreads);
+			for (int i = 0; i < this.loaderThreads; i++) {
+				int offset = i;
+				futures.add(this.executor.submit(() -> {
+					for (int j = offset; j < this.classNames.size();
+							j += this.loaderThreads) {
+						blackhole.consume(classLoader.loadClass(this.classNames.get(j)));
+					}
+					return null;
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		}
+	}
+
+	@Benchmark
+	@Threads(4)
+	public void getEntry(EntryCursor cursor, Blackhole blackhole) {
+		blackhole.consume(
+				this.nestedJarFile.getEntry(this.entryNames.get(cursor.next(this))));
+	}
+
+	private Map<String, byte[]> readLoaderClasses() throws IOException {
+		Map<String, byte[]> classes = new LinkedHashMap<>();
+		File source = new File(JarFile.class.getProtectionDomain().getCodeSource()
+				.getLocation().getPath());
+		if (source.isDirectory()) {
+			readClasses(new File(source, CLASSES_PREFIX), CLASSES_PREFIX, classes);
+		}
+		else {
+			try (java.util.jar.JarFile jarFile = new java.util.jar.JarFile(source)) {
+				Enumeration<JarEntry> entries = jarFile.entries();
+				while (entries.hasMoreElements()) {
+					JarEntry entry = entries.nextElement();
+					if (entry.getName().startsWith(CLASSES_PREFIX)
+							&& entry.getName().endsWith(".class")) {
+						classes.put(entry.getName(),
+								read(jarFile.getInputStream(entry)));
+					}
+				}
+			}
+		}
+		return classes;
+	}
+
+	private void readClasses(File root, String prefix, Map<String, byte[]> classes)
+			throws IOException {
+		for (File file : root.listFiles()) {
+			if (file.isDirectory()) {
+				readClasses(file, prefix + file.getName() + "/", classes);
+			}
+			else if (file.getName().endsWith(".class")) {
+				classes.put(prefix + file.getName(),
+						read(new FileInputStream(file)));
+			}
+		}
+	}
+
+	private byte[] read(InputStream inputStream) throws IOException {
+		try (InputStream input = inputStream) {
+			ByteArrayOutputStream output = new ByteArrayOutputStream();
+			byte[] buffer = new byte[4096];
+			int read;
+			while ((read = input.read(buffer)) != -1) {
+				output.write(buffer, 0, read);
+			}
+			return output.toByteArray();
+		}
+	}
+
+	private byte[] createNestedJar(Map<String, byte[]> classes) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (JarOutputStream output = new JarOutputStream(bytes)) {
+			for (Map.Entry<String, byte[]> entry : classes.entrySet()) {
+				output.putNextEntry(new JarEntry(entry.getKey()));
+				output.write(entry.getValue());
+				output.closeEntry();
+			}
+			for (int i = 0; i < RESOURCES; i++) {
+				output.putNextEntry(new JarEntry("static/resource-" + i + ".txt"));
+				output.write(("resource-" + i).getBytes());
+				output.closeEntry();
+			}
+		}
+		return bytes.toByteArray();
+	}
+
+	/**
+	 * Per-thread position in the list of entry names.
+	 */
+	@State(Scope.Thread)
+	public static class EntryCursor {
+
+		private int index;
+
+		int next(ExecutableJarClassLoadingBenchmark benchmark) {
+			this.index = (this.index + 1) % benchmark.entryNames.size();
+			return this.index;
+		}
+
+	}
+
+}
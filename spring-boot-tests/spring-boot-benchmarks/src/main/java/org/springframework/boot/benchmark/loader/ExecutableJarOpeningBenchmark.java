@@ -0,0 +1,132 @@
+/*
+ * Copyright 2012-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.benchmark.loader;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.springframework.boot.loader.jar.JarFile;
+
+/**
+ * Benchmarks for opening an executable jar with many nested libraries the way the
+ * launcher does at startup, then looking up entries in only a few of them. Run with
+ * {@code -prof gc} to compare the memory allocated for the central directories.
+ *
+ * @author Edward Lee
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExecutableJarOpeningBenchmark {
+
+	private static final String LIB = "BOOT-INF/lib/";
+
+	@Param("250")
+	private int libraries;
+
+	@Param("500")
+	private int entries;
+
+	@Param({ "0", "10" })
+	private int touchedLibraries;
+
+	private File executableJar;
+
+	@Setup
+	public void setup() throws IOException {
+		this.executableJar = File.createTempFile("benchmark", ".jar");
+		try (JarOutputStream output = new JarOutputStream(
+				new FileOutputStream(this.executableJar))) {
+			for (int i = 0; i < this.libraries; i++) {
+				byte[] library = createLibrary(i);
+				JarEntry entry = new JarEntry(LIB + "library-" + i + ".jar");
+				entry.setMethod(ZipEntry.STORED);
+				entry.setSize(library.length);
+				CRC32 crc = new CRC32();
+				crc.update(library);
+				entry.setCrc(crc.getValue());
+				output.putNextEntry(entry);
+				output.write(library);
+				output.closeEntry();
+			}
+		}
+	}
+
+	@TearDown
+	public void tearDown() {
+		this.executableJar.delete();
+	}
+
+	@Benchmark
+	public void openNestedJars(Blackhole blackhole) throws IOException {
+		try (JarFile jarFile = new JarFile(this.executableJar)) {
+			List<JarFile> nestedJarFiles = new ArrayList<>(this.libraries);
+			for (int i = 0; i < this.libraries; i++) {
+				String name = LIB + "library-" + i + ".jar";
+				nestedJarFiles.add(jarFile.getNestedJarFile(jarFile.getEntry(name)));
+			}
+			for (int i = 0; i < this.touchedLibraries; i++) {
+				blackhole.consume(nestedJarFiles.get(i)
+						.getEntry("com/example/library" + i + "/Type0.class"));
+			}
+			for (JarFile nestedJarFile : nestedJarFiles) {
+				blackhole.consume(nestedJarFile.getUrl());
+				nestedJarFile.close();
+			}
+		}
+	}
+
+	private byte[] createLibrary(int index) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (JarOutputStream output = new JarOutputStream(bytes)) {
+			for (int i = 0; i < this.entries; i++) {
+				output.putNextEntry(new JarEntry(
+						"com/example/library" + index + "/Type" + i + ".class"));
+				output.write(new byte[] { (byte) i });
+				output.closeEntry();
+			}
+		}
+		return bytes.toByteArray();
+	}
+
+}